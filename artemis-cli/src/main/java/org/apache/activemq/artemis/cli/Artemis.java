@@ -58,6 +58,7 @@ import org.apache.activemq.artemis.cli.commands.queue.PurgeQueue;
 import org.apache.activemq.artemis.cli.commands.queue.UpdateQueue;
 import org.apache.activemq.artemis.cli.commands.activation.ActivationSequenceList;
 import org.apache.activemq.artemis.cli.commands.tools.HelpData;
+import org.apache.activemq.artemis.cli.commands.tools.PrintAudit;
 import org.apache.activemq.artemis.cli.commands.tools.PrintData;
 import org.apache.activemq.artemis.cli.commands.tools.RecoverMessages;
 import org.apache.activemq.artemis.cli.commands.tools.journal.CompactJournal;
@@ -222,14 +223,14 @@ public class Artemis {
             .withDescription("activation tools group (sync) (example ./artemis activation list)")
             .withDefaultCommand(ActivationSequenceList.class)
             .withCommands(ActivationSequenceList.class, ActivationSequenceSet.class);
-         builder.withGroup("data").withDescription("data tools group (print|imp|exp|encode|decode|compact|recover) (example ./artemis data print)").
-            withDefaultCommand(HelpData.class).withCommands(RecoverMessages.class, PrintData.class, XmlDataExporter.class, XmlDataImporter.class, DecodeJournal.class, EncodeJournal.class, CompactJournal.class);
+         builder.withGroup("data").withDescription("data tools group (print|imp|exp|encode|decode|compact|recover|audit) (example ./artemis data print)").
+            withDefaultCommand(HelpData.class).withCommands(RecoverMessages.class, PrintData.class, XmlDataExporter.class, XmlDataImporter.class, DecodeJournal.class, EncodeJournal.class, CompactJournal.class, PrintAudit.class);
          builder.withGroup("user").withDescription("default file-based user management (add|rm|list|reset) (example ./artemis user list)").
                  withDefaultCommand(HelpUser.class).withCommands(ListUser.class, AddUser.class, RemoveUser.class, ResetUser.class);
          builder = builder.withCommands(Run.class, Stop.class, Kill.class, PerfJournal.class);
       } else {
-         builder.withGroup("data").withDescription("data tools group (print|recover) (example ./artemis data print)").
-            withDefaultCommand(HelpData.class).withCommands(RecoverMessages.class, PrintData.class);
+         builder.withGroup("data").withDescription("data tools group (print|recover|audit) (example ./artemis data print)").
+            withDefaultCommand(HelpData.class).withCommands(RecoverMessages.class, PrintData.class, PrintAudit.class);
          builder = builder.withCommand(Create.class);
       }
 
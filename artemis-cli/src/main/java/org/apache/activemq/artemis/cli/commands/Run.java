@@ -135,6 +135,7 @@ public class Run extends LockAbstract {
             Class clazz = this.getClass().getClassLoader().loadClass(componentDTO.componentClassName);
             ExternalComponent component = (ExternalComponent) clazz.getDeclaredConstructor(null).newInstance();
             component.configure(componentDTO, getBrokerInstance(), getBrokerHome());
+            component.setServer(server.getServer());
             server.getServer().addExternalComponent(component, true);
             assert component.isStarted();
          }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.cli.commands.tools;
+
+import java.io.File;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import org.apache.activemq.artemis.cli.commands.ActionAbstract;
+import org.apache.activemq.artemis.cli.commands.ActionContext;
+import org.apache.activemq.artemis.logs.AuditFile;
+import org.apache.activemq.artemis.logs.AuditRecord;
+
+@Command(name = "audit", description = "Print the message audit records of a binary audit file")
+public class PrintAudit extends ActionAbstract {
+
+   @Option(name = "--file", description = "The binary audit file (default audit-log-file from broker.xml)")
+   public String file;
+
+   @Option(name = "--message-id", description = "Only print the records of this message ID")
+   public Long messageID;
+
+   @Option(name = "--address", description = "Only print the records of the messages sent to this address")
+   public String address;
+
+   @Override
+   public Object execute(ActionContext context) throws Exception {
+      super.execute(context);
+
+      final File auditFile = file != null ? new File(file) : getBrokerConfiguration().getAuditLogFileLocation();
+      if (auditFile == null) {
+         context.err.println("No audit file given with --file nor configured with audit-log-file in broker.xml");
+         return null;
+      }
+
+      long count = 0;
+      final AuditRecord record = new AuditRecord();
+      try (AuditFile.Reader reader = new AuditFile.Reader(auditFile)) {
+         while (reader.next(record)) {
+            if (messageID != null && record.getMessageID() != messageID) {
+               continue;
+            }
+            if (address != null && !address.equals(record.getAddress())) {
+               continue;
+            }
+            context.out.println(record);
+            count++;
+         }
+      }
+      context.out.println(count + " records");
+      return count;
+   }
+}
@@ -16,10 +16,17 @@
  */
 package org.apache.activemq.artemis.components;
 
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.ServiceComponent;
 import org.apache.activemq.artemis.dto.ComponentDTO;
 
 public interface ExternalComponent extends ServiceComponent {
 
    void configure(ComponentDTO config, String artemisInstance, String artemisHome) throws Exception;
+
+   /**
+    * Called before the component is started with the broker it runs in.
+    */
+   default void setServer(ActiveMQServer server) {
+   }
 }
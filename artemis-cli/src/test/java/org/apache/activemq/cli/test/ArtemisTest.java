@@ -86,6 +86,8 @@ import org.apache.activemq.artemis.core.server.management.ManagementContext;
 import org.apache.activemq.artemis.core.version.Version;
 import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
 import org.apache.activemq.artemis.jms.client.ActiveMQDestination;
+import org.apache.activemq.artemis.logs.AsyncAuditLogger;
+import org.apache.activemq.artemis.logs.AuditOverflowPolicy;
 import org.apache.activemq.artemis.nativo.jlibaio.LibaioContext;
 import org.apache.activemq.artemis.utils.DefaultSensitiveStringCodec;
 import org.apache.activemq.artemis.utils.HashProcessor;
@@ -177,6 +179,37 @@ public class ArtemisTest extends CliTestBase {
 
    }
 
+   @Test
+   public void testPrintAudit() throws Exception {
+      File file = new File(temporaryFolder.getRoot(), "audit.bin");
+      AsyncAuditLogger auditLogger = new AsyncAuditLogger(16, AuditOverflowPolicy.BLOCK, file);
+      auditLogger.start();
+      assertTrue(auditLogger.offerSend(null, "/127.0.0.1:61616", 1, "orders", true, -1));
+      assertTrue(auditLogger.offerSend(null, "/127.0.0.1:61616", 2, "payments", true, -1));
+      assertTrue(auditLogger.offerConsume(null, "/127.0.0.1:61616", "orders", 1, "orders", true));
+      assertTrue(auditLogger.offerAcknowledge(null, "/127.0.0.1:61616", "orders", 1, "orders", true, 7));
+      auditLogger.stop();
+
+      TestActionContext context = new TestActionContext();
+      assertEquals(4L, Artemis.internalExecute(null, null, new String[] {"data", "audit", "--file", file.getAbsolutePath()}, context));
+
+      context = new TestActionContext();
+      assertEquals(3L, Artemis.internalExecute(null, null, new String[] {"data", "audit", "--file", file.getAbsolutePath(), "--message-id", "1"}, context));
+      String output = context.getStdout();
+      assertTrue(output, output.contains("SEND"));
+      assertTrue(output, output.contains("CONSUME"));
+      assertTrue(output, output.contains("ACKNOWLEDGE"));
+      assertTrue(output, output.contains("transaction=7"));
+      assertFalse(output, output.contains("messageID=2"));
+      assertTrue(output, output.endsWith("3 records" + System.lineSeparator()));
+
+      context = new TestActionContext();
+      assertEquals(1L, Artemis.internalExecute(null, null, new String[] {"data", "audit", "--file", file.getAbsolutePath(), "--address", "payments"}, context));
+      output = context.getStdout();
+      assertTrue(output, output.contains("SEND anonymous@127.0.0.1:61616 messageID=2 address=payments"));
+      assertFalse(output, output.contains("address=orders"));
+   }
+
    @Test
    public void testSimpleCreate() throws Exception {
       //instance1: default using http
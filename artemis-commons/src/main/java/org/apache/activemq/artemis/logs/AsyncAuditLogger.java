@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.logs;
+
+import javax.security.auth.Subject;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+
+/**
+ * Takes the per-message audit records off the threads sending, delivering and acknowledging messages.
+ * <p>
+ * The threads claim a slot of a ring of preallocated {@link AuditRecord}s with a CAS and fill it with what identifies
+ * the message, without formatting anything nor taking any lock. A single writer thread drains the ring in batches,
+ * formatting the records to the message audit logger or writing them to an {@link AuditFile}. It parks while the ring is
+ * empty, and the thread publishing a record unparks it only when it is parked. When the ring is full the
+ * {@link AuditOverflowPolicy} decides whether the calling thread waits, drops the record or logs it itself.
+ * <p>
+ * Each broker configured to starts its own instance, and its hot paths try to {@code offer} their records to it before
+ * logging them synchronously.
+ */
+public final class AsyncAuditLogger {
+
+   private static final int MAX_BATCH = 1024;
+
+   private static final long DRAIN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+   private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+   private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+   private final AuditRecord[] ring;
+
+   private final int mask;
+
+   // the sequence written to a slot once its record is complete, so the writer never reads a half written record
+   private final AtomicLongArray published;
+
+   // the next sequence to claim
+   private final AtomicLong claimed = new AtomicLong();
+
+   // the next sequence to write, only updated by the writer
+   private volatile long written;
+
+   private final AuditOverflowPolicy overflowPolicy;
+
+   private final File file;
+
+   private final LongAdder dropped = new LongAdder();
+
+   private long droppedReported;
+
+   private AuditFile.Writer fileWriter;
+
+   private volatile boolean started;
+
+   private volatile Thread writerThread;
+
+   // set by the writer before it parks, so the threads publishing records only unpark it when needed
+   private volatile boolean writerParked;
+
+   /**
+    * @param ringSize       the number of records kept until written, rounded up to a power of 2
+    * @param overflowPolicy what to do when the ring is full
+    * @param file           the binary audit file to write the records to, {@code null} to log them
+    */
+   public AsyncAuditLogger(int ringSize, AuditOverflowPolicy overflowPolicy, File file) {
+      if (ringSize <= 0 || ringSize > 1 << 30) {
+         throw new IllegalArgumentException("Invalid audit ring size " + ringSize);
+      }
+      final int capacity = Integer.highestOneBit(ringSize) == ringSize ? ringSize : Integer.highestOneBit(ringSize) << 1;
+      this.ring = new AuditRecord[capacity];
+      for (int i = 0; i < capacity; i++) {
+         ring[i] = new AuditRecord();
+      }
+      this.mask = capacity - 1;
+      this.published = new AtomicLongArray(capacity);
+      for (int i = 0; i < capacity; i++) {
+         published.set(i, -1);
+      }
+      this.overflowPolicy = overflowPolicy;
+      this.file = file;
+   }
+
+   /**
+    * @return whether the record was taken, {@code false} if the caller must log it synchronously
+    */
+   public boolean offerSend(Subject user, String remoteAddress, long messageID, Object address, boolean durable, long txID) {
+      return offer(AuditRecord.Type.SEND, user, remoteAddress, null, messageID, address, durable, txID);
+   }
+
+   /**
+    * @return whether the record was taken, {@code false} if the caller must log it synchronously
+    */
+   public boolean offerConsume(Subject user, String remoteAddress, Object queue, long messageID, Object address, boolean durable) {
+      return offer(AuditRecord.Type.CONSUME, user, remoteAddress, queue, messageID, address, durable, -1);
+   }
+
+   /**
+    * @return whether the record was taken, {@code false} if the caller must log it synchronously
+    */
+   public boolean offerAcknowledge(Subject user, String remoteAddress, Object queue, long messageID, Object address, boolean durable, long txID) {
+      return offer(AuditRecord.Type.ACKNOWLEDGE, user, remoteAddress, queue, messageID, address, durable, txID);
+   }
+
+   public int getCapacity() {
+      return ring.length;
+   }
+
+   public AuditOverflowPolicy getOverflowPolicy() {
+      return overflowPolicy;
+   }
+
+   /**
+    * @return the number of records waiting to be written
+    */
+   public long getPending() {
+      return claimed.get() - written;
+   }
+
+   public long getDropped() {
+      return dropped.sum();
+   }
+
+   public synchronized void start() throws IOException {
+      if (started) {
+         return;
+      }
+      if (file != null) {
+         fileWriter = new AuditFile.Writer(file);
+      }
+      started = true;
+      writerThread = new ActiveMQThreadFactory("activemq-audit-writer", true, AsyncAuditLogger.class.getClassLoader()).newThread(this::writeLoop);
+      writerThread.start();
+   }
+
+   /**
+    * Stops taking records, waiting for those already taken to be written.
+    */
+   public synchronized void stop() throws InterruptedException {
+      if (!started) {
+         return;
+      }
+      started = false;
+      LockSupport.unpark(writerThread);
+      writerThread.join();
+      writerThread = null;
+   }
+
+   public boolean isStarted() {
+      return started;
+   }
+
+   boolean offer(AuditRecord.Type type, Subject user, String remoteAddress, Object queue, long messageID, Object address, boolean durable, long txID) {
+      long sequence;
+      while (true) {
+         if (!started) {
+            return false;
+         }
+         sequence = claimed.get();
+         if (sequence - written >= ring.length) {
+            switch (overflowPolicy) {
+               case DROP:
+                  dropped.increment();
+                  return true;
+               case SYNC:
+                  return false;
+               default:
+                  LockSupport.parkNanos(FULL_PARK_NANOS);
+                  continue;
+            }
+         }
+         if (claimed.compareAndSet(sequence, sequence + 1)) {
+            break;
+         }
+      }
+      final int index = (int) sequence & mask;
+      ring[index].set(type, user, remoteAddress, queue, messageID, address, durable, txID);
+      // a volatile write, read by the writer after it has flagged itself as parked
+      published.set(index, sequence);
+      if (writerParked) {
+         LockSupport.unpark(writerThread);
+      }
+      return true;
+   }
+
+   private void writeLoop() {
+      long next = written;
+      long drainDeadline = 0;
+      while (true) {
+         int batch = 0;
+         while (batch < MAX_BATCH) {
+            final int index = (int) next & mask;
+            if (published.get(index) != next) {
+               break;
+            }
+            final AuditRecord record = ring[index];
+            write(record);
+            record.clear();
+            next++;
+            batch++;
+         }
+         if (batch > 0) {
+            written = next;
+            flush();
+            continue;
+         }
+         reportDropped();
+         if (started) {
+            writerParked = true;
+            // a record published before the flag was set wouldn't have unparked the writer
+            if (started && published.get((int) next & mask) != next) {
+               LockSupport.park(this);
+            }
+            writerParked = false;
+            continue;
+         }
+         // the records claimed before stopping may still be being published
+         if (next == claimed.get()) {
+            break;
+         }
+         if (drainDeadline == 0) {
+            drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+         } else if (System.nanoTime() - drainDeadline > 0) {
+            break;
+         }
+         LockSupport.parkNanos(DRAIN_PARK_NANOS);
+      }
+      closeFile();
+   }
+
+   private void write(AuditRecord record) {
+      if (fileWriter != null) {
+         try {
+            fileWriter.write(record);
+            return;
+         } catch (IOException e) {
+            failFile(e);
+         }
+      }
+      switch (record.type) {
+         case SEND:
+            AuditLogger.MESSAGE_LOGGER.coreSendMessage(record.getCaller(), record.describeMessage(), null, record.getTransaction());
+            break;
+         case CONSUME:
+            AuditLogger.MESSAGE_LOGGER.consumeMessage(record.getCaller(), record.getQueue(), record.describeMessage());
+            break;
+         case ACKNOWLEDGE:
+            AuditLogger.MESSAGE_LOGGER.coreAcknowledgeMessage(record.getCaller(), record.getQueue(), record.describeMessage(), record.getTransaction());
+            break;
+         default:
+      }
+   }
+
+   private void flush() {
+      if (fileWriter != null) {
+         try {
+            fileWriter.flush();
+         } catch (IOException e) {
+            failFile(e);
+         }
+      }
+   }
+
+   private void failFile(IOException e) {
+      AuditLogger.MESSAGE_LOGGER.auditFileWriteFailed(fileWriter.getFile().toString(), e);
+      closeFile();
+   }
+
+   private void closeFile() {
+      if (fileWriter != null) {
+         try {
+            fileWriter.close();
+         } catch (IOException ignored) {
+         }
+         fileWriter = null;
+      }
+   }
+
+   private void reportDropped() {
+      final long total = dropped.sum();
+      if (total != droppedReported) {
+         AuditLogger.MESSAGE_LOGGER.droppedAuditRecords(total - droppedReported);
+         droppedReported = total;
+      }
+   }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.logs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * The binary format of the message audit records written by the {@link AsyncAuditLogger}.
+ * <p>
+ * A file starts with the magic number {@code AUDT} and the version of the format, followed by the records, each of
+ * them being:
+ * <pre>
+ * byte    type (the ordinal of {@link AuditRecord.Type})
+ * long    timestamp, in milliseconds since the epoch
+ * long    message ID
+ * boolean durable
+ * long    transaction ID, -1 if none
+ * UTF     caller
+ * UTF     queue, empty for a send
+ * UTF     address
+ * </pre>
+ * The strings are written as by {@link DataOutputStream#writeUTF(String)}. A file is appended to when the broker
+ * restarts. Its last record may be truncated if the broker crashed, so the {@link Writer} first cuts the file after its
+ * last complete record, otherwise the records appended would be read as the end of the truncated one.
+ */
+public final class AuditFile {
+
+   static final int MAGIC = 0x41554454;
+
+   static final short VERSION = 1;
+
+   private static final int BUFFER_SIZE = 64 * 1024;
+
+   // magic number and version
+   private static final int HEADER_SIZE = 4 + 2;
+
+   // timestamp, message ID, durable and transaction ID, after the type
+   private static final int FIXED_SIZE = 8 + 8 + 1 + 8;
+
+   private static final int STRINGS = 3;
+
+   private AuditFile() {
+   }
+
+   public static final class Writer implements Closeable {
+
+      private final File file;
+
+      private final DataOutputStream out;
+
+      public Writer(File file) throws IOException {
+         this.file = file;
+         final long length = file.exists() ? file.length() : 0;
+         final long valid = length == 0 ? 0 : completeLength(file, length);
+         if (valid < length) {
+            AuditLogger.MESSAGE_LOGGER.auditFileTruncated(file.toString(), length - valid);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+               raf.setLength(valid);
+            }
+         }
+         final boolean empty = valid == 0;
+         if (empty && file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+         }
+         this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true), BUFFER_SIZE));
+         if (empty) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+         }
+      }
+
+      public File getFile() {
+         return file;
+      }
+
+      public void write(AuditRecord record) throws IOException {
+         out.writeByte(record.type.ordinal());
+         out.writeLong(record.timestamp);
+         out.writeLong(record.messageID);
+         out.writeBoolean(record.durable);
+         out.writeLong(record.txID);
+         out.writeUTF(record.getCaller());
+         out.writeUTF(record.queue == null ? "" : record.queue.toString());
+         out.writeUTF(record.address == null ? "" : record.address.toString());
+      }
+
+      public void flush() throws IOException {
+         out.flush();
+      }
+
+      @Override
+      public void close() throws IOException {
+         out.close();
+      }
+   }
+
+   /**
+    * @return the length of the file up to the end of its last complete record, 0 if even its header is truncated
+    */
+   static long completeLength(File file, long length) throws IOException {
+      if (length < HEADER_SIZE) {
+         return 0;
+      }
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+         if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+            throw new IOException(file + " is not an audit file of version " + VERSION);
+         }
+         final int types = AuditRecord.Type.values().length;
+         final byte[] skipped = new byte[Math.max(FIXED_SIZE, 0xFFFF)];
+         long valid = HEADER_SIZE;
+         while (true) {
+            final int type = in.read();
+            if (type < 0 || type >= types) {
+               return valid;
+            }
+            long size = 1 + FIXED_SIZE;
+            try {
+               in.readFully(skipped, 0, FIXED_SIZE);
+               for (int i = 0; i < STRINGS; i++) {
+                  final int utfLength = in.readUnsignedShort();
+                  in.readFully(skipped, 0, utfLength);
+                  size += 2 + utfLength;
+               }
+            } catch (EOFException e) {
+               return valid;
+            }
+            valid += size;
+         }
+      }
+   }
+
+   public static final class Reader implements Closeable {
+
+      private final DataInputStream in;
+
+      public Reader(File file) throws IOException {
+         this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+         try {
+            final int magic = in.readInt();
+            final short version = in.readShort();
+            if (magic != MAGIC || version != VERSION) {
+               throw new IOException(file + " is not an audit file of version " + VERSION);
+            }
+         } catch (IOException e) {
+            in.close();
+            throw e;
+         }
+      }
+
+      /**
+       * Reads the next record into {@code record}.
+       *
+       * @return {@code false} at the end of the file, including when the last record is truncated
+       */
+      public boolean next(AuditRecord record) throws IOException {
+         final int type = in.read();
+         if (type < 0) {
+            return false;
+         }
+         try {
+            record.clear();
+            record.type = AuditRecord.Type.valueOf(type);
+            record.timestamp = in.readLong();
+            record.messageID = in.readLong();
+            record.durable = in.readBoolean();
+            record.txID = in.readLong();
+            record.caller = in.readUTF();
+            final String queue = in.readUTF();
+            record.queue = queue.isEmpty() ? null : queue;
+            record.address = in.readUTF();
+            return true;
+         } catch (EOFException e) {
+            return false;
+         }
+      }
+
+      @Override
+      public void close() throws IOException {
+         in.close();
+      }
+   }
+}
@@ -2639,4 +2639,69 @@ public interface AuditLogger {
 
    @LogMessage(id = 601766, value = "User {} is getting auto-delete property on target resource: {}", level = LogMessage.Level.INFO)
    void isAutoDelete(String user, Object source);
+
+   static void isFlightRecorderEnabled(Object source) {
+      BASE_LOGGER.isFlightRecorderEnabled(getCaller(), source);
+   }
+
+   @LogMessage(id = 601767, value = "User {} is querying is-flight-recorder-enabled on target resource: {}", level = LogMessage.Level.INFO)
+   void isFlightRecorderEnabled(String user, Object source);
+
+   static void enableFlightRecorder(Object source) {
+      BASE_LOGGER.enableFlightRecorder(getCaller(), source);
+   }
+
+   @LogMessage(id = 601768, value = "User {} is enabling flight recorder events on target resource: {}", level = LogMessage.Level.INFO)
+   void enableFlightRecorder(String user, Object source);
+
+   static void disableFlightRecorder(Object source) {
+      BASE_LOGGER.disableFlightRecorder(getCaller(), source);
+   }
+
+   @LogMessage(id = 601769, value = "User {} is disabling flight recorder events on target resource: {}", level = LogMessage.Level.INFO)
+   void disableFlightRecorder(String user, Object source);
+
+   static void listTopThroughput(Object source, Object... args) {
+      BASE_LOGGER.listTopThroughput(getCaller(), source, parametersList(args));
+   }
+
+   @LogMessage(id = 601770, value = "User {} is listing the top throughput on target resource: {} {}", level = LogMessage.Level.INFO)
+   void listTopThroughput(String user, Object source, String args);
+
+   static void resetThroughputAccounting(Object source) {
+      BASE_LOGGER.resetThroughputAccounting(getCaller(), source);
+   }
+
+   @LogMessage(id = 601771, value = "User {} is resetting the throughput accounting on target resource: {}", level = LogMessage.Level.INFO)
+   void resetThroughputAccounting(String user, Object source);
+
+   static void listMessageCounterRollup(Object source, Object... args) {
+      BASE_LOGGER.listMessageCounterRollup(getCaller(), source, parametersList(args));
+   }
+
+   @LogMessage(id = 601772, value = "User {} is listing message counter rollup on target resource: {} {}", level = LogMessage.Level.INFO)
+   void listMessageCounterRollup(String user, Object source, String args);
+
+   static void listCriticalStalls(Object source) {
+      BASE_LOGGER.listCriticalStalls(getCaller(), source);
+   }
+
+   @LogMessage(id = 601773, value = "User {} is listing the critical stalls on target resource: {}", level = LogMessage.Level.INFO)
+   void listCriticalStalls(String user, Object source);
+
+   static void resetCriticalStalls(Object source) {
+      BASE_LOGGER.resetCriticalStalls(getCaller(), source);
+   }
+
+   @LogMessage(id = 601774, value = "User {} is resetting the critical stalls on target resource: {}", level = LogMessage.Level.INFO)
+   void resetCriticalStalls(String user, Object source);
+
+   @LogMessage(id = 601775, value = "{} message audit records were dropped as the asynchronous audit log was full", level = LogMessage.Level.WARN)
+   void droppedAuditRecords(long dropped);
+
+   @LogMessage(id = 601776, value = "Could not write to the audit file {}, the message audit records are logged instead", level = LogMessage.Level.WARN)
+   void auditFileWriteFailed(String file, Exception e);
+
+   @LogMessage(id = 601777, value = "The audit file {} ended with a truncated record, its last {} bytes were removed", level = LogMessage.Level.WARN)
+   void auditFileTruncated(String file, long bytes);
 }
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.logs;
+
+/**
+ * What a thread auditing a message does when the ring of the {@link AsyncAuditLogger} is full.
+ */
+public enum AuditOverflowPolicy {
+
+   /**
+    * Wait for the writer to free a slot, so no record is lost nor reordered.
+    */
+   BLOCK,
+
+   /**
+    * Drop the record, counting the records dropped in the audit log.
+    */
+   DROP,
+
+   /**
+    * Log the record on the calling thread, as when the audit log isn't asynchronous.
+    */
+   SYNC
+}
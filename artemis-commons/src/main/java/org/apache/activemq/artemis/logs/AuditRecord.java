@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.logs;
+
+import javax.security.auth.Subject;
+import java.time.Instant;
+
+/**
+ * A message audit event, as captured by the {@link AsyncAuditLogger} and as read back from an audit file.
+ * <p>
+ * The records are slots reused by the ring and by {@link AuditFile.Reader}: they only hold what identifies the
+ * message, which is cheap to capture on the calling thread, while the caller and the message are described when the
+ * record is written.
+ */
+public final class AuditRecord {
+
+   public enum Type {
+      SEND, CONSUME, ACKNOWLEDGE;
+
+      private static final Type[] VALUES = values();
+
+      static Type valueOf(int ordinal) {
+         if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown audit record type " + ordinal);
+         }
+         return VALUES[ordinal];
+      }
+   }
+
+   Type type;
+
+   long timestamp;
+
+   // captured on the calling thread, turned into the caller when the record is written
+   Subject subject;
+
+   String remoteAddress;
+
+   // the remote address set on the calling thread, already formatted, when none is given
+   String threadRemoteAddress;
+
+   String caller;
+
+   Object queue;
+
+   Object address;
+
+   long messageID;
+
+   boolean durable;
+
+   long txID;
+
+   void set(Type type, Subject subject, String remoteAddress, Object queue, long messageID, Object address, boolean durable, long txID) {
+      this.type = type;
+      this.timestamp = System.currentTimeMillis();
+      this.subject = subject;
+      this.remoteAddress = remoteAddress;
+      this.threadRemoteAddress = remoteAddress == null ? AuditLogger.getRemoteAddress() : null;
+      this.caller = null;
+      this.queue = queue;
+      this.messageID = messageID;
+      this.address = address;
+      this.durable = durable;
+      this.txID = txID;
+   }
+
+   void clear() {
+      subject = null;
+      remoteAddress = null;
+      threadRemoteAddress = null;
+      caller = null;
+      queue = null;
+      address = null;
+   }
+
+   public Type getType() {
+      return type;
+   }
+
+   /**
+    * @return when the event happened, in milliseconds since the epoch
+    */
+   public long getTimestamp() {
+      return timestamp;
+   }
+
+   /**
+    * @return the caller in the format "user(role)@remoteAddress"
+    */
+   public String getCaller() {
+      if (caller == null) {
+         if (remoteAddress != null) {
+            caller = AuditLogger.getCaller(subject, remoteAddress);
+         } else {
+            // strip the "@" added when formatting the remote address of the calling thread
+            caller = AuditLogger.getCaller(subject, threadRemoteAddress == null ? "unknown" : threadRemoteAddress.substring(1));
+         }
+      }
+      return caller;
+   }
+
+   /**
+    * @return the queue consuming or acknowledging the message, {@code null} for a send
+    */
+   public String getQueue() {
+      return queue == null ? null : queue.toString();
+   }
+
+   public String getAddress() {
+      return address == null ? null : address.toString();
+   }
+
+   public long getMessageID() {
+      return messageID;
+   }
+
+   public boolean isDurable() {
+      return durable;
+   }
+
+   /**
+    * @return the ID of the transaction, {@code -1} when the message isn't sent or acknowledged in a transaction
+    */
+   public long getTxID() {
+      return txID;
+   }
+
+   String getTransaction() {
+      return txID < 0 ? null : Long.toString(txID);
+   }
+
+   String describeMessage() {
+      return "messageID=" + messageID + ", address=" + getAddress() + ", durable=" + durable + ", timestamp=" + Instant.ofEpochMilli(timestamp);
+   }
+
+   @Override
+   public String toString() {
+      return Instant.ofEpochMilli(timestamp) + " " + type + " " + getCaller() + (queue == null ? "" : " queue=" + queue) +
+         " messageID=" + messageID + " address=" + address + " durable=" + durable + (txID < 0 ? "" : " transaction=" + txID);
+   }
+}
@@ -0,0 +1,269 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Space-Saving sketch of the heavy hitters of a stream of weighted keys, e.g. the addresses receiving the most
+ * bytes, using a memory bounded by its capacity whatever the number of distinct keys.
+ * <p>
+ * It counts exactly up to {@code capacity} keys. Once full, a new key replaces the key with the smallest weight and
+ * inherits its weight and count, which become the error of its estimates: each estimate is never lower than the
+ * actual value, and at most greater by its error. Any key whose weight is greater than the total weight divided by
+ * the capacity is guaranteed to be tracked.
+ * <p>
+ * The keys are kept in a min-heap of their weights, so an update costs {@code O(log capacity)} and an eviction
+ * reuses the evicted entry. It's thread-safe, and several sketches updated by different threads can be merged on read
+ * with {@link #top(Collection, int)} to avoid contending on a single one.
+ *
+ * @param <K> the type of the keys
+ */
+public final class SpaceSavingSketch<K> {
+
+   private static final Comparator<Entry<?>> BY_WEIGHT_DESC = Comparator.comparingLong((Entry<?> entry) -> entry.weight).reversed();
+
+   private final int capacity;
+
+   private final Map<K, Counter<K>> counters;
+
+   // min-heap of the weights
+   private final Counter<K>[] heap;
+
+   private int size;
+
+   @SuppressWarnings("unchecked")
+   public SpaceSavingSketch(int capacity) {
+      if (capacity <= 0) {
+         throw new IllegalArgumentException("capacity must be greater than 0");
+      }
+      this.capacity = capacity;
+      this.counters = new HashMap<>(capacity * 2);
+      this.heap = new Counter[capacity];
+   }
+
+   public int getCapacity() {
+      return capacity;
+   }
+
+   /**
+    * Adds a weight, e.g. a number of bytes, and a count, e.g. a number of messages, to the estimates of a key.
+    */
+   public synchronized void add(K key, long weight, long count) {
+      Counter<K> counter = counters.get(key);
+      if (counter == null) {
+         if (size < capacity) {
+            counter = new Counter<>(size);
+            heap[size++] = counter;
+            counter.key = key;
+            counter.weight = weight;
+            counter.count = count;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+         }
+         // replace the key with the smallest weight, the root of the heap
+         counter = heap[0];
+         counters.remove(counter.key);
+         counter.weightError = counter.weight;
+         counter.countError = counter.count;
+         counter.key = key;
+         counters.put(key, counter);
+      }
+      counter.weight += weight;
+      counter.count += count;
+      siftDown(counter.index);
+   }
+
+   /**
+    * @return the estimates of at most {@code n} keys with the greatest weights, by descending weight
+    */
+   public List<Entry<K>> top(int n) {
+      final List<Entry<K>> entries;
+      synchronized (this) {
+         entries = new ArrayList<>(size);
+         for (int i = 0; i < size; i++) {
+            final Counter<K> counter = heap[i];
+            entries.add(new Entry<>(counter.key, counter.weight, counter.weightError, counter.count, counter.countError));
+         }
+      }
+      entries.sort(BY_WEIGHT_DESC);
+      return n < entries.size() ? entries.subList(0, Math.max(n, 0)) : entries;
+   }
+
+   /**
+    * @return the estimates of at most {@code n} keys with the greatest weights over several sketches of disjoint parts
+    * of a stream, by descending weight. A key missing from a full sketch may have been evicted from it, so the weight
+    * and count of the smallest entry of that sketch are added to its estimates and to their errors.
+    */
+   public static <K> List<Entry<K>> top(Collection<SpaceSavingSketch<K>> sketches, int n) {
+      // weight, weight error, count, count error, and the smallest estimates of the full sketches having the key
+      final Map<K, long[]> merged = new HashMap<>();
+      long missingWeight = 0;
+      long missingCount = 0;
+      for (SpaceSavingSketch<K> sketch : sketches) {
+         synchronized (sketch) {
+            final boolean full = sketch.size == sketch.capacity;
+            final long smallestWeight = full ? sketch.heap[0].weight : 0;
+            final long smallestCount = full ? sketch.heap[0].count : 0;
+            missingWeight += smallestWeight;
+            missingCount += smallestCount;
+            for (int i = 0; i < sketch.size; i++) {
+               final Counter<K> counter = sketch.heap[i];
+               final long[] estimates = merged.computeIfAbsent(counter.key, key -> new long[6]);
+               estimates[0] += counter.weight;
+               estimates[1] += counter.weightError;
+               estimates[2] += counter.count;
+               estimates[3] += counter.countError;
+               estimates[4] += smallestWeight;
+               estimates[5] += smallestCount;
+            }
+         }
+      }
+      final List<Entry<K>> entries = new ArrayList<>(merged.size());
+      for (Map.Entry<K, long[]> entry : merged.entrySet()) {
+         final long[] estimates = entry.getValue();
+         final long weightMissing = missingWeight - estimates[4];
+         final long countMissing = missingCount - estimates[5];
+         entries.add(new Entry<>(entry.getKey(), estimates[0] + weightMissing, estimates[1] + weightMissing,
+                                 estimates[2] + countMissing, estimates[3] + countMissing));
+      }
+      entries.sort(BY_WEIGHT_DESC);
+      return n < entries.size() ? entries.subList(0, Math.max(n, 0)) : entries;
+   }
+
+   public synchronized int size() {
+      return size;
+   }
+
+   public synchronized void clear() {
+      counters.clear();
+      Arrays.fill(heap, 0, size, null);
+      size = 0;
+   }
+
+   private void siftUp(int index) {
+      final Counter<K> counter = heap[index];
+      while (index > 0) {
+         final int parent = (index - 1) / 2;
+         if (heap[parent].weight <= counter.weight) {
+            break;
+         }
+         heap[index] = heap[parent];
+         heap[index].index = index;
+         index = parent;
+      }
+      heap[index] = counter;
+      counter.index = index;
+   }
+
+   private void siftDown(int index) {
+      final Counter<K> counter = heap[index];
+      while (true) {
+         int child = 2 * index + 1;
+         if (child >= size) {
+            break;
+         }
+         if (child + 1 < size && heap[child + 1].weight < heap[child].weight) {
+            child++;
+         }
+         if (heap[child].weight >= counter.weight) {
+            break;
+         }
+         heap[index] = heap[child];
+         heap[index].index = index;
+         index = child;
+      }
+      heap[index] = counter;
+      counter.index = index;
+   }
+
+   private static final class Counter<K> {
+
+      K key;
+
+      int index;
+
+      long weight;
+
+      long weightError;
+
+      long count;
+
+      long countError;
+
+      Counter(int index) {
+         this.index = index;
+      }
+   }
+
+   /**
+    * The estimates of a key: its actual weight lies between {@code weight - weightError} and {@code weight}, as
+    * does its actual count between {@code count - countError} and {@code count}.
+    */
+   public static final class Entry<K> {
+
+      private final K key;
+
+      private final long weight;
+
+      private final long weightError;
+
+      private final long count;
+
+      private final long countError;
+
+      Entry(K key, long weight, long weightError, long count, long countError) {
+         this.key = key;
+         this.weight = weight;
+         this.weightError = weightError;
+         this.count = count;
+         this.countError = countError;
+      }
+
+      public K getKey() {
+         return key;
+      }
+
+      public long getWeight() {
+         return weight;
+      }
+
+      public long getWeightError() {
+         return weightError;
+      }
+
+      public long getCount() {
+         return count;
+      }
+
+      public long getCountError() {
+         return countError;
+      }
+
+      @Override
+      public String toString() {
+         return "Entry(key=" + key + ", weight=" + weight + ", weightError=" + weightError + ", count=" + count + ", countError=" + countError + ")";
+      }
+   }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An unbounded FIFO queue that grows in chunks, for a single producer and a single consumer.<br>
+ * {@link #offer(Object)} must be called by one thread at a time, as well as {@link #poll()} and {@link #clear()}:
+ * the producer and the consumer never block each other and {@link #size()} can be called by any thread.
+ */
+public final class SpscChunkedQueue<E> {
+
+   private static final class Chunk<E> extends AtomicReferenceArray<E> {
+
+      volatile Chunk<E> next;
+
+      Chunk(int length) {
+         super(length);
+      }
+   }
+
+   private static final AtomicLongFieldUpdater<SpscChunkedQueue> PRODUCED_UPDATER = AtomicLongFieldUpdater.newUpdater(SpscChunkedQueue.class, "produced");
+
+   private static final AtomicLongFieldUpdater<SpscChunkedQueue> CONSUMED_UPDATER = AtomicLongFieldUpdater.newUpdater(SpscChunkedQueue.class, "consumed");
+
+   private final int chunkSize;
+
+   // producer side
+   private Chunk<E> producerChunk;
+
+   private int producerOffset;
+
+   private volatile long produced;
+
+   // consumer side
+   private Chunk<E> consumerChunk;
+
+   private int consumerOffset;
+
+   private volatile long consumed;
+
+   /**
+    * @throws IllegalArgumentException if {@code chunkSize} is &lt;=0
+    */
+   public SpscChunkedQueue(final int chunkSize) {
+      if (chunkSize <= 0) {
+         throw new IllegalArgumentException("chunkSize must be >0");
+      }
+      this.chunkSize = chunkSize;
+      final Chunk<E> first = new Chunk<>(chunkSize);
+      this.producerChunk = first;
+      this.consumerChunk = first;
+   }
+
+   /**
+    * Appends {@code e} at the tail of the queue: it must be called by the producer only.
+    *
+    * @throws NullPointerException if {@code e} is {@code null}
+    */
+   public void offer(final E e) {
+      Objects.requireNonNull(e);
+      Chunk<E> chunk = producerChunk;
+      int offset = producerOffset;
+      if (offset == chunkSize) {
+         final Chunk<E> next = new Chunk<>(chunkSize);
+         // the element is published before the new chunk, the consumer will find it as soon as it moves on
+         next.lazySet(0, e);
+         chunk.next = next;
+         producerChunk = next;
+         producerOffset = 1;
+      } else {
+         chunk.lazySet(offset, e);
+         producerOffset = offset + 1;
+      }
+      PRODUCED_UPDATER.lazySet(this, produced + 1);
+   }
+
+   /**
+    * Removes the element at the head of the queue: it must be called by the consumer only.
+    *
+    * @return the head of the queue or {@code null} if it is empty
+    */
+   public E poll() {
+      Chunk<E> chunk = consumerChunk;
+      int offset = consumerOffset;
+      if (offset == chunkSize) {
+         final Chunk<E> next = chunk.next;
+         if (next == null) {
+            return null;
+         }
+         // the consumed chunk is left to the GC
+         chunk = next;
+         offset = 0;
+         consumerChunk = next;
+         consumerOffset = 0;
+      }
+      final E e = chunk.get(offset);
+      if (e == null) {
+         return null;
+      }
+      chunk.lazySet(offset, null);
+      consumerOffset = offset + 1;
+      CONSUMED_UPDATER.lazySet(this, consumed + 1);
+      return e;
+   }
+
+   /**
+    * Removes all the elements of the queue: it must be called by the consumer only.
+    */
+   public void clear() {
+      E e;
+      do {
+         e = poll();
+      }
+      while (e != null);
+   }
+
+   /**
+    * It returns the number of elements currently in the queue.
+    */
+   public int size() {
+      // the counters are updated after the elements: while racing with offer/poll the result is approximate
+      final long consumed = this.consumed;
+      final long produced = this.produced;
+      return (int) Math.max(0, produced - consumed);
+   }
+
+   public boolean isEmpty() {
+      return size() == 0;
+   }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.utils.critical;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
@@ -48,4 +50,28 @@ public interface CriticalAnalyzer extends ActiveMQComponent {
    CriticalAnalyzer addAction(CriticalAction action);
 
    void check();
+
+   /**
+    * Sets how often the latency budgets of the components are checked, 0 not to check them.
+    */
+   default CriticalAnalyzer setBudgetCheckTime(long time, TimeUnit unit) {
+      return this;
+   }
+
+   default long getBudgetCheckTimeNanoSeconds() {
+      return 0;
+   }
+
+   default void checkBudgets() {
+   }
+
+   /**
+    * @return the latest stalls recorded when checking the latency budgets, from the oldest
+    */
+   default List<CriticalStall> getStalls() {
+      return Collections.emptyList();
+   }
+
+   default void clearStalls() {
+   }
 }
\ No newline at end of file
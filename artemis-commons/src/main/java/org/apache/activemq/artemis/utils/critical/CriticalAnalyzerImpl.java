@@ -17,7 +17,13 @@
 
 package org.apache.activemq.artemis.utils.critical;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -32,11 +38,32 @@ public class CriticalAnalyzerImpl implements CriticalAnalyzer {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // the number of stalls kept
+   static final int STALL_HISTORY = 100;
+
+   // the number of frames kept of the stack of a stalled thread
+   private static final int STALL_STACK_DEPTH = 16;
+
+   // the number of blocked threads kept for a stall
+   private static final int STALL_BLOCKED_THREADS = 5;
+
    private volatile long timeoutNanoSeconds;
 
    // one minute by default.. the server will change it for sure
    private volatile long checkTimeNanoSeconds = TimeUnit.SECONDS.toNanos(60);
 
+   // 0 when the budgets aren't checked
+   private volatile long budgetCheckTimeNanoSeconds;
+
+   // the last time the components were checked for expiration, when the budgets are checked more often
+   private long lastCheck = System.nanoTime();
+
+   private final CriticalStall[] stalls = new CriticalStall[STALL_HISTORY];
+
+   private int stallsHead;
+
+   private int stallsSize;
+
    private final ActiveMQScheduledComponent scheduledComponent;
 
    private final AtomicBoolean running = new AtomicBoolean(false);
@@ -51,6 +78,15 @@ public class CriticalAnalyzerImpl implements CriticalAnalyzer {
       this.scheduledComponent = new ActiveMQScheduledComponent(null, null, checkTimeNanoSeconds, TimeUnit.NANOSECONDS, false) {
          @Override
          public void run() {
+            if (budgetCheckTimeNanoSeconds > 0) {
+               logger.trace("Checking critical analyzer budgets");
+               checkBudgets();
+               final long now = System.nanoTime();
+               if (now - lastCheck < getCheckTimeNanoSeconds()) {
+                  return;
+               }
+               lastCheck = now;
+            }
             logger.trace("Checking critical analyzer");
             check();
          }
@@ -62,6 +98,7 @@ public class CriticalAnalyzerImpl implements CriticalAnalyzer {
    public void clear() {
       actions.clear();
       components.clear();
+      clearStalls();
    }
 
    private CopyOnWriteArrayList<CriticalAction> actions = new CopyOnWriteArrayList<>();
@@ -91,10 +128,31 @@ public class CriticalAnalyzerImpl implements CriticalAnalyzer {
    @Override
    public CriticalAnalyzer setCheckTime(long timeout, TimeUnit unit) {
       this.checkTimeNanoSeconds = unit.toNanos(timeout);
-      this.scheduledComponent.setPeriod(timeout, unit);
+      updatePeriod();
+      return this;
+   }
+
+   @Override
+   public CriticalAnalyzer setBudgetCheckTime(long time, TimeUnit unit) {
+      this.budgetCheckTimeNanoSeconds = Math.max(0, unit.toNanos(time));
+      updatePeriod();
       return this;
    }
 
+   @Override
+   public long getBudgetCheckTimeNanoSeconds() {
+      return budgetCheckTimeNanoSeconds;
+   }
+
+   private void updatePeriod() {
+      final long budgetCheckTime = budgetCheckTimeNanoSeconds;
+      if (budgetCheckTime > 0 && (checkTimeNanoSeconds <= 0 || budgetCheckTime < checkTimeNanoSeconds)) {
+         scheduledComponent.setPeriod(budgetCheckTime, TimeUnit.NANOSECONDS);
+      } else {
+         scheduledComponent.setPeriod(checkTimeNanoSeconds, TimeUnit.NANOSECONDS);
+      }
+   }
+
    @Override
    public long getCheckTimeNanoSeconds() {
       if (checkTimeNanoSeconds == 0) {
@@ -151,6 +209,66 @@ public class CriticalAnalyzerImpl implements CriticalAnalyzer {
       }
    }
 
+   @Override
+   public void checkBudgets() {
+      for (CriticalComponent component : components) {
+         try {
+            component.checkBudgets(this::recordStall);
+         } catch (Throwable e) {
+            logger.warn(e.getMessage(), e);
+         }
+      }
+   }
+
+   private void recordStall(CriticalComponent component, int path, long elapsed, long budget, Thread thread) {
+      final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      final ThreadInfo threadInfo = thread == null ? null : threads.getThreadInfo(thread.getId(), STALL_STACK_DEPTH);
+
+      // no stack traces, just the locks of the threads blocked the most
+      final List<ThreadInfo> blockedThreads = new ArrayList<>();
+      for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+         if (info != null && info.getThreadState() == Thread.State.BLOCKED) {
+            blockedThreads.add(info);
+         }
+      }
+      blockedThreads.sort(Comparator.comparingLong(ThreadInfo::getBlockedCount).reversed());
+      final List<ThreadInfo> topBlockedThreads = new ArrayList<>(blockedThreads.subList(0, Math.min(STALL_BLOCKED_THREADS, blockedThreads.size())));
+
+      final CriticalStall stall = new CriticalStall(System.currentTimeMillis(), component.toString(), path, elapsed, budget, component.getPendingTasks(), threadInfo, topBlockedThreads);
+      logger.warn("Component {} exceeded the latency budget of path {}: {}", component, path, stall);
+
+      synchronized (stalls) {
+         stalls[(stallsHead + stallsSize) % STALL_HISTORY] = stall;
+         if (stallsSize < STALL_HISTORY) {
+            stallsSize++;
+         } else {
+            stallsHead = (stallsHead + 1) % STALL_HISTORY;
+         }
+      }
+   }
+
+   @Override
+   public List<CriticalStall> getStalls() {
+      synchronized (stalls) {
+         final List<CriticalStall> list = new ArrayList<>(stallsSize);
+         for (int i = 0; i < stallsSize; i++) {
+            list.add(stalls[(stallsHead + i) % STALL_HISTORY]);
+         }
+         return list;
+      }
+   }
+
+   @Override
+   public void clearStalls() {
+      synchronized (stalls) {
+         for (int i = 0; i < STALL_HISTORY; i++) {
+            stalls[i] = null;
+         }
+         stallsHead = 0;
+         stallsSize = 0;
+      }
+   }
+
    protected void fireActions(CriticalComponent component) {
       for (CriticalAction action : actions) {
          try {
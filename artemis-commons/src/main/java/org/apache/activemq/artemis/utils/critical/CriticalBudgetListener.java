@@ -0,0 +1,29 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.critical;
+
+public interface CriticalBudgetListener {
+
+   /**
+    * @param component the component taking too long
+    * @param path      the path of the component taking too long
+    * @param elapsed   the time spent in the path so far, in nanoseconds
+    * @param budget    the latency budget of the path, in nanoseconds
+    * @param thread    the thread in the path, if known
+    */
+   void budgetExceeded(CriticalComponent component, int path, long elapsed, long budget, Thread thread);
+}
@@ -37,4 +37,19 @@ public interface CriticalComponent {
     * @return -1 if it's ok, or the number of the path it failed
     */
    boolean checkExpiration(long timeout, boolean reset);
+
+   /**
+    * Check if any path of the component is taking longer than its latency budget, which is well below the timeout
+    * and only used for diagnostics.
+    * @param listener - notified once every time a path exceeds its budget
+    */
+   default void checkBudgets(CriticalBudgetListener listener) {
+   }
+
+   /**
+    * @return the number of tasks waiting on the component, or -1 if unknown
+    */
+   default long getPendingTasks() {
+      return -1;
+   }
 }
\ No newline at end of file
@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.utils.critical;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * This is not abstract as it could be used through aggregations or extensions.
  * This is only good for cases where you call leave within the same thread as you called enter.
@@ -55,6 +57,28 @@ public class CriticalComponentImpl implements CriticalComponent {
       }
    }
 
+   /**
+    * Sets the latency budget of a path, beyond which the analyzer records a stall when checking budgets.
+    */
+   protected void setBudget(int path, long budget, TimeUnit unit) {
+      if (measures != null) {
+         measures[path].setBudget(unit.toNanos(budget));
+      }
+   }
+
+   @Override
+   public void checkBudgets(CriticalBudgetListener listener) {
+      if (measures == null) {
+         return;
+      }
+      for (CriticalMeasure measure : measures) {
+         final long elapsed = measure.checkBudget();
+         if (elapsed >= 0) {
+            listener.budgetExceeded(this, measure.getId(), elapsed, measure.getBudget(), measure.getThread());
+         }
+      }
+   }
+
    @Override
    public boolean checkExpiration(long timeout, boolean reset) {
       for (int i = 0; i < measures.length; i++) {
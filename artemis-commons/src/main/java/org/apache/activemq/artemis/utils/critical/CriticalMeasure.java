@@ -73,6 +73,15 @@ public class CriticalMeasure {
    protected volatile int measuring;
    protected volatile long timeEnter;
 
+   // the latency budget of the path in nanoseconds, 0 when it has none
+   private volatile long budget;
+
+   // the thread in the path, only kept when the path has a budget and published by timeEnter
+   private Thread thread;
+
+   // the timeEnter of the last budget breach reported, not to report a breach more than once
+   private long breachReported;
+
    private final int id;
    private final CriticalComponent component;
 
@@ -96,6 +105,9 @@ public class CriticalMeasure {
    }
 
    protected void enterCritical() {
+      if (budget != 0L) {
+         thread = Thread.currentThread();
+      }
       timeEnter = System.nanoTime();
 
       if (logger.isTraceEnabled()) {
@@ -127,6 +139,45 @@ public class CriticalMeasure {
       }
    }
 
+   public long getBudget() {
+      return budget;
+   }
+
+   public void setBudget(long budget) {
+      this.budget = budget;
+   }
+
+   public int getId() {
+      return id;
+   }
+
+   /**
+    * Check whether the path is taking longer than its budget, reporting a breach once for every time the path is
+    * entered. This is only called by the thread checking the budgets.
+    *
+    * @return the time spent in the path in nanoseconds if it breaches its budget and wasn't reported yet, -1 otherwise
+    */
+   public long checkBudget() {
+      final long thisBudget = this.budget;
+      final long thisTimeEnter = this.timeEnter;
+      if (thisBudget == 0L || thisTimeEnter == 0L || thisTimeEnter == breachReported) {
+         return -1L;
+      }
+      final long elapsed = System.nanoTime() - thisTimeEnter;
+      if (elapsed <= thisBudget) {
+         return -1L;
+      }
+      breachReported = thisTimeEnter;
+      return elapsed;
+   }
+
+   /**
+    * @return the last thread to enter the path when it has a budget, null otherwise
+    */
+   public Thread getThread() {
+      return timeEnter == 0L ? null : thread;
+   }
+
    public boolean checkExpiration(long timeout, boolean reset) {
       final long thisTimeEnter = this.timeEnter;
       if (thisTimeEnter != 0L) {
@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.critical;
+
+import java.lang.management.ThreadInfo;
+import java.util.List;
+
+import org.apache.activemq.artemis.json.JsonArrayBuilder;
+import org.apache.activemq.artemis.json.JsonObject;
+import org.apache.activemq.artemis.json.JsonObjectBuilder;
+import org.apache.activemq.artemis.utils.JsonLoader;
+
+/**
+ * The diagnostics taken when a path of a {@link CriticalComponent} exceeds its latency budget: the thread in the path
+ * with the lock it's waiting on, the threads blocked the most and the tasks waiting on the component.
+ */
+public final class CriticalStall {
+
+   private final long timestamp;
+
+   private final String component;
+
+   private final int path;
+
+   private final long elapsed;
+
+   private final long budget;
+
+   private final long pendingTasks;
+
+   // null if the thread in the path isn't known
+   private final ThreadInfo thread;
+
+   private final List<ThreadInfo> blockedThreads;
+
+   public CriticalStall(long timestamp,
+                        String component,
+                        int path,
+                        long elapsed,
+                        long budget,
+                        long pendingTasks,
+                        ThreadInfo thread,
+                        List<ThreadInfo> blockedThreads) {
+      this.timestamp = timestamp;
+      this.component = component;
+      this.path = path;
+      this.elapsed = elapsed;
+      this.budget = budget;
+      this.pendingTasks = pendingTasks;
+      this.thread = thread;
+      this.blockedThreads = blockedThreads;
+   }
+
+   public long getTimestamp() {
+      return timestamp;
+   }
+
+   public String getComponent() {
+      return component;
+   }
+
+   public int getPath() {
+      return path;
+   }
+
+   /**
+    * @return the time spent in the path when the stall was recorded, in nanoseconds
+    */
+   public long getElapsed() {
+      return elapsed;
+   }
+
+   /**
+    * @return the latency budget of the path, in nanoseconds
+    */
+   public long getBudget() {
+      return budget;
+   }
+
+   public long getPendingTasks() {
+      return pendingTasks;
+   }
+
+   public ThreadInfo getThread() {
+      return thread;
+   }
+
+   public List<ThreadInfo> getBlockedThreads() {
+      return blockedThreads;
+   }
+
+   public JsonObject toJSON() {
+      final JsonObjectBuilder obj = JsonLoader.createObjectBuilder()
+         .add("timestamp", timestamp)
+         .add("component", component)
+         .add("path", path)
+         .add("elapsed", elapsed / 1_000_000)
+         .add("budget", budget / 1_000_000)
+         .add("pendingTasks", pendingTasks);
+      if (thread != null) {
+         final JsonArrayBuilder stack = JsonLoader.createArrayBuilder();
+         for (StackTraceElement element : thread.getStackTrace()) {
+            stack.add(element.toString());
+         }
+         obj.add("thread", threadToJSON(thread).add("stackTrace", stack));
+      }
+      final JsonArrayBuilder blocked = JsonLoader.createArrayBuilder();
+      for (ThreadInfo info : blockedThreads) {
+         blocked.add(threadToJSON(info));
+      }
+      return obj.add("blockedThreads", blocked).build();
+   }
+
+   private static JsonObjectBuilder threadToJSON(ThreadInfo info) {
+      final JsonObjectBuilder obj = JsonLoader.createObjectBuilder()
+         .add("name", info.getThreadName())
+         .add("state", info.getThreadState().name())
+         .add("blockedCount", info.getBlockedCount());
+      if (info.getLockName() != null) {
+         obj.add("lock", info.getLockName());
+      }
+      if (info.getLockOwnerName() != null) {
+         obj.add("lockOwner", info.getLockOwnerName());
+      }
+      return obj;
+   }
+
+   @Override
+   public String toString() {
+      return "CriticalStall(component=" + component + ", path=" + path + ", elapsed=" + elapsed / 1_000_000 +
+         "ms, budget=" + budget / 1_000_000 + "ms, pendingTasks=" + pendingTasks +
+         ", thread=" + (thread == null ? null : thread.getThreadName()) +
+         ", lock=" + (thread == null ? null : thread.getLockName()) +
+         ", lockOwner=" + (thread == null ? null : thread.getLockOwnerName()) +
+         ", blockedThreads=" + blockedThreads.size() + ")";
+   }
+}
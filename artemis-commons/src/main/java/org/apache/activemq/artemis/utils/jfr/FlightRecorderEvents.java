@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.jfr;
+
+/**
+ * The switch of the JDK Flight Recorder events of the broker.
+ * <p>
+ * It is shared by all the brokers of the JVM: the journal and paging code emitting most of the events doesn't know
+ * which broker it works for. A broker configured with {@code flight-recorder-enabled} turns it on when starting and
+ * never turns it off, so only the management operations disable it again.
+ * <p>
+ * The events are created and committed on the hot paths only while this is enabled, so they cost a single volatile
+ * read when it is not. Once enabled they are still recorded only by a running JFR recording having them enabled,
+ * and only when lasting longer than their threshold.
+ * <p>
+ * The {@code jdk.jfr} module may be missing, e.g. in an OSGi container not exporting it to the broker bundle. The
+ * events are then never enabled, so their classes are never loaded.
+ */
+public final class FlightRecorderEvents {
+
+   private static final boolean AVAILABLE = isEventClassAvailable();
+
+   private static volatile boolean enabled;
+
+   private FlightRecorderEvents() {
+   }
+
+   private static boolean isEventClassAvailable() {
+      try {
+         Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+         return true;
+      } catch (ClassNotFoundException | LinkageError e) {
+         return false;
+      }
+   }
+
+   public static boolean isAvailable() {
+      return AVAILABLE;
+   }
+
+   public static boolean isEnabled() {
+      return enabled;
+   }
+
+   public static void setEnabled(boolean enabled) {
+      FlightRecorderEvents.enabled = enabled && AVAILABLE;
+   }
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.logs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.utils.Wait;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AsyncAuditLoggerTest {
+
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+   private static List<AuditRecord> read(File file) throws IOException {
+      List<AuditRecord> records = new ArrayList<>();
+      try (AuditFile.Reader reader = new AuditFile.Reader(file)) {
+         AuditRecord record = new AuditRecord();
+         while (reader.next(record)) {
+            records.add(record);
+            record = new AuditRecord();
+         }
+      }
+      return records;
+   }
+
+   // holds the writer thread while it writes the record using it
+   private static final class BlockingName {
+
+      final CountDownLatch writing = new CountDownLatch(1);
+
+      final CountDownLatch release = new CountDownLatch(1);
+
+      @Override
+      public String toString() {
+         writing.countDown();
+         try {
+            release.await(10, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         return "blocking";
+      }
+   }
+
+   @Test
+   public void testRecordsWrittenToFile() throws Exception {
+      File file = new File(temporaryFolder.getRoot(), "audit/audit.bin");
+      AsyncAuditLogger logger = new AsyncAuditLogger(16, AuditOverflowPolicy.BLOCK, file);
+      logger.start();
+      Assert.assertTrue(logger.offer(AuditRecord.Type.SEND, null, "/127.0.0.1:5672", null, 1, "orders", true, -1));
+      Assert.assertTrue(logger.offer(AuditRecord.Type.CONSUME, null, "/127.0.0.1:5672", "q1", 1, "orders", true, -1));
+      Assert.assertTrue(logger.offer(AuditRecord.Type.ACKNOWLEDGE, null, "/127.0.0.1:5672", "q1", 1, "orders", true, 7));
+      logger.stop();
+
+      List<AuditRecord> records = read(file);
+      Assert.assertEquals(3, records.size());
+      Assert.assertEquals(AuditRecord.Type.SEND, records.get(0).getType());
+      Assert.assertNull(records.get(0).getQueue());
+      Assert.assertEquals(AuditRecord.Type.CONSUME, records.get(1).getType());
+      AuditRecord ack = records.get(2);
+      Assert.assertEquals(AuditRecord.Type.ACKNOWLEDGE, ack.getType());
+      Assert.assertEquals("anonymous@127.0.0.1:5672", ack.getCaller());
+      Assert.assertEquals("q1", ack.getQueue());
+      Assert.assertEquals("orders", ack.getAddress());
+      Assert.assertEquals(1, ack.getMessageID());
+      Assert.assertTrue(ack.isDurable());
+      Assert.assertEquals(7, ack.getTxID());
+      Assert.assertTrue(ack.getTimestamp() > 0);
+
+      // the file is appended to on restart
+      logger = new AsyncAuditLogger(16, AuditOverflowPolicy.BLOCK, file);
+      logger.start();
+      Assert.assertTrue(logger.offer(AuditRecord.Type.SEND, null, null, null, 2, "orders", false, -1));
+      logger.stop();
+      Assert.assertEquals(4, read(file).size());
+   }
+
+   @Test
+   public void testIdleWriterParkedUntilRecordPublished() throws Exception {
+      File file = new File(temporaryFolder.getRoot(), "audit.bin");
+      AsyncAuditLogger logger = new AsyncAuditLogger(16, AuditOverflowPolicy.BLOCK, file);
+      logger.start();
+      try {
+         final Thread writer = Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().contains("activemq-audit-writer")).findFirst().orElse(null);
+         Assert.assertNotNull(writer);
+         Assert.assertTrue(writer.isDaemon());
+
+         for (int i = 1; i <= 3; i++) {
+            // parked without a timeout while there is nothing to write
+            Wait.assertEquals(Thread.State.WAITING, writer::getState, 5000, 1);
+            Assert.assertTrue(logger.offer(AuditRecord.Type.SEND, null, null, null, i, "orders", false, -1));
+            Wait.assertEquals(0L, logger::getPending, 5000, 1);
+         }
+      } finally {
+         logger.stop();
+      }
+      Assert.assertEquals(3, read(file).size());
+   }
+
+   @Test
+   public void testConcurrentProducersKeepTheirOrder() throws Exception {
+      final int producers = 4;
+      final int messages = 20_000;
+      File file = temporaryFolder.newFile("audit.bin");
+      Files.delete(file.toPath());
+      AsyncAuditLogger logger = new AsyncAuditLogger(1000, AuditOverflowPolicy.BLOCK, file);
+      Assert.assertEquals(1024, logger.getCapacity());
+      logger.start();
+
+      Thread[] threads = new Thread[producers];
+      for (int p = 0; p < producers; p++) {
+         final String address = "address" + p;
+         threads[p] = new Thread(() -> {
+            for (int i = 0; i < messages; i++) {
+               logger.offer(AuditRecord.Type.SEND, null, null, null, i, address, false, -1);
+            }
+         });
+         threads[p].start();
+      }
+      for (Thread thread : threads) {
+         thread.join();
+      }
+      logger.stop();
+      Assert.assertEquals(0, logger.getPending());
+      Assert.assertEquals(0, logger.getDropped());
+
+      long[] next = new long[producers];
+      List<AuditRecord> records = read(file);
+      Assert.assertEquals(producers * messages, records.size());
+      for (AuditRecord record : records) {
+         int producer = Integer.parseInt(record.getAddress().substring("address".length()));
+         Assert.assertEquals(next[producer]++, record.getMessageID());
+      }
+   }
+
+   @Test
+   public void testDropWhenFull() throws Exception {
+      File file = new File(temporaryFolder.getRoot(), "audit.bin");
+      AsyncAuditLogger logger = new AsyncAuditLogger(4, AuditOverflowPolicy.DROP, file);
+      logger.start();
+
+      BlockingName blocking = new BlockingName();
+      Assert.assertTrue(logger.offer(AuditRecord.Type.CONSUME, null, null, blocking, 0, "orders", false, -1));
+      Assert.assertTrue(blocking.writing.await(10, TimeUnit.SECONDS));
+      for (int i = 1; i < 10; i++) {
+         Assert.assertTrue(logger.offer(AuditRecord.Type.SEND, null, null, null, i, "orders", false, -1));
+      }
+      Assert.assertEquals(6, logger.getDropped());
+      blocking.release.countDown();
+      logger.stop();
+
+      List<AuditRecord> records = read(file);
+      Assert.assertEquals(4, records.size());
+      Assert.assertEquals("blocking", records.get(0).getQueue());
+      Assert.assertEquals(3, records.get(3).getMessageID());
+   }
+
+   @Test
+   public void testSyncWhenFull() throws Exception {
+      AsyncAuditLogger logger = new AsyncAuditLogger(2, AuditOverflowPolicy.SYNC, new File(temporaryFolder.getRoot(), "audit.bin"));
+      logger.start();
+
+      BlockingName blocking = new BlockingName();
+      Assert.assertTrue(logger.offer(AuditRecord.Type.CONSUME, null, null, blocking, 0, "orders", false, -1));
+      Assert.assertTrue(blocking.writing.await(10, TimeUnit.SECONDS));
+      Assert.assertTrue(logger.offer(AuditRecord.Type.SEND, null, null, null, 1, "orders", false, -1));
+      Assert.assertFalse(logger.offer(AuditRecord.Type.SEND, null, null, null, 2, "orders", false, -1));
+      Assert.assertEquals(0, logger.getDropped());
+      blocking.release.countDown();
+      logger.stop();
+   }
+
+   @Test
+   public void testNotTakenWhenStopped() throws Exception {
+      AsyncAuditLogger logger = new AsyncAuditLogger(2, AuditOverflowPolicy.BLOCK, null);
+      Assert.assertFalse(logger.offer(AuditRecord.Type.SEND, null, null, null, 1, "orders", false, -1));
+
+      Assert.assertFalse(logger.offerSend(null, null, 1, "orders", false, -1));
+   }
+
+   @Test
+   public void testTruncatedRecordIgnored() throws Exception {
+      File file = new File(temporaryFolder.getRoot(), "audit.bin");
+      AsyncAuditLogger logger = new AsyncAuditLogger(16, AuditOverflowPolicy.BLOCK, file);
+      logger.start();
+      for (int i = 0; i < 3; i++) {
+         logger.offer(AuditRecord.Type.SEND, null, null, null, i, "orders", false, -1);
+      }
+      logger.stop();
+
+      try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+         raf.setLength(raf.length() - 3);
+      }
+      Assert.assertEquals(2, read(file).size());
+   }
+
+   @Test
+   public void testTruncatedRecordRemovedBeforeAppending() throws Exception {
+      File file = new File(temporaryFolder.getRoot(), "audit.bin");
+      AsyncAuditLogger logger = new AsyncAuditLogger(16, AuditOverflowPolicy.BLOCK, file);
+      logger.start();
+      for (int i = 0; i < 3; i++) {
+         logger.offer(AuditRecord.Type.SEND, null, null, null, i, "orders", false, -1);
+      }
+      logger.stop();
+
+      // the broker crashed while writing the last record
+      try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+         raf.setLength(raf.length() - 3);
+      }
+
+      logger = new AsyncAuditLogger(16, AuditOverflowPolicy.BLOCK, file);
+      logger.start();
+      for (int i = 3; i < 5; i++) {
+         logger.offer(AuditRecord.Type.ACKNOWLEDGE, null, null, "q1", i, "orders", false, -1);
+      }
+      logger.stop();
+
+      List<AuditRecord> records = read(file);
+      Assert.assertEquals(4, records.size());
+      Assert.assertEquals(0, records.get(0).messageID);
+      Assert.assertEquals(1, records.get(1).messageID);
+      Assert.assertEquals(AuditRecord.Type.ACKNOWLEDGE, records.get(2).type);
+      Assert.assertEquals(3, records.get(2).messageID);
+      Assert.assertEquals("q1", records.get(3).getQueue());
+      Assert.assertEquals(4, records.get(3).messageID);
+   }
+
+   @Test
+   public void testTruncatedHeaderRewritten() throws Exception {
+      File file = temporaryFolder.newFile("audit.bin");
+      Files.write(file.toPath(), new byte[] {0x41, 0x55});
+
+      try (AuditFile.Writer writer = new AuditFile.Writer(file)) {
+         AuditRecord record = new AuditRecord();
+         record.set(AuditRecord.Type.SEND, null, null, null, 1, "orders", false, -1);
+         writer.write(record);
+      }
+
+      Assert.assertEquals(1, read(file).size());
+   }
+
+   @Test(expected = IOException.class)
+   public void testNotAnAuditFileNotAppended() throws Exception {
+      File file = temporaryFolder.newFile("audit.log");
+      Files.write(file.toPath(), "AMQ601500: User anonymous sent a message".getBytes());
+      new AuditFile.Writer(file).close();
+   }
+
+   @Test(expected = IOException.class)
+   public void testNotAnAuditFile() throws Exception {
+      File file = temporaryFolder.newFile("audit.log");
+      Files.write(file.toPath(), "AMQ601500: User anonymous sent a message".getBytes());
+      new AuditFile.Reader(file).close();
+   }
+}
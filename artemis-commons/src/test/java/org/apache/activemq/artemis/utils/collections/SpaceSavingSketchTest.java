@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpaceSavingSketchTest {
+
+   @Test(expected = IllegalArgumentException.class)
+   public void shouldFailToCreateEmptySketch() {
+      new SpaceSavingSketch<>(0);
+   }
+
+   @Test
+   public void shouldCountExactlyUpToCapacity() {
+      SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(4);
+      sketch.add("a", 10, 1);
+      sketch.add("b", 30, 1);
+      sketch.add("c", 20, 1);
+      sketch.add("a", 15, 2);
+
+      List<SpaceSavingSketch.Entry<String>> top = sketch.top(10);
+      Assert.assertEquals(3, top.size());
+      Assert.assertEquals("b", top.get(0).getKey());
+      Assert.assertEquals("a", top.get(1).getKey());
+      Assert.assertEquals(25, top.get(1).getWeight());
+      Assert.assertEquals(3, top.get(1).getCount());
+      Assert.assertEquals(0, top.get(1).getWeightError());
+      Assert.assertEquals("c", top.get(2).getKey());
+
+      Assert.assertEquals(2, sketch.top(2).size());
+      Assert.assertTrue(sketch.top(0).isEmpty());
+   }
+
+   @Test
+   public void shouldReplaceSmallestWeight() {
+      SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+      sketch.add("a", 10, 1);
+      sketch.add("b", 5, 1);
+      sketch.add("c", 1, 1);
+
+      Assert.assertEquals(2, sketch.size());
+      List<SpaceSavingSketch.Entry<String>> top = sketch.top(2);
+      Assert.assertEquals("a", top.get(0).getKey());
+      Assert.assertEquals("c", top.get(1).getKey());
+      // c inherited the estimates of b as its error
+      Assert.assertEquals(6, top.get(1).getWeight());
+      Assert.assertEquals(5, top.get(1).getWeightError());
+      Assert.assertEquals(2, top.get(1).getCount());
+      Assert.assertEquals(1, top.get(1).getCountError());
+   }
+
+   @Test
+   public void shouldTrackHeavyHittersWithBoundedError() {
+      final int capacity = 32;
+      SpaceSavingSketch<Integer> sketch = new SpaceSavingSketch<>(capacity);
+      Map<Integer, Long> actual = new HashMap<>();
+      Random random = new Random(42);
+      long total = 0;
+      for (int i = 0; i < 200_000; i++) {
+         // a few heavy keys among many light ones
+         final int key = random.nextBoolean() ? random.nextInt(5) : 5 + random.nextInt(100_000);
+         final long weight = 1 + random.nextInt(100);
+         sketch.add(key, weight, 1);
+         actual.merge(key, weight, Long::sum);
+         total += weight;
+      }
+
+      Assert.assertEquals(capacity, sketch.size());
+      List<SpaceSavingSketch.Entry<Integer>> top = sketch.top(5);
+      for (int i = 0; i < 5; i++) {
+         SpaceSavingSketch.Entry<Integer> entry = top.get(i);
+         Assert.assertTrue("unexpected heavy hitter " + entry, entry.getKey() < 5);
+         final long weight = actual.get(entry.getKey());
+         Assert.assertTrue(entry.getWeight() >= weight);
+         Assert.assertTrue(entry.getWeight() - entry.getWeightError() <= weight);
+         Assert.assertTrue(entry.getWeightError() <= total / capacity);
+      }
+   }
+
+   @Test
+   public void shouldMergeSketches() {
+      SpaceSavingSketch<String> first = new SpaceSavingSketch<>(4);
+      SpaceSavingSketch<String> second = new SpaceSavingSketch<>(4);
+      first.add("a", 10, 1);
+      first.add("b", 5, 1);
+      second.add("a", 20, 2);
+      second.add("c", 30, 3);
+
+      // none of them is full, the estimates are exact
+      List<SpaceSavingSketch.Entry<String>> top = SpaceSavingSketch.top(Arrays.asList(first, second), 10);
+      Assert.assertEquals(3, top.size());
+      Assert.assertEquals("a", top.get(0).getKey());
+      Assert.assertEquals(30, top.get(0).getWeight());
+      Assert.assertEquals(3, top.get(0).getCount());
+      Assert.assertEquals(0, top.get(0).getWeightError());
+      Assert.assertEquals("c", top.get(1).getKey());
+      Assert.assertEquals("b", top.get(2).getKey());
+
+      Assert.assertEquals(1, SpaceSavingSketch.top(Arrays.asList(first, second), 1).size());
+   }
+
+   @Test
+   public void shouldMergeFullSketchesWithMissingKeysAsError() {
+      SpaceSavingSketch<String> first = new SpaceSavingSketch<>(2);
+      SpaceSavingSketch<String> second = new SpaceSavingSketch<>(2);
+      first.add("a", 10, 1);
+      first.add("b", 4, 2);
+      second.add("a", 20, 1);
+      second.add("c", 7, 1);
+
+      Map<String, SpaceSavingSketch.Entry<String>> merged = new HashMap<>();
+      for (SpaceSavingSketch.Entry<String> entry : SpaceSavingSketch.top(Arrays.asList(first, second), 10)) {
+         merged.put(entry.getKey(), entry);
+      }
+      Assert.assertEquals(3, merged.size());
+      Assert.assertEquals(30, merged.get("a").getWeight());
+      Assert.assertEquals(0, merged.get("a").getWeightError());
+      // b may have been evicted from the second sketch, with at most the estimates of its smallest entry
+      Assert.assertEquals(4 + 7, merged.get("b").getWeight());
+      Assert.assertEquals(7, merged.get("b").getWeightError());
+      Assert.assertEquals(2 + 1, merged.get("b").getCount());
+      Assert.assertEquals(1, merged.get("b").getCountError());
+      Assert.assertEquals(7 + 4, merged.get("c").getWeight());
+      Assert.assertEquals(4, merged.get("c").getWeightError());
+      Assert.assertEquals(1 + 2, merged.get("c").getCount());
+      Assert.assertEquals(2, merged.get("c").getCountError());
+   }
+
+   @Test
+   public void shouldTrackHeavyHittersOverStripes() {
+      final int capacity = 32;
+      final int stripes = 4;
+      List<SpaceSavingSketch<Integer>> sketches = new ArrayList<>();
+      for (int i = 0; i < stripes; i++) {
+         sketches.add(new SpaceSavingSketch<>(capacity));
+      }
+      Map<Integer, Long> actual = new HashMap<>();
+      Random random = new Random(42);
+      for (int i = 0; i < 200_000; i++) {
+         // the same keys are spread over all the stripes
+         final int key = random.nextBoolean() ? random.nextInt(5) : 5 + random.nextInt(100_000);
+         final long weight = 1 + random.nextInt(100);
+         sketches.get(random.nextInt(stripes)).add(key, weight, 1);
+         actual.merge(key, weight, Long::sum);
+      }
+
+      List<SpaceSavingSketch.Entry<Integer>> top = SpaceSavingSketch.top(sketches, 5);
+      for (SpaceSavingSketch.Entry<Integer> entry : top) {
+         Assert.assertTrue("unexpected heavy hitter " + entry, entry.getKey() < 5);
+         final long weight = actual.get(entry.getKey());
+         Assert.assertTrue(entry.getWeight() >= weight);
+         Assert.assertTrue(entry.getWeight() - entry.getWeightError() <= weight);
+      }
+   }
+
+   @Test
+   public void shouldClear() {
+      SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+      sketch.add("a", 1, 1);
+      sketch.add("b", 1, 1);
+      sketch.clear();
+      Assert.assertEquals(0, sketch.size());
+      Assert.assertTrue(sketch.top(10).isEmpty());
+      sketch.add("c", 1, 1);
+      Assert.assertEquals("c", sketch.top(1).get(0).getKey());
+   }
+}
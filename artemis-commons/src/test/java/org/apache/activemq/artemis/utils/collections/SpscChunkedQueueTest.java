@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpscChunkedQueueTest {
+
+   private static final int CHUNK_SIZE = 16;
+   private static final int ELEMENTS = (CHUNK_SIZE * 4) + 1;
+
+   private final SpscChunkedQueue<Integer> queue = new SpscChunkedQueue<>(CHUNK_SIZE);
+
+   @Test(expected = IllegalArgumentException.class)
+   public void shouldFailToCreateNegativeChunkSizeQueue() {
+      new SpscChunkedQueue<>(-1);
+   }
+
+   @Test(expected = NullPointerException.class)
+   public void shouldFailToOfferNull() {
+      queue.offer(null);
+   }
+
+   @Test
+   public void shouldPollElementsInOfferOrder() {
+      Assert.assertNull(queue.poll());
+      for (int i = 0; i < ELEMENTS; i++) {
+         Assert.assertEquals(i, queue.size());
+         queue.offer(i);
+      }
+      for (int i = 0; i < ELEMENTS; i++) {
+         Assert.assertEquals(ELEMENTS - i, queue.size());
+         Assert.assertEquals(i, queue.poll().intValue());
+      }
+      Assert.assertNull(queue.poll());
+      Assert.assertTrue(queue.isEmpty());
+   }
+
+   @Test
+   public void shouldInterleaveOfferAndPollAcrossChunks() {
+      int next = 0;
+      for (int i = 0; i < ELEMENTS; i++) {
+         queue.offer(i * 2);
+         queue.offer(i * 2 + 1);
+         Assert.assertEquals(next++, queue.poll().intValue());
+      }
+      Assert.assertEquals(ELEMENTS, queue.size());
+      while (!queue.isEmpty()) {
+         Assert.assertEquals(next++, queue.poll().intValue());
+      }
+      Assert.assertEquals(ELEMENTS * 2, next);
+   }
+
+   @Test
+   public void shouldClearAllElements() {
+      for (int i = 0; i < ELEMENTS; i++) {
+         queue.offer(i);
+      }
+      queue.clear();
+      Assert.assertEquals(0, queue.size());
+      Assert.assertNull(queue.poll());
+      queue.offer(ELEMENTS);
+      Assert.assertEquals(ELEMENTS, queue.poll().intValue());
+   }
+
+   @Test
+   public void shouldHandOffElementsToAnotherThread() throws Exception {
+      final int elements = 1_000_000;
+      final Thread producer = new Thread(() -> {
+         for (int i = 0; i < elements; i++) {
+            queue.offer(i);
+         }
+      });
+      producer.start();
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+      int expected = 0;
+      while (expected < elements) {
+         final Integer e = queue.poll();
+         if (e == null) {
+            Assert.assertTrue("timed out waiting for " + expected, System.nanoTime() < deadline);
+            Thread.yield();
+         } else {
+            Assert.assertEquals(expected++, e.intValue());
+         }
+      }
+      producer.join();
+      Assert.assertNull(queue.poll());
+   }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
 import org.apache.activemq.artemis.utils.ReusableLatch;
 import org.apache.activemq.artemis.utils.ThreadLeakCheckRule;
+import org.apache.activemq.artemis.utils.Wait;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -176,6 +177,78 @@ public class CriticalAnalyzerTest {
 
    }
 
+   @Test
+   public void testBudgetExceeded() throws Exception {
+      analyzer = new CriticalAnalyzerImpl().setTimeout(1, TimeUnit.MINUTES).setCheckTime(30, TimeUnit.SECONDS).setBudgetCheckTime(10, TimeUnit.MILLISECONDS);
+      CriticalComponentImpl component = new CriticalComponentImpl(analyzer, 2) {
+         {
+            setBudget(0, 50, TimeUnit.MILLISECONDS);
+         }
+      };
+      analyzer.add(component);
+
+      // a path with no budget is never reported
+      CriticalCloseable noBudget = component.measureCritical(1);
+
+      Object lock = new Object();
+      CountDownLatch entered = new CountDownLatch(1);
+      Thread stalled = new Thread(() -> {
+         try (CriticalCloseable measure = component.measureCritical(0)) {
+            entered.countDown();
+            synchronized (lock) {
+               // just waiting for the lock
+            }
+         }
+      }, "stalled-thread");
+
+      analyzer.start();
+      synchronized (lock) {
+         stalled.start();
+         Assert.assertTrue(entered.await(10, TimeUnit.SECONDS));
+         Wait.assertEquals(1, () -> analyzer.getStalls().size());
+         // a stall is only reported once
+         Thread.sleep(100);
+      }
+      stalled.join();
+      noBudget.close();
+
+      Assert.assertEquals(1, analyzer.getStalls().size());
+      CriticalStall stall = analyzer.getStalls().get(0);
+      Assert.assertEquals(0, stall.getPath());
+      Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(50), stall.getBudget());
+      Assert.assertTrue(stall.getElapsed() > stall.getBudget());
+      Assert.assertEquals("stalled-thread", stall.getThread().getThreadName());
+      Assert.assertEquals(Thread.State.BLOCKED, stall.getThread().getThreadState());
+      Assert.assertEquals(Thread.currentThread().getName(), stall.getThread().getLockOwnerName());
+      Assert.assertTrue(stall.getBlockedThreads().stream().anyMatch(info -> info.getThreadName().equals("stalled-thread")));
+      Assert.assertEquals(-1, stall.getPendingTasks());
+      Assert.assertEquals("stalled-thread", stall.toJSON().getJsonObject("thread").getString("name"));
+
+      analyzer.clearStalls();
+      Assert.assertTrue(analyzer.getStalls().isEmpty());
+
+      analyzer.stop();
+   }
+
+   @Test
+   public void testStallsAreBounded() throws Exception {
+      analyzer = new CriticalAnalyzerImpl().setTimeout(1, TimeUnit.MINUTES).setBudgetCheckTime(1, TimeUnit.MINUTES);
+      CriticalComponentImpl component = new CriticalComponentImpl(analyzer, 1) {
+         {
+            setBudget(0, 1, TimeUnit.NANOSECONDS);
+         }
+      };
+      analyzer.add(component);
+
+      for (int i = 0; i < CriticalAnalyzerImpl.STALL_HISTORY + 10; i++) {
+         try (CriticalCloseable measure = component.measureCritical(0)) {
+            analyzer.checkBudgets();
+         }
+      }
+
+      Assert.assertEquals(CriticalAnalyzerImpl.STALL_HISTORY, analyzer.getStalls().size());
+   }
+
    @Test
    public void testNegative() throws Exception {
       CountDownLatch latch = new CountDownLatch(1);
@@ -22,6 +22,7 @@ import org.apache.activemq.artemis.ArtemisConstants;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.server.ComponentConfigurationRoutingType;
+import org.apache.activemq.artemis.logs.AuditOverflowPolicy;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzerPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -211,6 +212,18 @@ public final class ActiveMQDefaultConfiguration {
    // true means that message counters are enabled
    private static boolean DEFAULT_MESSAGE_COUNTER_ENABLED = false;
 
+   // true means that the broker enables the JDK Flight Recorder events when starting
+   private static boolean DEFAULT_FLIGHT_RECORDER_ENABLED = false;
+
+   // true means that the message audit records are written by a background thread
+   private static boolean DEFAULT_AUDIT_LOG_ASYNC = false;
+
+   // the number of message audit records waiting to be written by the background thread
+   private static int DEFAULT_AUDIT_LOG_RING_SIZE = 65536;
+
+   // what the threads auditing messages do when the asynchronous audit log is full
+   private static AuditOverflowPolicy DEFAULT_AUDIT_LOG_OVERFLOW_POLICY = AuditOverflowPolicy.BLOCK;
+
    // the sample period (in ms) to use for message counters
    private static long DEFAULT_MESSAGE_COUNTER_SAMPLE_PERIOD = 10000;
 
@@ -220,6 +233,9 @@ public final class ActiveMQDefaultConfiguration {
    // if set, this will override how long (in ms) to keep a connection alive without receiving a ping. -1 disables this setting.
    private static long DEFAULT_CONNECTION_TTL_OVERRIDE = -1;
 
+   // how often (in ms) at most the topology changes of a cluster are sent to each connected client, 0 sends every change immediately
+   private static long DEFAULT_CLIENT_TOPOLOGY_UPDATE_INTERVAL = 0;
+
    // should certain incoming packets on the server be handed off to a thread from the thread pool for processing or should they be handled on the remoting thread?
    private static boolean DEFAULT_ASYNC_CONNECTION_EXECUTION_ENABLED = true;
 
@@ -430,6 +446,9 @@ public final class ActiveMQDefaultConfiguration {
    // When a replica comes online this is how long the replicating server will wait for a confirmation from the replica that the replication synchronization process is complete
    private static long DEFAULT_INITIAL_REPLICATION_SYNC_TIMEOUT = 30000;
 
+   // How many files the replicating server sends at the same time when a replica comes online
+   private static int DEFAULT_REPLICATION_SYNC_STREAMS = 4;
+
    // Will this backup server come live on a normal server shutdown
    private static boolean DEFAULT_FAILOVER_ON_SERVER_SHUTDOWN = false;
 
@@ -594,12 +613,21 @@ public final class ActiveMQDefaultConfiguration {
 
    private static long DEFAULT_RETRY_REPLICATION_WAIT = 2000;
 
+   // how often (in milliseconds) a pluggable quorum backup sends heartbeats to its live, -1 means disabled
+   private static long DEFAULT_REPLICATION_HEARTBEAT_PERIOD = -1;
+
+   // the suspicion level (phi) of the heartbeat failure detector above which a pluggable quorum backup considers its live failed
+   private static double DEFAULT_REPLICATION_FAILURE_DETECTOR_THRESHOLD = 8.0;
+
    public static int DEFAULT_QUORUM_SIZE = -1;
 
    public static final boolean DEFAULT_ANALYZE_CRITICAL = true;
 
    public static final long DEFAULT_ANALYZE_CRITICAL_TIMEOUT = 120000;
 
+   // the latency budgets of the critical paths aren't checked by default
+   public static final long DEFAULT_ANALYZE_CRITICAL_BUDGET_CHECK_PERIOD = 0;
+
    public static final long DEFAULT_RETROACTIVE_MESSAGE_COUNT = 0;
 
    public static final CriticalAnalyzerPolicy DEFAULT_ANALYZE_CRITICAL_POLICY = CriticalAnalyzerPolicy.LOG;
@@ -647,9 +675,15 @@ public final class ActiveMQDefaultConfiguration {
    // Number of concurrent workers for a core bridge
    public static int DEFAULT_BRIDGE_CONCURRENCY = 1;
 
+   // Number of messages a core bridge sends and acknowledges as a single transaction, 1 forwards them one by one
+   public static int DEFAULT_BRIDGE_BATCH_SIZE = 1;
+
    // Whether or not to report Netty pool metrics
    private static final boolean DEFAULT_NETTY_POOL_METRICS = false;
 
+   // Whether or not to report message, journal and paging latency metrics
+   private static final boolean DEFAULT_LATENCY_METRICS = false;
+
    // How often (in ms) to scan for expired MQTT sessions
    private static long DEFAULT_MQTT_SESSION_SCAN_INTERVAL = 500;
 
@@ -838,6 +872,34 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_MESSAGE_COUNTER_ENABLED;
    }
 
+   /**
+    * true means that the broker enables the JDK Flight Recorder events when starting
+    */
+   public static boolean isDefaultFlightRecorderEnabled() {
+      return DEFAULT_FLIGHT_RECORDER_ENABLED;
+   }
+
+   /**
+    * true means that the message audit records are written by a background thread
+    */
+   public static boolean isDefaultAuditLogAsync() {
+      return DEFAULT_AUDIT_LOG_ASYNC;
+   }
+
+   /**
+    * the number of message audit records waiting to be written by the background thread
+    */
+   public static int getDefaultAuditLogRingSize() {
+      return DEFAULT_AUDIT_LOG_RING_SIZE;
+   }
+
+   /**
+    * what the threads auditing messages do when the asynchronous audit log is full
+    */
+   public static AuditOverflowPolicy getDefaultAuditLogOverflowPolicy() {
+      return DEFAULT_AUDIT_LOG_OVERFLOW_POLICY;
+   }
+
    /**
     * the sample period (in ms) to use for message counters
     */
@@ -859,6 +921,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_CONNECTION_TTL_OVERRIDE;
    }
 
+   /**
+    * how often (in ms) at most the topology changes of a cluster are sent to each connected client, 0 sends every change immediately
+    */
+   public static long getDefaultClientTopologyUpdateInterval() {
+      return DEFAULT_CLIENT_TOPOLOGY_UPDATE_INTERVAL;
+   }
+
    /**
     * should certain incoming packets on the server be handed off to a thread from the thread pool for processing or should they be handled on the remoting thread?
     */
@@ -1356,6 +1425,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_INITIAL_REPLICATION_SYNC_TIMEOUT;
    }
 
+   /**
+    * how many files the replicating server sends at the same time when a replica comes online
+    */
+   public static int getDefaultReplicationSyncStreams() {
+      return DEFAULT_REPLICATION_SYNC_STREAMS;
+   }
+
    /**
     * if we have to start as a replicated server this is the delay to wait before fail-back occurs
     *
@@ -1661,6 +1737,10 @@ public final class ActiveMQDefaultConfiguration {
       return timeout / 2;
    }
 
+   public static long getCriticalAnalyzerBudgetCheckPeriod() {
+      return DEFAULT_ANALYZE_CRITICAL_BUDGET_CHECK_PERIOD;
+   }
+
    public static CriticalAnalyzerPolicy getCriticalAnalyzerPolicy() {
       return DEFAULT_ANALYZE_CRITICAL_POLICY;
    }
@@ -1682,6 +1762,20 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_RETRY_REPLICATION_WAIT;
    }
 
+   /**
+    * how often (in milliseconds) a pluggable quorum backup sends heartbeats to its live, -1 means disabled
+    */
+   public static long getDefaultReplicationHeartbeatPeriod() {
+      return DEFAULT_REPLICATION_HEARTBEAT_PERIOD;
+   }
+
+   /**
+    * the suspicion level (phi) of the heartbeat failure detector above which a pluggable quorum backup considers its live failed
+    */
+   public static double getDefaultReplicationFailureDetectorThreshold() {
+      return DEFAULT_REPLICATION_FAILURE_DETECTOR_THRESHOLD;
+   }
+
    /**
     * The period (in milliseconds) used to check if the federation connection has failed to receive pings from another server
     */
@@ -1778,6 +1872,10 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_BRIDGE_CONCURRENCY;
    }
 
+   public static int getDefaultBridgeBatchSize() {
+      return DEFAULT_BRIDGE_BATCH_SIZE;
+   }
+
    /**
     * Whether or not to report Netty pool metrics
     */
@@ -1785,6 +1883,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_NETTY_POOL_METRICS;
    }
 
+   /**
+    * Whether or not to report message, journal and paging latency metrics
+    */
+   public static boolean getDefaultLatencyMetrics() {
+      return DEFAULT_LATENCY_METRICS;
+   }
+
    /**
     * How often (in ms) to scan for expired MQTT sessions
     */
@@ -250,6 +250,13 @@ public interface ActiveMQServerControl {
    @Attribute(desc = "Whether message counter is enabled for this server")
    boolean isMessageCounterEnabled();
 
+   /**
+    * Returns whether the JDK Flight Recorder events are enabled.
+    * They are shared by all the servers of the JVM.
+    */
+   @Attribute(desc = "Whether the JDK Flight Recorder events of all the servers of the JVM are enabled")
+   boolean isFlightRecorderEnabled();
+
    /**
     * Returns the maximum number of days kept in memory for message counter.
     */
@@ -1126,6 +1133,19 @@ public interface ActiveMQServerControl {
    @Operation(desc = "Disable message counters", impact = MBeanOperationInfo.ACTION)
    void disableMessageCounters() throws Exception;
 
+   /**
+    * Enables the JDK Flight Recorder events of all the servers of the JVM.
+    * They are recorded only by a running recording enabling them.
+    */
+   @Operation(desc = "Enable the JDK Flight Recorder events of all the servers of the JVM", impact = MBeanOperationInfo.ACTION)
+   void enableFlightRecorder() throws Exception;
+
+   /**
+    * Disables the JDK Flight Recorder events of all the servers of the JVM.
+    */
+   @Operation(desc = "Disable the JDK Flight Recorder events of all the servers of the JVM", impact = MBeanOperationInfo.ACTION)
+   void disableFlightRecorder() throws Exception;
+
    /**
     * Reset all message counters.
     */
@@ -1256,6 +1276,44 @@ public interface ActiveMQServerControl {
    @Operation(desc = "List all producers", impact = MBeanOperationInfo.INFO)
    String listProducersInfoAsJSON() throws Exception;
 
+   /**
+    * Lists the users, addresses, connections or tuples with the most bytes sent to or delivered by this server, as accounted
+    * by the {@code ThroughputAccountingPlugin}. Each entry has its {@code key}, its estimated {@code bytes} and
+    * {@code messages}, and their maximum overestimation {@code bytesError} and {@code messagesError}.
+    *
+    * @param direction IN for the messages sent to the server, OUT for the messages it delivered
+    * @param dimension USER, ADDRESS, CONNECTION or TUPLE for the (user, address, connection) tuples
+    * @param count     the maximum number of entries
+    * @return a JSON array of the entries, by descending bytes
+    */
+   @Operation(desc = "List the users, addresses, connections or tuples with the most bytes sent to or delivered by this server", impact = MBeanOperationInfo.INFO)
+   String listTopThroughput(@Parameter(name = "direction", desc = "IN for the messages sent to the server, OUT for the messages it delivered") String direction,
+                            @Parameter(name = "dimension", desc = "USER, ADDRESS, CONNECTION or TUPLE") String dimension,
+                            @Parameter(name = "count", desc = "The maximum number of entries") int count) throws Exception;
+
+   /**
+    * Clears the throughput accounted by the {@code ThroughputAccountingPlugin}, to account just from now on.
+    */
+   @Operation(desc = "Clear the accounted throughput", impact = MBeanOperationInfo.ACTION)
+   void resetThroughputAccounting() throws Exception;
+
+   /**
+    * Lists the latest stalls recorded by the critical analyzer when checking the latency budgets of the critical
+    * paths, from the oldest. Each stall has the {@code component} and {@code path} taking too long, the
+    * {@code elapsed} time and the {@code budget} in milliseconds, the {@code pendingTasks} of the component, the
+    * {@code thread} in the path with its lock and stack trace and the {@code blockedThreads} blocked the most.
+    *
+    * @return a JSON array of the stalls
+    */
+   @Operation(desc = "List the latest stalls of the critical paths taking longer than their latency budget", impact = MBeanOperationInfo.INFO)
+   String listCriticalStalls() throws Exception;
+
+   /**
+    * Clears the stalls recorded by the critical analyzer.
+    */
+   @Operation(desc = "Clear the stalls of the critical paths", impact = MBeanOperationInfo.ACTION)
+   void resetCriticalStalls() throws Exception;
+
    /**
     * Lists all the connections connected to this server.
     * The returned String is a JSON string containing details about each connection, e.g.:
@@ -629,6 +629,13 @@ public interface QueueControl {
    @Operation(desc = "List the message counters history", impact = MBeanOperationInfo.INFO)
    String listMessageCounterHistory() throws Exception;
 
+   /**
+    * Lists a rollup of the message counter history for this queue, with the messages added and acknowledged per
+    * minute over the last hour, per hour over the history days or per day.
+    */
+   @Operation(desc = "List a rollup of the message counters history", impact = MBeanOperationInfo.INFO)
+   String listMessageCounterRollup(@Parameter(name = "rollup", desc = "MINUTE, HOUR or DAY") String rollup) throws Exception;
+
    /**
     * Lists the message counter history for this queue as a HTML table.
     */
@@ -679,6 +686,49 @@ public interface QueueControl {
                           @Parameter(name = "pageSize", desc = "Page size") int pageSize,
                           @Parameter(name = "filter", desc = "filter") String filter) throws Exception;
 
+   /**
+    * Starts counting, in the background, the messages in this queue matching the specified filter, grouped by the
+    * given property field.
+    * <br>
+    * Unlike {@link #countMessages(String, String)} all the messages are counted, streaming the page files of a
+    * paged queue on a low priority thread. The progress and the counts so far are returned by
+    * {@link #getQueryResult(String)}.
+    *
+    * @return the id of the query
+    */
+   @Operation(desc = "Starts counting in the background the messages matching the given filter, grouped by the given property field, and returns the id of the query", impact = MBeanOperationInfo.INFO)
+   String countMessagesAsync(@Parameter(name = "filter", desc = "A message filter (can be empty)") String filter,
+                             @Parameter(name = "groupByProperty", desc = "The property to group by (can be empty)") String groupByProperty) throws Exception;
+
+   /**
+    * Starts browsing, in the background, a page of the messages in this queue matching the specified filter.
+    * <br>
+    * The page files of a paged queue are streamed on a low priority thread. The progress and the messages so far
+    * are returned by {@link #getQueryResult(String)}.
+    *
+    * @return the id of the query
+    */
+   @Operation(desc = "Starts browsing in the background a page of the messages matching the given filter and returns the id of the query", impact = MBeanOperationInfo.INFO)
+   String browseAsync(@Parameter(name = "page", desc = "Current page") int page,
+                      @Parameter(name = "pageSize", desc = "Page size") int pageSize,
+                      @Parameter(name = "filter", desc = "A message filter (can be empty)") String filter) throws Exception;
+
+   /**
+    * Returns the state of a background query as a JSON object: its {@code state} (PENDING, RUNNING, DONE,
+    * CANCELLED or FAILED), the number of messages {@code scanned} so far and the {@code result} so far, either the
+    * counts by group or the messages.
+    */
+   @Operation(desc = "Returns the state and the results so far of a background query as a JSON string", impact = MBeanOperationInfo.INFO)
+   String getQueryResult(@Parameter(name = "queryID", desc = "The id of the query") String queryID) throws Exception;
+
+   /**
+    * Cancels a background query and discards its results.
+    *
+    * @return {@code true} if the query was still pending or running
+    */
+   @Operation(desc = "Cancels a background query", impact = MBeanOperationInfo.ACTION)
+   boolean cancelQuery(@Parameter(name = "queryID", desc = "The id of the query") String queryID) throws Exception;
+
    /**
     * Resets the MessagesAdded property
     */
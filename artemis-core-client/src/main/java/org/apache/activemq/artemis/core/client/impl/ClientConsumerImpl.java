@@ -45,6 +45,7 @@ import org.apache.activemq.artemis.utils.TokenBucketLimiter;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.apache.activemq.artemis.utils.collections.PriorityLinkedList;
 import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.SpscChunkedQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -56,8 +57,12 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private static final long CLOSE_TIMEOUT_MILLISECONDS = 10000;
 
+   private static final int FAST_BUFFER_CHUNK_SIZE = 256;
+
    private static final int NUM_PRIORITIES = 10;
 
+   private static final byte DEFAULT_PRIORITY = 4;
+
    public static final SimpleString FORCED_DELIVERY_MESSAGE = new SimpleString("_hornetq.forced.delivery.seq");
 
    private final ClientSessionInternal session;
@@ -94,6 +99,14 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private final PriorityLinkedList<ClientMessageInternal> buffer = new PriorityLinkedListImpl<>(ClientConsumerImpl.NUM_PRIORITIES);
 
+   // While every message has the default priority and none is large, messages are handed off from the remoting
+   // thread through this queue, without contending on the consumer lock with the thread delivering them.
+   // Its consumer side is guarded by itself, as clear and failover may drain it concurrently with the delivery thread.
+   private final SpscChunkedQueue<ClientMessageInternal> fastBuffer = new SpscChunkedQueue<>(FAST_BUFFER_CHUNK_SIZE);
+
+   // Once a message needs the priority buffer, every following message is added there too to keep them ordered
+   private volatile boolean priorityBuffer;
+
    private final Runner runner = new Runner();
 
    private LargeMessageControllerImpl currentLargeMessageController;
@@ -124,7 +137,8 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private volatile ClientMessageInternal lastAckedMessage;
 
-   private boolean stopped = false;
+   // volatile as the hand off of messages to the fast buffer reads it without holding the consumer lock
+   private volatile boolean stopped = false;
 
    private AtomicLong forceDeliveryCount = new AtomicLong(0);
 
@@ -242,7 +256,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
             ClientMessageInternal m = null;
 
             synchronized (this) {
-               while ((stopped || (m = buffer.poll()) == null) && !closed && toWait > 0) {
+               while ((stopped || (m = pollBuffer()) == null) && !closed && toWait > 0) {
                   if (start == -1) {
                      start = System.currentTimeMillis();
                   }
@@ -560,16 +574,53 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
    }
 
    @Override
-   public synchronized void handleMessage(final ClientMessageInternal message) throws Exception {
+   public void handleMessage(final ClientMessageInternal message) throws Exception {
       if (closing) {
          // This is ok - we just ignore the message
          return;
       }
 
-      if (message.getBooleanProperty(Message.HDR_LARGE_COMPRESSED)) {
-         handleCompressedMessage(message);
-      } else {
-         handleRegularMessage(message);
+      if (!priorityBuffer && handler != null && message.getPriority() == DEFAULT_PRIORITY && !message.isLargeMessage() &&
+         !message.getBooleanProperty(Message.HDR_LARGE_COMPRESSED)) {
+         handOffMessage(message);
+         return;
+      }
+
+      synchronized (this) {
+         if (closing) {
+            return;
+         }
+
+         if (message.getBooleanProperty(Message.HDR_LARGE_COMPRESSED)) {
+            handleCompressedMessage(message);
+         } else {
+            handleRegularMessage(message);
+         }
+      }
+   }
+
+   /**
+    * Hands a message over to the MessageHandler without taking the consumer lock: only the remoting thread
+    * adds messages, and none of the state touched by {@link #handleRegularMessage} changes for a message with the
+    * default priority while the fast buffer is in use.
+    */
+   private void handOffMessage(final ClientMessageInternal message) {
+      if (message.getAddress() == null) {
+         message.setAddress(queueInfo.getAddress());
+      }
+
+      message.onReceipt(this);
+
+      fastBuffer.offer(message);
+
+      if (handler == null) {
+         // the handler has been removed meanwhile: a receive() could be waiting for this message
+         synchronized (this) {
+            notify();
+         }
+      } else if (!stopped) {
+         // if start() happens after this check, it requeues a runner for this message
+         queueExecutor();
       }
    }
 
@@ -580,7 +631,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
       message.onReceipt(this);
 
-      if (!ackIndividually && message.getPriority() != 4 && !message.containsProperty(ClientConsumerImpl.FORCED_DELIVERY_MESSAGE)) {
+      if (!ackIndividually && message.getPriority() != DEFAULT_PRIORITY && !message.containsProperty(ClientConsumerImpl.FORCED_DELIVERY_MESSAGE)) {
          // We have messages of different priorities so we need to ack them individually since the order
          // of them in the ServerConsumerImpl delivery list might not be the same as the order they are
          // consumed in, which means that acking all up to won't work
@@ -588,7 +639,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       }
 
       // Add it to the buffer
-      buffer.addTail(message, message.getPriority());
+      addToBuffer(message);
 
       if (handler != null) {
          // Execute using executor
@@ -694,6 +745,17 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       synchronized (this) {
          // Need to send credits for the messages in the buffer
 
+         try {
+            synchronized (fastBuffer) {
+               ClientMessageInternal message;
+               while ((message = fastBuffer.poll()) != null) {
+                  flowControlBeforeConsumption(message);
+               }
+            }
+         } catch (Exception e) {
+            ActiveMQClientLogger.LOGGER.errorClearingMessages(e);
+         }
+
          try (LinkedListIterator<ClientMessageInternal> iter = buffer.iterator()) {
             while (iter.hasNext()) {
                ClientMessageInternal message = iter.next();
@@ -745,7 +807,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    @Override
    public int getBufferSize() {
-      return buffer.size();
+      return buffer.size() + fastBuffer.size();
    }
 
    @Override
@@ -871,7 +933,8 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
    }
 
    private void requeueExecutors() {
-      for (int i = 0; i < buffer.size(); i++) {
+      final int size = getBufferSize();
+      for (int i = 0; i < size; i++) {
          queueExecutor();
       }
    }
@@ -949,9 +1012,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
          failedOver = false;
 
-         synchronized (this) {
-            message = buffer.poll();
-         }
+         message = pollBuffer();
 
          if (message != null) {
             if (message.containsProperty(ClientConsumerImpl.FORCED_DELIVERY_MESSAGE)) {
@@ -1092,9 +1153,47 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
    }
 
    private void clearBuffer() {
+      synchronized (fastBuffer) {
+         fastBuffer.clear();
+      }
       buffer.clear();
    }
 
+   /**
+    * It must be called while holding the consumer lock, {@link #handOffMessage} is the only other producer.
+    */
+   private void addToBuffer(final ClientMessageInternal message) {
+      if (!priorityBuffer) {
+         if (message.getPriority() == DEFAULT_PRIORITY && !message.isLargeMessage()) {
+            fastBuffer.offer(message);
+            return;
+         }
+         synchronized (fastBuffer) {
+            // the pending messages all have the default priority and were received before this one
+            ClientMessageInternal pending;
+            while ((pending = fastBuffer.poll()) != null) {
+               buffer.addTail(pending, pending.getPriority());
+            }
+            priorityBuffer = true;
+         }
+      }
+      buffer.addTail(message, message.getPriority());
+   }
+
+   private ClientMessageInternal pollBuffer() {
+      if (!priorityBuffer) {
+         synchronized (fastBuffer) {
+            // checked again: the messages could have been moved to the priority buffer meanwhile
+            if (!priorityBuffer) {
+               return fastBuffer.poll();
+            }
+         }
+      }
+      synchronized (this) {
+         return buffer.poll();
+      }
+   }
+
    private void doAck(final ClientMessageInternal message) throws ActiveMQException {
       ackBytes = 0;
 
@@ -32,6 +32,7 @@ public class FederationQueuePolicyConfiguration implements FederationPolicy<Fede
    private Set<Matcher> excludes = new HashSet<>();
    private Integer priorityAdjustment;
    private String transformerRef;
+   private int batchSize = 1;
 
    @Override
    public String getName() {
@@ -89,6 +90,15 @@ public class FederationQueuePolicyConfiguration implements FederationPolicy<Fede
       return this;
    }
 
+   public int getBatchSize() {
+      return batchSize;
+   }
+
+   public FederationQueuePolicyConfiguration setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+   }
+
    @Override
    public void encode(ActiveMQBuffer buffer) {
       Preconditions.checkArgument(name != null, "name can not be null");
@@ -199,11 +209,12 @@ public class FederationQueuePolicyConfiguration implements FederationPolicy<Fede
             Objects.equals(includes, that.includes) &&
             Objects.equals(excludes, that.excludes) &&
             Objects.equals(priorityAdjustment, that.priorityAdjustment) &&
-            Objects.equals(transformerRef, that.transformerRef);
+            Objects.equals(transformerRef, that.transformerRef) &&
+            batchSize == that.batchSize;
    }
 
    @Override
    public int hashCode() {
-      return Objects.hash(name, includeFederated, includes, excludes, priorityAdjustment, transformerRef);
+      return Objects.hash(name, includeFederated, includes, excludes, priorityAdjustment, transformerRef, batchSize);
    }
 }
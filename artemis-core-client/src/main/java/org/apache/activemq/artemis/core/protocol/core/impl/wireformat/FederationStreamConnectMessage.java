@@ -22,6 +22,7 @@ import java.util.Map;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.config.FederationConfiguration.Credentials;
 import org.apache.activemq.artemis.core.config.federation.FederationPolicy;
+import org.apache.activemq.artemis.core.config.federation.FederationQueuePolicyConfiguration;
 import org.apache.activemq.artemis.core.config.federation.FederationStreamConfiguration;
 import org.apache.activemq.artemis.core.config.federation.FederationTransformerConfiguration;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
@@ -112,6 +113,8 @@ public abstract class FederationStreamConnectMessage <T extends FederationStream
       }
 
       streamConfiguration.encode(buffer);
+
+      encodeBatchSizes(buffer);
    }
 
    @Override
@@ -142,6 +145,48 @@ public abstract class FederationStreamConnectMessage <T extends FederationStream
       }
 
       streamConfiguration = decodeStreamConfiguration(buffer);
+
+      // older brokers end the message with the stream configuration
+      if (buffer.readableBytes() > 0) {
+         decodeBatchSizes(buffer);
+      }
+   }
+
+   /**
+    * The batch size of the queue policies goes at the end of the message, so brokers that don't know about it
+    * can still read every field before it.
+    */
+   private void encodeBatchSizes(ActiveMQBuffer buffer) {
+      int queuePolicies = 0;
+      if (federationPolicyMap != null) {
+         for (FederationPolicy policy : federationPolicyMap.values()) {
+            if (policy instanceof FederationQueuePolicyConfiguration) {
+               queuePolicies++;
+            }
+         }
+      }
+
+      buffer.writeInt(queuePolicies);
+      if (queuePolicies > 0) {
+         for (FederationPolicy policy : federationPolicyMap.values()) {
+            if (policy instanceof FederationQueuePolicyConfiguration) {
+               buffer.writeString(policy.getName());
+               buffer.writeInt(((FederationQueuePolicyConfiguration) policy).getBatchSize());
+            }
+         }
+      }
+   }
+
+   private void decodeBatchSizes(ActiveMQBuffer buffer) {
+      int queuePolicies = buffer.readInt();
+      for (int i = 0; i < queuePolicies; i++) {
+         String policyName = buffer.readString();
+         int batchSize = buffer.readInt();
+         FederationPolicy policy = federationPolicyMap.get(policyName);
+         if (policy instanceof FederationQueuePolicyConfiguration) {
+            ((FederationQueuePolicyConfiguration) policy).setBatchSize(batchSize);
+         }
+      }
    }
 
    protected abstract T decodeStreamConfiguration(ActiveMQBuffer buffer);
@@ -169,6 +169,8 @@ public class TransportConstants {
 
    public static final String DIRECT_DELIVER = "directDeliver";
 
+   public static final String FLUSH_COALESCING_LIMIT = "flushCoalescingLimit";
+
    public static final String CLUSTER_CONNECTION = "clusterConnection";
 
    @Deprecated
@@ -294,6 +296,8 @@ public class TransportConstants {
 
    public static final boolean DEFAULT_DIRECT_DELIVER = true;
 
+   public static final int DEFAULT_FLUSH_COALESCING_LIMIT = 0;
+
    public static final Set<String> ALLOWABLE_CONNECTOR_KEYS;
 
    public static final Set<String> ALLOWABLE_ACCEPTOR_KEYS;
@@ -426,6 +430,7 @@ public class TransportConstants {
       allowableAcceptorKeys.add(TransportConstants.REMOTING_THREADS_PROPNAME);
       allowableAcceptorKeys.add(TransportConstants.BATCH_DELAY);
       allowableAcceptorKeys.add(TransportConstants.DIRECT_DELIVER);
+      allowableAcceptorKeys.add(TransportConstants.FLUSH_COALESCING_LIMIT);
       allowableAcceptorKeys.add(TransportConstants.CLUSTER_CONNECTION);
       allowableAcceptorKeys.add(TransportConstants.STOMP_CONSUMERS_CREDIT);
       allowableAcceptorKeys.add(TransportConstants.STOMP_CONSUMER_WINDOW_SIZE);
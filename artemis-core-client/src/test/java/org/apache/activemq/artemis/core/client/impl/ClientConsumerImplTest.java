@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.client.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.spi.core.remoting.ConsumerContext;
+import org.apache.activemq.artemis.spi.core.remoting.SessionContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+
+public class ClientConsumerImplTest {
+
+   private static final SimpleString ADDRESS = SimpleString.toSimpleString("address");
+
+   private ExecutorService sessionExecutor;
+
+   private ExecutorService remotingExecutor;
+
+   private ClientConsumerImpl consumer;
+
+   @Before
+   public void setUp() {
+      sessionExecutor = Executors.newSingleThreadExecutor();
+      remotingExecutor = Executors.newSingleThreadExecutor();
+      consumer = new ClientConsumerImpl(mock(ClientSessionInternal.class), mock(ConsumerContext.class), SimpleString.toSimpleString("queue"), null, 0, false, -1, -1, 0, null, sessionExecutor, sessionExecutor, mock(SessionContext.class), mock(ClientSession.QueueQuery.class), getClass().getClassLoader());
+   }
+
+   @After
+   public void tearDown() throws Exception {
+      remotingExecutor.shutdownNow();
+      sessionExecutor.shutdownNow();
+      Assert.assertTrue(remotingExecutor.awaitTermination(10, TimeUnit.SECONDS));
+      Assert.assertTrue(sessionExecutor.awaitTermination(10, TimeUnit.SECONDS));
+   }
+
+   private static ClientMessageInternal createMessage(int index, byte priority) {
+      ClientMessageImpl message = new ClientMessageImpl(Message.DEFAULT_TYPE, false, 0, System.currentTimeMillis(), priority, 1024);
+      message.setAddress(ADDRESS);
+      message.putIntProperty("index", index);
+      // set by the remoting layer on every message received
+      message.setFlowControlSize(0);
+      return message;
+   }
+
+   private void handleMessages(int from, int to, byte priority) throws Exception {
+      // messages are always handled by a single remoting thread
+      remotingExecutor.submit(() -> {
+         for (int i = from; i < to; i++) {
+            consumer.handleMessage(createMessage(i, priority));
+         }
+         return null;
+      }).get(10, TimeUnit.SECONDS);
+   }
+
+   @Test
+   public void testHandOffWithoutConsumerLock() throws Exception {
+      final int messages = 1000;
+      BlockingQueue<ClientMessage> received = new LinkedBlockingQueue<>();
+      consumer.setMessageHandler(received::add);
+
+      // the remoting thread hands the messages over while something else holds the consumer lock
+      synchronized (consumer) {
+         handleMessages(0, messages, (byte) 4);
+      }
+
+      for (int i = 0; i < messages; i++) {
+         ClientMessage message = received.poll(10, TimeUnit.SECONDS);
+         Assert.assertNotNull(message);
+         Assert.assertEquals(i, message.getIntProperty("index").intValue());
+      }
+      Assert.assertEquals(0, consumer.getBufferSize());
+   }
+
+   @Test
+   public void testPriorityMessageMovesPendingMessagesToPriorityBuffer() throws Exception {
+      BlockingQueue<ClientMessage> received = new LinkedBlockingQueue<>();
+      consumer.setMessageHandler(received::add);
+      consumer.stop(true);
+
+      handleMessages(0, 3, (byte) 4);
+      handleMessages(3, 4, (byte) 9);
+      handleMessages(4, 6, (byte) 4);
+      Assert.assertEquals(6, consumer.getBufferSize());
+
+      consumer.start();
+
+      List<Integer> order = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+         ClientMessage message = received.poll(10, TimeUnit.SECONDS);
+         Assert.assertNotNull(message);
+         order.add(message.getIntProperty("index"));
+      }
+      Assert.assertEquals(List.of(3, 0, 1, 2, 4, 5), order);
+   }
+
+   @Test
+   public void testStoppedConsumerKeepsHandedOffMessages() throws Exception {
+      BlockingQueue<ClientMessage> received = new LinkedBlockingQueue<>();
+      consumer.setMessageHandler(received::add);
+      consumer.stop(true);
+
+      handleMessages(0, 10, (byte) 4);
+
+      Assert.assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+      Assert.assertEquals(10, consumer.getBufferSize());
+
+      consumer.start();
+
+      for (int i = 0; i < 10; i++) {
+         ClientMessage message = received.poll(10, TimeUnit.SECONDS);
+         Assert.assertNotNull(message);
+         Assert.assertEquals(i, message.getIntProperty("index").intValue());
+      }
+   }
+
+   @Test
+   public void testReceiveWithoutHandler() throws Exception {
+      remotingExecutor.execute(() -> {
+         try {
+            Thread.sleep(50);
+            consumer.handleMessage(createMessage(0, (byte) 4));
+         } catch (Exception e) {
+            throw new RuntimeException(e);
+         }
+      });
+
+      ClientMessage message = consumer.receive(10_000);
+      Assert.assertNotNull(message);
+      Assert.assertEquals(0, message.getIntProperty("index").intValue());
+   }
+}
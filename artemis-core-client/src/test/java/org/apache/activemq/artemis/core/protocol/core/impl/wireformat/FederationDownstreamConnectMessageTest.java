@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.config.federation.FederationDownstreamConfiguration;
+import org.apache.activemq.artemis.core.config.federation.FederationPolicy;
+import org.apache.activemq.artemis.core.config.federation.FederationQueuePolicyConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FederationDownstreamConnectMessageTest {
+
+   @Test
+   public void testBatchSizeRoundTrip() {
+      FederationDownstreamConnectMessage message = newMessage(50);
+
+      ActiveMQBuffer buffer = message.encode(null);
+      buffer.readerIndex(5);
+
+      FederationDownstreamConnectMessage decoded = new FederationDownstreamConnectMessage();
+      decoded.decode(buffer);
+
+      assertDecoded(decoded, 50);
+   }
+
+   /** A broker which doesn't know about batches ends the message with the stream configuration */
+   @Test
+   public void testDecodeWithoutBatchSize() {
+      FederationDownstreamConnectMessage message = newMessage(50);
+
+      ActiveMQBuffer buffer = ActiveMQBuffers.dynamicBuffer(1024);
+      buffer.writeLong(message.getChannelID());
+      buffer.writeString(message.getName());
+      buffer.writeBoolean(false);
+      buffer.writeInt(message.getFederationPolicyMap().size());
+      for (FederationPolicy policy : message.getFederationPolicyMap().values()) {
+         buffer.writeString(policy.getClass().getName());
+         policy.encode(buffer);
+      }
+      buffer.writeInt(0);
+      message.getStreamConfiguration().encode(buffer);
+
+      FederationDownstreamConnectMessage decoded = new FederationDownstreamConnectMessage();
+      decoded.decode(buffer);
+
+      assertDecoded(decoded, 1);
+   }
+
+   private static FederationDownstreamConnectMessage newMessage(int batchSize) {
+      Map<String, FederationPolicy> policies = new HashMap<>();
+      policies.put("qp1", new FederationQueuePolicyConfiguration().setName("qp1").setBatchSize(batchSize)
+         .addInclude(new FederationQueuePolicyConfiguration.Matcher().setQueueMatch("q1").setAddressMatch("#")));
+      policies.put("qp2", new FederationQueuePolicyConfiguration().setName("qp2").setBatchSize(batchSize)
+         .addExclude(new FederationQueuePolicyConfiguration.Matcher().setQueueMatch("q2").setAddressMatch("#")));
+
+      FederationDownstreamConfiguration downstream = new FederationDownstreamConfiguration().setName("downstream").addPolicyRef("qp1").addPolicyRef("qp2");
+      downstream.setUpstreamConfiguration(new TransportConfiguration("org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnectorFactory", new HashMap<>(), "upstream"));
+
+      FederationDownstreamConnectMessage message = new FederationDownstreamConnectMessage();
+      message.setChannelID(1);
+      message.setName("federation");
+      message.setFederationPolicyMap(policies);
+      message.setStreamConfiguration(downstream);
+      return message;
+   }
+
+   private static void assertDecoded(FederationDownstreamConnectMessage decoded, int batchSize) {
+      Assert.assertEquals("federation", decoded.getName());
+      Assert.assertEquals(2, decoded.getFederationPolicyMap().size());
+      for (String name : new String[] {"qp1", "qp2"}) {
+         FederationQueuePolicyConfiguration policy = (FederationQueuePolicyConfiguration) decoded.getFederationPolicyMap().get(name);
+         Assert.assertEquals(name, policy.getName());
+         Assert.assertEquals(batchSize, policy.getBatchSize());
+      }
+      Assert.assertEquals("q1", ((FederationQueuePolicyConfiguration) decoded.getFederationPolicyMap().get("qp1")).getIncludes().iterator().next().getQueueMatch());
+      Assert.assertEquals("downstream", decoded.getStreamConfiguration().getName());
+      Assert.assertEquals(2, decoded.getStreamConfiguration().getPolicyRefs().size());
+      Assert.assertEquals("upstream", decoded.getStreamConfiguration().getUpstreamConfiguration().getName());
+   }
+}
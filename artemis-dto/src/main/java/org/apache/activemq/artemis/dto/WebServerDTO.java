@@ -94,6 +94,9 @@ public class WebServerDTO extends ComponentDTO {
    @XmlAttribute
    public Boolean webContentEnabled;
 
+   @XmlAttribute
+   public String metricsPath;
+
    public WebServerDTO() {
       componentClassName = "org.apache.activemq.artemis.component.WebServerComponent";
    }
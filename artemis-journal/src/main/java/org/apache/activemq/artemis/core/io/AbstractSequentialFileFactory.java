@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
 import org.apache.activemq.artemis.core.io.buffer.TimedBuffer;
@@ -201,6 +202,13 @@ public abstract class AbstractSequentialFileFactory implements SequentialFileFac
       }
    }
 
+   @Override
+   public void setBufferLatencyRecorders(LongConsumer flushRecorder, LongConsumer syncRecorder) {
+      if (timedBuffer != null) {
+         timedBuffer.setLatencyRecorders(flushRecorder, syncRecorder);
+      }
+   }
+
    @Override
    public void deactivateBuffer() {
       if (timedBuffer != null) {
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.io;
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
 
@@ -96,6 +97,14 @@ public interface SequentialFileFactory {
 
    void deactivateBuffer();
 
+   /**
+    * Sets the recorders of the flush and sync latencies, in nanoseconds, of the buffer of this factory, if it has any.
+    *
+    * @see org.apache.activemq.artemis.core.io.buffer.TimedBuffer#setLatencyRecorders(LongConsumer, LongConsumer)
+    */
+   default void setBufferLatencyRecorders(LongConsumer flushRecorder, LongConsumer syncRecorder) {
+   }
+
    // To be used in tests only
    ByteBuffer wrapBuffer(byte[] bytes);
 
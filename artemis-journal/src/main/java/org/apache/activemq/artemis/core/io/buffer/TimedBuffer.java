@@ -22,8 +22,10 @@ import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
 
 import io.netty.buffer.Unpooled;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
@@ -31,10 +33,12 @@ import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
 import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.journal.EncodingSupport;
+import org.apache.activemq.artemis.core.journal.jfr.JournalFlushEvent;
 import org.apache.activemq.artemis.journal.ActiveMQJournalLogger;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
 import org.apache.activemq.artemis.utils.critical.CriticalComponentImpl;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 import org.slf4j.Logger;
@@ -49,6 +53,9 @@ public final class TimedBuffer extends CriticalComponentImpl {
    protected static final int CRITICAL_PATH_ADD_BYTES = 4;
    protected static final int CRITICAL_PATH_SET_OBSERVER = 5;
 
+   // the latency budget of writing to the buffer and flushing it, in milliseconds
+   protected static final long CRITICAL_BUDGET_WRITE = 500;
+
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
    private static final double MAX_TIMEOUT_ERROR_FACTOR = 1.5;
@@ -90,10 +97,18 @@ public final class TimedBuffer extends CriticalComponentImpl {
    // no need to be volatile as every access is synchronized
    private boolean spinning = false;
 
+   // null unless the latency metrics are enabled, no need to be volatile as every access is synchronized
+   private LongConsumer flushRecorder;
+
+   private LongConsumer syncRecorder;
+
 
 
    public TimedBuffer(CriticalAnalyzer analyzer, final int size, final int timeout, final boolean logRates) {
       super(analyzer, CRITICAL_PATHS);
+      setBudget(CRITICAL_PATH_FLUSH, CRITICAL_BUDGET_WRITE, TimeUnit.MILLISECONDS);
+      setBudget(CRITICAL_PATH_CHECK_SIZE, CRITICAL_BUDGET_WRITE, TimeUnit.MILLISECONDS);
+      setBudget(CRITICAL_PATH_ADD_BYTES, CRITICAL_BUDGET_WRITE, TimeUnit.MILLISECONDS);
       bufferSize = size;
 
       this.logRates = logRates;
@@ -192,6 +207,15 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   /**
+    * @return the number of callbacks waiting for the buffer to be flushed
+    */
+   @Override
+   public long getPendingTasks() {
+      final List<IOCallback> pending = callbacks;
+      return pending == null ? 0 : pending.size();
+   }
+
    public void setObserver(final TimedBufferObserver observer) {
       try (AutoCloseable measure = measureCritical(CRITICAL_PATH_SET_OBSERVER)) {
          synchronized (this) {
@@ -206,6 +230,16 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   /**
+    * Sets the recorders of how long, in nanoseconds, it takes to write the buffer to the file and, when any of its
+    * records asked for a sync, until the written data is durable. A {@code null} recorder stops recording the
+    * corresponding latency.
+    */
+   public synchronized void setLatencyRecorders(final LongConsumer flushRecorder, final LongConsumer syncRecorder) {
+      this.flushRecorder = flushRecorder;
+      this.syncRecorder = syncRecorder;
+   }
+
    /**
     * Verify if the size fits the buffer
     *
@@ -323,8 +357,30 @@ public final class TimedBuffer extends CriticalComponentImpl {
                   bytesFlushed.addAndGet(pos);
                }
 
+               final boolean recordSync = pendingSync && syncRecorder != null;
+               final long flushStart = flushRecorder != null || recordSync ? System.nanoTime() : 0;
+               if (recordSync) {
+                  callbacks.add(new SyncLatencyCallback(flushStart, syncRecorder));
+               }
+
+               final JournalFlushEvent event;
+               if (FlightRecorderEvents.isEnabled()) {
+                  event = new JournalFlushEvent();
+                  event.begin();
+               } else {
+                  event = null;
+               }
+
                bufferObserver.flushBuffer(buffer.byteBuf(), pendingSync, callbacks);
 
+               if (event != null) {
+                  event.record(pos, pendingSync, callbacks.size());
+               }
+
+               if (flushRecorder != null) {
+                  flushRecorder.accept(System.nanoTime() - flushStart);
+               }
+
                stopSpin();
 
                pendingSync = false;
@@ -514,4 +570,27 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
-}
\ No newline at end of file
+   /**
+    * Completes after the other callbacks of the flushed buffer, once its data is durable.
+    */
+   private static final class SyncLatencyCallback implements IOCallback {
+
+      private final long flushStart;
+
+      private final LongConsumer recorder;
+
+      SyncLatencyCallback(long flushStart, LongConsumer recorder) {
+         this.flushStart = flushStart;
+         this.recorder = recorder;
+      }
+
+      @Override
+      public void done() {
+         recorder.accept(System.nanoTime() - flushStart);
+      }
+
+      @Override
+      public void onError(int errorCode, String errorMessage) {
+      }
+   }
+}
@@ -78,6 +78,7 @@ import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalDeleteRec
 import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalDeleteRecordTX;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalInternalRecord;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.JournalRollbackRecordTX;
+import org.apache.activemq.artemis.core.journal.jfr.JournalCompactEvent;
 import org.apache.activemq.artemis.core.persistence.Persister;
 import org.apache.activemq.artemis.journal.ActiveMQJournalBundle;
 import org.apache.activemq.artemis.journal.ActiveMQJournalLogger;
@@ -91,6 +92,7 @@ import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet;
 import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
 import org.apache.activemq.artemis.utils.collections.LongHashSet;
 import org.apache.activemq.artemis.utils.collections.SparseArrayLinkedList;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 import org.slf4j.Logger;
@@ -1789,6 +1791,14 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
       compactorLock.writeLock().lock();
       try {
+         final JournalCompactEvent event;
+         if (FlightRecorderEvents.isEnabled()) {
+            event = new JournalCompactEvent();
+            event.begin();
+         } else {
+            event = null;
+         }
+
          ArrayList<JournalFile> dataFilesToProcess;
 
          boolean previousReclaimValue = isAutoReclaim();
@@ -1906,6 +1916,10 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             setAutoReclaim(previousReclaimValue);
 
+            if (event != null) {
+               event.record(filesRepository.getFilePrefix(), dataFilesToProcess.size());
+            }
+
             logger.debug("Finished compacting on journal {}", this);
 
          } catch (Throwable e) {
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A compaction of the data files of a journal.
+ */
+@Name("org.apache.activemq.artemis.JournalCompact")
+@Label("Journal Compact")
+@Category({"Apache ActiveMQ Artemis", "Journal"})
+@Description("A compaction of the data files of a journal")
+@Threshold("0 ms")
+public final class JournalCompactEvent extends jdk.jfr.Event {
+
+   @Label("Journal")
+   public String journal;
+
+   @Label("Files")
+   @Description("The number of data files compacted")
+   public int files;
+
+   public void record(String journal, int files) {
+      end();
+      if (shouldCommit()) {
+         this.journal = journal;
+         this.files = files;
+         commit();
+      }
+   }
+}
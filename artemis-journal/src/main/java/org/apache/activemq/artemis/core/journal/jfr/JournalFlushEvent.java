@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A flush of the {@link org.apache.activemq.artemis.core.io.buffer.TimedBuffer} to its journal file.
+ */
+@Name("org.apache.activemq.artemis.JournalFlush")
+@Label("Journal Flush")
+@Category({"Apache ActiveMQ Artemis", "Journal"})
+@Description("A flush of the timed buffer to the journal file")
+@Threshold("1 ms")
+public final class JournalFlushEvent extends jdk.jfr.Event {
+
+   @Label("Size")
+   @DataAmount
+   public int size;
+
+   @Label("Sync")
+   @Description("Whether the flush was synced to the disk")
+   public boolean sync;
+
+   @Label("Callbacks")
+   public int callbacks;
+
+   public void record(int size, boolean sync, int callbacks) {
+      end();
+      if (shouldCommit()) {
+         this.size = size;
+         this.sync = sync;
+         this.callbacks = callbacks;
+         commit();
+      }
+   }
+}
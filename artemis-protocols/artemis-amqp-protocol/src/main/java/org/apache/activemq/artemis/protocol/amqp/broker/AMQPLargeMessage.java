@@ -65,6 +65,7 @@ public class AMQPLargeMessage extends AMQPMessage implements LargeServerMessage
          }
          standardMessage.setMessageAnnotations(messageAnnotations);
          standardMessage.setMessageID(messageID);
+         standardMessage.setConversionCounters(getConversionCounters());
          return standardMessage.toCore();
       } catch (Exception e) {
          logger.warn(e.getMessage(), e);
@@ -49,6 +49,7 @@ import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.protocol.amqp.converter.AMQPMessageIdHelper;
 import org.apache.activemq.artemis.protocol.amqp.converter.AMQPMessageSupport;
 import org.apache.activemq.artemis.protocol.amqp.converter.AmqpCoreConverter;
+import org.apache.activemq.artemis.protocol.amqp.converter.ConversionCounters;
 import org.apache.activemq.artemis.protocol.amqp.util.NettyReadable;
 import org.apache.activemq.artemis.protocol.amqp.util.NettyWritable;
 import org.apache.activemq.artemis.protocol.amqp.util.TLSEncode;
@@ -228,6 +229,17 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
 
    private volatile Object owner;
 
+   // the core representation of this message, kept while other queues still reference it.
+   // It is never handed out: every caller gets its own copy, as consumers are free to modify what they receive
+   private volatile ICoreMessage coreMessageCache;
+
+   // the memory accounted for coreMessageCache, on memoryEstimate and on coreMessageCacheOwner
+   private int coreMessageCacheEstimate;
+
+   private Object coreMessageCacheOwner;
+
+   private volatile ConversionCounters conversionCounters;
+
    /**
     * Creates a new {@link AMQPMessage} instance from binary encoded message data.
     *
@@ -830,6 +842,7 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
    @Override
    public void messageChanged() {
       modified = true;
+      invalidateCoreMessageCache();
    }
 
    @Override
@@ -949,16 +962,108 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
    }
 
 
+   /**
+    * Sets where the conversions of this message to core are counted, usually the counters of the broker that
+    * received it.
+    */
+   public AMQPMessage setConversionCounters(ConversionCounters conversionCounters) {
+      this.conversionCounters = conversionCounters;
+      return this;
+   }
+
+   public ConversionCounters getConversionCounters() {
+      return conversionCounters;
+   }
+
    @Override
    public ICoreMessage toCore(CoreMessageObjectPools coreMessageObjectPools) {
+      final ConversionCounters conversionCounters = this.conversionCounters;
+      final ICoreMessage cached = this.coreMessageCache;
+      if (cached != null) {
+         if (conversionCounters != null) {
+            conversionCounters.amqpToCore(true);
+         }
+         return (ICoreMessage) cached.copy();
+      }
+      final ICoreMessage coreMessage;
       try {
          ensureScanning();
-         return AmqpCoreConverter.toCore(
+         coreMessage = AmqpCoreConverter.toCore(
             this, coreMessageObjectPools, header, messageAnnotations, properties, lazyDecodeApplicationProperties(), getBody(), getFooter());
       } catch (Exception e) {
          logger.warn(e.getMessage(), e);
          throw new RuntimeException(e.getMessage(), e);
       }
+      if (conversionCounters != null) {
+         conversionCounters.amqpToCore(false);
+      }
+      // other queues may deliver this same message to non AMQP consumers: keep the conversion around for them
+      if (getRefCount() > 1 && cacheCoreMessage(coreMessage)) {
+         return (ICoreMessage) coreMessage.copy();
+      }
+      return coreMessage;
+   }
+
+   private boolean cacheCoreMessage(ICoreMessage coreMessage) {
+      // the cached conversion is part of this message footprint: track it like the lazily decoded application properties
+      final int estimate = coreMessage.getMemoryEstimate();
+      final Object owner;
+      synchronized (this) {
+         if (coreMessageCache != null) {
+            return false;
+         }
+         if (memoryEstimate != -1) {
+            memoryEstimate += estimate;
+         }
+         owner = this.owner;
+         coreMessageCacheEstimate = estimate;
+         coreMessageCacheOwner = owner;
+         coreMessageCache = coreMessage;
+      }
+      if (owner != null) {
+         ((PagingStore) owner).addSize(estimate, false);
+      }
+      return true;
+   }
+
+   @Override
+   public int refDown() {
+      final int count = super.refDown();
+      if (count <= 0) {
+         invalidateCoreMessageCache();
+      }
+      return count;
+   }
+
+   /**
+    * Drops the cached core representation of this message, it must be called whenever the message is modified.
+    */
+   protected void invalidateCoreMessageCache() {
+      if (coreMessageCache == null) {
+         return;
+      }
+      final int estimate;
+      final Object owner;
+      synchronized (this) {
+         if (coreMessageCache == null) {
+            return;
+         }
+         coreMessageCache = null;
+         estimate = coreMessageCacheEstimate;
+         coreMessageCacheEstimate = 0;
+         if (memoryEstimate != -1) {
+            memoryEstimate -= estimate;
+         }
+         owner = coreMessageCacheOwner;
+         coreMessageCacheOwner = null;
+      }
+      if (owner != null) {
+         ((PagingStore) owner).addSize(-estimate, false);
+      }
+   }
+
+   protected int getCoreMessageCacheEstimate() {
+      return coreMessageCacheEstimate;
    }
 
    @Override
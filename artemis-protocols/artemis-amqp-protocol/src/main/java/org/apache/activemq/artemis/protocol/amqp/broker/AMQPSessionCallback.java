@@ -469,7 +469,11 @@ public class AMQPSessionCallback implements SessionCallback {
    }
 
    public AMQPStandardMessage createStandardMessage(Delivery delivery, ReadableBuffer data) {
-      return new AMQPStandardMessage(delivery.getMessageFormat(), data, null, coreMessageObjectPools);
+      final AMQPStandardMessage message = new AMQPStandardMessage(delivery.getMessageFormat(), data, null, coreMessageObjectPools);
+      if (manager != null) {
+         message.setConversionCounters(manager.getConversionCounters());
+      }
+      return message;
    }
 
    public void serverSend(ProtonServerReceiverContext context,
@@ -188,7 +188,7 @@ public class AMQPStandardMessage extends AMQPMessage {
    @Override
    public int getMemoryEstimate() {
       if (memoryEstimate == -1) {
-         memoryEstimate = memoryOffset + (data != null ? data.capacity() + unmarshalledApplicationPropertiesMemoryEstimateFromData(data) : 0);
+         memoryEstimate = memoryOffset + (data != null ? data.capacity() + unmarshalledApplicationPropertiesMemoryEstimateFromData(data) : 0) + getCoreMessageCacheEstimate();
       }
 
       return memoryEstimate;
@@ -243,6 +243,7 @@ public class AMQPStandardMessage extends AMQPMessage {
    @Override
    public void reencode() {
       ensureMessageDataScanned();
+      invalidateCoreMessageCache();
 
       // The address was updated on a message with Properties so we update them
       // for cases where there are no properties we aren't adding a properties
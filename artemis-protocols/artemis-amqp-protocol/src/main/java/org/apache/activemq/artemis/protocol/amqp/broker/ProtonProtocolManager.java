@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.BaseInterceptor;
@@ -32,8 +33,11 @@ import org.apache.activemq.artemis.core.remoting.impl.netty.NettyServerConnectio
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.server.management.NotificationListener;
+import org.apache.activemq.artemis.core.server.metrics.MetricsManager;
 import org.apache.activemq.artemis.protocol.amqp.client.ProtonClientProtocolManager;
+import org.apache.activemq.artemis.protocol.amqp.connect.mirror.MirrorAckCounters;
 import org.apache.activemq.artemis.protocol.amqp.connect.mirror.ReferenceNodeStore;
+import org.apache.activemq.artemis.protocol.amqp.converter.ConversionCounters;
 import org.apache.activemq.artemis.protocol.amqp.proton.AMQPConnectionContext;
 import org.apache.activemq.artemis.protocol.amqp.proton.AMQPConstants;
 import org.apache.activemq.artemis.protocol.amqp.proton.AMQPRoutingHandler;
@@ -79,6 +83,10 @@ public class ProtonProtocolManager extends AbstractProtocolManager<AMQPMessage,
 
    private final ProtonProtocolManagerFactory factory;
 
+   private final ConversionCounters conversionCounters;
+
+   private final MirrorAckCounters mirrorAckCounters;
+
    private final Map<SimpleString, RoutingType> prefixes = new HashMap<>();
 
    /** minLargeMessageSize determines when a message should be considered as large.
@@ -86,6 +94,12 @@ public class ProtonProtocolManager extends AbstractProtocolManager<AMQPMessage,
     */
    private int amqpMinLargeMessageSize = 100 * 1024;
 
+   /** how many stalled large message deliveries may keep their body reader (and file descriptor) open
+    *  while waiting for the connection to become writable. The others reopen the file when they resume. */
+   private int amqpMaxStalledLargeMessageReaders = 64;
+
+   private final AtomicInteger stalledLargeMessageReaders = new AtomicInteger(0);
+
    private int amqpCredits = AmqpSupport.AMQP_CREDITS_DEFAULT;
 
    private int amqpLowCredits = AmqpSupport.AMQP_LOW_CREDITS_DEFAULT;
@@ -123,6 +137,34 @@ public class ProtonProtocolManager extends AbstractProtocolManager<AMQPMessage,
       this.server = server;
       this.updateInterceptors(incomingInterceptors, outgoingInterceptors);
       routingHandler = new AMQPRoutingHandler(server);
+      // the factory is shared by all the acceptors of a broker
+      conversionCounters = factory != null ? factory.getConversionCounters() : new ConversionCounters();
+      mirrorAckCounters = factory != null ? factory.getMirrorAckCounters() : new MirrorAckCounters();
+      registerProtocolMeters(server, conversionCounters, mirrorAckCounters);
+   }
+
+   private static void registerProtocolMeters(ActiveMQServer server, ConversionCounters conversionCounters, MirrorAckCounters mirrorAckCounters) {
+      final MetricsManager metricsManager = server == null ? null : server.getMetricsManager();
+      if (metricsManager == null) {
+         return;
+      }
+      metricsManager.registerProtocolGauge("AMQP", builder -> {
+         builder.register("amqp.to.core.conversions", conversionCounters, counters -> ((ConversionCounters) counters).getAmqpToCoreConversions(), "number of AMQP messages converted to core");
+         builder.register("amqp.to.core.conversions.avoided", conversionCounters, counters -> ((ConversionCounters) counters).getAmqpToCoreConversionsAvoided(), "number of AMQP to core conversions avoided by reusing a cached conversion");
+         builder.register("core.to.amqp.conversions", conversionCounters, counters -> ((ConversionCounters) counters).getCoreToAmqpConversions(), "number of core messages converted to AMQP");
+         builder.register("mirror.ack.batches", mirrorAckCounters, counters -> ((MirrorAckCounters) counters).getBatches(), "number of acknowledgement batches sent by broker connection mirrors");
+         builder.register("mirror.ack.batched", mirrorAckCounters, counters -> ((MirrorAckCounters) counters).getBatchedAcks(), "number of acknowledgements sent in batches by broker connection mirrors");
+         builder.register("mirror.average.ack.batch.size", mirrorAckCounters, counters -> ((MirrorAckCounters) counters).getAverageBatchSize(), "average number of acknowledgements in a mirror batch");
+         builder.register("mirror.average.ack.batch.latency", mirrorAckCounters, counters -> ((MirrorAckCounters) counters).getAverageBatchLatency(), "average time in milliseconds acknowledgements waited in a mirror batch");
+      });
+   }
+
+   public ConversionCounters getConversionCounters() {
+      return conversionCounters;
+   }
+
+   public MirrorAckCounters getMirrorAckCounters() {
+      return mirrorAckCounters;
    }
 
    public synchronized ReferenceNodeStore getReferenceIDSupplier() {
@@ -152,6 +194,37 @@ public class ProtonProtocolManager extends AbstractProtocolManager<AMQPMessage,
       return this;
    }
 
+   public int getAmqpMaxStalledLargeMessageReaders() {
+      return amqpMaxStalledLargeMessageReaders;
+   }
+
+   public ProtonProtocolManager setAmqpMaxStalledLargeMessageReaders(int amqpMaxStalledLargeMessageReaders) {
+      this.amqpMaxStalledLargeMessageReaders = amqpMaxStalledLargeMessageReaders;
+      return this;
+   }
+
+   /** Reserves a slot for a stalled large message delivery to keep its body reader open.
+    *  Returns false when the limit is reached, in which case the delivery must close its reader. */
+   public boolean acquireStalledLargeMessageReader() {
+      for (;;) {
+         final int current = stalledLargeMessageReaders.get();
+         if (current >= amqpMaxStalledLargeMessageReaders) {
+            return false;
+         }
+         if (stalledLargeMessageReaders.compareAndSet(current, current + 1)) {
+            return true;
+         }
+      }
+   }
+
+   public void releaseStalledLargeMessageReader() {
+      stalledLargeMessageReaders.decrementAndGet();
+   }
+
+   public int getStalledLargeMessageReaders() {
+      return stalledLargeMessageReaders.get();
+   }
+
    public boolean isAmqpDuplicateDetection() {
       return amqpDuplicateDetection;
    }
@@ -26,6 +26,8 @@ import org.apache.activemq.artemis.core.persistence.Persister;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.protocol.amqp.connect.AMQPBrokerConnectionManager;
+import org.apache.activemq.artemis.protocol.amqp.connect.mirror.MirrorAckCounters;
+import org.apache.activemq.artemis.protocol.amqp.converter.ConversionCounters;
 import org.apache.activemq.artemis.spi.core.protocol.AbstractProtocolManagerFactory;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManager;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManagerFactory;
@@ -41,6 +43,19 @@ public class ProtonProtocolManagerFactory extends AbstractProtocolManagerFactory
 
    private static String[] SUPPORTED_PROTOCOLS = {AMQP_PROTOCOL_NAME};
 
+   // one factory is loaded per broker and shared by all its AMQP acceptors
+   private final ConversionCounters conversionCounters = new ConversionCounters();
+
+   private final MirrorAckCounters mirrorAckCounters = new MirrorAckCounters();
+
+   public ConversionCounters getConversionCounters() {
+      return conversionCounters;
+   }
+
+   public MirrorAckCounters getMirrorAckCounters() {
+      return mirrorAckCounters;
+   }
+
    @Override
    public Persister<Message>[] getPersister() {
 
@@ -64,6 +64,7 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
    public static final Symbol CREATE_QUEUE = Symbol.getSymbol("createQueue");
    public static final Symbol DELETE_QUEUE = Symbol.getSymbol("deleteQueue");
    public static final Symbol POST_ACK = Symbol.getSymbol("postAck");
+   public static final Symbol POST_ACK_BATCH = Symbol.getSymbol("postAckBatch");
 
    // Delivery annotation property used on mirror control routing and Ack
    public static final Symbol INTERNAL_ID = Symbol.getSymbol("x-opt-amq-mr-id");
@@ -71,6 +72,8 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
 
    // Capabilities
    public static final Symbol MIRROR_CAPABILITY = Symbol.getSymbol("amq.mirror");
+   // offered by targets that understand postAckBatch events
+   public static final Symbol MIRROR_ACK_BATCH_CAPABILITY = Symbol.getSymbol("amq.mirror.ack.batch");
    public static final Symbol QPID_DISPATCH_WAYPOINT_CAPABILITY = Symbol.valueOf("qd.waypoint");
 
    public static final SimpleString INTERNAL_ID_EXTRA_PROPERTY = SimpleString.toSimpleString(INTERNAL_ID.toString());
@@ -89,6 +92,12 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
 
    final AMQPMirrorBrokerConnectionElement replicaConfig;
 
+   // null unless the acknowledgements are sent in batches
+   final MirrorAckBatcher ackBatcher;
+
+   // acknowledgements are only batched once the target offered to receive them
+   volatile boolean ackBatchAccepted;
+
    boolean started;
 
    @Override
@@ -97,6 +106,7 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
 
    @Override
    public void stop() throws Exception {
+      flushAcks();
    }
 
    @Override
@@ -116,6 +126,32 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
       this.addressFilter = new MirrorAddressFilter(replicaConfig.getAddressFilter());
       this.acks = replicaConfig.isMessageAcknowledgements();
       this.brokerConnection = brokerConnection;
+      if (acks && replicaConfig.getAckBatchSize() > 1) {
+         this.ackBatcher = new MirrorAckBatcher(replicaConfig.getAckBatchSize(), server.getExecutorFactory().getExecutor(), server::newOperationContext, protonProtocolManager.getMirrorAckCounters(), this::sendAckBatch);
+      } else {
+         this.ackBatcher = null;
+      }
+   }
+
+   @Override
+   public BasicMirrorController<Sender> setLink(Sender link) {
+      ackBatchAccepted = link != null && hasOfferedCapability(link, MIRROR_ACK_BATCH_CAPABILITY);
+      if (ackBatcher != null && !ackBatchAccepted) {
+         logger.debug("{} mirror target does not accept acknowledgement batches, acknowledgements are sent one by one", server);
+      }
+      return super.setLink(link);
+   }
+
+   private static boolean hasOfferedCapability(Sender link, Symbol capability) {
+      final Symbol[] offeredCapabilities = link.getRemoteOfferedCapabilities();
+      if (offeredCapabilities != null) {
+         for (Symbol offered : offeredCapabilities) {
+            if (capability.equals(offered)) {
+               return true;
+            }
+         }
+      }
+      return false;
    }
 
    public Queue getSnfQueue() {
@@ -155,6 +191,8 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
          return;
       }
       if (deleteQueues) {
+         // the acknowledgements have to reach the target before its queues are removed
+         flushAcks();
          Message message = createMessage(addressInfo.getName(), null, DELETE_ADDRESS, null, addressInfo.toJSON());
          route(server, message);
       }
@@ -198,6 +236,7 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
       }
 
       if (deleteQueues) {
+         flushAcks();
          Message message = createMessage(address, queue, DELETE_QUEUE, null, queue.toString());
          route(server, message);
       }
@@ -337,11 +376,29 @@ public class AMQPMirrorControllerSource extends BasicMirrorController<Sender> im
       if (logger.isTraceEnabled()) {
          logger.trace("{} sending ack message from server {} with messageID={}", server, nodeID, internalID);
       }
-      Message message = createMessage(ref.getQueue().getAddress(), ref.getQueue().getName(), POST_ACK, nodeID, internalID, reason);
-      route(server, message);
+      if (ackBatcher != null && ackBatchAccepted) {
+         ackBatcher.add(ref.getQueue().getAddress(), ref.getQueue().getName(), nodeID, internalID, reason);
+      } else {
+         Message message = createMessage(ref.getQueue().getAddress(), ref.getQueue().getName(), POST_ACK, nodeID, internalID, reason);
+         route(server, message);
+      }
       ref.getMessage().usageDown();
    }
 
+   private void sendAckBatch(SimpleString address, SimpleString queue, String nodeID, AckReason reason, List<Long> ranges) throws Exception {
+      if (logger.isTraceEnabled()) {
+         logger.trace("{} sending ack batch message from server {} with messageID ranges={}", server, nodeID, ranges);
+      }
+      Message message = createMessage(address, queue, POST_ACK_BATCH, nodeID, ranges, reason);
+      route(server, message);
+   }
+
+   private void flushAcks() {
+      if (ackBatcher != null) {
+         ackBatcher.flush();
+      }
+   }
+
    private Message createMessage(SimpleString address, SimpleString queue, Object event, String brokerID, Object body) {
       return AMQPMirrorMessageFactory.createMessage(snfQueue.getAddress().toString(), address, queue, event, brokerID, body, null);
    }
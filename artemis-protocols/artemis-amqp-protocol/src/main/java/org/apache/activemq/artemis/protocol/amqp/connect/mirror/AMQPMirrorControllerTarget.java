@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
 import java.util.function.ToIntFunction;
 
@@ -27,6 +28,7 @@ import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.io.RunnableCallback;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
 import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
@@ -72,6 +74,7 @@ import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirro
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_DESTINATION;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_ID;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.POST_ACK;
+import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.POST_ACK_BATCH;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.QUEUE;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_ID_EXTRA_PROPERTY;
 
@@ -99,6 +102,12 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
 
       Delivery delivery;
 
+      /**
+       * the delivery is settled when every operation using this callback completed, which is more than one for
+       * a batch of acknowledgements
+       */
+      final AtomicInteger pendingOperations = new AtomicInteger();
+
       /**
        * notice that when you use the Transaction, you need to make sure you don't use the IO
        */
@@ -115,11 +124,15 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
 
       ACKMessageOperation setDelivery(Delivery delivery) {
          this.delivery = delivery;
+         this.pendingOperations.set(1);
          return this;
       }
 
       @Override
       public void run() {
+         if (pendingOperations.decrementAndGet() > 0) {
+            return;
+         }
          logger.trace("Delivery settling for {}, context={}", delivery, delivery.getContext());
          delivery.disposition(Accepted.getInstance());
          settle(delivery);
@@ -232,6 +245,18 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
                if (postAcknowledge(queueName, nodeID, messageID, messageAckOperation, ackReason)) {
                   messageAckOperation = null;
                }
+            } else if (eventType.equals(POST_ACK_BATCH)) {
+               String nodeID = (String) AMQPMessageBrokerAccessor.getMessageAnnotationProperty(message, BROKER_ID);
+
+               AckReason ackReason = AMQPMessageBrokerAccessor.getMessageAnnotationAckReason(message);
+
+               if (nodeID == null) {
+                  nodeID = getRemoteMirrorId();
+               }
+               String queueName = (String) AMQPMessageBrokerAccessor.getMessageAnnotationProperty(message, QUEUE);
+               AmqpValue value = (AmqpValue) message.getBody();
+               // the operation is completed once more below, after every acknowledgement was applied
+               postAcknowledgeBatch(queueName, nodeID, (List<Long>) value.getValue(), messageAckOperation, ackReason);
             }
          } else {
             if (sendMessage(message, messageAckOperation)) {
@@ -348,9 +373,36 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
       return true;
    }
 
+   /**
+    * Applies the acknowledgements of a batch in the order of their message ids, the delivery of the batch is settled
+    * when all of them completed.
+    */
+   public void postAcknowledgeBatch(String queue,
+                                    String nodeID,
+                                    List<Long> messageIDRanges,
+                                    ACKMessageOperation ackMessage,
+                                    AckReason reason) throws Exception {
+      final Queue targetQueue = server.locateQueue(queue);
+
+      if (targetQueue == null) {
+         logger.warn("Queue {} not found on mirror target, ignoring acks for queue={}, messageIDs={}, nodeID={}", queue, queue, messageIDRanges, nodeID);
+         return;
+      }
+
+      if (logger.isTraceEnabled()) {
+         logger.trace("Server {} with queue = {} being acked for {} coming from {} targetQueue = {}",
+                      server.getIdentity(), queue, messageIDRanges, nodeID, targetQueue);
+      }
+
+      ackMessage.pendingOperations.addAndGet(Math.toIntExact(MirrorAckBatcher.countRanges(messageIDRanges)));
+      MirrorAckBatcher.forEachInRanges(messageIDRanges, messageID -> performAck(nodeID, messageID, targetQueue, ackMessage, reason, (short) 0));
+   }
+
    public void performAckOnPage(String nodeID, long messageID, Queue targetQueue, IOCallback ackMessageOperation) {
       PageAck pageAck = new PageAck(targetQueue, nodeID, messageID, ackMessageOperation);
-      targetQueue.getPageSubscription().scanAck(pageAck, pageAck, pageAck, pageAck);
+      // a previous scan could have passed over the message already, in which case the pages don't need to be scanned
+      PagePosition position = referenceNodeStore.removePagePosition(targetQueue.getID(), nodeID, messageID);
+      targetQueue.getPageSubscription().scanAck(position, pageAck, pageAck, pageAck, pageAck);
    }
 
    private void performAck(String nodeID, long messageID, Queue targetQueue, ACKMessageOperation ackMessageOperation, AckReason reason, final short retry) {
@@ -392,6 +444,8 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
          if (logger.isTraceEnabled()) {
             logger.trace("Post ack Server {} worked well for messageID={} nodeID={}", server, messageID, nodeID);
          }
+         // the message could have been depaged after a scan recorded its position
+         referenceNodeStore.removePagePosition(targetQueue.getID(), nodeID, messageID);
          try {
             switch (reason) {
                case EXPIRED:
@@ -496,6 +550,9 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
       final long messageID;
       final IOCallback operation;
 
+      // only used by the thread scanning the pages
+      ReferenceNodeStore.PagePositionRecorder passedOver;
+
       PageAck(Queue targetQueue, String nodeID, long messageID, IOCallback operation) {
          this.targetQueue = targetQueue;
          this.nodeID = nodeID;
@@ -538,16 +595,24 @@ public class AMQPMirrorControllerTarget extends ProtonAbstractReceiver implement
                return 0;
             } else if (diff > 0) {
                return 1;
-            } else {
-               return -1;
             }
-         } else {
-            return -1;
          }
+
+         // the acks for the messages passed over will find them by their position
+         if (passedOver == null) {
+            passedOver = referenceNodeStore.newPagePositionRecorder(targetQueue.getID());
+         }
+         passedOver.record(reference);
+         return -1;
       }
 
       @Override
       public void run() {
+         // the scan is over for this ack, found or not
+         if (passedOver != null) {
+            passedOver.flush();
+            passedOver = null;
+         }
          operation.done();
       }
 
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.persistence.OperationContext;
+import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
+import org.apache.activemq.artemis.core.server.impl.AckReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the acknowledgements mirrored by {@link AMQPMirrorControllerSource} into one event per queue, with the
+ * acknowledged message ids encoded as ranges.
+ * <p>
+ * A batch is sent as soon as it reaches the batch size, otherwise the executor sends it after the acknowledgements
+ * that happened meanwhile were added to it, so no delay is added when the broker is idle.
+ * <p>
+ * Each acknowledgement lines up a store on the {@link OperationContext} of its caller, which is only completed once
+ * the batch holding it was stored, the same as if the acknowledgement had been routed to the mirror on its own.
+ * Batches are sent one at a time and in the order they were filled.
+ */
+public class MirrorAckBatcher {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public interface BatchSender {
+
+      void send(SimpleString address, SimpleString queue, String nodeID, AckReason reason, List<Long> ranges) throws Exception;
+   }
+
+   private final int batchSize;
+
+   private final Executor executor;
+
+   private final Supplier<OperationContext> contextFactory;
+
+   private final MirrorAckCounters counters;
+
+   private final BatchSender sender;
+
+   // held while a batch is taken and sent, so batches can't overtake each other
+   private final Object flushLock = new Object();
+
+   private Map<BatchKey, MessageIDs> pending = new HashMap<>();
+
+   private List<OperationContext> pendingContexts = new ArrayList<>();
+
+   private int pendingCount;
+
+   private long firstPendingTime;
+
+   private boolean flushScheduled;
+
+   public MirrorAckBatcher(int batchSize,
+                           Executor executor,
+                           Supplier<OperationContext> contextFactory,
+                           MirrorAckCounters counters,
+                           BatchSender sender) {
+      this.batchSize = batchSize;
+      this.executor = executor;
+      this.contextFactory = contextFactory;
+      this.counters = counters;
+      this.sender = sender;
+   }
+
+   public void add(SimpleString address, SimpleString queue, String nodeID, long messageID, AckReason reason) {
+      final OperationContext context = OperationContextImpl.getContext();
+      if (context != null) {
+         // completed by the flush that stores this acknowledgement
+         context.storeLineUp();
+      }
+
+      boolean flush = false;
+
+      synchronized (this) {
+         if (pendingCount == 0) {
+            firstPendingTime = System.nanoTime();
+         }
+
+         pending.computeIfAbsent(new BatchKey(address, queue, nodeID, reason), key -> new MessageIDs()).add(messageID);
+
+         if (context != null) {
+            pendingContexts.add(context);
+         }
+
+         if (++pendingCount >= batchSize) {
+            flush = true;
+         } else if (!flushScheduled) {
+            flushScheduled = true;
+            executor.execute(this::flush);
+         }
+      }
+
+      if (flush) {
+         flush();
+      }
+   }
+
+   /**
+    * Sends the pending acknowledgements.
+    */
+   public void flush() {
+      synchronized (flushLock) {
+         final Map<BatchKey, MessageIDs> batch;
+         final List<OperationContext> contexts;
+         final int batchCount;
+         final long latency;
+
+         synchronized (this) {
+            flushScheduled = false;
+
+            if (pendingCount == 0) {
+               return;
+            }
+
+            batch = pending;
+            contexts = pendingContexts;
+            batchCount = pendingCount;
+            latency = System.nanoTime() - firstPendingTime;
+            pending = new HashMap<>();
+            pendingContexts = new ArrayList<>();
+            pendingCount = 0;
+         }
+
+         // the batch is stored on a context of its own: the caller's context could be one waiting on this flush
+         final OperationContext callerContext = OperationContextImpl.getContext();
+         final OperationContext flushContext = contextFactory.get();
+         OperationContextImpl.setContext(flushContext);
+         try {
+            batch.forEach((key, messageIDs) -> {
+               try {
+                  sender.send(key.address, key.queue, key.nodeID, key.reason, encodeRanges(messageIDs.ids, messageIDs.size));
+               } catch (Exception e) {
+                  logger.warn("Unable to mirror {} acknowledgements on queue {}", messageIDs.size, key.queue, e);
+               }
+            });
+         } finally {
+            OperationContextImpl.setContext(callerContext);
+         }
+
+         if (!contexts.isEmpty()) {
+            flushContext.executeOnCompletion(new IOCallback() {
+               @Override
+               public void done() {
+                  contexts.forEach(OperationContext::done);
+               }
+
+               @Override
+               public void onError(int errorCode, String errorMessage) {
+                  contexts.forEach(context -> context.onError(errorCode, errorMessage));
+               }
+            });
+         }
+
+         counters.batchSent(batchCount, latency);
+      }
+   }
+
+   /**
+    * @return the ids sorted and encoded as a list of inclusive ranges, each range being its first and last id
+    */
+   static List<Long> encodeRanges(long[] ids, int size) {
+      final long[] sorted = Arrays.copyOf(ids, size);
+      Arrays.sort(sorted);
+
+      final List<Long> ranges = new ArrayList<>();
+
+      for (int i = 0; i < sorted.length; ) {
+         final long first = sorted[i];
+         long last = first;
+
+         while (++i < sorted.length && sorted[i] <= last + 1) {
+            last = sorted[i];
+         }
+
+         ranges.add(first);
+         ranges.add(last);
+      }
+
+      return ranges;
+   }
+
+   /**
+    * @return the number of ids in the ranges
+    */
+   static long countRanges(List<Long> ranges) {
+      long count = 0;
+      for (int i = 0; i + 1 < ranges.size(); i += 2) {
+         count += ranges.get(i + 1) - ranges.get(i) + 1;
+      }
+      return count;
+   }
+
+   static void forEachInRanges(List<Long> ranges, LongConsumer consumer) {
+      for (int i = 0; i + 1 < ranges.size(); i += 2) {
+         final long last = ranges.get(i + 1);
+         for (long id = ranges.get(i); id <= last; id++) {
+            consumer.accept(id);
+         }
+      }
+   }
+
+   private static final class MessageIDs {
+
+      long[] ids = new long[16];
+
+      int size;
+
+      void add(long id) {
+         if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+         }
+         ids[size++] = id;
+      }
+   }
+
+   private static final class BatchKey {
+
+      final SimpleString address;
+
+      final SimpleString queue;
+
+      final String nodeID;
+
+      final AckReason reason;
+
+      BatchKey(SimpleString address, SimpleString queue, String nodeID, AckReason reason) {
+         this.address = address;
+         this.queue = queue;
+         this.nodeID = nodeID;
+         this.reason = reason;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) {
+            return true;
+         }
+         if (!(o instanceof BatchKey)) {
+            return false;
+         }
+         BatchKey other = (BatchKey) o;
+         return Objects.equals(address, other.address) && Objects.equals(queue, other.queue) && Objects.equals(nodeID, other.nodeID) && reason == other.reason;
+      }
+
+      @Override
+      public int hashCode() {
+         return Objects.hash(address, queue, nodeID, reason);
+      }
+   }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the acknowledgement batches sent by the mirrors of one broker.
+ */
+public final class MirrorAckCounters {
+
+   private final LongAdder batches = new LongAdder();
+   private final LongAdder batchedAcks = new LongAdder();
+   private final LongAdder batchLatency = new LongAdder();
+
+   void batchSent(int acks, long latencyNanos) {
+      batches.increment();
+      batchedAcks.add(acks);
+      batchLatency.add(latencyNanos);
+   }
+
+   public long getBatches() {
+      return batches.sum();
+   }
+
+   public long getBatchedAcks() {
+      return batchedAcks.sum();
+   }
+
+   public double getAverageBatchSize() {
+      final long batches = this.batches.sum();
+      return batches == 0 ? 0 : (double) batchedAcks.sum() / batches;
+   }
+
+   /**
+    * @return the average time in milliseconds between the first acknowledgement of a batch and the batch being sent
+    */
+   public double getAverageBatchLatency() {
+      final long batches = this.batches.sum();
+      return batches == 0 ? 0 : (double) batchLatency.sum() / batches / TimeUnit.MILLISECONDS.toNanos(1);
+   }
+}
@@ -17,22 +17,43 @@
 
 package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
+import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
+import org.apache.activemq.artemis.core.security.SecurityAuth;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerQueuePlugin;
 import org.apache.activemq.artemis.utils.collections.NodeStore;
 import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
 
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_BROKER_ID_EXTRA_PROPERTY;
 import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_ID_EXTRA_PROPERTY;
 
-public class ReferenceNodeStore implements NodeStore<MessageReference> {
+public class ReferenceNodeStore implements NodeStore<MessageReference>, ActiveMQServerQueuePlugin {
+
+   /**
+    * Maximum number of page positions kept per queue, positions are no longer recorded for a queue above it
+    */
+   static final int MAX_PAGE_POSITIONS = 1_000_000;
+
+   /**
+    * Number of positions a {@link PagePositionRecorder} collects before storing them
+    */
+   static final int PAGE_POSITIONS_BATCH = 256;
+
+   private final ActiveMQServer server;
 
    private final String serverID;
 
    public ReferenceNodeStore(ActiveMQServer server) {
+      this.server = server;
       this.serverID = server.getNodeID().toString();
    }
 
@@ -42,6 +63,15 @@ public class ReferenceNodeStore implements NodeStore<MessageReference> {
    String lruListID;
    LongObjectHashMap<LinkedListImpl.Node<MessageReference>> lruMap;
 
+   // The positions of paged messages seen while scanning pages, by queue id and server id
+   private final LongObjectHashMap<PagePositions> pagePositions = new LongObjectHashMap<>();
+
+   // written while holding pagePositions, read without it to keep storeNode cheap when no position is recorded
+   private volatile int pagePositionsCount;
+
+   // the plugin evicting the positions of destroyed queues is only registered once positions are recorded
+   private boolean queuePluginRegistered;
+
 
    public String getDefaultNodeID() {
       return serverID;
@@ -52,6 +82,10 @@ public class ReferenceNodeStore implements NodeStore<MessageReference> {
       String list = getServerID(element);
       long id = getID(element);
       storeNode(list, id, node);
+      if (pagePositionsCount > 0 && element.getQueue() != null) {
+         // the message is in memory now, acks and expiries find it through its node
+         removePagePosition(element.getQueue().getID(), list, id);
+      }
    }
 
    private void storeNode(String serverID, long id, LinkedListImpl.Node<MessageReference> node) {
@@ -133,12 +167,101 @@ public class ReferenceNodeStore implements NodeStore<MessageReference> {
       }
    }
 
+   /**
+    * Records the position of a paged reference, so a later ack doesn't need to scan the pages to find it.
+    */
+   public void storePagePosition(long queueID, PagedReference reference) {
+      PagePositionRecorder recorder = newPagePositionRecorder(queueID);
+      recorder.record(reference);
+      recorder.flush();
+   }
+
+   /**
+    * @return a recorder collecting the positions of the paged references a scan of the queue passes over
+    */
+   public PagePositionRecorder newPagePositionRecorder(long queueID) {
+      return new PagePositionRecorder(queueID);
+   }
+
+   private void storePagePositions(long queueID, String[] serverIDs, long[] ids, PagePosition[] positions, int count) {
+      boolean registerQueuePlugin = false;
+      synchronized (pagePositions) {
+         PagePositions queuePositions = pagePositions.get(queueID);
+         if (queuePositions == null) {
+            queuePositions = new PagePositions();
+            pagePositions.put(queueID, queuePositions);
+         }
+         int added = 0;
+         for (int i = 0; i < count; i++) {
+            if (queuePositions.put(serverIDs[i] == null ? this.serverID : serverIDs[i], ids[i], positions[i])) {
+               added++;
+            }
+         }
+         pagePositionsCount += added;
+         if (!queuePluginRegistered) {
+            queuePluginRegistered = true;
+            registerQueuePlugin = true;
+         }
+      }
+      if (registerQueuePlugin) {
+         server.registerBrokerPlugin(this);
+      }
+   }
+
+   /**
+    * @return the last recorded position of the message on the queue, or null if it is unknown
+    */
+   public PagePosition removePagePosition(long queueID, String serverID, long id) {
+      synchronized (pagePositions) {
+         PagePositions positions = pagePositions.get(queueID);
+         if (positions == null) {
+            return null;
+         }
+         PagePosition position = positions.remove(serverID == null ? this.serverID : serverID, id);
+         if (position != null) {
+            pagePositionsCount--;
+         }
+         if (positions.size == 0) {
+            pagePositions.remove(queueID);
+         }
+         return position;
+      }
+   }
+
+   /**
+    * Forgets the positions recorded for a queue.
+    */
+   public void removePagePositions(long queueID) {
+      synchronized (pagePositions) {
+         PagePositions positions = pagePositions.remove(queueID);
+         if (positions != null) {
+            pagePositionsCount -= positions.size;
+         }
+      }
+   }
+
+   @Override
+   public void afterDestroyQueue(Queue queue,
+                                 SimpleString address,
+                                 SecurityAuth session,
+                                 boolean checkConsumerCount,
+                                 boolean removeConsumers,
+                                 boolean autoDeleteAddress) throws ActiveMQException {
+      removePagePositions(queue.getID());
+   }
+
    @Override
    public synchronized void clear() {
-      lists.forEach((k, v) -> v.clear());
-      lists.clear();
+      if (lists != null) {
+         lists.forEach((k, v) -> v.clear());
+         lists.clear();
+      }
       lruListID = null;
       lruMap = null;
+      synchronized (pagePositions) {
+         pagePositions.clear();
+         pagePositionsCount = 0;
+      }
    }
 
    @Override
@@ -150,4 +273,84 @@ public class ReferenceNodeStore implements NodeStore<MessageReference> {
       return size;
    }
 
+   /**
+    * Collects page positions on the thread scanning the pages and stores them in batches, so the scan doesn't take the
+    * lock of the store for every message it passes over. It is not thread safe.
+    */
+   public final class PagePositionRecorder {
+
+      private final long queueID;
+
+      private final String[] serverIDs = new String[PAGE_POSITIONS_BATCH];
+
+      private final long[] ids = new long[PAGE_POSITIONS_BATCH];
+
+      private final PagePosition[] positions = new PagePosition[PAGE_POSITIONS_BATCH];
+
+      private int count;
+
+      private PagePositionRecorder(long queueID) {
+         this.queueID = queueID;
+      }
+
+      public void record(PagedReference reference) {
+         serverIDs[count] = getServerID(reference);
+         ids[count] = getID(reference);
+         positions[count] = reference.getPagedMessage().newPositionObject();
+         if (++count == PAGE_POSITIONS_BATCH) {
+            flush();
+         }
+      }
+
+      public void flush() {
+         if (count > 0) {
+            storePagePositions(queueID, serverIDs, ids, positions, count);
+            Arrays.fill(serverIDs, 0, count, null);
+            Arrays.fill(positions, 0, count, null);
+            count = 0;
+         }
+      }
+   }
+
+   private static final class PagePositions {
+
+      final HashMap<String, LongObjectHashMap<PagePosition>> positionsByServer = new HashMap<>();
+
+      int size;
+
+      /**
+       * @return true if the position was added, false if it replaced a previous one or the queue holds too many
+       */
+      boolean put(String serverID, long id, PagePosition position) {
+         LongObjectHashMap<PagePosition> positions = positionsByServer.get(serverID);
+         if (positions == null) {
+            positions = new LongObjectHashMap<>();
+            positionsByServer.put(serverID, positions);
+         }
+         if (positions.containsKey(id)) {
+            positions.put(id, position);
+         } else if (size < MAX_PAGE_POSITIONS) {
+            positions.put(id, position);
+            size++;
+            return true;
+         }
+         return false;
+      }
+
+      PagePosition remove(String serverID, long id) {
+         LongObjectHashMap<PagePosition> positions = positionsByServer.get(serverID);
+         if (positions == null) {
+            return null;
+         }
+         PagePosition position = positions.remove(id);
+         if (position != null) {
+            size--;
+            if (positions.isEmpty()) {
+               positionsByServer.remove(serverID);
+            }
+         }
+         return position;
+      }
+   }
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.converter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the conversions performed between AMQP and core messages by one broker, and the AMQP to core conversions
+ * avoided by reusing the representation cached on messages referenced by more than one queue.
+ */
+public final class ConversionCounters {
+
+   private final LongAdder amqpToCore = new LongAdder();
+   private final LongAdder amqpToCoreAvoided = new LongAdder();
+   private final LongAdder coreToAmqp = new LongAdder();
+
+   public void amqpToCore(boolean avoided) {
+      if (avoided) {
+         amqpToCoreAvoided.increment();
+      } else {
+         amqpToCore.increment();
+      }
+   }
+
+   public void coreToAmqp() {
+      coreToAmqp.increment();
+   }
+
+   public long getAmqpToCoreConversions() {
+      return amqpToCore.sum();
+   }
+
+   public long getAmqpToCoreConversionsAvoided() {
+      return amqpToCoreAvoided.sum();
+   }
+
+   public long getCoreToAmqpConversions() {
+      return coreToAmqp.sum();
+   }
+}
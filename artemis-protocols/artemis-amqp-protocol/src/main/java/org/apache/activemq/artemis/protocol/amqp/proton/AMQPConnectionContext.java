@@ -385,7 +385,7 @@ public class AMQPConnectionContext extends ProtonInitializable implements EventH
                   return;
                }
 
-               receiver.setOfferedCapabilities(new Symbol[]{AMQPMirrorControllerSource.MIRROR_CAPABILITY});
+               receiver.setOfferedCapabilities(new Symbol[]{AMQPMirrorControllerSource.MIRROR_CAPABILITY, AMQPMirrorControllerSource.MIRROR_ACK_BATCH_CAPABILITY});
                protonSession.addReplicaTarget(receiver);
             } else {
                protonSession.addReceiver(receiver);
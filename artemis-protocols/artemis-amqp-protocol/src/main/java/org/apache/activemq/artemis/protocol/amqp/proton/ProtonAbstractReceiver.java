@@ -276,6 +276,9 @@ public abstract class ProtonAbstractReceiver extends ProtonInitializable impleme
    protected void initializeCurrentLargeMessage(Delivery delivery, Receiver receiver) throws Exception {
       long id = sessionSPI.getStorageManager().generateID();
       currentLargeMessage = new AMQPLargeMessage(id, delivery.getMessageFormat(), null, sessionSPI.getCoreMessageObjectPools(), sessionSPI.getStorageManager());
+      if (sessionSPI.getProtocolManager() != null) {
+         currentLargeMessage.setConversionCounters(sessionSPI.getProtocolManager().getConversionCounters());
+      }
 
       ReadableBuffer dataBuffer = receiver.recv();
       currentLargeMessage.parseHeader(dataBuffer);
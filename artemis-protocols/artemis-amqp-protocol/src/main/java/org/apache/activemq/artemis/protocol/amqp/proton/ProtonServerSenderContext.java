@@ -294,6 +294,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       protonSession.removeSender(sender);
 
       connection.runLater(() -> {
+         releasePendingLargeMessage();
          sender.close();
          try {
             sessionSPI.closeSender(brokerConsumer);
@@ -326,6 +327,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
    }
 
    private void internalClose(boolean remoteLinkClose) throws ActiveMQAMQPException {
+      releasePendingLargeMessage();
       try {
          protonSession.removeSender(sender);
          sessionSPI.closeSender(brokerConsumer);
@@ -538,6 +540,9 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
             log.debug("Not delivering message {} as the sender is closed and credits were available, if you see too many of these it means clients are issuing credits and closing the connection with pending credits a lot of times", messageReference);
             return;
          }
+         if (!(messageReference.getMessage() instanceof AMQPMessage)) {
+            connection.getProtocolManager().getConversionCounters().coreToAmqp();
+         }
          AMQPMessage message = CoreAmqpConverter.checkAMQP(messageReference.getMessage(), sessionSPI.getStorageManager());
 
          if (sessionSPI.invokeOutgoing(message, (ActiveMQProtonRemotingConnection) sessionSPI.getTransportConnection().getProtocolConnection()) != null) {
@@ -565,7 +570,15 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       }
    }
 
-   private class LargeMessageDeliveryContext {
+   /**
+    * Delivers a large message already completely received, reading its body back from its file as the receiver
+    * grants credit. The body reader is kept open across the flow control stalls of the delivery, within the limit of
+    * {@code amqpMaxStalledLargeMessageReaders}.
+    * <p>
+    * The message isn't streamed to the receiver while the producer is still sending it: routing only happens once a
+    * message is complete.
+    */
+   class LargeMessageDeliveryContext {
 
       LargeMessageDeliveryContext(MessageReference reference, AMQPLargeMessage message, Delivery delivery) {
          this.position = 0L;
@@ -580,56 +593,70 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       final Delivery delivery;
       boolean initialPacketHandled;
 
+      // kept open across flow control resumes, to not reopen and seek the large message file on every resume,
+      // as long as the protocol manager has room for another stalled reader
+      LargeBodyReader bodyReader;
+      ByteBuf frameBuffer;
+      NettyReadable frameView;
+      int frameSize;
+      boolean holdingStalledReader;
+
       void resume() {
          connection.runNow(this::deliver);
       }
 
       void deliver() {
-         // This is discounting some bytes due to Transfer payload
-         final int frameSize = protonSession.session.getConnection().getTransport().getOutboundFrameSizeLimit() - 50 - (delivery.getTag() != null ? delivery.getTag().length : 0);
-
+         releaseStalledReader();
          try {
-            final ByteBuf frameBuffer = PooledByteBufAllocator.DEFAULT.directBuffer(frameSize, frameSize);
-            final NettyReadable frameView = new NettyReadable(frameBuffer);
-            try (LargeBodyReader context = message.getLargeBodyReader()) {
-               context.open();
-               context.position(position);
-               long bodySize = context.getSize();
+            if (frameBuffer == null) {
+               // This is discounting some bytes due to Transfer payload
+               frameSize = protonSession.session.getConnection().getTransport().getOutboundFrameSizeLimit() - 50 - (delivery.getTag() != null ? delivery.getTag().length : 0);
+               frameBuffer = PooledByteBufAllocator.DEFAULT.directBuffer(frameSize, frameSize);
+               frameView = new NettyReadable(frameBuffer);
                // materialize it so we can use its internal NIO buffer
                frameBuffer.ensureWritable(frameSize);
+            }
+            if (bodyReader == null) {
+               bodyReader = message.getLargeBodyReader();
+               bodyReader.open();
+               bodyReader.position(position);
+            }
+            final LargeBodyReader context = bodyReader;
+            long bodySize = context.getSize();
 
-               if (!initialPacketHandled && sender.getLocalState() != EndpointState.CLOSED) {
-                  if (!deliverInitialPacket(context, frameBuffer)) {
-                     return;
-                  }
-
-                  initialPacketHandled = true;
+            if (!initialPacketHandled && sender.getLocalState() != EndpointState.CLOSED) {
+               if (!deliverInitialPacket(context, frameBuffer)) {
+                  stalled();
+                  return;
                }
 
-               for (; sender.getLocalState() != EndpointState.CLOSED && position < bodySize; ) {
-                  if (!connection.flowControl(this::resume)) {
-                     return;
-                  }
-                  frameBuffer.clear();
+               initialPacketHandled = true;
+            }
 
-                  final int readSize = context.readInto(frameBuffer.internalNioBuffer(0, frameSize));
+            for (; sender.getLocalState() != EndpointState.CLOSED && position < bodySize; ) {
+               if (!connection.flowControl(this::resume)) {
+                  stalled();
+                  return;
+               }
+               frameBuffer.clear();
 
-                  frameBuffer.writerIndex(readSize);
+               final int readSize = context.readInto(frameBuffer.internalNioBuffer(0, frameSize));
 
-                  sender.send(frameView);
+               frameBuffer.writerIndex(readSize);
 
-                  position += readSize;
+               sender.send(frameView);
 
-                  if (readSize > 0) {
-                     if (position < bodySize) {
-                        connection.instantFlush();
-                     }
+               position += readSize;
+
+               if (readSize > 0) {
+                  if (position < bodySize) {
+                     connection.instantFlush();
                   }
                }
-            } finally {
-               frameBuffer.release();
             }
 
+            releaseResources();
+
             if (preSettle) {
                // Presettled means the client implicitly accepts any delivery we send it.
                try {
@@ -650,11 +677,54 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
 
             finishLargeMessage();
          } catch (Exception e) {
+            releaseResources();
             log.warn(e.getMessage(), e);
             brokerConsumer.errorProcessing(e, reference);
          }
       }
 
+      /**
+       * Called when the delivery waits for the connection to become writable: the reader stays open only
+       * if the protocol manager allows another stalled reader, otherwise it is reopened on resume.
+       */
+      private void stalled() {
+         if (bodyReader != null && connection.getProtocolManager().acquireStalledLargeMessageReader()) {
+            holdingStalledReader = true;
+         } else {
+            releaseResources();
+         }
+      }
+
+      private void releaseStalledReader() {
+         if (holdingStalledReader) {
+            holdingStalledReader = false;
+            connection.getProtocolManager().releaseStalledLargeMessageReader();
+         }
+      }
+
+      /**
+       * Closes the body reader and releases the frame buffer, if the delivery still holds them.
+       * It must be called from the connection's event loop.
+       */
+      void releaseResources() {
+         releaseStalledReader();
+         final LargeBodyReader reader = bodyReader;
+         bodyReader = null;
+         if (reader != null) {
+            try {
+               reader.close();
+            } catch (Exception e) {
+               log.debug(e.getMessage(), e);
+            }
+         }
+         final ByteBuf buffer = frameBuffer;
+         frameBuffer = null;
+         frameView = null;
+         if (buffer != null) {
+            buffer.release();
+         }
+      }
+
       private boolean deliverInitialPacket(final LargeBodyReader context,
                                            final ByteBuf frameBuffer) throws Exception {
          assert position == 0 && context.position() == 0 && !initialPacketHandled;
@@ -784,6 +854,14 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       }
    }
 
+   private void releasePendingLargeMessage() {
+      final LargeMessageDeliveryContext pendingLargeMessage = this.pendingLargeMessage;
+      if (pendingLargeMessage != null) {
+         // the reader and the frame buffer are only touched from the event loop
+         connection.runNow(pendingLargeMessage::releaseResources);
+      }
+   }
+
    private void finishLargeMessage() {
       lmUsageDown();
       pendingLargeMessage = null;
@@ -51,6 +51,7 @@ import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.message.openmbean.CompositeDataConstants;
 import org.apache.activemq.artemis.protocol.amqp.converter.AMQPMessageIdHelper;
 import org.apache.activemq.artemis.protocol.amqp.converter.AMQPMessageSupport;
+import org.apache.activemq.artemis.protocol.amqp.converter.ConversionCounters;
 import org.apache.activemq.artemis.protocol.amqp.util.NettyReadable;
 import org.apache.activemq.artemis.protocol.amqp.util.NettyWritable;
 import org.apache.activemq.artemis.protocol.amqp.util.TLSEncode;
@@ -1025,6 +1026,50 @@ public class AMQPMessageTest {
       assertEquals(decoded.getExpiration(), coreMessage.getExpiration());
    }
 
+   @Test
+   public void testToCoreIsCachedWhileReferencedByManyQueues() {
+      AMQPStandardMessage decoded = encodeAndDecodeMessage(createProtonMessage());
+      ConversionCounters counters = new ConversionCounters();
+      decoded.setConversionCounters(counters);
+
+      // a single reference: nothing to share the conversion with
+      decoded.refUp();
+      decoded.toCore();
+      // the first conversion decodes the application properties, which is part of the estimate
+      int estimate = decoded.getMemoryEstimate();
+      decoded.toCore();
+      assertEquals(2, counters.getAmqpToCoreConversions());
+      assertEquals(0, counters.getAmqpToCoreConversionsAvoided());
+      assertEquals(estimate, decoded.getMemoryEstimate());
+
+      decoded.refUp();
+      ICoreMessage coreMessage = decoded.toCore();
+      ICoreMessage cached = decoded.toCore();
+      assertEquals(3, counters.getAmqpToCoreConversions());
+      assertEquals(1, counters.getAmqpToCoreConversionsAvoided());
+      assertTrue(decoded.getMemoryEstimate() > estimate);
+
+      // every caller gets its own copy, changing one does not affect the others
+      assertNotSame(coreMessage, cached);
+      assertEquals(coreMessage.getMessageID(), cached.getMessageID());
+      assertEquals(TEST_APPLICATION_PROPERTY_VALUE, cached.getStringProperty(TEST_APPLICATION_PROPERTY_KEY));
+      cached.removeProperty(TEST_APPLICATION_PROPERTY_KEY);
+      assertEquals(TEST_APPLICATION_PROPERTY_VALUE, decoded.toCore().getStringProperty(TEST_APPLICATION_PROPERTY_KEY));
+      assertEquals(2, counters.getAmqpToCoreConversionsAvoided());
+
+      decoded.messageChanged();
+      assertEquals(estimate, decoded.getMemoryEstimate());
+      decoded.toCore();
+      assertEquals(4, counters.getAmqpToCoreConversions());
+
+      decoded.refDown();
+      decoded.refDown();
+      assertEquals(estimate, decoded.getMemoryEstimate());
+      decoded.toCore();
+      assertEquals(5, counters.getAmqpToCoreConversions());
+      assertEquals(2, counters.getAmqpToCoreConversionsAvoided());
+   }
+
    @Test
    public void testGetExpirationFromMessageUsingAbsoluteExpiration() {
       final Date expirationTime = new Date(System.currentTimeMillis());
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.persistence.OperationContext;
+import org.apache.activemq.artemis.core.persistence.impl.journal.OperationContextImpl;
+import org.apache.activemq.artemis.core.server.impl.AckReason;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MirrorAckBatcherTest {
+
+   private static final SimpleString ADDRESS = SimpleString.toSimpleString("address");
+
+   private static final SimpleString QUEUE = SimpleString.toSimpleString("queue");
+
+   private static final class SentBatch {
+
+      final SimpleString queue;
+
+      final String nodeID;
+
+      final AckReason reason;
+
+      final List<Long> ranges;
+
+      SentBatch(SimpleString queue, String nodeID, AckReason reason, List<Long> ranges) {
+         this.queue = queue;
+         this.nodeID = nodeID;
+         this.reason = reason;
+         this.ranges = ranges;
+      }
+   }
+
+   private final MirrorAckCounters counters = new MirrorAckCounters();
+
+   private static OperationContext newContext() {
+      return new OperationContextImpl(Runnable::run);
+   }
+
+   @After
+   public void clearContext() {
+      OperationContextImpl.clearContext();
+   }
+
+   @Test
+   public void testEncodeRanges() {
+      long[] ids = new long[] {7, 3, 1, 2, 10, 8, 4, 20};
+
+      List<Long> ranges = MirrorAckBatcher.encodeRanges(ids, ids.length);
+      Assert.assertEquals(Arrays.asList(1L, 4L, 7L, 8L, 10L, 10L, 20L, 20L), ranges);
+      Assert.assertEquals(ids.length, MirrorAckBatcher.countRanges(ranges));
+
+      List<Long> decoded = new ArrayList<>();
+      MirrorAckBatcher.forEachInRanges(ranges, decoded::add);
+      Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 7L, 8L, 10L, 20L), decoded);
+
+      // only the given size is encoded
+      Assert.assertEquals(Arrays.asList(3L, 3L, 7L, 7L), MirrorAckBatcher.encodeRanges(ids, 2));
+   }
+
+   @Test
+   public void testDuplicatesAreMerged() {
+      long[] ids = new long[] {5, 5, 6};
+
+      List<Long> ranges = MirrorAckBatcher.encodeRanges(ids, ids.length);
+      Assert.assertEquals(Arrays.asList(5L, 6L), ranges);
+   }
+
+   @Test
+   public void testFlushWhenFull() {
+      List<Runnable> scheduled = new ArrayList<>();
+      List<SentBatch> sent = new ArrayList<>();
+
+      MirrorAckBatcher batcher = new MirrorAckBatcher(3, scheduled::add, MirrorAckBatcherTest::newContext, counters, (address, queue, nodeID, reason, ranges) -> sent.add(new SentBatch(queue, nodeID, reason, ranges)));
+
+      batcher.add(ADDRESS, QUEUE, null, 2, AckReason.NORMAL);
+      batcher.add(ADDRESS, QUEUE, null, 1, AckReason.NORMAL);
+      Assert.assertEquals(1, scheduled.size());
+      Assert.assertTrue(sent.isEmpty());
+
+      batcher.add(ADDRESS, QUEUE, null, 3, AckReason.NORMAL);
+      Assert.assertEquals(1, sent.size());
+      Assert.assertEquals(Arrays.asList(1L, 3L), sent.get(0).ranges);
+
+      // the scheduled flush finds nothing left
+      scheduled.get(0).run();
+      Assert.assertEquals(1, sent.size());
+
+      Assert.assertEquals(1, counters.getBatches());
+      Assert.assertEquals(3, counters.getBatchedAcks());
+      Assert.assertEquals(3, counters.getAverageBatchSize(), 0);
+   }
+
+   @Test
+   public void testScheduledFlush() {
+      List<Runnable> scheduled = new ArrayList<>();
+      List<SentBatch> sent = new ArrayList<>();
+
+      MirrorAckBatcher batcher = new MirrorAckBatcher(100, scheduled::add, MirrorAckBatcherTest::newContext, counters, (address, queue, nodeID, reason, ranges) -> sent.add(new SentBatch(queue, nodeID, reason, ranges)));
+
+      batcher.add(ADDRESS, QUEUE, null, 1, AckReason.NORMAL);
+      batcher.add(ADDRESS, QUEUE, "remote", 2, AckReason.NORMAL);
+      batcher.add(ADDRESS, QUEUE, null, 3, AckReason.EXPIRED);
+      batcher.add(ADDRESS, QUEUE, null, 4, AckReason.NORMAL);
+      Assert.assertEquals(1, scheduled.size());
+
+      scheduled.get(0).run();
+
+      // one batch per node and reason
+      Assert.assertEquals(3, sent.size());
+      for (SentBatch batch : sent) {
+         Assert.assertEquals(QUEUE, batch.queue);
+         if ("remote".equals(batch.nodeID)) {
+            Assert.assertEquals(Arrays.asList(2L, 2L), batch.ranges);
+         } else if (batch.reason == AckReason.EXPIRED) {
+            Assert.assertEquals(Arrays.asList(3L, 3L), batch.ranges);
+         } else {
+            Assert.assertEquals(Arrays.asList(1L, 1L, 4L, 4L), batch.ranges);
+         }
+      }
+
+      // the next acknowledgement schedules another flush
+      batcher.add(ADDRESS, QUEUE, null, 5, AckReason.NORMAL);
+      Assert.assertEquals(2, scheduled.size());
+   }
+
+   @Test
+   public void testAcknowledgementCompletesWithItsBatch() {
+      List<Runnable> scheduled = new ArrayList<>();
+      List<OperationContext> batchContexts = new ArrayList<>();
+
+      MirrorAckBatcher batcher = new MirrorAckBatcher(100, scheduled::add, MirrorAckBatcherTest::newContext, counters, (address, queue, nodeID, reason, ranges) -> {
+         // the batch is stored on the context set by the flush
+         OperationContext batchContext = OperationContextImpl.getContext();
+         batchContext.storeLineUp();
+         batchContexts.add(batchContext);
+      });
+
+      OperationContext ackContext = newContext();
+      OperationContextImpl.setContext(ackContext);
+
+      batcher.add(ADDRESS, QUEUE, null, 1, AckReason.NORMAL);
+
+      AtomicBoolean acknowledged = new AtomicBoolean();
+      ackContext.executeOnCompletion(new IOCallback() {
+         @Override
+         public void done() {
+            acknowledged.set(true);
+         }
+
+         @Override
+         public void onError(int errorCode, String errorMessage) {
+         }
+      });
+
+      // the acknowledgement is not complete until its batch was stored
+      Assert.assertFalse(acknowledged.get());
+
+      scheduled.get(0).run();
+      Assert.assertEquals(1, batchContexts.size());
+      Assert.assertNotSame(ackContext, batchContexts.get(0));
+      Assert.assertSame(ackContext, OperationContextImpl.getContext());
+      Assert.assertFalse(acknowledged.get());
+
+      batchContexts.get(0).done();
+      Assert.assertTrue(acknowledged.get());
+   }
+
+   @Test
+   public void testFlushesDoNotOvertakeEachOther() throws Exception {
+      List<Runnable> scheduled = new ArrayList<>();
+      List<List<Long>> sent = new ArrayList<>();
+      AtomicBoolean sending = new AtomicBoolean();
+      AtomicBoolean overlapped = new AtomicBoolean();
+
+      MirrorAckBatcher batcher = new MirrorAckBatcher(2, scheduled::add, MirrorAckBatcherTest::newContext, counters, (address, queue, nodeID, reason, ranges) -> {
+         if (!sending.compareAndSet(false, true)) {
+            overlapped.set(true);
+         }
+         Thread.sleep(1);
+         synchronized (sent) {
+            sent.add(ranges);
+         }
+         sending.set(false);
+      });
+
+      Thread[] threads = new Thread[4];
+      for (int t = 0; t < threads.length; t++) {
+         final long first = t * 1000L;
+         threads[t] = new Thread(() -> {
+            for (long id = first; id < first + 100; id++) {
+               batcher.add(ADDRESS, QUEUE, null, id, AckReason.NORMAL);
+            }
+         });
+         threads[t].start();
+      }
+      for (Thread thread : threads) {
+         thread.join();
+      }
+      batcher.flush();
+
+      Assert.assertFalse(overlapped.get());
+      Assert.assertEquals(400, sent.stream().mapToLong(MirrorAckBatcher::countRanges).sum());
+   }
+}
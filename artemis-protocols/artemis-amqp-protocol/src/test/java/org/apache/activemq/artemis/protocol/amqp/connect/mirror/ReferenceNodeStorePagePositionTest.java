@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
+import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
+import org.apache.activemq.artemis.core.paging.cursor.impl.PagePositionImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_BROKER_ID_EXTRA_PROPERTY;
+import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_ID_EXTRA_PROPERTY;
+
+public class ReferenceNodeStorePagePositionTest {
+
+   private static final String LOCAL_ID = "local";
+
+   private ActiveMQServer server;
+
+   private ReferenceNodeStore createStore() {
+      server = Mockito.mock(ActiveMQServer.class);
+      Mockito.when(server.getNodeID()).thenReturn(SimpleString.toSimpleString(LOCAL_ID));
+      return new ReferenceNodeStore(server);
+   }
+
+   private PagedReference createReference(String serverID, long messageID, long pageNr, int messageNr) {
+      Message message = Mockito.mock(Message.class);
+      Mockito.when(message.getBrokerProperty(INTERNAL_BROKER_ID_EXTRA_PROPERTY)).thenReturn(serverID);
+      Mockito.when(message.getBrokerProperty(INTERNAL_ID_EXTRA_PROPERTY)).thenReturn(messageID);
+      Mockito.when(message.getMessageID()).thenReturn(messageID);
+
+      PagedMessage pagedMessage = Mockito.mock(PagedMessage.class);
+      Mockito.when(pagedMessage.newPositionObject()).thenReturn(new PagePositionImpl(pageNr, messageNr));
+
+      PagedReference reference = Mockito.mock(PagedReference.class);
+      Mockito.when(reference.getMessage()).thenReturn(message);
+      Mockito.when(reference.getPagedMessage()).thenReturn(pagedMessage);
+      return reference;
+   }
+
+   @Test
+   public void testStoreAndRemovePagePosition() {
+      ReferenceNodeStore store = createStore();
+
+      store.storePagePosition(1, createReference("remote", 10, 3, 7));
+      store.storePagePosition(1, createReference(null, 10, 3, 8));
+
+      Assert.assertNull(store.removePagePosition(2, "remote", 10));
+      Assert.assertNull(store.removePagePosition(1, "remote", 11));
+
+      PagePosition position = store.removePagePosition(1, "remote", 10);
+      Assert.assertEquals(3, position.getPageNr());
+      Assert.assertEquals(7, position.getMessageNr());
+      Assert.assertNull(store.removePagePosition(1, "remote", 10));
+
+      // messages without a broker id were sent to this server
+      Assert.assertEquals(8, store.removePagePosition(1, LOCAL_ID, 10).getMessageNr());
+   }
+
+   @Test
+   public void testPagePositionUpdated() {
+      ReferenceNodeStore store = createStore();
+
+      store.storePagePosition(1, createReference("remote", 10, 3, 7));
+      store.storePagePosition(1, createReference("remote", 10, 4, 0));
+
+      Assert.assertEquals(4, store.removePagePosition(1, "remote", 10).getPageNr());
+      Assert.assertNull(store.removePagePosition(1, "remote", 10));
+   }
+
+   @Test
+   public void testClear() {
+      ReferenceNodeStore store = createStore();
+
+      store.storePagePosition(1, createReference("remote", 10, 3, 7));
+      store.clear();
+
+      Assert.assertNull(store.removePagePosition(1, "remote", 10));
+   }
+
+   @Test
+   public void testRecorderStoresInBatches() {
+      ReferenceNodeStore store = createStore();
+
+      ReferenceNodeStore.PagePositionRecorder recorder = store.newPagePositionRecorder(1);
+      recorder.record(createReference("remote", 10, 3, 7));
+
+      // not stored until flushed or a batch is full
+      Assert.assertNull(store.removePagePosition(1, "remote", 10));
+
+      for (int i = 0; i < ReferenceNodeStore.PAGE_POSITIONS_BATCH; i++) {
+         recorder.record(createReference("remote", 100 + i, 4, i));
+      }
+      Assert.assertEquals(4, store.removePagePosition(1, "remote", 100).getPageNr());
+      Assert.assertEquals(3, store.removePagePosition(1, "remote", 10).getPageNr());
+
+      // the last one recorded is left in the next batch
+      Assert.assertNull(store.removePagePosition(1, "remote", 100 + ReferenceNodeStore.PAGE_POSITIONS_BATCH - 1));
+      recorder.flush();
+      Assert.assertNotNull(store.removePagePosition(1, "remote", 100 + ReferenceNodeStore.PAGE_POSITIONS_BATCH - 1));
+   }
+
+   @Test
+   public void testPagePositionRemovedWhenDepaged() {
+      ReferenceNodeStore store = createStore();
+
+      PagedReference paged = createReference("remote", 10, 3, 7);
+      store.storePagePosition(1, paged);
+      store.storePagePosition(2, createReference("remote", 10, 3, 7));
+
+      Queue queue = Mockito.mock(Queue.class);
+      Mockito.when(queue.getID()).thenReturn(1L);
+      Message message = paged.getMessage();
+      MessageReference depaged = Mockito.mock(MessageReference.class);
+      Mockito.when(depaged.getMessage()).thenReturn(message);
+      Mockito.when(depaged.getQueue()).thenReturn(queue);
+
+      store.storeNode(depaged, null);
+
+      Assert.assertNull(store.removePagePosition(1, "remote", 10));
+      Assert.assertNotNull(store.removePagePosition(2, "remote", 10));
+   }
+
+   @Test
+   public void testPagePositionsRemovedWithQueue() throws Exception {
+      ReferenceNodeStore store = createStore();
+
+      store.storePagePosition(1, createReference("remote", 10, 3, 7));
+      store.storePagePosition(1, createReference("remote", 11, 3, 8));
+      store.storePagePosition(2, createReference("remote", 10, 3, 7));
+
+      // registered once, when the first position is stored
+      Mockito.verify(server, Mockito.times(1)).registerBrokerPlugin(store);
+
+      Queue queue = Mockito.mock(Queue.class);
+      Mockito.when(queue.getID()).thenReturn(1L);
+      store.afterDestroyQueue(queue, SimpleString.toSimpleString("address"), null, false, false, false);
+
+      Assert.assertNull(store.removePagePosition(1, "remote", 10));
+      Assert.assertNull(store.removePagePosition(1, "remote", 11));
+      Assert.assertNotNull(store.removePagePosition(2, "remote", 10));
+   }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.proton;
+
+import org.apache.activemq.artemis.core.message.LargeBodyReader;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.ServerConsumer;
+import org.apache.activemq.artemis.protocol.amqp.broker.AMQPLargeMessage;
+import org.apache.activemq.artemis.protocol.amqp.broker.AMQPSessionCallback;
+import org.apache.activemq.artemis.protocol.amqp.broker.ProtonProtocolManager;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
+import org.apache.qpid.proton.engine.Delivery;
+import org.apache.qpid.proton.engine.Sender;
+import org.apache.qpid.proton.engine.Session;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LargeMessageStalledReaderTest {
+
+   private ProtonProtocolManager protocolManager;
+   private AMQPConnectionContext connection;
+   private LargeBodyReader bodyReader;
+   private ProtonServerSenderContext senderContext;
+   private MessageReference reference;
+
+   @Before
+   public void setUp() throws Exception {
+      protocolManager = mock(ProtonProtocolManager.class);
+      connection = mock(AMQPConnectionContext.class);
+      when(connection.getProtocolManager()).thenReturn(protocolManager);
+      // the connection is always blocked, so the delivery stalls before sending anything
+      when(connection.flowControl(any())).thenReturn(false);
+      doAnswer(invocation -> {
+         ((Runnable) invocation.getArgument(0)).run();
+         return null;
+      }).when(connection).runNow(any());
+      doAnswer(invocation -> {
+         ((Runnable) invocation.getArgument(0)).run();
+         return null;
+      }).when(connection).runLater(any());
+
+      Session session = mock(Session.class, RETURNS_DEEP_STUBS);
+      when(session.getConnection().getTransport().getOutboundFrameSizeLimit()).thenReturn(1024);
+
+      AMQPSessionCallback sessionSPI = mock(AMQPSessionCallback.class);
+      when(sessionSPI.getTransportConnection()).thenReturn(mock(Connection.class));
+
+      Sender sender = mock(Sender.class);
+      when(sender.delivery(any(), anyInt(), anyInt())).thenReturn(mock(Delivery.class));
+
+      AMQPSessionContext protonSession = new AMQPSessionContext(sessionSPI, connection, session, null);
+      senderContext = new ProtonServerSenderContext(connection, sender, protonSession, sessionSPI);
+
+      bodyReader = mock(LargeBodyReader.class);
+      when(bodyReader.getSize()).thenReturn(10L * 1024);
+      AMQPLargeMessage message = mock(AMQPLargeMessage.class);
+      when(message.getLargeBodyReader()).thenReturn(bodyReader);
+
+      reference = mock(MessageReference.class);
+      when(reference.getMessage()).thenReturn(message);
+   }
+
+   @Test
+   public void testStalledDeliveryKeepsReaderWithinLimit() throws Exception {
+      when(protocolManager.acquireStalledLargeMessageReader()).thenReturn(true);
+
+      senderContext.deliverMessage(reference, mock(ServerConsumer.class));
+
+      assertNotNull(senderContext.pendingLargeMessage);
+      verify(bodyReader).open();
+      verify(bodyReader, never()).close();
+      assertNotNull(senderContext.pendingLargeMessage.bodyReader);
+
+      // resuming releases the slot, and stalling again takes a new one without reopening the file
+      senderContext.pendingLargeMessage.resume();
+      verify(protocolManager, times(1)).releaseStalledLargeMessageReader();
+      verify(protocolManager, times(2)).acquireStalledLargeMessageReader();
+      verify(bodyReader, times(1)).open();
+
+      senderContext.close(false);
+
+      verify(bodyReader).close();
+      verify(protocolManager, times(2)).releaseStalledLargeMessageReader();
+   }
+
+   @Test
+   public void testStalledDeliveryClosesReaderOverLimit() throws Exception {
+      when(protocolManager.acquireStalledLargeMessageReader()).thenReturn(false);
+
+      senderContext.deliverMessage(reference, mock(ServerConsumer.class));
+
+      assertNotNull(senderContext.pendingLargeMessage);
+      verify(bodyReader).open();
+      verify(bodyReader).close();
+      assertNull(senderContext.pendingLargeMessage.bodyReader);
+      assertNull(senderContext.pendingLargeMessage.frameBuffer);
+
+      // the reader is reopened at the delivery position when the delivery resumes
+      senderContext.pendingLargeMessage.resume();
+      verify(bodyReader, times(2)).open();
+      verify(bodyReader, times(2)).position(0L);
+      verify(bodyReader, times(2)).close();
+
+      senderContext.close(false);
+
+      verify(bodyReader, times(2)).close();
+      verify(protocolManager, never()).releaseStalledLargeMessageReader();
+   }
+}
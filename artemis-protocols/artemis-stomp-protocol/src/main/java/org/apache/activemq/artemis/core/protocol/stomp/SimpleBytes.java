@@ -37,6 +37,28 @@ public class SimpleBytes {
       return new String(contents, 0, index, StandardCharsets.UTF_8);
    }
 
+   /**
+    * Same as {@link #getString()} but it returns the shared constant if the contents are a well known header name.
+    */
+   public String getHeaderName() {
+      String name = StompHeaderNames.lookup(contents, 0, index);
+      if (name != null) {
+         return name;
+      }
+      return getString();
+   }
+
+   /**
+    * Same as {@link #getString()} but it returns the value decoded last time by {@code values} if the same.
+    */
+   public String getHeaderValue(StompHeaderValues values) {
+      String value = values.decode(contents, 0, index);
+      if (value != null) {
+         return value;
+      }
+      return getString();
+   }
+
    public void reset() {
       index = 0;
    }
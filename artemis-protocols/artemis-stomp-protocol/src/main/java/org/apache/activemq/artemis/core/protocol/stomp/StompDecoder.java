@@ -159,6 +159,8 @@ public class StompDecoder {
 
    public int bodyStart;
 
+   protected final StompHeaderValues headerValues = new StompHeaderValues();
+
    //max len of EOL (default is 1 for '\n')
    protected int eolLen = 1;
 
@@ -216,6 +218,8 @@ public class StompDecoder {
    }
 
    protected StompFrame parseBody() throws ActiveMQStompException {
+      // the body is copied out of the working buffer, which is reused by the next frames while the frame and the
+      // message built from it can outlive them
       byte[] content = null;
 
       if (contentLength != -1) {
@@ -285,7 +289,11 @@ public class StompDecoder {
          switch (b) {
             case HEADER_SEPARATOR: {
                if (inHeaderName) {
-                  headerName = new String(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+                  headerName = StompHeaderNames.lookup(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+
+                  if (headerName == null) {
+                     headerName = new String(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+                  }
 
                   inHeaderName = false;
 
@@ -306,7 +314,11 @@ public class StompDecoder {
                   break outer;
                }
 
-               String headerValue = new String(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+               String headerValue = headerValues.decode(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+
+               if (headerValue == null) {
+                  headerValue = new String(workingBuffer, headerBytesCopyStart, pos - headerBytesCopyStart - 1);
+               }
 
                headers.put(headerName, headerValue);
 
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.stomp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lookup table of the well known STOMP header names.
+ * <p>
+ * The decoders use it to resolve a header name straight from the frame bytes to the shared
+ * {@link String} constant declared in {@link Stomp.Headers}, instead of allocating a new
+ * {@link String} for every header of every frame.
+ */
+public final class StompHeaderNames {
+
+   private static final String[] KNOWN_HEADERS = new String[] {
+      Stomp.Headers.RECEIPT_REQUESTED,
+      Stomp.Headers.TRANSACTION,
+      Stomp.Headers.CONTENT_LENGTH,
+      Stomp.Headers.CONTENT_TYPE,
+      Stomp.Headers.Response.RECEIPT_ID,
+      Stomp.Headers.Send.DESTINATION,
+      Stomp.Headers.Send.DESTINATION_TYPE,
+      Stomp.Headers.Send.CORRELATION_ID,
+      Stomp.Headers.Send.REPLY_TO,
+      Stomp.Headers.Send.EXPIRATION_TIME,
+      Stomp.Headers.Send.PRIORITY,
+      Stomp.Headers.Send.TYPE,
+      Stomp.Headers.Send.PERSISTENT,
+      Stomp.Headers.Send.AMQ_SCHEDULED_DELAY,
+      Stomp.Headers.Send.AMQ_SCHEDULED_TIME,
+      Stomp.Headers.Message.MESSAGE_ID,
+      Stomp.Headers.Message.REDELIVERED,
+      Stomp.Headers.Message.TIMESTAMP,
+      Stomp.Headers.Message.SUBSCRIPTION,
+      Stomp.Headers.Message.ACK,
+      Stomp.Headers.Subscribe.ID,
+      Stomp.Headers.Subscribe.SELECTOR,
+      Stomp.Headers.Subscribe.DURABLE_SUBSCRIPTION_NAME,
+      Stomp.Headers.Subscribe.ACTIVEMQ_DURABLE_SUBSCRIPTION_NAME,
+      Stomp.Headers.Subscribe.ACTIVEMQ_PREFETCH_SIZE,
+      Stomp.Headers.Subscribe.CONSUMER_WINDOW_SIZE,
+      Stomp.Headers.Subscribe.SUBSCRIPTION_TYPE,
+      Stomp.Headers.Subscribe.NO_LOCAL,
+      Stomp.Headers.Subscribe.ACTIVEMQ_NO_LOCAL,
+      Stomp.Headers.Connect.LOGIN,
+      Stomp.Headers.Connect.PASSCODE,
+      Stomp.Headers.Connect.CLIENT_ID,
+      Stomp.Headers.Connect.REQUEST_ID,
+      Stomp.Headers.Connect.ACCEPT_VERSION,
+      Stomp.Headers.Connect.HOST,
+      Stomp.Headers.Connect.HEART_BEAT};
+
+   // names and their encoded bytes, bucketed by encoded length
+   private static final String[][] NAMES_BY_LENGTH;
+
+   private static final byte[][][] BYTES_BY_LENGTH;
+
+   static {
+      Set<String> names = new LinkedHashSet<>(Arrays.asList(KNOWN_HEADERS));
+      int maxLength = 0;
+      for (String name : names) {
+         maxLength = Math.max(maxLength, name.getBytes(StandardCharsets.UTF_8).length);
+      }
+      List<List<String>> buckets = new ArrayList<>(maxLength + 1);
+      for (int i = 0; i <= maxLength; i++) {
+         buckets.add(new ArrayList<>());
+      }
+      for (String name : names) {
+         buckets.get(name.getBytes(StandardCharsets.UTF_8).length).add(name);
+      }
+      NAMES_BY_LENGTH = new String[maxLength + 1][];
+      BYTES_BY_LENGTH = new byte[maxLength + 1][][];
+      for (int i = 0; i <= maxLength; i++) {
+         List<String> bucket = buckets.get(i);
+         NAMES_BY_LENGTH[i] = bucket.toArray(new String[0]);
+         BYTES_BY_LENGTH[i] = new byte[bucket.size()][];
+         for (int j = 0; j < bucket.size(); j++) {
+            BYTES_BY_LENGTH[i][j] = bucket.get(j).getBytes(StandardCharsets.UTF_8);
+         }
+      }
+   }
+
+   private StompHeaderNames() {
+   }
+
+   /**
+    * @return the well known header name encoded by {@code length} bytes of {@code bytes} starting at
+    * {@code offset}, or {@code null} if it is not a well known header name
+    */
+   public static String lookup(byte[] bytes, int offset, int length) {
+      if (length <= 0 || length >= BYTES_BY_LENGTH.length) {
+         return null;
+      }
+      final byte[][] candidates = BYTES_BY_LENGTH[length];
+      for (int i = 0; i < candidates.length; i++) {
+         if (Arrays.equals(candidates[i], 0, length, bytes, offset, offset + length)) {
+            return NAMES_BY_LENGTH[length][i];
+         }
+      }
+      return null;
+   }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.stomp;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cache of the header values last decoded by a decoder.
+ * <p>
+ * Most header values repeat frame after frame on the same connection, e.g. the destination, content type, ack mode or
+ * subscription id, so the decoders resolve them from the frame bytes to the {@link String} they decoded last time
+ * instead of allocating a new one. The values are kept in a small table indexed by the hash of their bytes, a value
+ * replacing the one in its slot, and only short ASCII values are cached.
+ * <p>
+ * It isn't thread-safe, as the decoder owning it.
+ */
+public final class StompHeaderValues {
+
+   private static final int SLOTS = 64;
+
+   static final int MAX_LENGTH = 128;
+
+   private final String[] values = new String[SLOTS];
+
+   /**
+    * @return the value encoded by {@code length} bytes of {@code bytes} starting at {@code offset}, the one decoded
+    * last time if the same, or {@code null} if it can't be cached
+    */
+   public String decode(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+         return "";
+      }
+      if (length > MAX_LENGTH) {
+         return null;
+      }
+      int hash = 1;
+      for (int i = offset, end = offset + length; i < end; i++) {
+         final byte b = bytes[i];
+         if (b < 0) {
+            // not ASCII
+            return null;
+         }
+         hash = 31 * hash + b;
+      }
+      final int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+      final String cached = values[slot];
+      if (cached != null && matches(cached, bytes, offset, length)) {
+         return cached;
+      }
+      final String value = new String(bytes, offset, length, StandardCharsets.US_ASCII);
+      values[slot] = value;
+      return value;
+   }
+
+   private static boolean matches(String value, byte[] bytes, int offset, int length) {
+      if (value.length() != length) {
+         return false;
+      }
+      for (int i = 0; i < length; i++) {
+         if (value.charAt(i) != bytes[offset + i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+}
@@ -603,7 +603,7 @@ public class StompFrameHandlerV11 extends VersionedStompFrameHandler implements
                }
                case HEADER_SEPARATOR: {
                   if (inHeaderName) {
-                     headerName = holder.getString();
+                     headerName = holder.getHeaderName();
 
                      holder.reset();
 
@@ -642,7 +642,7 @@ public class StompFrameHandlerV11 extends VersionedStompFrameHandler implements
                      break outer;
                   }
 
-                  String headerValue = holder.getString();
+                  String headerValue = holder.getHeaderValue(headerValues);
                   holder.reset();
 
                   headers.put(headerName, headerValue);
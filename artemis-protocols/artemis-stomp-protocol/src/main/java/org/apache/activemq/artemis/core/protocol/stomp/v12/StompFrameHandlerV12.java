@@ -149,7 +149,7 @@ public class StompFrameHandlerV12 extends StompFrameHandlerV11 {
                }
                case HEADER_SEPARATOR: {
                   if (inHeaderName) {
-                     headerName = holder.getString();
+                     headerName = holder.getHeaderName();
 
                      holder.reset();
 
@@ -204,7 +204,7 @@ public class StompFrameHandlerV12 extends StompFrameHandlerV11 {
                      break outer;
                   }
 
-                  String headerValue = holder.getString();
+                  String headerValue = holder.getHeaderValue(headerValues);
                   holder.reset();
 
                   if (!headers.containsKey(headerName)) {
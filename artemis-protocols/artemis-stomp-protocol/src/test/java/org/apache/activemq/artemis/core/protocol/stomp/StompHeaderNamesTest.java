@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.stomp;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StompHeaderNamesTest {
+
+   private static String lookup(String frame, String name) {
+      byte[] bytes = frame.getBytes(StandardCharsets.UTF_8);
+      int offset = frame.indexOf(name);
+      return StompHeaderNames.lookup(bytes, offset, name.getBytes(StandardCharsets.UTF_8).length);
+   }
+
+   @Test
+   public void testKnownHeadersResolveToTheSharedConstants() {
+      String[] known = {Stomp.Headers.Send.DESTINATION, Stomp.Headers.CONTENT_LENGTH, Stomp.Headers.Message.MESSAGE_ID,
+         Stomp.Headers.Subscribe.ID, Stomp.Headers.Connect.HEART_BEAT, Stomp.Headers.Subscribe.ACTIVEMQ_PREFETCH_SIZE};
+      for (String name : known) {
+         String resolved = lookup("SEND\n" + name + ":value\n\n", name);
+         Assert.assertSame(name, resolved);
+      }
+   }
+
+   @Test
+   public void testUnknownHeadersAreNotResolved() {
+      Assert.assertNull(lookup("SEND\nmy-header:value\n\n", "my-header"));
+      // same length as "destination" but a different name
+      Assert.assertNull(lookup("SEND\ndestinatioN:value\n\n", "destinatioN"));
+      // a known name is only matched as a whole
+      Assert.assertNull(lookup("SEND\ndestination-x:value\n\n", "destination-x"));
+      Assert.assertNull(lookup("SEND\ndest:value\n\n", "dest"));
+   }
+
+   @Test
+   public void testOutOfRangeLengths() {
+      byte[] bytes = "destination".getBytes(StandardCharsets.UTF_8);
+      Assert.assertNull(StompHeaderNames.lookup(bytes, 0, 0));
+      Assert.assertNull(StompHeaderNames.lookup(bytes, 0, -1));
+      byte[] longName = new byte[1024];
+      Assert.assertNull(StompHeaderNames.lookup(longName, 0, longName.length));
+   }
+
+   @Test
+   public void testMultiByteNames() {
+      Assert.assertNull(lookup("SEND\ndéstination:value\n\n", "déstination"));
+   }
+}
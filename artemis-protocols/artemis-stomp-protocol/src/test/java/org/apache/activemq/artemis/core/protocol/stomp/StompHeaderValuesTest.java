@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.stomp;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StompHeaderValuesTest {
+
+   private static String decode(StompHeaderValues values, String value) {
+      // decoded from a different array every time, as from the next frame
+      byte[] bytes = ("xx" + value + "\n").getBytes(StandardCharsets.UTF_8);
+      return values.decode(bytes, 2, bytes.length - 3);
+   }
+
+   @Test
+   public void testRepeatedValuesAreShared() {
+      StompHeaderValues values = new StompHeaderValues();
+      String destination = decode(values, "/queue/orders");
+      Assert.assertEquals("/queue/orders", destination);
+      Assert.assertSame(destination, decode(values, "/queue/orders"));
+      Assert.assertEquals("", decode(values, ""));
+   }
+
+   @Test
+   public void testDifferentValuesAreNotConfused() {
+      StompHeaderValues values = new StompHeaderValues();
+      for (int i = 0; i < 1000; i++) {
+         Assert.assertEquals("message-" + i, decode(values, "message-" + i));
+         Assert.assertEquals("/queue/orders", decode(values, "/queue/orders"));
+      }
+      // same length and hash slot candidates
+      Assert.assertEquals("ab", decode(values, "ab"));
+      Assert.assertEquals("bA", decode(values, "bA"));
+   }
+
+   @Test
+   public void testValuesNotCached() {
+      StompHeaderValues values = new StompHeaderValues();
+      Assert.assertNull(decode(values, "/queue/ordérs"));
+      StringBuilder longValue = new StringBuilder();
+      for (int i = 0; i <= StompHeaderValues.MAX_LENGTH; i++) {
+         longValue.append('a');
+      }
+      Assert.assertNull(decode(values, longValue.toString()));
+   }
+}
@@ -62,6 +62,7 @@ public final class BridgeConfiguration implements Serializable {
    public static String CALL_TIMEOUT = "call-timeout";
    public static String ROUTING_TYPE = "routing-type";
    public static String CONCURRENCY = "concurrency";
+   public static String BATCH_SIZE = "batch-size";
 
    private String name = null;
 
@@ -116,6 +117,8 @@ public final class BridgeConfiguration implements Serializable {
 
    private int concurrency = ActiveMQDefaultConfiguration.getDefaultBridgeConcurrency();
 
+   private int batchSize = ActiveMQDefaultConfiguration.getDefaultBridgeBatchSize();
+
    private String parentName = null;
 
    public BridgeConfiguration() {
@@ -148,6 +151,7 @@ public final class BridgeConfiguration implements Serializable {
       callTimeout = other.callTimeout;
       routingType = other.routingType;
       concurrency = other.concurrency;
+      batchSize = other.batchSize;
    }
 
    public BridgeConfiguration(String name) {
@@ -183,6 +187,7 @@ public final class BridgeConfiguration implements Serializable {
     * <li>call-timeout: {@link #CALL_TIMEOUT}
     * <li>routing-type: {@link #ROUTING_TYPE}
     * <li>concurrency: {@link #CONCURRENCY}
+    * <li>batch-size: {@link #BATCH_SIZE}
     * </ul><p>
     * The {@code String}-based values will be converted to the proper value types based on the underlying property. For
     * example, if you pass the value "TRUE" for the key "auto-created" the {@code String} "TRUE" will be converted to
@@ -254,6 +259,8 @@ public final class BridgeConfiguration implements Serializable {
             setRoutingType(ComponentConfigurationRoutingType.valueOf(value));
          } else if (key.equals(CONCURRENCY)) {
             setConcurrency(Integer.parseInt(value));
+         } else if (key.equals(BATCH_SIZE)) {
+            setBatchSize(Integer.parseInt(value));
          }
       }
       return this;
@@ -551,6 +558,22 @@ public final class BridgeConfiguration implements Serializable {
       return this;
    }
 
+   /**
+    * @return the number of messages the bridge sends and acknowledges as a single transaction
+    */
+   public int getBatchSize() {
+      return batchSize;
+   }
+
+   /**
+    * @param batchSize the number of messages the bridge sends and acknowledges as a single transaction, 1 to
+    *                  forward them one by one
+    */
+   public BridgeConfiguration setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+   }
+
    /**
     * At this point this is only changed on testcases
     * The bridge shouldn't be sending blocking anyways
@@ -611,6 +634,7 @@ public final class BridgeConfiguration implements Serializable {
       builder.add(MIN_LARGE_MESSAGE_SIZE, getMinLargeMessageSize());
       builder.add(CALL_TIMEOUT, getCallTimeout());
       builder.add(CONCURRENCY, getConcurrency());
+      builder.add(BATCH_SIZE, getBatchSize());
 
       // complex fields (only serialize if value is not null)
 
@@ -705,6 +729,7 @@ public final class BridgeConfiguration implements Serializable {
       result = prime * result + (useDuplicateDetection ? 1231 : 1237);
       result = prime * result + ((user == null) ? 0 : user.hashCode());
       result = prime * result + concurrency;
+      result = prime * result + batchSize;
       return result;
    }
 
@@ -790,6 +815,8 @@ public final class BridgeConfiguration implements Serializable {
          return false;
       if (concurrency != other.concurrency)
          return false;
+      if (batchSize != other.batchSize)
+         return false;
       return true;
    }
 
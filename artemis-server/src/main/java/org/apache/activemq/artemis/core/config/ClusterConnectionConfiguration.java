@@ -83,6 +83,8 @@ public final class ClusterConnectionConfiguration implements Serializable {
 
    private int clusterNotificationAttempts = ActiveMQDefaultConfiguration.getDefaultClusterNotificationAttempts();
 
+   private int batchSize = ActiveMQDefaultConfiguration.getDefaultBridgeBatchSize();
+
    public ClusterConnectionConfiguration() {
    }
 
@@ -368,6 +370,15 @@ public final class ClusterConnectionConfiguration implements Serializable {
       return this;
    }
 
+   public int getBatchSize() {
+      return batchSize;
+   }
+
+   public ClusterConnectionConfiguration setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+   }
+
    /**
     * This method will match the configuration and return the proper TransportConfiguration for the Configuration
     */
@@ -433,6 +444,7 @@ public final class ClusterConnectionConfiguration implements Serializable {
       result = prime * result + (int) (callTimeout ^ (callTimeout >>> 32));
       result = prime * result + (int) (clientFailureCheckPeriod ^ (clientFailureCheckPeriod >>> 32));
       result = prime * result + clusterNotificationAttempts;
+      result = prime * result + batchSize;
       result = prime * result + (int) (clusterNotificationInterval ^ (clusterNotificationInterval >>> 32));
       result = prime * result + confirmationWindowSize;
       result = prime * result + (int) (connectionTTL ^ (connectionTTL >>> 32));
@@ -488,6 +500,9 @@ public final class ClusterConnectionConfiguration implements Serializable {
       if (clusterNotificationAttempts != other.clusterNotificationAttempts) {
          return false;
       }
+      if (batchSize != other.batchSize) {
+         return false;
+      }
       if (clusterNotificationInterval != other.clusterNotificationInterval) {
          return false;
       }
@@ -581,6 +596,7 @@ public final class ClusterConnectionConfiguration implements Serializable {
          ", minLargeMessageSize=" + minLargeMessageSize +
          ", clusterNotificationInterval=" + clusterNotificationInterval +
          ", clusterNotificationAttempts=" + clusterNotificationAttempts +
+         ", batchSize=" + batchSize +
          '}';
    }
 }
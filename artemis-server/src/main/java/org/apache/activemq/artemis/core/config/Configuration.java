@@ -40,6 +40,7 @@ import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerMessagePlugi
 import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerQueuePlugin;
 import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerResourcePlugin;
 import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerSessionPlugin;
+import org.apache.activemq.artemis.logs.AuditOverflowPolicy;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzerPolicy;
 import org.apache.activemq.artemis.api.core.BroadcastGroupConfiguration;
 import org.apache.activemq.artemis.api.core.DiscoveryGroupConfiguration;
@@ -101,6 +102,14 @@ public interface Configuration {
 
    Configuration setCriticalAnalyzerCheckPeriod(long checkPeriod);
 
+   /**
+    * Returns how often the latency budgets of the critical paths are checked to record stalls, in milliseconds, 0 if
+    * they aren't checked.
+    */
+   long getCriticalAnalyzerBudgetCheckPeriod();
+
+   Configuration setCriticalAnalyzerBudgetCheckPeriod(long budgetCheckPeriod);
+
    CriticalAnalyzerPolicy getCriticalAnalyzerPolicy();
 
    Configuration setCriticalAnalyzerPolicy(CriticalAnalyzerPolicy policy);
@@ -342,6 +351,18 @@ public interface Configuration {
     */
    Configuration setConnectionTTLOverride(long ttl);
 
+   /**
+    * Returns how often (in ms) at most the cluster topology changes are sent to each connected client. <br>
+    * Only the latest change of each node is sent, 0 sends every change immediately. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_CLIENT_TOPOLOGY_UPDATE_INTERVAL}.
+    */
+   long getClientTopologyUpdateInterval();
+
+   /**
+    * Sets how often (in ms) at most the cluster topology changes are sent to each connected client.
+    */
+   Configuration setClientTopologyUpdateInterval(long interval);
+
    /**
     * Returns if to use Core subscription naming for AMQP.
     */
@@ -897,6 +918,18 @@ public interface Configuration {
     */
    Configuration setJournalMaxAtticFiles(int maxAtticFiles);
 
+   /**
+    * Returns how many files are sent at the same time to a replica being synchronized.
+    * <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_REPLICATION_SYNC_STREAMS}.
+    */
+   int getReplicationSyncStreams();
+
+   /**
+    * Sets how many files are sent at the same time to a replica being synchronized.
+    */
+   Configuration setReplicationSyncStreams(int replicationSyncStreams);
+
    /**
     * Returns whether the bindings directory is created on this server startup. <br>
     * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_CREATE_BINDINGS_DIR}.
@@ -1014,6 +1047,56 @@ public interface Configuration {
     */
    Configuration setMessageCounterEnabled(boolean enabled);
 
+   /**
+    * Returns whether this server enables the JDK Flight Recorder events when starting. They are shared by all the
+    * servers of the JVM and aren't disabled by a server not enabling them. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_FLIGHT_RECORDER_ENABLED}.
+    */
+   boolean isFlightRecorderEnabled();
+
+   /**
+    * Sets whether this server enables the JDK Flight Recorder events when starting.
+    */
+   Configuration setFlightRecorderEnabled(boolean enabled);
+
+   /**
+    * Returns whether the message audit records are written by a background thread rather than by the threads sending,
+    * delivering and acknowledging the messages. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_AUDIT_LOG_ASYNC}.
+    */
+   boolean isAuditLogAsync();
+
+   Configuration setAuditLogAsync(boolean async);
+
+   /**
+    * Returns the number of message audit records waiting to be written by the background thread, rounded up to a
+    * power of 2. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_AUDIT_LOG_RING_SIZE}.
+    */
+   int getAuditLogRingSize();
+
+   Configuration setAuditLogRingSize(int ringSize);
+
+   /**
+    * Returns what the threads auditing messages do when the asynchronous audit log is full. <br>
+    * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_AUDIT_LOG_OVERFLOW_POLICY}.
+    */
+   AuditOverflowPolicy getAuditLogOverflowPolicy();
+
+   Configuration setAuditLogOverflowPolicy(AuditOverflowPolicy policy);
+
+   /**
+    * Returns the binary file the asynchronous audit log writes the message audit records to, {@code null} to log them.
+    */
+   String getAuditLogFile();
+
+   Configuration setAuditLogFile(String file);
+
+   /**
+    * The location of the binary audit file related to artemis.instance, {@code null} if not set.
+    */
+   File getAuditLogFileLocation();
+
    /**
     * Returns the sample period (in milliseconds) to take message counter snapshot. <br>
     * Default value is {@link org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration#DEFAULT_MESSAGE_COUNTER_SAMPLE_PERIOD}.
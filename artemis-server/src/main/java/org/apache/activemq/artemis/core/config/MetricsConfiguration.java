@@ -28,6 +28,7 @@ public class MetricsConfiguration implements Serializable {
    private boolean jvmGc = ActiveMQDefaultConfiguration.getDefaultJvmGcMetrics();
    private boolean jvmThread = ActiveMQDefaultConfiguration.getDefaultJvmThreadMetrics();
    private boolean nettyPool = ActiveMQDefaultConfiguration.getDefaultNettyPoolMetrics();
+   private boolean latency = ActiveMQDefaultConfiguration.getDefaultLatencyMetrics();
    private ActiveMQMetricsPlugin plugin;
 
    public boolean isJvmMemory() {
@@ -66,6 +67,15 @@ public class MetricsConfiguration implements Serializable {
       return this;
    }
 
+   public boolean isLatency() {
+      return latency;
+   }
+
+   public MetricsConfiguration setLatency(boolean latency) {
+      this.latency = latency;
+      return this;
+   }
+
    public ActiveMQMetricsPlugin getPlugin() {
       return plugin;
    }
@@ -32,6 +32,8 @@ public class AMQPMirrorBrokerConnectionElement extends AMQPBrokerConnectionEleme
 
    String addressFilter;
 
+   int ackBatchSize = 1;
+
    public SimpleString getMirrorSNF() {
       return mirrorSNF;
    }
@@ -98,4 +100,14 @@ public class AMQPMirrorBrokerConnectionElement extends AMQPBrokerConnectionEleme
       return this;
    }
 
+   /** The maximum number of acknowledgements sent as a single mirror event, 1 to send every acknowledgement on its own. */
+   public int getAckBatchSize() {
+      return ackBatchSize;
+   }
+
+   public AMQPMirrorBrokerConnectionElement setAckBatchSize(int ackBatchSize) {
+      this.ackBatchSize = ackBatchSize;
+      return this;
+   }
+
 }
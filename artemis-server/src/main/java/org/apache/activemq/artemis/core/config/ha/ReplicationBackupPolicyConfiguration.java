@@ -36,6 +36,10 @@ public class ReplicationBackupPolicyConfiguration implements HAPolicyConfigurati
 
    private long retryReplicationWait = ActiveMQDefaultConfiguration.getDefaultRetryReplicationWait();
 
+   private long heartbeatPeriod = ActiveMQDefaultConfiguration.getDefaultReplicationHeartbeatPeriod();
+
+   private double failureDetectorThreshold = ActiveMQDefaultConfiguration.getDefaultReplicationFailureDetectorThreshold();
+
    private DistributedPrimitiveManagerConfiguration distributedManagerConfiguration = null;
 
    public static final ReplicationBackupPolicyConfiguration withDefault() {
@@ -104,6 +108,24 @@ public class ReplicationBackupPolicyConfiguration implements HAPolicyConfigurati
       return this;
    }
 
+   public long getHeartbeatPeriod() {
+      return heartbeatPeriod;
+   }
+
+   public ReplicationBackupPolicyConfiguration setHeartbeatPeriod(long heartbeatPeriod) {
+      this.heartbeatPeriod = heartbeatPeriod;
+      return this;
+   }
+
+   public double getFailureDetectorThreshold() {
+      return failureDetectorThreshold;
+   }
+
+   public ReplicationBackupPolicyConfiguration setFailureDetectorThreshold(double failureDetectorThreshold) {
+      this.failureDetectorThreshold = failureDetectorThreshold;
+      return this;
+   }
+
    public ReplicationBackupPolicyConfiguration setDistributedManagerConfiguration(DistributedPrimitiveManagerConfiguration configuration) {
       this.distributedManagerConfiguration = configuration;
       return this;
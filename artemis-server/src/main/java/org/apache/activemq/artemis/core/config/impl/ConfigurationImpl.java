@@ -99,6 +99,7 @@ import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerResourcePlug
 import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerSessionPlugin;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.settings.impl.ResourceLimitSettings;
+import org.apache.activemq.artemis.logs.AuditOverflowPolicy;
 import org.apache.activemq.artemis.utils.ByteUtil;
 import org.apache.activemq.artemis.utils.Env;
 import org.apache.activemq.artemis.utils.ObjectInputStreamWithClassLoader;
@@ -165,6 +166,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected long connectionTTLOverride = ActiveMQDefaultConfiguration.getDefaultConnectionTtlOverride();
 
+   protected long clientTopologyUpdateInterval = ActiveMQDefaultConfiguration.getDefaultClientTopologyUpdateInterval();
+
    protected boolean asyncConnectionExecutionEnabled = ActiveMQDefaultConfiguration.isDefaultAsyncConnectionExecutionEnabled();
 
    private long messageExpiryScanPeriod = ActiveMQDefaultConfiguration.getDefaultMessageExpiryScanPeriod();
@@ -255,6 +258,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalMaxAtticFilesFiles = ActiveMQDefaultConfiguration.getDefaultJournalMaxAtticFiles();
 
+   protected int replicationSyncStreams = ActiveMQDefaultConfiguration.getDefaultReplicationSyncStreams();
+
    // AIO and NIO need different values for these attributes
 
    protected int journalMaxIO_AIO = ActiveMQDefaultConfiguration.getDefaultJournalMaxIoAio();
@@ -277,6 +282,16 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean messageCounterEnabled = ActiveMQDefaultConfiguration.isDefaultMessageCounterEnabled();
 
+   private boolean flightRecorderEnabled = ActiveMQDefaultConfiguration.isDefaultFlightRecorderEnabled();
+
+   private boolean auditLogAsync = ActiveMQDefaultConfiguration.isDefaultAuditLogAsync();
+
+   private int auditLogRingSize = ActiveMQDefaultConfiguration.getDefaultAuditLogRingSize();
+
+   private AuditOverflowPolicy auditLogOverflowPolicy = ActiveMQDefaultConfiguration.getDefaultAuditLogOverflowPolicy();
+
+   private String auditLogFile;
+
    private long messageCounterSamplePeriod = ActiveMQDefaultConfiguration.getDefaultMessageCounterSamplePeriod();
 
    private int messageCounterMaxDayHistory = ActiveMQDefaultConfiguration.getDefaultMessageCounterMaxDayHistory();
@@ -391,6 +406,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private long criticalAnalyzerCheckPeriod = 0; // non set
 
+   private long criticalAnalyzerBudgetCheckPeriod = ActiveMQDefaultConfiguration.getCriticalAnalyzerBudgetCheckPeriod();
+
    private int pageSyncTimeout = ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutNio();
 
    private String temporaryQueueNamespace = ActiveMQDefaultConfiguration.getDefaultTemporaryQueueNamespace();
@@ -771,6 +788,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public long getClientTopologyUpdateInterval() {
+      return clientTopologyUpdateInterval;
+   }
+
+   @Override
+   public ConfigurationImpl setClientTopologyUpdateInterval(final long interval) {
+      clientTopologyUpdateInterval = interval;
+      return this;
+   }
+
    @Override
    public boolean isAmqpUseCoreSubscriptionNaming() {
       return amqpUseCoreSubscriptionNaming;
@@ -1479,6 +1507,66 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public boolean isFlightRecorderEnabled() {
+      return flightRecorderEnabled;
+   }
+
+   @Override
+   public ConfigurationImpl setFlightRecorderEnabled(final boolean enabled) {
+      flightRecorderEnabled = enabled;
+      return this;
+   }
+
+   @Override
+   public boolean isAuditLogAsync() {
+      return auditLogAsync;
+   }
+
+   @Override
+   public ConfigurationImpl setAuditLogAsync(final boolean async) {
+      auditLogAsync = async;
+      return this;
+   }
+
+   @Override
+   public int getAuditLogRingSize() {
+      return auditLogRingSize;
+   }
+
+   @Override
+   public ConfigurationImpl setAuditLogRingSize(final int ringSize) {
+      auditLogRingSize = ringSize;
+      return this;
+   }
+
+   @Override
+   public AuditOverflowPolicy getAuditLogOverflowPolicy() {
+      return auditLogOverflowPolicy;
+   }
+
+   @Override
+   public ConfigurationImpl setAuditLogOverflowPolicy(final AuditOverflowPolicy policy) {
+      auditLogOverflowPolicy = policy;
+      return this;
+   }
+
+   @Override
+   public String getAuditLogFile() {
+      return auditLogFile;
+   }
+
+   @Override
+   public ConfigurationImpl setAuditLogFile(final String file) {
+      auditLogFile = file;
+      return this;
+   }
+
+   @Override
+   public File getAuditLogFileLocation() {
+      return auditLogFile == null ? null : subFolder(auditLogFile);
+   }
+
    @Override
    public long getMessageCounterSamplePeriod() {
       return messageCounterSamplePeriod;
@@ -2754,6 +2842,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public long getCriticalAnalyzerBudgetCheckPeriod() {
+      return criticalAnalyzerBudgetCheckPeriod;
+   }
+
+   @Override
+   public Configuration setCriticalAnalyzerBudgetCheckPeriod(long budgetCheckPeriod) {
+      this.criticalAnalyzerBudgetCheckPeriod = budgetCheckPeriod;
+      return this;
+   }
+
    @Override
    public CriticalAnalyzerPolicy getCriticalAnalyzerPolicy() {
       return criticalAnalyzerPolicy;
@@ -2829,6 +2928,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public int getReplicationSyncStreams() {
+      return replicationSyncStreams;
+   }
+
+   @Override
+   public Configuration setReplicationSyncStreams(int replicationSyncStreams) {
+      this.replicationSyncStreams = replicationSyncStreams;
+      return this;
+   }
+
    @Override
    public long getMqttSessionScanInterval() {
       return mqttSessionScanInterval;
@@ -104,6 +104,7 @@ import org.apache.activemq.artemis.core.settings.impl.DeletionPolicy;
 import org.apache.activemq.artemis.core.settings.impl.ResourceLimitSettings;
 import org.apache.activemq.artemis.core.settings.impl.SlowConsumerPolicy;
 import org.apache.activemq.artemis.core.settings.impl.SlowConsumerThresholdMeasurementUnit;
+import org.apache.activemq.artemis.logs.AuditOverflowPolicy;
 import org.apache.activemq.artemis.utils.ByteUtil;
 import org.apache.activemq.artemis.utils.ClassloadingUtil;
 import org.apache.activemq.artemis.utils.DefaultSensitiveStringCodec;
@@ -262,6 +263,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String SLOW_CONSUMER_CHECK_PERIOD_NODE_NAME = "slow-consumer-check-period";
 
+   private static final String SLOW_CONSUMER_LATENCY_THRESHOLD_NODE_NAME = "slow-consumer-latency-threshold";
+
    private static final String SLOW_CONSUMER_POLICY_NODE_NAME = "slow-consumer-policy";
 
    private static final String AUTO_CREATE_JMS_QUEUES = "auto-create-jms-queues";
@@ -330,6 +333,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String ENABLE_METRICS = "enable-metrics";
 
+   private static final String METRICS_PERCENTILES = "metrics-percentiles";
+
    private static final String ENABLE_INGRESS_TIMESTAMP = "enable-ingress-timestamp";
 
    private static final String SUPPRESS_SESSION_NOTIFICATIONS = "suppress-session-notifications";
@@ -415,6 +420,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setConnectionTTLOverride(getLong(e, "connection-ttl-override", config.getConnectionTTLOverride(), Validators.MINUS_ONE_OR_GT_ZERO));
 
+      config.setClientTopologyUpdateInterval(getLong(e, "client-topology-update-interval", config.getClientTopologyUpdateInterval(), Validators.GE_ZERO));
+
       config.setEnabledAsyncConnectionExecution(getBoolean(e, "async-connection-execution-enabled", config.isAsyncConnectionExecutionEnabled()));
 
       config.setTransactionTimeout(getLong(e, "transaction-timeout", config.getTransactionTimeout(), Validators.GT_ZERO));
@@ -715,6 +722,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setJournalMaxAtticFiles(getInteger(e, "journal-max-attic-files", config.getJournalMaxAtticFiles(), Validators.NO_CHECK));
 
+      config.setReplicationSyncStreams(getInteger(e, "replication-sync-streams", config.getReplicationSyncStreams(), Validators.GT_ZERO));
+
       int journalBufferTimeout = getInteger(e, "journal-buffer-timeout", config.getJournalType() == JournalType.ASYNCIO ? ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_AIO : ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_NIO, Validators.GE_ZERO);
 
       int journalBufferSize = getTextBytesAsIntBytes(e, "journal-buffer-size", config.getJournalType() == JournalType.ASYNCIO ? ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_AIO : ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_NIO, Validators.POSITIVE_INT);
@@ -751,6 +760,16 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setMessageCounterEnabled(getBoolean(e, "message-counter-enabled", config.isMessageCounterEnabled()));
 
+      config.setFlightRecorderEnabled(getBoolean(e, "flight-recorder-enabled", config.isFlightRecorderEnabled()));
+
+      config.setAuditLogAsync(getBoolean(e, "audit-log-async", config.isAuditLogAsync()));
+
+      config.setAuditLogRingSize(getInteger(e, "audit-log-ring-size", config.getAuditLogRingSize(), Validators.GT_ZERO));
+
+      config.setAuditLogOverflowPolicy(AuditOverflowPolicy.valueOf(getString(e, "audit-log-overflow-policy", config.getAuditLogOverflowPolicy().name(), Validators.NOT_NULL_OR_EMPTY)));
+
+      config.setAuditLogFile(getString(e, "audit-log-file", config.getAuditLogFile(), Validators.NO_CHECK));
+
       config.setMessageCounterSamplePeriod(getLong(e, "message-counter-sample-period", config.getMessageCounterSamplePeriod(), Validators.GT_ZERO));
 
       config.setMessageCounterMaxDayHistory(getInteger(e, "message-counter-max-day-history", config.getMessageCounterMaxDayHistory(), Validators.GT_ZERO));
@@ -781,6 +800,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setCriticalAnalyzerCheckPeriod(getLong(e, "critical-analyzer-check-period", config.getCriticalAnalyzerCheckPeriod(), Validators.GE_ZERO));
 
+      config.setCriticalAnalyzerBudgetCheckPeriod(getLong(e, "critical-analyzer-budget-check-period", config.getCriticalAnalyzerBudgetCheckPeriod(), Validators.GE_ZERO));
+
       config.setCriticalAnalyzerPolicy(CriticalAnalyzerPolicy.valueOf(getString(e, "critical-analyzer-policy", config.getCriticalAnalyzerPolicy().name(), Validators.NOT_NULL_OR_EMPTY)));
 
       config.setPageSyncTimeout(getInteger(e, "page-sync-timeout", config.getJournalBufferTimeout_NIO(), Validators.GE_ZERO));
@@ -954,6 +975,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
                metricsConfiguration.setJvmThread(XMLUtil.parseBoolean(child));
             } else if (child.getNodeName().equals("netty-pool")) {
                metricsConfiguration.setNettyPool(XMLUtil.parseBoolean(child));
+            } else if (child.getNodeName().equals("latency")) {
+               metricsConfiguration.setLatency(XMLUtil.parseBoolean(child));
             } else if (child.getNodeName().equals("plugin")) {
                metricsConfiguration.setPlugin(parseMetricsPlugin(child, config));
             }
@@ -1327,6 +1350,11 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             Validators.GT_ZERO.validate(SLOW_CONSUMER_CHECK_PERIOD_NODE_NAME, slowConsumerCheckPeriod);
 
             addressSettings.setSlowConsumerCheckPeriod(slowConsumerCheckPeriod);
+         } else if (SLOW_CONSUMER_LATENCY_THRESHOLD_NODE_NAME.equalsIgnoreCase(name)) {
+            long slowConsumerLatencyThreshold = XMLUtil.parseLong(child);
+            Validators.MINUS_ONE_OR_GT_ZERO.validate(SLOW_CONSUMER_LATENCY_THRESHOLD_NODE_NAME, slowConsumerLatencyThreshold);
+
+            addressSettings.setSlowConsumerLatencyThreshold(slowConsumerLatencyThreshold);
          } else if (SLOW_CONSUMER_POLICY_NODE_NAME.equalsIgnoreCase(name)) {
             String value = getTrimmedTextContent(child);
             Validators.SLOW_CONSUMER_POLICY_TYPE.validate(SLOW_CONSUMER_POLICY_NODE_NAME, value);
@@ -1421,6 +1449,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setExpiryQueueSuffix(new SimpleString(getTrimmedTextContent(child)));
          } else if (ENABLE_METRICS.equalsIgnoreCase(name)) {
             addressSettings.setEnableMetrics(XMLUtil.parseBoolean(child));
+         } else if (METRICS_PERCENTILES.equalsIgnoreCase(name)) {
+            String value = getTrimmedTextContent(child);
+            Validators.PERCENTILES.validate(METRICS_PERCENTILES, value);
+            addressSettings.setMetricsPercentiles(value);
          } else if (ENABLE_INGRESS_TIMESTAMP.equalsIgnoreCase(name)) {
             addressSettings.setEnableIngressTimestamp(XMLUtil.parseBoolean(child));
          }
@@ -1802,6 +1834,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       configuration.setRetryReplicationWait(getLong(policyNode, "retry-replication-wait", configuration.getRetryReplicationWait(), Validators.GT_ZERO));
 
+      configuration.setHeartbeatPeriod(getLong(policyNode, "heartbeat-period", configuration.getHeartbeatPeriod(), Validators.MINUS_ONE_OR_GT_ZERO));
+
+      configuration.setFailureDetectorThreshold(getDouble(policyNode, "failure-detector-threshold", configuration.getFailureDetectorThreshold(), Validators.GT_ZERO));
+
       configuration.setDistributedManagerConfiguration(createDistributedPrimitiveManagerConfiguration(policyNode, config));
 
       return configuration;
@@ -2120,9 +2156,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
                boolean durable = getBooleanAttribute(e2, "durable", true);
                boolean queueRemoval = getBooleanAttribute(e2, "queue-removal", true);
                String addressFilter = getAttributeValue(e2, "address-filter");
+               int ackBatchSize = getAttributeInteger(e2, "ack-batch-size", 1, Validators.GT_ZERO);
 
                AMQPMirrorBrokerConnectionElement amqpMirrorConnectionElement = new AMQPMirrorBrokerConnectionElement();
-               amqpMirrorConnectionElement.setMessageAcknowledgements(messageAcks).setQueueCreation(queueCreation).setQueueRemoval(queueRemoval).setDurable(durable).setAddressFilter(addressFilter);
+               amqpMirrorConnectionElement.setMessageAcknowledgements(messageAcks).setQueueCreation(queueCreation).setQueueRemoval(queueRemoval).setDurable(durable).setAddressFilter(addressFilter).setAckBatchSize(ackBatchSize);
                connectionElement = amqpMirrorConnectionElement;
                connectionElement.setType(AMQPBrokerConnectionAddressType.MIRROR);
             } else {
@@ -2198,6 +2235,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       int clusterNotificationAttempts = getInteger(e, "notification-attempts", ActiveMQDefaultConfiguration.getDefaultClusterNotificationAttempts(), Validators.GT_ZERO);
 
+      int batchSize = getInteger(e, "batch-size", ActiveMQDefaultConfiguration.getDefaultBridgeBatchSize(), Validators.GT_ZERO);
+
       String scaleDownConnector = e.getAttribute("scale-down-connector");
 
       String discoveryGroupName = null;
@@ -2222,7 +2261,7 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
          }
       }
 
-      ClusterConnectionConfiguration config = new ClusterConnectionConfiguration().setName(name).setAddress(address).setConnectorName(connectorName).setMinLargeMessageSize(minLargeMessageSize).setClientFailureCheckPeriod(clientFailureCheckPeriod).setConnectionTTL(connectionTTL).setRetryInterval(retryInterval).setRetryIntervalMultiplier(retryIntervalMultiplier).setMaxRetryInterval(maxRetryInterval).setInitialConnectAttempts(initialConnectAttempts).setReconnectAttempts(reconnectAttempts).setCallTimeout(callTimeout).setCallFailoverTimeout(callFailoverTimeout).setDuplicateDetection(duplicateDetection).setMessageLoadBalancingType(messageLoadBalancingType).setMaxHops(maxHops).setConfirmationWindowSize(confirmationWindowSize).setProducerWindowSize(producerWindowSize).setAllowDirectConnectionsOnly(allowDirectConnectionsOnly).setClusterNotificationInterval(clusterNotificationInterval).setClusterNotificationAttempts(clusterNotificationAttempts);
+      ClusterConnectionConfiguration config = new ClusterConnectionConfiguration().setName(name).setAddress(address).setConnectorName(connectorName).setMinLargeMessageSize(minLargeMessageSize).setClientFailureCheckPeriod(clientFailureCheckPeriod).setConnectionTTL(connectionTTL).setRetryInterval(retryInterval).setRetryIntervalMultiplier(retryIntervalMultiplier).setMaxRetryInterval(maxRetryInterval).setInitialConnectAttempts(initialConnectAttempts).setReconnectAttempts(reconnectAttempts).setCallTimeout(callTimeout).setCallFailoverTimeout(callFailoverTimeout).setDuplicateDetection(duplicateDetection).setMessageLoadBalancingType(messageLoadBalancingType).setMaxHops(maxHops).setConfirmationWindowSize(confirmationWindowSize).setProducerWindowSize(producerWindowSize).setAllowDirectConnectionsOnly(allowDirectConnectionsOnly).setClusterNotificationInterval(clusterNotificationInterval).setClusterNotificationAttempts(clusterNotificationAttempts).setBatchSize(batchSize);
 
       if (discoveryGroupName == null) {
          config.setStaticConnectors(staticConnectorNames);
@@ -2240,7 +2279,7 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
       Integer timeout = getInteger(node, "timeout", ActiveMQDefaultConfiguration.getDefaultGroupingHandlerTimeout(), Validators.GT_ZERO);
       Long groupTimeout = getLong(node, "group-timeout", ActiveMQDefaultConfiguration.getDefaultGroupingHandlerGroupTimeout(), Validators.MINUS_ONE_OR_GT_ZERO);
       Long reaperPeriod = getLong(node, "reaper-period", ActiveMQDefaultConfiguration.getDefaultGroupingHandlerReaperPeriod(), Validators.GT_ZERO);
-      mainConfiguration.setGroupingHandlerConfiguration(new GroupingHandlerConfiguration().setName(new SimpleString(name)).setType(type.equals(GroupingHandlerConfiguration.TYPE.LOCAL.getType()) ? GroupingHandlerConfiguration.TYPE.LOCAL : GroupingHandlerConfiguration.TYPE.REMOTE).setAddress(new SimpleString(address)).setTimeout(timeout).setGroupTimeout(groupTimeout).setReaperPeriod(reaperPeriod));
+      mainConfiguration.setGroupingHandlerConfiguration(new GroupingHandlerConfiguration().setName(new SimpleString(name)).setType(GroupingHandlerConfiguration.TYPE.valueOf(type)).setAddress(new SimpleString(address)).setTimeout(timeout).setGroupTimeout(groupTimeout).setReaperPeriod(reaperPeriod));
    }
 
    private TransformerConfiguration getTransformerConfiguration(final Node node) {
@@ -2295,6 +2334,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       int concurrency = getInteger(brNode, "concurrency", ActiveMQDefaultConfiguration.getDefaultBridgeConcurrency(), Validators.GT_ZERO);
 
+      int batchSize = getInteger(brNode, "batch-size", ActiveMQDefaultConfiguration.getDefaultBridgeBatchSize(), Validators.GT_ZERO);
+
       NodeList clusterPassNodes = brNode.getElementsByTagName("password");
       String password = null;
 
@@ -2361,7 +2402,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
          .setUser(user)
          .setPassword(password)
          .setRoutingType(routingType)
-         .setConcurrency(concurrency);
+         .setConcurrency(concurrency)
+         .setBatchSize(batchSize);
 
       if (!staticConnectorNames.isEmpty()) {
          config.setStaticConnectors(staticConnectorNames);
@@ -2432,6 +2474,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
          } else if (item.getNodeName().equals("transformer-ref")) {
             String transformerRef = item.getNodeValue();
             config.setTransformerRef(transformerRef);
+         } else if (item.getNodeName().equals("batch-size")) {
+            int batchSize = Integer.parseInt(item.getNodeValue());
+            Validators.GT_ZERO.validate("batch-size", batchSize);
+            config.setBatchSize(batchSize);
          }
       }
 
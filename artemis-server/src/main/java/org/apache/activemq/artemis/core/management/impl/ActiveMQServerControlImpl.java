@@ -118,6 +118,8 @@ import org.apache.activemq.artemis.core.server.group.GroupingHandler;
 import org.apache.activemq.artemis.core.server.impl.Activation;
 import org.apache.activemq.artemis.core.server.impl.AddressInfo;
 import org.apache.activemq.artemis.core.server.impl.SharedNothingLiveActivation;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerBasePlugin;
+import org.apache.activemq.artemis.core.server.plugin.impl.ThroughputAccountingPlugin;
 import org.apache.activemq.artemis.core.server.replay.ReplayManager;
 import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
@@ -142,7 +144,10 @@ import org.apache.activemq.artemis.utils.JsonLoader;
 import org.apache.activemq.artemis.utils.ListUtil;
 import org.apache.activemq.artemis.utils.PasswordMaskingUtil;
 import org.apache.activemq.artemis.utils.SecurityFormatter;
+import org.apache.activemq.artemis.utils.collections.SpaceSavingSketch;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.apache.activemq.artemis.utils.critical.CriticalStall;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -1813,6 +1818,36 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
       }
    }
 
+   @Override
+   public void enableFlightRecorder() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.enableFlightRecorder(this.server);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         FlightRecorderEvents.setEnabled(true);
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public void disableFlightRecorder() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.disableFlightRecorder(this.server);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         FlightRecorderEvents.setEnabled(false);
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public void resetAllMessageCounters() {
       if (AuditLogger.isBaseLoggingEnabled()) {
@@ -1858,6 +1893,21 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
       }
    }
 
+   @Override
+   public boolean isFlightRecorderEnabled() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.isFlightRecorderEnabled(this.server);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         return FlightRecorderEvents.isEnabled();
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public synchronized long getMessageCounterSamplePeriod() {
       if (AuditLogger.isBaseLoggingEnabled()) {
@@ -2479,6 +2529,69 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
       return producers.build().toString();
    }
 
+   @Override
+   public String listTopThroughput(String direction, String dimension, int count) throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.listTopThroughput(this.server, direction, dimension, count);
+      }
+      checkStarted();
+
+      final ThroughputAccountingPlugin plugin = getThroughputAccountingPlugin();
+      final JsonArrayBuilder array = JsonLoader.createArrayBuilder();
+      for (SpaceSavingSketch.Entry<String> entry : plugin.top(ThroughputAccountingPlugin.Direction.valueOf(direction.toUpperCase()), ThroughputAccountingPlugin.Dimension.valueOf(dimension.toUpperCase()), count)) {
+         array.add(JsonLoader.createObjectBuilder()
+                      .add("key", entry.getKey())
+                      .add("bytes", entry.getWeight())
+                      .add("bytesError", entry.getWeightError())
+                      .add("messages", entry.getCount())
+                      .add("messagesError", entry.getCountError()));
+      }
+      return array.build().toString();
+   }
+
+   @Override
+   public void resetThroughputAccounting() throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.resetThroughputAccounting(this.server);
+      }
+      checkStarted();
+
+      getThroughputAccountingPlugin().reset();
+   }
+
+   @Override
+   public String listCriticalStalls() throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.listCriticalStalls(this.server);
+      }
+      checkStarted();
+
+      final JsonArrayBuilder array = JsonLoader.createArrayBuilder();
+      for (CriticalStall stall : server.getCriticalAnalyzer().getStalls()) {
+         array.add(stall.toJSON());
+      }
+      return array.build().toString();
+   }
+
+   @Override
+   public void resetCriticalStalls() throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.resetCriticalStalls(this.server);
+      }
+      checkStarted();
+
+      server.getCriticalAnalyzer().clearStalls();
+   }
+
+   private ThroughputAccountingPlugin getThroughputAccountingPlugin() {
+      for (ActiveMQServerBasePlugin plugin : server.getBrokerPlugins()) {
+         if (plugin instanceof ThroughputAccountingPlugin) {
+            return (ThroughputAccountingPlugin) plugin;
+         }
+      }
+      throw ActiveMQMessageBundle.BUNDLE.throughputAccountingNotRegistered(ThroughputAccountingPlugin.class.getName());
+   }
+
    @Override
    public String listConnections(String options, int page, int pageSize) throws Exception {
       if (AuditLogger.isBaseLoggingEnabled()) {
@@ -3002,6 +3115,7 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
             .add("slowConsumerThreshold", addressSettings.getSlowConsumerThreshold())
             .add("slowConsumerThresholdMeasurementUnit", addressSettings.getSlowConsumerThresholdMeasurementUnit().toString())
             .add("slowConsumerCheckPeriod", addressSettings.getSlowConsumerCheckPeriod())
+            .add("slowConsumerLatencyThreshold", addressSettings.getSlowConsumerLatencyThreshold())
             .add("slowConsumerPolicy", consumerPolicy)
             .add("autoCreateJmsQueues", addressSettings.isAutoCreateJmsQueues())
             .add("autoDeleteJmsQueues", addressSettings.isAutoDeleteJmsQueues())
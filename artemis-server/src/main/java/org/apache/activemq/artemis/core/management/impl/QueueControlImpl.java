@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -70,6 +71,9 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
    public static final int FLUSH_LIMIT = 500;
 
+   // the number of background queries kept, finished or not
+   static final int MAX_QUERIES = 16;
+
 
    private final Queue queue;
 
@@ -83,6 +87,9 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
    private MessageCounter counter;
 
+   // the background queries, in the order they were started
+   private final Map<String, QueueQuery> queries = new LinkedHashMap<>();
+
 
    private static String toJSON(final Map<String, Object>[] messages) {
       JsonArray array = toJSONMsgArray(messages);
@@ -1438,6 +1445,21 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       }
    }
 
+   @Override
+   public String listMessageCounterRollup(String rollup) throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.listMessageCounterRollup(queue, rollup);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         return MessageCounterHelper.listMessageCounterRollup(counter, rollup);
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Deprecated
    @Override
    public String listMessageCounterHistoryAsHTML() {
@@ -1599,6 +1621,73 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       }
    }
 
+   @Override
+   public String countMessagesAsync(final String filterStr, final String groupByProperty) throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.countMessages(queue, filterStr, groupByProperty);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         return startQuery(QueueQuery.count(queue, FilterImpl.createFilter(filterStr), SimpleString.toSimpleString(groupByProperty == null || groupByProperty.isEmpty() ? null : groupByProperty)));
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public String browseAsync(int page, int pageSize, String filter) throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.browse(queue, page, pageSize);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         final int attributeSizeLimit = addressSettingsRepository.getMatch(address).getManagementMessageAttributeSizeLimit();
+         return startQuery(QueueQuery.browse(queue, FilterImpl.createFilter(filter), page, pageSize, attributeSizeLimit));
+      } finally {
+         blockOnIO();
+      }
+   }
+
+   @Override
+   public String getQueryResult(String queryID) throws Exception {
+      final QueueQuery query;
+      synchronized (queries) {
+         query = queries.get(queryID);
+      }
+      if (query == null) {
+         throw ActiveMQMessageBundle.BUNDLE.queryDoesNotExist(queryID);
+      }
+      return query.toJSON();
+   }
+
+   @Override
+   public boolean cancelQuery(String queryID) throws Exception {
+      final QueueQuery query;
+      synchronized (queries) {
+         query = queries.remove(queryID);
+      }
+      return query != null && query.cancel();
+   }
+
+   private String startQuery(QueueQuery query) {
+      synchronized (queries) {
+         if (queries.size() >= MAX_QUERIES) {
+            // drop the oldest finished query
+            queries.values().stream().filter(QueueQuery::isFinished).findFirst().ifPresent(finished -> queries.remove(finished.getId()));
+            if (queries.size() >= MAX_QUERIES) {
+               throw ActiveMQMessageBundle.BUNDLE.tooManyQueries(queue.getName().toString(), MAX_QUERIES);
+            }
+         }
+         queries.put(query.getId(), query);
+      }
+      server.getManagementService().getQueryExecutor().execute(query);
+      return query.getId();
+   }
+
    @Override
    public CompositeData[] browse() throws Exception {
       return browse(null);
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.management.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.activemq.artemis.api.core.JsonUtil;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
+import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
+import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.json.JsonArrayBuilder;
+import org.apache.activemq.artemis.json.JsonObjectBuilder;
+import org.apache.activemq.artemis.utils.JsonLoader;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A management query running in the background over all the messages of a queue, either counting them or
+ * collecting a page of them.
+ * <p>
+ * The messages in memory are browsed first, then the page files are streamed sequentially through
+ * {@link PageSubscription#browsePages(java.util.function.Predicate)}, skipping the paged messages already seen in
+ * memory. The results so far can be read at any time, and the query stops as soon as it's cancelled.
+ */
+final class QueueQuery implements Runnable {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   enum State {
+      PENDING, RUNNING, DONE, CANCELLED, FAILED
+   }
+
+   private final String id = UUID.randomUUID().toString();
+
+   private final Queue queue;
+
+   private final Filter filter;
+
+   // counts the messages when null, collects them otherwise
+   private final List<Map<String, Object>> messages;
+
+   private final SimpleString groupByProperty;
+
+   private final Map<String, Long> counts = new HashMap<>();
+
+   private final long start;
+
+   private final long end;
+
+   private final int attributeSizeLimit;
+
+   private volatile State state = State.PENDING;
+
+   private volatile long scanned;
+
+   private volatile String error;
+
+   // the index of the next matching message, only used when collecting
+   private long index;
+
+   private QueueQuery(Queue queue, Filter filter, SimpleString groupByProperty, boolean browse, long start, long end, int attributeSizeLimit) {
+      this.queue = queue;
+      this.filter = filter;
+      this.groupByProperty = groupByProperty;
+      this.messages = browse ? new ArrayList<>() : null;
+      this.start = start;
+      this.end = end;
+      this.attributeSizeLimit = attributeSizeLimit;
+   }
+
+   static QueueQuery count(Queue queue, Filter filter, SimpleString groupByProperty) {
+      return new QueueQuery(queue, filter, groupByProperty, false, 0, Long.MAX_VALUE, 0);
+   }
+
+   static QueueQuery browse(Queue queue, Filter filter, int page, int pageSize, int attributeSizeLimit) {
+      final long start = (long) (page - 1) * pageSize;
+      return new QueueQuery(queue, filter, null, true, start, start + pageSize, attributeSizeLimit);
+   }
+
+   String getId() {
+      return id;
+   }
+
+   State getState() {
+      return state;
+   }
+
+   boolean isFinished() {
+      return state != State.PENDING && state != State.RUNNING;
+   }
+
+   /**
+    * @return {@code false} if the query was already finished
+    */
+   boolean cancel() {
+      synchronized (this) {
+         if (isFinished()) {
+            return false;
+         }
+         state = State.CANCELLED;
+         return true;
+      }
+   }
+
+   @Override
+   public void run() {
+      synchronized (this) {
+         if (state != State.PENDING) {
+            return;
+         }
+         state = State.RUNNING;
+      }
+      try {
+         queue.flushExecutor();
+
+         // the paged messages already in memory, not to browse them twice
+         final Set<PagePosition> browsed = new HashSet<>();
+         boolean browsing = true;
+         try (LinkedListIterator<MessageReference> iterator = queue.iterator()) {
+            while (browsing && iterator.hasNext()) {
+               final MessageReference ref = iterator.next();
+               if (ref.isPaged()) {
+                  browsed.add(((PagedReference) ref).getPosition());
+               }
+               browsing = visit(ref.getMessage());
+            }
+         }
+
+         final PageSubscription subscription = queue.getPageSubscription();
+         if (browsing && subscription != null && subscription.isPaging()) {
+            subscription.browsePages(ref -> browsed.remove(ref.getPosition()) || visit(ref.getMessage()));
+         }
+
+         synchronized (this) {
+            if (state == State.RUNNING) {
+               state = State.DONE;
+            }
+         }
+      } catch (Throwable e) {
+         logger.debug("Query {} on queue {} failed", id, queue.getName(), e);
+         error = e.getMessage() == null ? e.toString() : e.getMessage();
+         synchronized (this) {
+            if (state == State.RUNNING) {
+               state = State.FAILED;
+            }
+         }
+      }
+   }
+
+   /**
+    * @return whether to keep browsing
+    */
+   private boolean visit(Message message) {
+      if (Thread.currentThread().isInterrupted()) {
+         // the executor is shutting down
+         cancel();
+      }
+      if (state != State.RUNNING) {
+         return false;
+      }
+      scanned++;
+      if (filter != null && !filter.match(message)) {
+         return true;
+      }
+      if (messages == null) {
+         final Object value = groupByProperty == null ? null : message.getObjectProperty(groupByProperty);
+         synchronized (counts) {
+            counts.merge(value == null ? null : value.toString(), 1L, Long::sum);
+         }
+         return true;
+      }
+      if (index >= start) {
+         final Map<String, Object> map = message.toMap(attributeSizeLimit);
+         synchronized (messages) {
+            messages.add(map);
+         }
+      }
+      return ++index < end;
+   }
+
+   String toJSON() {
+      final JsonObjectBuilder obj = JsonLoader.createObjectBuilder()
+         .add("id", id)
+         .add("state", state.name())
+         .add("scanned", scanned);
+      if (messages == null) {
+         synchronized (counts) {
+            obj.add("result", JsonUtil.toJsonObject(counts));
+         }
+      } else {
+         final JsonArrayBuilder array = JsonLoader.createArrayBuilder();
+         synchronized (messages) {
+            for (Map<String, Object> message : messages) {
+               array.add(JsonUtil.toJsonObject(message));
+            }
+         }
+         obj.add("result", array);
+      }
+      if (error != null) {
+         obj.add("error", error);
+      }
+      return obj.build().toString();
+   }
+}
@@ -16,16 +16,22 @@
  */
 package org.apache.activemq.artemis.core.management.impl.view;
 
+import org.apache.activemq.artemis.json.JsonArray;
 import org.apache.activemq.artemis.json.JsonArrayBuilder;
+import org.apache.activemq.artemis.json.JsonNumber;
 import org.apache.activemq.artemis.json.JsonObject;
 import org.apache.activemq.artemis.json.JsonObjectBuilder;
+import org.apache.activemq.artemis.json.JsonString;
+import org.apache.activemq.artemis.json.JsonValue;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import org.apache.activemq.artemis.api.core.JsonUtil;
 import org.apache.activemq.artemis.core.management.impl.view.predicate.ActiveMQFilterPredicate;
@@ -43,6 +49,8 @@ public abstract class ActiveMQAbstractView<T> {
 
    private static final String SORT_COLUMN = "sortColumn";
 
+   private static final String CURSOR = "cursor";
+
    protected Collection<T> collection;
 
    protected ActiveMQFilterPredicate<T> predicate;
@@ -53,6 +61,9 @@ public abstract class ActiveMQAbstractView<T> {
 
    protected String options;
 
+   // the last entry of the previous page, if any
+   private SortEntry<T> cursor;
+
    public ActiveMQAbstractView() {
       this.sortColumn = getDefaultOrderColumn();
       this.sortOrder = "asc";
@@ -65,55 +76,166 @@ public abstract class ActiveMQAbstractView<T> {
    public String getResultsAsJson(int page, int pageSize) {
       JsonObjectBuilder obj = JsonLoader.createObjectBuilder();
       JsonArrayBuilder array = JsonLoader.createArrayBuilder();
-      collection = collection.stream().filter(getPredicate()).collect(Collectors.toList());
-      for (T element : getPagedResult(page, pageSize)) {
-         JsonObjectBuilder jsonObjectBuilder = toJson(element);
+      PagedResult<T> result = query(page, pageSize);
+      for (SortEntry<T> entry : result.entries) {
+         JsonObjectBuilder jsonObjectBuilder = toJson(entry.element);
          //toJson() may return a null
          if (jsonObjectBuilder != null) {
             array.add(jsonObjectBuilder);
          }
       }
       obj.add("data", array);
-      obj.add("count", collection.size());
+      obj.add("count", result.count);
+      if (result.hasMore && !result.entries.isEmpty()) {
+         obj.add(CURSOR, encodeCursor(result.entries.get(result.entries.size() - 1)));
+      }
       return obj.build().toString();
    }
 
    public List<T> getPagedResult(int page, int pageSize) {
-      List<T> builder = new ArrayList<>();
-      int start = (page - 1) * pageSize;
-      int end = Math.min(page * pageSize, collection.size());
-      int i = 0;
-      for (T e : collection.stream().sorted(getComparator()).collect(Collectors.toList())) {
-         if (i >= start && i < end) {
-            builder.add(e);
-         }
-         i++;
+      List<SortEntry<T>> entries = query(page, pageSize).entries;
+      List<T> builder = new ArrayList<>(entries.size());
+      for (SortEntry<T> entry : entries) {
+         builder.add(entry.element);
       }
       return Collections.unmodifiableList(builder);
    }
 
+   /**
+    * Filters and pages the collection in a single pass, keeping only the entries up to the end of the page in a
+    * bounded heap rather than sorting the whole collection.
+    * <p>
+    * The sort key of each element is extracted once. When a cursor is set the page starts right after it, so only
+    * {@code pageSize} entries are kept whatever the page.
+    */
+   private PagedResult<T> query(int page, int pageSize) {
+      final Comparator<SortEntry<T>> comparator = getEntryComparator();
+      final int start = cursor == null ? Math.max(0, (page - 1) * pageSize) : 0;
+      final int limit = Math.max(0, start + pageSize);
+      final Predicate<T> predicate = getPredicate();
+
+      // the worst entry kept is at the head
+      final PriorityQueue<SortEntry<T>> heap = new PriorityQueue<>(Math.min(Math.max(1, limit), 1024), comparator.reversed());
+      int count = 0;
+      int afterCursor = 0;
+      for (T element : collection) {
+         if (predicate != null && !predicate.test(element)) {
+            continue;
+         }
+         count++;
+         final SortEntry<T> entry = new SortEntry<>(element, getSortKey(element, sortColumn), getSortKey(element, getUniqueColumn()));
+         if (cursor != null && comparator.compare(entry, cursor) <= 0) {
+            continue;
+         }
+         afterCursor++;
+         if (heap.size() < limit) {
+            heap.add(entry);
+         } else if (limit > 0 && comparator.compare(entry, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(entry);
+         }
+      }
+
+      final List<SortEntry<T>> sorted = new ArrayList<>(heap);
+      sorted.sort(comparator);
+      final List<SortEntry<T>> entries = start < sorted.size() ? sorted.subList(start, sorted.size()) : Collections.emptyList();
+      return new PagedResult<>(entries, count, afterCursor > limit);
+   }
+
    public Predicate<T> getPredicate() {
       return predicate;
    }
 
-   public Comparator<T> getComparator() {
-      return (left, right) -> {
-         try {
-            Object leftValue = getField(left, sortColumn);
-            Object rightValue = getField(right, sortColumn);
-            if (leftValue instanceof Comparable && rightValue instanceof Comparable) {
-               if (sortOrder.equals("desc")) {
-                  return ((Comparable) rightValue).compareTo(leftValue);
-               } else {
-                  return ((Comparable) leftValue).compareTo(rightValue);
-               }
-            }
-            return 0;
-         } catch (Exception e) {
-            //LOG.info("Exception sorting destinations", e);
-            return 0;
-         }
+   private Comparator<SortEntry<T>> getEntryComparator() {
+      final Comparator<SortEntry<T>> ascending = (left, right) -> {
+         final int result = compareKeys(left.key, right.key);
+         return result != 0 ? result : compareKeys(left.id, right.id);
       };
+      return "desc".equals(sortOrder) ? ascending.reversed() : ascending;
+   }
+
+   /**
+    * Extracts the value of a field as a sort key: integral numbers and dates as a {@code Long}, other numbers as a
+    * {@code Double}, booleans as they are and anything else as a {@code String}.
+    */
+   private Object getSortKey(T element, String fieldName) {
+      final Object value;
+      try {
+         value = getField(element, fieldName);
+      } catch (Exception e) {
+         return null;
+      }
+      if (value == null || value instanceof Long || value instanceof Double || value instanceof Boolean || value instanceof String) {
+         return value;
+      } else if (value instanceof Date) {
+         return ((Date) value).getTime();
+      } else if (value instanceof Float || value instanceof BigDecimal) {
+         return ((Number) value).doubleValue();
+      } else if (value instanceof Number) {
+         return ((Number) value).longValue();
+      } else {
+         return value.toString();
+      }
+   }
+
+   static int compareKeys(Object left, Object right) {
+      if (left == null || right == null) {
+         return left == null ? (right == null ? 0 : -1) : 1;
+      } else if (left instanceof Long && right instanceof Long) {
+         return Long.compare((Long) left, (Long) right);
+      } else if (left instanceof Number && right instanceof Number) {
+         return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+      } else if (left instanceof Boolean && right instanceof Boolean) {
+         return Boolean.compare((Boolean) left, (Boolean) right);
+      }
+      return left.toString().compareTo(right.toString());
+   }
+
+   private static String encodeCursor(SortEntry<?> entry) {
+      JsonArrayBuilder array = JsonLoader.createArrayBuilder();
+      addKey(array, entry.key);
+      addKey(array, entry.id);
+      return array.build().toString();
+   }
+
+   private static void addKey(JsonArrayBuilder array, Object key) {
+      if (key == null) {
+         array.addNull();
+      } else if (key instanceof Long) {
+         array.add((Long) key);
+      } else if (key instanceof Double) {
+         array.add((Double) key);
+      } else if (key instanceof Boolean) {
+         array.add((Boolean) key);
+      } else {
+         array.add(key.toString());
+      }
+   }
+
+   private static SortEntry<Object> decodeCursor(String cursor) {
+      JsonArray array = JsonUtil.readJsonArray(cursor);
+      if (array.size() != 2) {
+         throw new IllegalArgumentException("Invalid cursor " + cursor);
+      }
+      return new SortEntry<>(null, getKey(array.get(0)), getKey(array.get(1)));
+   }
+
+   private static Object getKey(JsonValue value) {
+      switch (value.getValueType()) {
+         case NUMBER:
+            JsonNumber number = (JsonNumber) value;
+            return number.isIntegral() ? (Object) number.longValue() : (Object) number.doubleValue();
+         case STRING:
+            return ((JsonString) value).getString();
+         case TRUE:
+            return Boolean.TRUE;
+         case FALSE:
+            return Boolean.FALSE;
+         case NULL:
+            return null;
+         default:
+            throw new IllegalArgumentException("Invalid cursor key " + value);
+      }
    }
 
    abstract Object getField(T t, String fieldName);
@@ -128,6 +250,9 @@ public abstract class ActiveMQAbstractView<T> {
             this.sortColumn = json.getString(SORT_COLUMN);
             this.sortOrder = json.getString(SORT_ORDER);
          }
+         if (json.containsKey(CURSOR) && !json.isNull(CURSOR) && !json.getString(CURSOR).isEmpty()) {
+            this.cursor = (SortEntry<T>) decodeCursor(json.getString(CURSOR));
+         }
       }
    }
 
@@ -137,6 +262,13 @@ public abstract class ActiveMQAbstractView<T> {
 
    public abstract String getDefaultOrderColumn();
 
+   /**
+    * The column breaking the ties of the sort column, it must be unique for the cursors to page consistently.
+    */
+   public String getUniqueColumn() {
+      return getDefaultOrderColumn();
+   }
+
    /**
     * JsonObjectBuilder will throw an NPE if a null value is added.  For this reason we check for null explicitly when
     * adding objects.
@@ -147,4 +279,36 @@ public abstract class ActiveMQAbstractView<T> {
    protected String toString(Object o) {
       return o == null ? "" : o.toString();
    }
+
+   private static final class SortEntry<T> {
+
+      final T element;
+
+      final Object key;
+
+      // the key of the unique column
+      final Object id;
+
+      SortEntry(T element, Object key, Object id) {
+         this.element = element;
+         this.key = key;
+         this.id = id;
+      }
+   }
+
+   private static final class PagedResult<T> {
+
+      final List<SortEntry<T>> entries;
+
+      final int count;
+
+      // whether there are entries after the page
+      final boolean hasMore;
+
+      PagedResult(List<SortEntry<T>> entries, int count, boolean hasMore) {
+         this.entries = entries;
+         this.count = count;
+         this.hasMore = hasMore;
+      }
+   }
 }
@@ -112,4 +112,9 @@ public class ProducerView extends ActiveMQAbstractView<ServerProducer> {
    public String getDefaultOrderColumn() {
       return defaultSortColumn;
    }
+
+   @Override
+   public String getUniqueColumn() {
+      return ProducerField.ID.getName();
+   }
 }
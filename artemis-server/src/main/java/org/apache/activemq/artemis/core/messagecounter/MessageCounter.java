@@ -17,8 +17,7 @@
 package org.apache.activemq.artemis.core.messagecounter;
 
 import java.text.DateFormat;
-import java.util.ArrayList;
-import java.util.Calendar;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
@@ -63,10 +62,7 @@ public class MessageCounter {
 
    private long timeLastAck;
 
-   // per hour day counter history
-   private int dayCounterMax;
-
-   private final List<DayCounter> dayCounters;
+   private final MessageCounterHistory history;
 
    private long lastMessagesAdded;
 
@@ -100,54 +96,43 @@ public class MessageCounter {
       resetCounter();
 
       // initialize message history
-      dayCounters = new ArrayList<>();
-
-      setHistoryLimit(daycountmax);
+      history = new MessageCounterHistory(daycountmax);
+      history.record(System.currentTimeMillis(), 0, 0);
    }
 
-   private final Runnable onTimeExecutor = new Runnable() {
-      @Override
-      public void run() {
-         long latestMessagesAdded = serverQueue.getMessagesAdded();
-         long latestMessagesAcked = serverQueue.getMessagesAcknowledged();
-
-         long newMessagesAdded = latestMessagesAdded - lastMessagesAdded;
-         long newMessagesAcked = latestMessagesAcked - lastMessagesAcked;
-
-         countTotal += newMessagesAdded;
-
-         lastMessagesAdded = latestMessagesAdded;
-         lastMessagesAcked = latestMessagesAcked;
+   /*
+    * This method is called periodically to update statistics from the queue
+    *
+    * The queue keeps its statistics in atomic counters, so they are sampled from the calling thread instead of
+    * going through the executor of every queue.
+    */
+   public synchronized void onTimer() {
+      long latestMessagesAdded = serverQueue.getMessagesAdded();
+      long latestMessagesAcked = serverQueue.getMessagesAcknowledged();
 
-         long timestamp = System.currentTimeMillis();
+      long newMessagesAdded = latestMessagesAdded - lastMessagesAdded;
+      long newMessagesAcked = latestMessagesAcked - lastMessagesAcked;
 
-         if (newMessagesAdded > 0) {
-            timeLastAdd = timestamp;
-         }
+      countTotal += newMessagesAdded;
 
-         if (newMessagesAcked > 0) {
-            timeLastAck = timestamp;
-         }
+      lastMessagesAdded = latestMessagesAdded;
+      lastMessagesAcked = latestMessagesAcked;
 
-         // update timestamp
-         timeLastUpdate = timestamp;
+      long timestamp = System.currentTimeMillis();
 
-         // update message history
-         updateHistory(newMessagesAdded);
+      if (newMessagesAdded > 0) {
+         timeLastAdd = timestamp;
+      }
 
+      if (newMessagesAcked > 0) {
+         timeLastAck = timestamp;
       }
-   };
 
+      // update timestamp
+      timeLastUpdate = timestamp;
 
-   /*
-    * This method is called periodically to update statistics from the queue
-    */
-   public synchronized void onTimer() {
-      // Actor approach here: Instead of having the Counter locking the queue, we will use the Queue's executor
-      // instead of possibly making a lock on the queue.
-      // This way the scheduled Threads will be free to keep doing their pings in case the server is busy with paging or
-      // any other deliveries
-      serverQueue.getExecutor().execute(onTimeExecutor);
+      // update message history
+      history.record(timestamp, newMessagesAdded, newMessagesAcked);
    }
 
    public String getDestinationName() {
@@ -170,14 +155,14 @@ public class MessageCounter {
     * Gets the total message count since startup or
     * last counter reset
     */
-   public long getCount() {
+   public synchronized long getCount() {
       return countTotal;
    }
 
    /**
     * Gets the message count delta since last method call
     */
-   public long getCountDelta() {
+   public synchronized long getCountDelta() {
       long delta = countTotal - countTotalLast;
 
       countTotalLast = countTotal;
@@ -197,7 +182,7 @@ public class MessageCounter {
     * Gets the message count delta of pending messages
     * since last method call.
     */
-   public long getMessageCountDelta() {
+   public synchronized long getMessageCountDelta() {
       long current = serverQueue.getMessageCount();
       int delta = (int) (current - depthLast);
 
@@ -206,19 +191,19 @@ public class MessageCounter {
       return delta;
    }
 
-   public long getLastUpdate() {
+   public synchronized long getLastUpdate() {
       return timeLastUpdate;
    }
 
-   public long getLastAddedMessageTime() {
+   public synchronized long getLastAddedMessageTime() {
       return timeLastAdd;
    }
 
-   public long getLastAckedMessageTime() {
+   public synchronized long getLastAckedMessageTime() {
       return timeLastAck;
    }
 
-   public void resetCounter() {
+   public synchronized void resetCounter() {
       countTotal = 0;
       countTotalLast = 0;
       depthLast = 0;
@@ -227,54 +212,29 @@ public class MessageCounter {
       timeLastAck = 0;
    }
 
-   private void setHistoryLimit(final int daycountmax) {
-      boolean bInitialize = false;
-
-      // store new maximum day count
-      dayCounterMax = daycountmax;
-
-      // update day counter array
-      synchronized (dayCounters) {
-         if (dayCounterMax > 0) {
-            // limit day history to specified day count
-            int delta = dayCounters.size() - dayCounterMax;
-
-            for (int i = 0; i < delta; i++) {
-               // reduce array size to requested size by dropping
-               // oldest day counters
-               dayCounters.remove(0);
-            }
-
-            // create initial day counter when empty
-            bInitialize = dayCounters.isEmpty();
-         } else if (dayCounterMax == 0) {
-            // disable history
-            dayCounters.clear();
-         } else {
-            // unlimited day history
-
-            // create initial day counter when empty
-            bInitialize = dayCounters.isEmpty();
-         }
-
-         // optionally initialize first day counter entry
-         if (bInitialize) {
-            dayCounters.add(new DayCounter(new GregorianCalendar(), true));
-         }
-      }
+   public synchronized void resetHistory() {
+      history.clear();
+      history.record(System.currentTimeMillis(), 0, 0);
    }
 
-   public void resetHistory() {
-      int max = dayCounterMax;
-
-      setHistoryLimit(0);
-      setHistoryLimit(max);
+   public synchronized List<DayCounter> getHistory() {
+      return history.getDayCounters(System.currentTimeMillis());
    }
 
-   public List<DayCounter> getHistory() {
-      updateHistory(0);
+   /**
+    * Gets the values of a metric for every slot of a rollup of the history, from the oldest one
+    *
+    * @see MessageCounterHistory#getValues(MessageCounterHistory.Metric, MessageCounterHistory.Rollup, long)
+    */
+   public synchronized long[] getHistory(final MessageCounterHistory.Metric metric, final MessageCounterHistory.Rollup rollup) {
+      return history.getValues(metric, rollup, System.currentTimeMillis());
+   }
 
-      return new ArrayList<>(dayCounters);
+   /**
+    * Gets the local date and time of the oldest slot of a rollup of the history, null if the history is disabled
+    */
+   public synchronized LocalDateTime getHistoryStart(final MessageCounterHistory.Rollup rollup) {
+      return history.getStart(rollup, System.currentTimeMillis());
    }
 
    /**
@@ -292,18 +252,14 @@ public class MessageCounter {
    public String getHistoryAsString() {
       StringBuilder ret = new StringBuilder();
 
-      // ensure history counters are up to date
-      updateHistory(0);
+      List<DayCounter> dayCounters = getHistory();
 
-      // compile string
-      synchronized (dayCounters) {
-         // first line: history day count
-         ret.append(dayCounters.size() + "\n");
+      // first line: history day count
+      ret.append(dayCounters.size() + "\n");
 
-         // following lines: day counter data
-         for (DayCounter counter : dayCounters) {
-            ret.append(counter.getDayCounterAsString() + "\n");
-         }
+      // following lines: day counter data
+      for (DayCounter counter : dayCounters) {
+         ret.append(counter.getDayCounterAsString() + "\n");
       }
 
       return ret.toString();
@@ -352,77 +308,6 @@ public class MessageCounter {
 
 
 
-   /**
-    * Update message counter history
-    *
-    * @param newMessages number of new messages to add to the latest day counter
-    */
-   private void updateHistory(final long newMessages) {
-      // check history activation
-      if (dayCounters.isEmpty()) {
-         return;
-      }
-
-      // calculate day difference between current date and date of last day counter entry
-      synchronized (dayCounters) {
-         DayCounter counterLast = dayCounters.get(dayCounters.size() - 1);
-
-         GregorianCalendar calNow = new GregorianCalendar();
-         GregorianCalendar calLast = counterLast.getDate();
-
-         // clip day time part for day delta calulation
-         calNow.clear(Calendar.AM_PM);
-         calNow.clear(Calendar.HOUR);
-         calNow.clear(Calendar.HOUR_OF_DAY);
-         calNow.clear(Calendar.MINUTE);
-         calNow.clear(Calendar.SECOND);
-         calNow.clear(Calendar.MILLISECOND);
-
-         calLast.clear(Calendar.AM_PM);
-         calLast.clear(Calendar.HOUR);
-         calLast.clear(Calendar.HOUR_OF_DAY);
-         calLast.clear(Calendar.MINUTE);
-         calLast.clear(Calendar.SECOND);
-         calLast.clear(Calendar.MILLISECOND);
-
-         long millisPerDay = 86400000; // 24 * 60 * 60 * 1000
-         long millisDelta = calNow.getTime().getTime() - calLast.getTime().getTime();
-
-         int dayDelta = (int) (millisDelta / millisPerDay);
-
-         if (dayDelta > 0) {
-            // finalize last day counter
-            counterLast.finalizeDayCounter();
-
-            // add new intermediate empty day counter entries
-            DayCounter counterNew;
-
-            for (int i = 1; i < dayDelta; i++) {
-               // increment date
-               calLast.add(Calendar.DAY_OF_YEAR, 1);
-
-               counterNew = new DayCounter(calLast, false);
-               counterNew.finalizeDayCounter();
-
-               dayCounters.add(counterNew);
-            }
-
-            // add new day counter entry for current day
-            counterNew = new DayCounter(calNow, false);
-
-            dayCounters.add(counterNew);
-
-            // ensure history day count limit
-            setHistoryLimit(dayCounterMax);
-         }
-
-         // update last day counter entry
-         counterLast = dayCounters.get(dayCounters.size() - 1);
-         counterLast.updateDayCounter(newMessages);
-      }
-   }
-
-
    /**
     * Internal day counter class for one day hour based counter history
     */
@@ -430,39 +315,19 @@ public class MessageCounter {
 
       static final int HOURS = 24;
 
-      GregorianCalendar date = null;
+      final GregorianCalendar date;
 
-      long[] counters = new long[DayCounter.HOURS];
+      final long[] counters;
 
       /**
        * Constructor
        *
-       * @param date       day counter date
-       * @param isStartDay true  first day counter
-       *                   false follow up day counter
+       * @param date     day counter date
+       * @param counters hour counters, -1 for the hours not monitored
        */
-      DayCounter(final GregorianCalendar date, final boolean isStartDay) {
-         // store internal copy of creation date
-         this.date = (GregorianCalendar) date.clone();
-
-         // initialize the array with '0'- values to current hour (if it is not the
-         // first monitored day) and the rest with default values ('-1')
-         int hour = date.get(Calendar.HOUR_OF_DAY);
-
-         for (int i = 0; i < DayCounter.HOURS; i++) {
-            if (i < hour) {
-               if (isStartDay) {
-                  counters[i] = -1L;
-               } else {
-                  counters[i] = 0L;
-               }
-            } else {
-               counters[i] = -1L;
-            }
-         }
-
-         // set the array element of the current hour to '0'
-         counters[hour] = 0L;
+      DayCounter(final GregorianCalendar date, final long[] counters) {
+         this.date = date;
+         this.counters = counters;
       }
 
       /**
@@ -478,64 +343,6 @@ public class MessageCounter {
          return counters;
       }
 
-      /**
-       * Update day counter hour array elements
-       *
-       * @param newMessages number of new messages since the counter was last updated.
-       */
-      void updateDayCounter(final long newMessages) {
-         // get the current hour of the day
-         GregorianCalendar cal = new GregorianCalendar();
-
-         int currentIndex = cal.get(Calendar.HOUR_OF_DAY);
-
-         // check if the last array update is more than 1 hour ago, if so fill all
-         // array elements between the last index and the current index with '0' values
-         boolean bUpdate = false;
-
-         for (int i = 0; i <= currentIndex; i++) {
-            if (counters[i] > -1) {
-               // found first initialized hour counter
-               // -> set all following uninitialized
-               // counter values to 0
-               bUpdate = true;
-            }
-
-            if (bUpdate == true) {
-               if (counters[i] == -1) {
-                  counters[i] = 0;
-               }
-            }
-         }
-
-         // increment current counter with the new messages
-         counters[currentIndex] += newMessages;
-      }
-
-      /**
-       * Finalize day counter hour array elements
-       */
-      private void finalizeDayCounter() {
-         // a new day has began, so fill all array elements from index to end with
-         // '0' values
-         boolean bFinalize = false;
-
-         for (int i = 0; i < DayCounter.HOURS; i++) {
-            if (counters[i] > -1) {
-               // found first initialized hour counter
-               // -> finalize all following uninitialized
-               // counter values
-               bFinalize = true;
-            }
-
-            if (bFinalize) {
-               if (counters[i] == -1) {
-                  counters[i] = 0;
-               }
-            }
-         }
-      }
-
       /**
        * Return day counter data as string with format<br>
        * "Date, hour counter 0, hour counter 1, ..., hour counter 23".
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.messagecounter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.apache.activemq.artemis.core.messagecounter.MessageCounter.DayCounter;
+
+/**
+ * The history of a {@link MessageCounter}, rolled up by minute, hour and day.
+ * <p>
+ * Every rollup is a ring buffer with one primitive {@code long} column per {@link Metric}, indexed by the number of
+ * periods since the epoch in local time, so recording a sample doesn't allocate and the history of a day costs 24
+ * longs per metric. The slots skipped between two samples are zeroed as the ring advances, while the slots before
+ * the first sample are reported as {@code -1}.
+ * <p>
+ * This class is not thread safe, the owning {@link MessageCounter} guards it.
+ */
+public final class MessageCounterHistory {
+
+   public enum Metric {
+      ADDED, ACKNOWLEDGED
+   }
+
+   public enum Rollup {
+      MINUTE(60_000L), HOUR(3_600_000L), DAY(86_400_000L);
+
+      private final long period;
+
+      Rollup(long period) {
+         this.period = period;
+      }
+
+      public long getPeriod() {
+         return period;
+      }
+   }
+
+   private static final int MINUTES = 60;
+
+   private static final int HOURS_PER_DAY = 24;
+
+   // the number of days kept at first when the history is unlimited
+   private static final int INITIAL_UNLIMITED_DAYS = 8;
+
+   // null when the history is disabled
+   private final Ring[] rings;
+
+   /**
+    * @param maxDays the number of days of history, {@code 0} to disable it or a negative value for no limit
+    */
+   public MessageCounterHistory(final int maxDays) {
+      if (maxDays == 0) {
+         rings = null;
+      } else {
+         final boolean unlimited = maxDays < 0;
+         final int days = unlimited ? INITIAL_UNLIMITED_DAYS : maxDays;
+         rings = new Ring[Rollup.values().length];
+         rings[Rollup.MINUTE.ordinal()] = new Ring(Rollup.MINUTE.period, MINUTES, false);
+         rings[Rollup.HOUR.ordinal()] = new Ring(Rollup.HOUR.period, days * HOURS_PER_DAY, unlimited);
+         rings[Rollup.DAY.ordinal()] = new Ring(Rollup.DAY.period, days, unlimited);
+      }
+   }
+
+   public boolean isEnabled() {
+      return rings != null;
+   }
+
+   /**
+    * Adds the messages added and acknowledged since the previous sample to every rollup.
+    */
+   public void record(final long timestamp, final long added, final long acknowledged) {
+      if (rings == null) {
+         return;
+      }
+      final long local = toLocal(timestamp);
+      for (Ring ring : rings) {
+         final int index = ring.advance(local / ring.period);
+         ring.columns[Metric.ADDED.ordinal()][index] += added;
+         ring.columns[Metric.ACKNOWLEDGED.ordinal()][index] += acknowledged;
+      }
+   }
+
+   public void clear() {
+      if (rings == null) {
+         return;
+      }
+      for (Ring ring : rings) {
+         ring.clear();
+      }
+   }
+
+   /**
+    * @return the values of a metric for every slot of a rollup kept so far, from the oldest to the one containing
+    * {@code timestamp}, {@code -1} for the slots before the first sample
+    */
+   public long[] getValues(final Metric metric, final Rollup rollup, final long timestamp) {
+      if (rings == null) {
+         return new long[0];
+      }
+      final Ring ring = rings[rollup.ordinal()];
+      final long last = toLocal(timestamp) / ring.period;
+      ring.advance(last);
+      final long from = ring.oldest();
+      final long[] values = new long[(int) (last - from + 1)];
+      for (long slot = from; slot <= last; slot++) {
+         values[(int) (slot - from)] = ring.get(metric, slot);
+      }
+      return values;
+   }
+
+   /**
+    * @return the local date and time of the oldest slot returned by {@link #getValues(Metric, Rollup, long)}
+    */
+   public LocalDateTime getStart(final Rollup rollup, final long timestamp) {
+      if (rings == null) {
+         return null;
+      }
+      final Ring ring = rings[rollup.ordinal()];
+      ring.advance(toLocal(timestamp) / ring.period);
+      return LocalDateTime.ofEpochSecond(ring.oldest() * ring.period / 1000, 0, ZoneOffset.UTC);
+   }
+
+   /**
+    * @return the messages added per hour, one {@link DayCounter} per day kept so far
+    */
+   public List<DayCounter> getDayCounters(final long timestamp) {
+      if (rings == null) {
+         return Collections.emptyList();
+      }
+      final Ring hours = rings[Rollup.HOUR.ordinal()];
+      final long lastHour = toLocal(timestamp) / hours.period;
+      hours.advance(lastHour);
+      final long lastDay = Math.floorDiv(lastHour, HOURS_PER_DAY);
+      final long firstDay = Math.max(Math.floorDiv(hours.first, HOURS_PER_DAY), lastDay - hours.capacity() / HOURS_PER_DAY + 1);
+      final List<DayCounter> dayCounters = new ArrayList<>((int) (lastDay - firstDay + 1));
+      for (long day = firstDay; day <= lastDay; day++) {
+         final long[] counters = new long[HOURS_PER_DAY];
+         for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            final long slot = day * HOURS_PER_DAY + hour;
+            counters[hour] = slot > lastHour ? -1L : hours.get(Metric.ADDED, slot);
+         }
+         final GregorianCalendar date = GregorianCalendar.from(LocalDate.ofEpochDay(day).atStartOfDay(ZoneId.systemDefault()));
+         dayCounters.add(new DayCounter(date, counters));
+      }
+      return dayCounters;
+   }
+
+   private static long toLocal(final long timestamp) {
+      return timestamp + TimeZone.getDefault().getOffset(timestamp);
+   }
+
+   private static final class Ring {
+
+      final long period;
+
+      final boolean growable;
+
+      long[][] columns;
+
+      // the first and last slots recorded, -1 when empty
+      long first = -1;
+
+      long last = -1;
+
+      Ring(long period, int capacity, boolean growable) {
+         this.period = period;
+         this.growable = growable;
+         this.columns = new long[Metric.values().length][capacity];
+      }
+
+      int capacity() {
+         return columns[0].length;
+      }
+
+      int index(long slot) {
+         return (int) Math.floorMod(slot, (long) capacity());
+      }
+
+      /**
+       * Moves the ring forward to {@code slot}, zeroing the slots in between.
+       *
+       * @return the index of the slot to update, which is the last one if the clock went backwards
+       */
+      int advance(long slot) {
+         if (last < 0) {
+            first = slot;
+            last = slot;
+            zero(slot);
+            return index(slot);
+         }
+         if (slot <= last) {
+            return index(last);
+         }
+         if (growable && slot - first >= capacity()) {
+            grow(slot - first + 1);
+         }
+         final long from = Math.max(last + 1, slot - capacity() + 1);
+         for (long s = from; s <= slot; s++) {
+            zero(s);
+         }
+         last = slot;
+         return index(slot);
+      }
+
+      void zero(long slot) {
+         final int index = index(slot);
+         for (long[] column : columns) {
+            column[index] = 0;
+         }
+      }
+
+      private void grow(long needed) {
+         final long oldest = oldest();
+         final int capacity = (int) Math.max(needed, capacity() * 2L);
+         final long[][] grown = new long[columns.length][capacity];
+         for (long slot = oldest; slot <= last; slot++) {
+            final int from = index(slot);
+            final int to = (int) Math.floorMod(slot, (long) capacity);
+            for (int c = 0; c < columns.length; c++) {
+               grown[c][to] = columns[c][from];
+            }
+         }
+         columns = grown;
+      }
+
+      /**
+       * @return the oldest slot still reported, which is before the first sample once the ring has wrapped
+       */
+      long oldest() {
+         if (growable) {
+            return first;
+         }
+         return last - capacity() + 1;
+      }
+
+      long get(Metric metric, long slot) {
+         if (slot < first || slot > last || slot <= last - capacity()) {
+            return -1L;
+         }
+         return columns[metric.ordinal()][index(slot)];
+      }
+
+      void clear() {
+         first = -1;
+         last = -1;
+         for (long[] column : columns) {
+            Arrays.fill(column, 0);
+         }
+      }
+   }
+}
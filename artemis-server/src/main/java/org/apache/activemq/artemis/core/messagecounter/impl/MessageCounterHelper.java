@@ -20,11 +20,17 @@ import java.text.DateFormat;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.Locale;
 import java.util.StringTokenizer;
 
 import org.apache.activemq.artemis.api.core.management.DayCounterInfo;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounter.DayCounter;
+import org.apache.activemq.artemis.core.messagecounter.MessageCounterHistory.Metric;
+import org.apache.activemq.artemis.core.messagecounter.MessageCounterHistory.Rollup;
+import org.apache.activemq.artemis.json.JsonArrayBuilder;
+import org.apache.activemq.artemis.json.JsonObjectBuilder;
+import org.apache.activemq.artemis.utils.JsonLoader;
 
 public class MessageCounterHelper {
 
@@ -44,6 +50,30 @@ public class MessageCounterHelper {
       return DayCounterInfo.toJSON(infos);
    }
 
+   /**
+    * Returns a JSON object with the local date and time of the oldest slot of the rollup, its period in milliseconds
+    * and the messages added and acknowledged for every slot, -1 for the slots not monitored.
+    */
+   public static String listMessageCounterRollup(final MessageCounter counter, final String rollupName) {
+      final Rollup rollup = Rollup.valueOf(rollupName.toUpperCase(Locale.ROOT));
+      final JsonObjectBuilder obj = JsonLoader.createObjectBuilder()
+         .add("rollup", rollup.name())
+         .add("period", rollup.getPeriod());
+      synchronized (counter) {
+         if (counter.getHistoryStart(rollup) != null) {
+            obj.add("start", counter.getHistoryStart(rollup).toString());
+         }
+         for (Metric metric : Metric.values()) {
+            final JsonArrayBuilder values = JsonLoader.createArrayBuilder();
+            for (long value : counter.getHistory(metric, rollup)) {
+               values.add(value);
+            }
+            obj.add(metric.name().toLowerCase(Locale.ROOT), values);
+         }
+      }
+      return obj.build().toString();
+   }
+
    @Deprecated
    public static String listMessageCounterAsHTML(final MessageCounter[] counters) {
       if (counters == null) {
@@ -23,14 +23,19 @@ import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounterManager;
 import org.apache.activemq.artemis.core.server.ActiveMQScheduledComponent;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
 
 /**
  * A MessageCounterManager
+ * <p>
+ * The message counters are spread over shards by name, every shard being sampled on its own executor so that
+ * brokers with many queues sample them in parallel.
  */
 public class MessageCounterManagerImpl implements MessageCounterManager {
 
@@ -40,17 +45,28 @@ public class MessageCounterManagerImpl implements MessageCounterManager {
 
    public static final int DEFAULT_MAX_DAY_COUNT = ActiveMQDefaultConfiguration.getDefaultMessageCounterMaxDayHistory();
 
-   private final Map<String, MessageCounter> messageCounters;
+   public static final int DEFAULT_SHARDS = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors() / 2));
+
+   private final Shard[] shards;
 
    private final MessageCountersPinger messageCountersPinger;
 
    private int maxDayCount = MessageCounterManagerImpl.DEFAULT_MAX_DAY_COUNT;
 
    public MessageCounterManagerImpl(final ScheduledExecutorService scheduledThreadPool, Executor executor) {
-      messageCounters = new HashMap<>();
+      shards = new Shard[]{new Shard(executor)};
       messageCountersPinger = new MessageCountersPinger(scheduledThreadPool, executor, MessageCounterManagerImpl.DEFAULT_SAMPLE_PERIOD, TimeUnit.MILLISECONDS, false);
    }
 
+   public MessageCounterManagerImpl(final ScheduledExecutorService scheduledThreadPool, ExecutorFactory executorFactory, int shardCount) {
+      shards = new Shard[Math.max(1, shardCount)];
+      for (int i = 0; i < shards.length; i++) {
+         shards[i] = new Shard(executorFactory.getExecutor());
+      }
+      // the pinger just hands the shards over to their executors
+      messageCountersPinger = new MessageCountersPinger(scheduledThreadPool, null, MessageCounterManagerImpl.DEFAULT_SAMPLE_PERIOD, TimeUnit.MILLISECONDS, false);
+   }
+
    @Override
    public synchronized void start() {
 
@@ -65,7 +81,11 @@ public class MessageCounterManagerImpl implements MessageCounterManager {
 
    @Override
    public synchronized void clear() {
-      messageCounters.clear();
+      for (Shard shard : shards) {
+         synchronized (shard.messageCounters) {
+            shard.messageCounters.clear();
+         }
+      }
    }
 
    @Override
@@ -88,8 +108,13 @@ public class MessageCounterManagerImpl implements MessageCounterManager {
       maxDayCount = count;
    }
 
+   private Shard shard(final String name) {
+      return shards[(name.hashCode() & Integer.MAX_VALUE) % shards.length];
+   }
+
    @Override
    public void registerMessageCounter(final String name, final MessageCounter counter) {
+      final Map<String, MessageCounter> messageCounters = shard(name).messageCounters;
       synchronized (messageCounters) {
          messageCounters.put(name, counter);
       }
@@ -97,37 +122,79 @@ public class MessageCounterManagerImpl implements MessageCounterManager {
 
    @Override
    public MessageCounter unregisterMessageCounter(final String name) {
+      final Map<String, MessageCounter> messageCounters = shard(name).messageCounters;
       synchronized (messageCounters) {
          return messageCounters.remove(name);
       }
    }
 
    public MessageCounter getMessageCounter(String counter) {
+      final Map<String, MessageCounter> messageCounters = shard(counter).messageCounters;
       synchronized (messageCounters) {
          return messageCounters.get(counter);
       }
    }
 
    public Set<MessageCounter> getMessageCounters() {
-      synchronized (messageCounters) {
-         return new HashSet<>(messageCounters.values());
+      final Set<MessageCounter> counters = new HashSet<>();
+      for (Shard shard : shards) {
+         synchronized (shard.messageCounters) {
+            counters.addAll(shard.messageCounters.values());
+         }
       }
+      return counters;
    }
 
    @Override
    public void resetAllCounters() {
-      synchronized (messageCounters) {
-         for (MessageCounter counter : messageCounters.values()) {
-            counter.resetCounter();
-         }
+      for (MessageCounter counter : getMessageCounters()) {
+         counter.resetCounter();
       }
    }
 
    @Override
    public void resetAllCounterHistories() {
-      synchronized (messageCounters) {
-         for (MessageCounter counter : messageCounters.values()) {
-            counter.resetHistory();
+      for (MessageCounter counter : getMessageCounters()) {
+         counter.resetHistory();
+      }
+   }
+
+   private static final class Shard implements Runnable {
+
+      final Map<String, MessageCounter> messageCounters = new HashMap<>();
+
+      final Executor executor;
+
+      // a shard taking longer than the sample period isn't sampled again before it's done
+      final AtomicBoolean sampling = new AtomicBoolean();
+
+      Shard(Executor executor) {
+         this.executor = executor;
+      }
+
+      void sample() {
+         if (sampling.compareAndSet(false, true)) {
+            try {
+               executor.execute(this);
+            } catch (Throwable e) {
+               sampling.set(false);
+               throw e;
+            }
+         }
+      }
+
+      @Override
+      public void run() {
+         try {
+            final MessageCounter[] counters;
+            synchronized (messageCounters) {
+               counters = messageCounters.values().toArray(new MessageCounter[messageCounters.size()]);
+            }
+            for (MessageCounter counter : counters) {
+               counter.onTimer();
+            }
+         } finally {
+            sampling.set(false);
          }
       }
    }
@@ -144,11 +211,8 @@ public class MessageCounterManagerImpl implements MessageCounterManager {
 
       @Override
       public void run() {
-
-         synchronized (messageCounters) {
-            for (MessageCounter counter : messageCounters.values()) {
-               counter.onTimer();
-            }
+         for (Shard shard : shards) {
+            shard.sample();
          }
       }
 
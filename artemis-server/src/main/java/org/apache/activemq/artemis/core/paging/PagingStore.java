@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.paging;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.function.LongConsumer;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.RefCountMessageListener;
@@ -106,6 +107,13 @@ public interface PagingStore extends ActiveMQComponent, RefCountMessageListener
 
    Page newPageObject(long page) throws Exception;
 
+   /**
+    * Sets the recorders of how long, in nanoseconds, it takes to write a message to a page and to read the messages
+    * of a page. A {@code null} recorder stops recording the corresponding latency.
+    */
+   default void setLatencyRecorders(LongConsumer pageWrite, LongConsumer pageRead) {
+   }
+
    boolean checkPageFileExists(long page) throws Exception;
 
    PagingManager getPagingManager();
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.paging.cursor;
 
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
 import org.apache.activemq.artemis.core.paging.PagedMessage;
@@ -61,6 +62,17 @@ public interface PageSubscription {
 
    PageIterator iterator(boolean browsing);
 
+   /**
+    * Browses the messages of this subscription sequentially, as a browsing {@link #iterator(boolean)} would see
+    * them, without holding the subscription lock for more than a message.
+    * <p>
+    * Pages already in use are read from memory, any other page is streamed from its file without being loaded
+    * into the used pages of the store.
+    *
+    * @param browser receives each message, returning {@code false} stops the browsing
+    */
+   void browsePages(Predicate<PagedReference> browser) throws Exception;
+
 
       // To be called when the cursor is closed for good. Most likely when the queue is deleted
    void destroy() throws Exception;
@@ -96,6 +108,14 @@ public interface PageSubscription {
     */
    void scanAck(BooleanSupplier retryBeforeScan, ToIntFunction<PagedReference> scanFunction, Runnable found, Runnable notFound);
 
+   /**
+    * Same as {@link #scanAck(BooleanSupplier, ToIntFunction, Runnable, Runnable)}, but the message at the given position
+    * is checked before scanning.
+    * @param position where the element is expected to be, the scan is only performed when the scanFunction doesn't match
+    *                 the message at this position. It may be null.
+    */
+   void scanAck(PagePosition position, BooleanSupplier retryBeforeScan, ToIntFunction<PagedReference> scanFunction, Runnable found, Runnable notFound);
+
 
       /**
        * @return the first page in use or MAX_LONG if none is in use
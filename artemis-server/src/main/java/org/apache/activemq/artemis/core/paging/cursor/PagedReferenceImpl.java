@@ -68,6 +68,8 @@ public class PagedReferenceImpl extends LinkedListImpl.Node<PagedReferenceImpl>
 
    private boolean hasConsumerID = false;
 
+   private long latencyTimestamp;
+
    @SuppressWarnings("unused")
    private volatile int deliveryCount = 0;
 
@@ -257,6 +259,16 @@ public class PagedReferenceImpl extends LinkedListImpl.Node<PagedReferenceImpl>
       return false;
    }
 
+   @Override
+   public long getLatencyTimestamp() {
+      return latencyTimestamp;
+   }
+
+   @Override
+   public void setLatencyTimestamp(long nanoTime) {
+      this.latencyTimestamp = nanoTime;
+   }
+
    @Override
    public void setAlreadyAcked() {
       alreadyAcked = true;
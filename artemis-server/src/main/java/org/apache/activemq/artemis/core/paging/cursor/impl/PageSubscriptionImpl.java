@@ -30,6 +30,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
 import io.netty.util.collection.IntObjectHashMap;
@@ -115,6 +116,7 @@ public final class PageSubscriptionImpl implements PageSubscription {
    private final LinkedList<PageScan> scanList = new LinkedList();
 
    private static class PageScan {
+      final PagePosition position;
       final BooleanSupplier retryBeforeScan;
       final ToIntFunction<PagedReference> scanFunction;
       final Runnable found;
@@ -132,7 +134,8 @@ public final class PageSubscriptionImpl implements PageSubscription {
          return notFound;
       }
 
-      PageScan(BooleanSupplier retryBeforeScan, ToIntFunction<PagedReference> scanFunction, Runnable found, Runnable notFound) {
+      PageScan(PagePosition position, BooleanSupplier retryBeforeScan, ToIntFunction<PagedReference> scanFunction, Runnable found, Runnable notFound) {
+         this.position = position;
          this.retryBeforeScan = retryBeforeScan;
          this.scanFunction = scanFunction;
          this.found = found;
@@ -142,7 +145,12 @@ public final class PageSubscriptionImpl implements PageSubscription {
 
    @Override
    public void scanAck(BooleanSupplier retryBeforeScan, ToIntFunction<PagedReference> scanFunction, Runnable found, Runnable notFound) {
-      PageScan scan = new PageScan(retryBeforeScan, scanFunction, found, notFound);
+      scanAck(null, retryBeforeScan, scanFunction, found, notFound);
+   }
+
+   @Override
+   public void scanAck(PagePosition position, BooleanSupplier retryBeforeScan, ToIntFunction<PagedReference> scanFunction, Runnable found, Runnable notFound) {
+      PageScan scan = new PageScan(position, retryBeforeScan, scanFunction, found, notFound);
       boolean pageScanNeededLocal;
       synchronized (scanList) {
          scanList.add(scan);
@@ -207,9 +215,34 @@ public final class PageSubscriptionImpl implements PageSubscription {
                }
             }
          });
+
+         int positionFound = 0;
+         for (int i = 0; i < localScanList.length; i++) {
+            PageScan scanElemen = localScanList[i];
+            if (scanElemen == null || scanElemen.position == null) {
+               continue;
+            }
+
+            PagedReference reference = queryReference(scanElemen.position);
+
+            if (reference != null && scanElemen.scanFunction.applyAsInt(reference) == 0) {
+               try {
+                  PageSubscriptionImpl.this.ackTx(tx, reference);
+                  if (scanElemen.found != null) {
+                     afterCommitList.add(scanElemen.found);
+                  }
+               } catch (Throwable e) {
+                  logger.warn(e.getMessage(), e);
+               }
+               localScanList[i] = null;
+               positionFound++;
+            }
+         }
+
          PageIterator iterator = this.iterator(true);
          try {
-            while (iterator.hasNext()) {
+            // no need to scan when every element was found at its position
+            while (positionFound + retriedFound < localScanList.length && iterator.hasNext()) {
                PagedReference reference = iterator.next();
                boolean keepMoving = false;
                for (int i = 0; i < localScanList.length; i++) {
@@ -540,6 +573,65 @@ public final class PageSubscriptionImpl implements PageSubscription {
       return new CursorIterator(browsing);
    }
 
+   @Override
+   public void browsePages(Predicate<PagedReference> browser) throws Exception {
+      final long lastPage = pageStore.getCurrentWritingPage();
+      for (long pageId = pageStore.getFirstPage(); pageId <= lastPage; pageId++) {
+         if (!browsePage(pageId, browser)) {
+            return;
+         }
+      }
+   }
+
+   private boolean browsePage(long pageId, Predicate<PagedReference> browser) throws Exception {
+      final PageCursorInfo info;
+      synchronized (consumedPages) {
+         info = consumedPages.get(pageId);
+      }
+      if (info != null && info.getCompleteInfo() != null) {
+         return true;
+      }
+
+      Page page = pageStore.usePage(pageId, false);
+      if (page != null) {
+         try (LinkedListIterator<PagedMessage> messages = page.iterator()) {
+            while (messages.hasNext()) {
+               if (!browseMessage(messages.next(), info, browser)) {
+                  return false;
+               }
+            }
+            return true;
+         } finally {
+            page.usageDown();
+         }
+      }
+
+      final boolean[] browsing = {true};
+      page = pageStore.newPageObject(pageId);
+      page.read(message -> {
+         if (browsing[0]) {
+            browsing[0] = browseMessage(message, info, browser);
+         }
+      });
+      return browsing[0];
+   }
+
+   private boolean browseMessage(PagedMessage message, PageCursorInfo info, Predicate<PagedReference> browser) {
+      if (!routed(message) || info != null && info.isAck(message.getMessageNumber())) {
+         return true;
+      }
+      if (message.getTransactionID() >= 0) {
+         PageTransactionInfo tx = pageStore.getPagingManager().getTransaction(message.getTransactionID());
+         if (tx == null || !tx.isCommit()) {
+            return true;
+         }
+      }
+      if (!match(message.getMessage())) {
+         return true;
+      }
+      return browser.test(cursorProvider.newReference(message, this));
+   }
+
    private boolean routed(PagedMessage message) {
       long id = getId();
 
@@ -689,6 +781,31 @@ public final class PageSubscriptionImpl implements PageSubscription {
       }
    }
 
+   /**
+    * @return the reference at the given position if it is still pending on this subscription, null otherwise
+    */
+   private PagedReference queryReference(PagePosition position) {
+      // the page could have been removed since the position was taken
+      if (position.getPageNr() < pageStore.getFirstPage() || position.getPageNr() > pageStore.getCurrentWritingPage()) {
+         return null;
+      }
+
+      PagedMessage message = queryMessage(position);
+
+      if (message == null) {
+         return null;
+      }
+
+      PagedReference reference = cursorProvider.newReference(message, this);
+
+      try {
+         return contains(reference) ? reference : null;
+      } catch (Exception e) {
+         logger.debug(e.getMessage(), e);
+         return null;
+      }
+   }
+
    @Override
    public PagedMessage queryMessage(PagePosition pos) {
       try {
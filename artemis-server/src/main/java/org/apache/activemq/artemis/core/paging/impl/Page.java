@@ -20,6 +20,7 @@ import java.nio.ByteBuffer;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.io.IOCallback;
@@ -31,12 +32,14 @@ import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.LargeServerMessage;
+import org.apache.activemq.artemis.core.server.jfr.PageReadEvent;
 import org.apache.activemq.artemis.utils.ReferenceCounterUtil;
 import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet;
 import org.apache.activemq.artemis.utils.collections.EmptyList;
 import org.apache.activemq.artemis.utils.collections.LinkedList;
 import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -93,6 +96,8 @@ public final class Page  {
 
    private ByteBuffer readFileBuffer;
 
+   private LongConsumer readLatencyRecorder;
+
    public Page(final SimpleString storeName,
                final StorageManager storageManager,
                final SequentialFileFactory factory,
@@ -105,6 +110,13 @@ public final class Page  {
       this.storeName = storeName;
    }
 
+   /**
+    * @param readLatencyRecorder records how long, in nanoseconds, it takes to read the messages of this page
+    */
+   public void setReadLatencyRecorder(LongConsumer readLatencyRecorder) {
+      this.readLatencyRecorder = readLatencyRecorder;
+   }
+
    public long getPageId() {
       return pageId;
    }
@@ -165,11 +177,50 @@ public final class Page  {
 
       final LinkedList<PagedMessage> messages = new LinkedListImpl<>();
 
+      final long start = readLatencyRecorder != null ? System.nanoTime() : 0;
+
+      final PageReadEvent event;
+      if (FlightRecorderEvents.isEnabled()) {
+         event = new PageReadEvent();
+         event.begin();
+      } else {
+         event = null;
+      }
+
       numberOfMessages = PageReadWriter.readFromSequentialFile(storage, storeName, fileFactory, file, this.pageId, messages::addTail, onlyLargeMessages ? PageReadWriter.ONLY_LARGE : PageReadWriter.NO_SKIP, this::markFileAsSuspect, this::setSize);
 
+      if (readLatencyRecorder != null) {
+         readLatencyRecorder.accept(System.nanoTime() - start);
+      }
+
+      if (event != null) {
+         event.record(String.valueOf(storeName), pageId, numberOfMessages, size);
+      }
+
       return messages;
    }
 
+   /**
+    * Streams the messages of the page file to the consumer without keeping them, e.g. to browse a page that isn't
+    * in use without loading it all in memory.
+    */
+   public synchronized void read(Consumer<PagedMessage> consumer) throws Exception {
+      final boolean wasOpen = file.isOpen();
+      if (!wasOpen) {
+         if (!file.exists()) {
+            return;
+         }
+         file.open();
+      }
+      try {
+         PageReadWriter.readFromSequentialFile(storageManager, storeName, fileFactory, file, pageId, consumer, PageReadWriter.NO_SKIP, null, null);
+      } finally {
+         if (!wasOpen) {
+            file.close();
+         }
+      }
+   }
+
    public String debugMessages() throws Exception {
       StringBuffer buffer = new StringBuffer();
       LinkedListIterator<PagedMessage> iter = getMessages().iterator();
@@ -184,11 +184,11 @@ public class PageReadWriter {
                               logger.trace("Reading message {} on pageId={} for address={}", msg, pageId, storeName);
                            }
 
+                           msg.setPageNumber(pageId).setMessageNumber(totalMessageCount);
+
                            if (messages != null) {
                               messages.accept(msg);
                            }
-
-                           msg.setPageNumber(pageId).setMessageNumber(totalMessageCount);
                         }
 
                         totalMessageCount++;
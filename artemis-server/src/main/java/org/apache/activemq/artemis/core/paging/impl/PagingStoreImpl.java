@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -124,6 +125,11 @@ public class PagingStoreImpl implements PagingStore {
 
    private volatile Page currentPage;
 
+   // null unless the latency metrics are enabled for this address
+   private volatile LongConsumer pageWriteRecorder;
+
+   private volatile LongConsumer pageReadRecorder;
+
    private volatile boolean paging = false;
 
    private final PageCursorProvider cursorProvider;
@@ -630,6 +636,12 @@ public class PagingStoreImpl implements PagingStore {
       }
    }
 
+   @Override
+   public void setLatencyRecorders(LongConsumer pageWrite, LongConsumer pageRead) {
+      this.pageWriteRecorder = pageWrite;
+      this.pageReadRecorder = pageRead;
+   }
+
    @Override
    public Page newPageObject(final long pageNumber) throws Exception {
       String fileName = createFileName(pageNumber);
@@ -639,6 +651,7 @@ public class PagingStoreImpl implements PagingStore {
       SequentialFile file = factory.createSequentialFile(fileName);
 
       Page page = new Page(storeName, storageManager, factory, file, pageNumber);
+      page.setReadLatencyRecorder(pageReadRecorder);
 
       return page;
    }
@@ -1060,7 +1073,14 @@ public class PagingStoreImpl implements PagingStore {
          final Page page = currentPage;
          applyPageCounters(tx, page, listCtx, persistentSize);
 
-         page.write(pagedMessage);
+         final LongConsumer pageWriteRecorder = this.pageWriteRecorder;
+         if (pageWriteRecorder == null) {
+            page.write(pagedMessage);
+         } else {
+            final long start = System.nanoTime();
+            page.write(pagedMessage);
+            pageWriteRecorder.accept(System.nanoTime() - start);
+         }
 
          if (tx == null && syncNonTransactional && message.isDurable()) {
             sync();
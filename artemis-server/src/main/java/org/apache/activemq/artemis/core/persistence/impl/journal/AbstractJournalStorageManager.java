@@ -120,6 +120,7 @@ import org.apache.activemq.artemis.spi.core.protocol.MessagePersister;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
 import org.apache.activemq.artemis.utils.ExecutorFactory;
 import org.apache.activemq.artemis.utils.IDGenerator;
+import org.apache.activemq.artemis.utils.actors.ProcessorBase;
 import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
 import org.apache.activemq.artemis.utils.collections.SparseArrayLinkedList;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzer;
@@ -144,6 +145,9 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
    protected static final int CRITICAL_STOP = 1;
    protected static final int CRITICAL_STOP_2 = 2;
 
+   // the latency budget of storing, in milliseconds
+   protected static final long CRITICAL_BUDGET_STORE = 1000;
+
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
@@ -247,6 +251,7 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
                                         ExecutorFactory ioExecutorFactory,
                                         IOCriticalErrorListener criticalErrorListener) {
       super(analyzer, CRITICAL_PATHS);
+      setBudget(CRITICAL_STORE, CRITICAL_BUDGET_STORE, TimeUnit.MILLISECONDS);
 
       this.executorFactory = executorFactory;
 
@@ -288,6 +293,11 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
       ioCriticalErrorListener.onIOException(error, error.getMessage(), null);
    }
 
+   @Override
+   public long getPendingTasks() {
+      return executor instanceof ProcessorBase ? ((ProcessorBase<?>) executor).remaining() : -1;
+   }
+
    @Override
    public void clearContext() {
       OperationContextImpl.clearContext();
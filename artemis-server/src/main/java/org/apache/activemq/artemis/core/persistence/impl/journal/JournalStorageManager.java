@@ -701,6 +701,11 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
          sendLargeMessageFiles(pendingLargeMessages);
          sendPagesToBackup(pageFilesToSync, pagingManager);
 
+         ReplicationManager replicatorInUse = replicator;
+         if (replicatorInUse != null) {
+            replicatorInUse.awaitFileSync();
+         }
+
          storageManagerLock.writeLock().lock();
          try {
             if (replicator != null) {
@@ -713,6 +718,8 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
       } catch (Exception e) {
          ActiveMQServerLogger.LOGGER.unableToStartReplication(e);
          stopReplication();
+         // the other streams may still be sending files the journals and the paging are about to clean up
+         replicationManager.cancelFileSync();
          throw e;
       } finally {
          // Re-enable compact and reclaim of journal files
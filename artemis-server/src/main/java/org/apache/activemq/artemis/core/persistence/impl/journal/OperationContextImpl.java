@@ -27,7 +27,9 @@ import org.apache.activemq.artemis.core.io.IOCallback;
 import org.apache.activemq.artemis.core.journal.impl.SimpleWaitIOCallback;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.server.jfr.OperationCompletionEvent;
 import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 
 /**
  * Each instance of OperationContextImpl is associated with an executor (usually an ordered Executor).
@@ -143,6 +145,14 @@ public class OperationContextImpl implements OperationContext {
 
    @Override
    public void executeOnCompletion(final IOCallback completion, final boolean storeOnly) {
+      if (FlightRecorderEvents.isEnabled()) {
+         doExecuteOnCompletion(new RecordedCompletion(completion, storeOnly), storeOnly);
+      } else {
+         doExecuteOnCompletion(completion, storeOnly);
+      }
+   }
+
+   private void doExecuteOnCompletion(final IOCallback completion, final boolean storeOnly) {
       boolean executeNow = false;
 
       synchronized (this) {
@@ -366,6 +376,41 @@ public class OperationContextImpl implements OperationContext {
       }
    }
 
+   /**
+    * Records the wait of a completion, from its registration until it's done, as an {@link OperationCompletionEvent}.
+    */
+   private static final class RecordedCompletion implements IOCallback {
+
+      private final IOCallback completion;
+
+      private final boolean storeOnly;
+
+      private final OperationCompletionEvent event = new OperationCompletionEvent();
+
+      RecordedCompletion(IOCallback completion, boolean storeOnly) {
+         this.completion = completion;
+         this.storeOnly = storeOnly;
+         event.begin();
+      }
+
+      @Override
+      public void done() {
+         event.record(storeOnly, false);
+         completion.done();
+      }
+
+      @Override
+      public void onError(int errorCode, String errorMessage) {
+         event.record(storeOnly, true);
+         completion.onError(errorCode, errorMessage);
+      }
+
+      @Override
+      public String toString() {
+         return completion.toString();
+      }
+   }
+
    @Override
    public void waitCompletion() throws Exception {
       waitCompletion(0);
@@ -40,6 +40,7 @@ import org.apache.activemq.artemis.core.postoffice.QueueBinding;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.cluster.QueueLoad;
 import org.apache.activemq.artemis.core.server.cluster.RemoteQueueBinding;
 import org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType;
 import org.apache.activemq.artemis.core.server.group.GroupingHandler;
@@ -177,7 +178,7 @@ public final class BindingsImpl implements Bindings {
 
    @Override
    public boolean allowRedistribute() {
-      return messageLoadBalancingType.equals(MessageLoadBalancingType.ON_DEMAND) || messageLoadBalancingType.equals(MessageLoadBalancingType.OFF_WITH_REDISTRIBUTION);
+      return messageLoadBalancingType.equals(MessageLoadBalancingType.ON_DEMAND) || messageLoadBalancingType.equals(MessageLoadBalancingType.OFF_WITH_REDISTRIBUTION) || messageLoadBalancingType.equals(MessageLoadBalancingType.LOAD_AWARE);
    }
 
    @Override
@@ -209,6 +210,16 @@ public final class BindingsImpl implements Bindings {
 
       final int bindingsCount = bindings.length;
 
+      if (loadBalancingType.equals(MessageLoadBalancingType.LOAD_AWARE) && originatingQueue.getConsumerCount() > 0) {
+         // the queue has consumers, it is only redistributing because other nodes have a lower load
+         final Binding leastLoadedBinding = getLeastLoadedBinding(message, bindings, originatingQueue);
+         if (leastLoadedBinding == null) {
+            return false;
+         }
+         leastLoadedBinding.route(message, context);
+         return true;
+      }
+
       int nextPosition = bindingIndex.getIndex();
 
       if (nextPosition >= bindingsCount) {
@@ -234,6 +245,27 @@ public final class BindingsImpl implements Bindings {
       return true;
    }
 
+   private static Binding getLeastLoadedBinding(final Message message,
+                                                final Binding[] bindings,
+                                                final Queue originatingQueue) {
+      Binding leastLoadedBinding = null;
+      double leastDrainTime = Double.POSITIVE_INFINITY;
+
+      for (Binding binding : bindings) {
+         if (binding instanceof RemoteQueueBinding && binding.getBindable() != originatingQueue && binding.isConnected()) {
+            final QueueLoad load = ((RemoteQueueBinding) binding).getLoad();
+            final Filter filter = binding.getFilter();
+
+            if (load != null && load.getDrainTime() < leastDrainTime && binding.isHighAcceptPriority(message) && (filter == null || filter.match(message))) {
+               leastLoadedBinding = binding;
+               leastDrainTime = load.getDrainTime();
+            }
+         }
+      }
+
+      return leastLoadedBinding;
+   }
+
    @Override
    public void route(final Message message, final RoutingContext context) throws Exception {
       route(message, context, true);
@@ -394,7 +426,7 @@ public final class BindingsImpl implements Bindings {
             }
             //https://issues.jboss.org/browse/HORNETQ-1254 When !routeWhenNoConsumers,
             // the localQueue should always have the priority over the secondary bindings
-            if (lastLowPriorityBinding == -1 || loadBalancingType.equals(MessageLoadBalancingType.ON_DEMAND) && binding instanceof LocalQueueBinding) {
+            if (lastLowPriorityBinding == -1 || (loadBalancingType.equals(MessageLoadBalancingType.ON_DEMAND) || loadBalancingType.equals(MessageLoadBalancingType.LOAD_AWARE)) && binding instanceof LocalQueueBinding) {
                lastLowPriorityBinding = nextPosition;
             }
          }
@@ -413,9 +445,13 @@ public final class BindingsImpl implements Bindings {
       return nextBinding;
    }
 
-   private static boolean matchBinding(final Message message,
-                                       final Binding binding,
-                                       final MessageLoadBalancingType loadBalancingType) {
+   /**
+    * @return whether the message may be routed to the binding, with remote bindings left out when the load balancing
+    * type doesn't allow them
+    */
+   public static boolean matchBinding(final Message message,
+                                      final Binding binding,
+                                      final MessageLoadBalancingType loadBalancingType) {
       if ((loadBalancingType.equals(MessageLoadBalancingType.OFF) || loadBalancingType.equals(MessageLoadBalancingType.OFF_WITH_REDISTRIBUTION) && !Objects.equals(message.getRoutingType(), RoutingType.MULTICAST)) && binding instanceof RemoteQueueBinding) {
          return false;
       }
@@ -439,6 +475,12 @@ public final class BindingsImpl implements Bindings {
          //       the binding belongs to its Queue before removing it
          SimpleString fullID = groupId.concat(".").concat(routingName);
 
+         Binding owner = groupingGroupingHandler.chooseBinding(fullID, message, bindings, getMessageLoadBalancingType(context));
+         if (owner != null) {
+            owner.route(message, context);
+            return;
+         }
+
          // see if there is already a response
          Response resp = groupingGroupingHandler.getProposal(fullID, true);
 
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.client.ClusterTopologyListener;
+import org.apache.activemq.artemis.api.core.client.TopologyMember;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the topology changes sent to a client and forwards to the delegate only the latest change of each node,
+ * at most once per update interval.
+ * <p>
+ * Every change carries the unique event id of the node, so a client receiving just the latest one ends up with the
+ * same topology as if it had received all of them. The initial topology, which ends with a {@code last} node up, is
+ * forwarded as soon as it is complete.
+ */
+final class CoalescingTopologyListener implements ClusterTopologyListener {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final ClusterTopologyListener delegate;
+
+   private final ScheduledExecutorService scheduledPool;
+
+   private final long updateInterval;
+
+   private final Map<String, PendingUpdate> pending = new LinkedHashMap<>();
+
+   // the node of the last node up of the initial topology, if it is pending
+   private String lastNodeID;
+
+   private ScheduledFuture<?> scheduledFlush;
+
+   private boolean closed;
+
+   CoalescingTopologyListener(ClusterTopologyListener delegate, ScheduledExecutorService scheduledPool, long updateInterval) {
+      this.delegate = delegate;
+      this.scheduledPool = scheduledPool;
+      this.updateInterval = updateInterval;
+   }
+
+   @Override
+   public synchronized void nodeUP(TopologyMember member, boolean last) {
+      if (closed) {
+         return;
+      }
+      pending.put(member.getNodeId(), new PendingUpdate(member, 0));
+      if (last) {
+         lastNodeID = member.getNodeId();
+         flush();
+      } else {
+         scheduleFlush();
+      }
+   }
+
+   @Override
+   public synchronized void nodeDown(long eventUID, String nodeID) {
+      if (closed) {
+         return;
+      }
+      pending.put(nodeID, new PendingUpdate(null, eventUID));
+      scheduleFlush();
+   }
+
+   private void scheduleFlush() {
+      if (scheduledFlush != null) {
+         return;
+      }
+      try {
+         scheduledFlush = scheduledPool.schedule(this::flush, updateInterval, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+         // the server is stopping, no need to update its clients
+         logger.debug(e.getMessage(), e);
+      }
+   }
+
+   /**
+    * Forwards the latest change of each node changed since the previous flush.
+    * <p>
+    * The delegate just hands the changes over to the connection executor, so this is done while holding the lock
+    * to keep the changes of a node in order.
+    */
+   synchronized void flush() {
+      if (scheduledFlush != null) {
+         scheduledFlush.cancel(false);
+         scheduledFlush = null;
+      }
+      if (closed || pending.isEmpty()) {
+         return;
+      }
+
+      logger.trace("Sending {} coalesced topology updates to {}", pending.size(), delegate);
+
+      // the last node up has to be forwarded after all the other changes
+      TopologyMember lastUp = null;
+      for (Map.Entry<String, PendingUpdate> entry : pending.entrySet()) {
+         final PendingUpdate update = entry.getValue();
+         if (update.member == null) {
+            delegate.nodeDown(update.eventUID, entry.getKey());
+         } else if (entry.getKey().equals(lastNodeID)) {
+            lastUp = update.member;
+         } else {
+            delegate.nodeUP(update.member, false);
+         }
+      }
+      if (lastUp != null) {
+         delegate.nodeUP(lastUp, true);
+      }
+
+      pending.clear();
+      lastNodeID = null;
+   }
+
+   synchronized void close() {
+      closed = true;
+      pending.clear();
+      if (scheduledFlush != null) {
+         scheduledFlush.cancel(false);
+         scheduledFlush = null;
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "CoalescingTopologyListener(" + delegate + ")";
+   }
+
+   private static final class PendingUpdate {
+
+      // null on node down
+      final TopologyMember member;
+
+      final long eventUID;
+
+      PendingUpdate(TopologyMember member, long eventUID) {
+         this.member = member;
+         this.eventUID = eventUID;
+      }
+   }
+}
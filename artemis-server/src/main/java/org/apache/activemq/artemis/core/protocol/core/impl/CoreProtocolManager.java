@@ -301,7 +301,7 @@ public class CoreProtocolManager implements ProtocolManager<Interceptor, ActiveM
                   ((SubscribeClusterTopologyUpdatesMessageV2) msg).getClientVersion());
             }
 
-            final ClusterTopologyListener listener = new ClusterTopologyListener() {
+            final ClusterTopologyListener topologyListener = new ClusterTopologyListener() {
                @Override
                public void nodeUP(final TopologyMember topologyMember, final boolean last) {
                   try {
@@ -380,6 +380,14 @@ public class CoreProtocolManager implements ProtocolManager<Interceptor, ActiveM
             };
 
             if (acceptorUsed.getClusterConnection() != null) {
+               final long topologyUpdateInterval = server.getConfiguration().getClientTopologyUpdateInterval();
+               final ClusterTopologyListener listener;
+               if (!msg.isClusterConnection() && topologyUpdateInterval > 0) {
+                  listener = new CoalescingTopologyListener(topologyListener, server.getScheduledPool(), topologyUpdateInterval);
+               } else {
+                  listener = topologyListener;
+               }
+
                acceptorUsed.getClusterConnection().addClusterTopologyListener(listener);
 
                rc.addCloseListener(new CloseListener() {
@@ -387,6 +395,9 @@ public class CoreProtocolManager implements ProtocolManager<Interceptor, ActiveM
                   public void connectionClosed() {
                      acceptorUsed.getClusterConnection()
                         .removeClusterTopologyListener(listener);
+                     if (listener instanceof CoalescingTopologyListener) {
+                        ((CoalescingTopologyListener) listener).close();
+                     }
                   }
                });
             } else {
@@ -47,6 +47,10 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
    private byte[] byteArray;
    private SimpleString pageStoreName;
    private FileType fileType;
+   /**
+    * The CRC32 of the whole file, only sent along with the packet closing it.
+    */
+   private long checksum = -1;
 
    public enum FileType {
       JOURNAL(0), PAGE(1), LARGE_MESSAGE(2);
@@ -128,6 +132,10 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
          size += byteBuffer.writerIndex(); // buffer.writeBytes(byteBuffer, 0, byteBuffer.writerIndex());
       }
 
+      if (checksum >= 0) {
+         size += DataConstants.SIZE_LONG; // buffer.writeLong(checksum);
+      }
+
       return size;
    }
 
@@ -160,6 +168,10 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
          buffer.writeBytes(byteBuffer, 0, byteBuffer.writerIndex());
       }
 
+      if (checksum >= 0) {
+         buffer.writeLong(checksum);
+      }
+
       release();
    }
 
@@ -195,6 +207,10 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
          byteArray = new byte[size];
          buffer.readBytes(byteArray);
       }
+      // only packets closing the file carry the checksum, older versions may send unused bytes along with data
+      if (size <= 0 && buffer.readableBytes() >= DataConstants.SIZE_LONG) {
+         checksum = buffer.readLong();
+      }
    }
 
    public long getId() {
@@ -217,6 +233,18 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
       return pageStoreName;
    }
 
+   /**
+    * @return the CRC32 of the whole file if this packet closes it and the live sent it, -1 otherwise
+    */
+   public long getChecksum() {
+      return checksum;
+   }
+
+   public ReplicationSyncFileMessage setChecksum(long checksum) {
+      this.checksum = checksum;
+      return this;
+   }
+
    @Override
    public int hashCode() {
       final int prime = 31;
@@ -228,6 +256,7 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
       result = prime * result + ((fileType == null) ? 0 : fileType.hashCode());
       result = prime * result + ((journalType == null) ? 0 : journalType.hashCode());
       result = prime * result + ((pageStoreName == null) ? 0 : pageStoreName.hashCode());
+      result = prime * result + (int) (checksum ^ (checksum >>> 32));
       return result;
    }
 
@@ -259,6 +288,9 @@ public final class ReplicationSyncFileMessage extends PacketImpl {
       if (fileId != other.fileId) {
          return false;
       }
+      if (checksum != other.checksum) {
+         return false;
+      }
       if (fileType != other.fileType) {
          return false;
       }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Records the number of bytes carried by each flush reaching the transport.
+ * <p>
+ * It is placed between the transport and the flush coalescing handler of an acceptor, so it only sees the flushes
+ * that really reach the socket.
+ */
+public class FlushSizeRecorder extends ChannelOutboundHandlerAdapter {
+
+   private final Statistics statistics;
+
+   private long pendingBytes;
+
+   public FlushSizeRecorder(Statistics statistics) {
+      this.statistics = statistics;
+   }
+
+   @Override
+   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+      if (msg instanceof ByteBuf) {
+         pendingBytes += ((ByteBuf) msg).readableBytes();
+      }
+      ctx.write(msg, promise);
+   }
+
+   @Override
+   public void flush(ChannelHandlerContext ctx) throws Exception {
+      if (pendingBytes > 0) {
+         statistics.record(pendingBytes);
+         pendingBytes = 0;
+      }
+      ctx.flush();
+   }
+
+   /**
+    * Flush statistics shared by all the connections of an acceptor.
+    */
+   public static final class Statistics {
+
+      private final LongAdder flushCount = new LongAdder();
+
+      private final LongAdder flushedBytes = new LongAdder();
+
+      private final LongAccumulator maxFlushSize = new LongAccumulator(Math::max, 0);
+
+      void record(long bytes) {
+         flushCount.increment();
+         flushedBytes.add(bytes);
+         maxFlushSize.accumulate(bytes);
+      }
+
+      public long getFlushCount() {
+         return flushCount.sum();
+      }
+
+      public long getFlushedBytes() {
+         return flushedBytes.sum();
+      }
+
+      public long getMaxFlushSize() {
+         return maxFlushSize.get();
+      }
+
+      public double getAverageFlushSize() {
+         final long flushes = flushCount.sum();
+         if (flushes == 0) {
+            return 0;
+         }
+         return (double) flushedBytes.sum() / flushes;
+      }
+   }
+}
@@ -63,6 +63,7 @@ import io.netty.channel.local.LocalAddress;
 import io.netty.channel.local.LocalServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.ResourceLeakDetector;
@@ -231,6 +232,10 @@ public class NettyAcceptor extends AbstractAcceptor {
 
    private final boolean directDeliver;
 
+   private final int flushCoalescingLimit;
+
+   private final FlushSizeRecorder.Statistics flushStatistics;
+
    private final boolean httpUpgradeEnabled;
 
    private final long connectionsAllowed;
@@ -379,6 +384,10 @@ public class NettyAcceptor extends AbstractAcceptor {
 
       directDeliver = ConfigurationHelper.getBooleanProperty(TransportConstants.DIRECT_DELIVER, TransportConstants.DEFAULT_DIRECT_DELIVER, configuration);
 
+      flushCoalescingLimit = ConfigurationHelper.getIntProperty(TransportConstants.FLUSH_COALESCING_LIMIT, TransportConstants.DEFAULT_FLUSH_COALESCING_LIMIT, configuration);
+
+      flushStatistics = flushCoalescingLimit > 0 ? new FlushSizeRecorder.Statistics() : null;
+
       httpUpgradeEnabled = ConfigurationHelper.getBooleanProperty(TransportConstants.HTTP_UPGRADE_ENABLED_PROP_NAME, TransportConstants.DEFAULT_HTTP_UPGRADE_ENABLED, configuration);
 
       connectionsAllowed = ConfigurationHelper.getLongProperty(TransportConstants.CONNECTIONS_ALLOWED, TransportConstants.DEFAULT_CONNECTIONS_ALLOWED, configuration);
@@ -487,6 +496,7 @@ public class NettyAcceptor extends AbstractAcceptor {
                   throw e;
                }
             }
+            addFlushCoalescing(pipeline);
             pipeline.addLast(protocolHandler.getProtocolDecoder());
          }
 
@@ -590,9 +600,28 @@ public class NettyAcceptor extends AbstractAcceptor {
       if (paused || eventLoopGroup == null) {
          throw ActiveMQMessageBundle.BUNDLE.acceptorUnavailable();
       }
+      addFlushCoalescing(channel.pipeline());
       channel.pipeline().addLast(protocolHandler.getProtocolDecoder());
    }
 
+   /**
+    * When enabled, the flushes requested while processing the same event loop iteration are coalesced
+    * into a single flush performed once the iteration ends, without the latency of a timer based {@code batchDelay}.
+    */
+   private void addFlushCoalescing(ChannelPipeline pipeline) {
+      if (flushCoalescingLimit > 0) {
+         pipeline.addLast("flushSizeRecorder", new FlushSizeRecorder(flushStatistics));
+         pipeline.addLast("flushCoalescing", new FlushConsolidationHandler(flushCoalescingLimit, true));
+      }
+   }
+
+   /**
+    * @return the flush statistics of this acceptor or {@code null} if flush coalescing isn't enabled
+    */
+   public FlushSizeRecorder.Statistics getFlushStatistics() {
+      return flushStatistics;
+   }
+
    @Override
    public void reload() {
       ChannelGroupFuture future = serverChannelGroup.disconnect();
@@ -31,6 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Interceptor;
@@ -120,6 +121,14 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
     */
    private final Map<JournalContent, Map<Long, JournalSyncFile>> filesReservedForSync = new HashMap<>();
 
+   /**
+    * The checksums of the files being synchronized, verified against the checksum sent by the live when they are
+    * closed.
+    */
+   private final Map<String, CRC32> syncChecksums = new HashMap<>();
+
+   private int syncChecksumMismatches;
+
    /**
     * Used to hold the real Journals before the backup is synchronized. This field should be
     * {@code null} on an up-to-date server.
@@ -420,6 +429,11 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
       if (logger.isTraceEnabled()) {
          logger.trace("BACKUP-SYNC-START: finishSynchronization::{} activationSequence = {}", liveID, activationSequence);
       }
+      if (syncChecksumMismatches > 0) {
+         // the data can't be used to become live, the live stops the replication once the synchronization times out
+         throw ActiveMQMessageBundle.BUNDLE.replicationSynchronizationChecksumMismatch(syncChecksumMismatches);
+      }
+      syncChecksums.clear();
       for (JournalContent jc : EnumSet.allOf(JournalContent.class)) {
          Journal journal = journalsHolder.remove(jc);
          logger.trace("getting lock on {}, journal = {}", jc, journal);
@@ -483,6 +497,7 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
    private void handleReplicationSynchronization(ReplicationSyncFileMessage msg) throws Exception {
       long id = msg.getId();
       byte[] data = msg.getData();
+      verifySyncChecksum(msg);
       SequentialFile channel1;
       switch (msg.getFileType()) {
          case LARGE_MESSAGE: {
@@ -528,6 +543,32 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
       channel1.writeDirect(ByteBuffer.wrap(data), false);
    }
 
+   void verifySyncChecksum(ReplicationSyncFileMessage msg) {
+      final String file = msg.getFileType() == ReplicationSyncFileMessage.FileType.JOURNAL ? msg.getJournalContent() + "-" + msg.getId() :
+         msg.getFileType() == ReplicationSyncFileMessage.FileType.PAGE ? msg.getPageStore() + "-" + msg.getId() : String.valueOf(msg.getId());
+      final String key = msg.getFileType() + ":" + file;
+
+      if (msg.getData() != null) {
+         syncChecksums.computeIfAbsent(key, k -> new CRC32()).update(msg.getData());
+         return;
+      }
+
+      final CRC32 checksum = syncChecksums.remove(key);
+      if (msg.getChecksum() < 0) {
+         // sent by a live not computing checksums
+         return;
+      }
+      final long actual = checksum == null ? 0 : checksum.getValue();
+      if (actual != msg.getChecksum()) {
+         syncChecksumMismatches++;
+         ActiveMQServerLogger.LOGGER.replicaSyncFileChecksumMismatch(msg.getFileType(), file, msg.getChecksum(), actual);
+      }
+   }
+
+   int getSyncChecksumMismatches() {
+      return syncChecksumMismatches;
+   }
+
    /**
     * Reserves files (with the given fileID) in the specified journal, and places a
     * {@link FileWrapperJournal} in place to store messages while synchronization is going on.
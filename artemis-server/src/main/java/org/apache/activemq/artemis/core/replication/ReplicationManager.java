@@ -24,17 +24,22 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.EventLoop;
 import io.netty.channel.SingleThreadEventLoop;
 import io.netty.util.internal.PlatformDependent;
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
@@ -161,6 +166,17 @@ public final class ReplicationManager implements ActiveMQComponent {
 
    private final ReusableLatch synchronizationIsFinishedAcknowledgement = new ReusableLatch(0);
 
+   /**
+    * The idle executors the files are sent with during the initial synchronization, one per stream.
+    */
+   private final BlockingQueue<Executor> syncStreams;
+
+   private final ReusableLatch pendingFileSyncs = new ReusableLatch(0);
+
+   private final AtomicReference<Exception> fileSyncFailure = new AtomicReference<>();
+
+   private volatile boolean fileSyncCancelled;
+
    private static final class ReplicatePacketRequest {
 
       final Packet packet;
@@ -217,6 +233,15 @@ public final class ReplicationManager implements ActiveMQComponent {
       this.onResume = this::resume;
       this.isFlushing = false;
       this.checkSlowReplication = false;
+      final int streams = server == null ? ActiveMQDefaultConfiguration.getDefaultReplicationSyncStreams() : server.getConfiguration().getReplicationSyncStreams();
+      if (streams > 1) {
+         this.syncStreams = new ArrayBlockingQueue<>(streams);
+         for (int i = 0; i < streams; i++) {
+            this.syncStreams.add(ioExecutorFactory.getExecutor());
+         }
+      } else {
+         this.syncStreams = null;
+      }
    }
 
    public void appendUpdateRecord(final byte journalID,
@@ -466,6 +491,9 @@ public final class ReplicationManager implements ActiveMQComponent {
    private OperationContext sendReplicatePacket(final Packet packet, boolean lineUp, ReusableLatch done) {
       if (!enabled) {
          packet.release();
+         if (done != null) {
+            done.countDown();
+         }
          return null;
       }
 
@@ -693,24 +721,91 @@ public final class ReplicationManager implements ActiveMQComponent {
          return;
       }
       SequentialFile file = jf.getFile().cloneFile();
-      try {
-         ActiveMQServerLogger.LOGGER.replicaSyncFile(file, file.size());
-         sendLargeFile(content, null, jf.getFileID(), file, Long.MAX_VALUE);
-      } finally {
-         if (file.isOpen())
-            file.close();
-      }
+      syncFile(() -> {
+         try {
+            ActiveMQServerLogger.LOGGER.replicaSyncFile(file, file.size());
+            sendLargeFile(content, null, jf.getFileID(), file, Long.MAX_VALUE);
+         } finally {
+            if (file.isOpen())
+               file.close();
+         }
+      });
    }
 
    public void syncLargeMessageFile(SequentialFile file, long size, long id) throws Exception {
       if (enabled) {
-         sendLargeFile(null, null, id, file, size);
+         syncFile(() -> sendLargeFile(null, null, id, file, size));
       }
    }
 
    public void syncPages(SequentialFile file, long id, SimpleString queueName) throws Exception {
       if (enabled)
-         sendLargeFile(null, queueName, id, file, Long.MAX_VALUE);
+         syncFile(() -> sendLargeFile(null, queueName, id, file, Long.MAX_VALUE));
+   }
+
+   @FunctionalInterface
+   interface FileSync {
+
+      void sync() throws Exception;
+   }
+
+   /**
+    * Sends a file right away with a single stream, otherwise as soon as one of the streams is idle, interleaving
+    * its packets with the packets of the files being sent by the other streams.
+    */
+   void syncFile(FileSync fileSync) throws Exception {
+      if (syncStreams == null) {
+         fileSync.sync();
+         return;
+      }
+
+      throwFileSyncFailure();
+
+      final Executor stream = syncStreams.take();
+      pendingFileSyncs.countUp();
+      stream.execute(() -> {
+         try {
+            if (!fileSyncCancelled) {
+               fileSync.sync();
+            }
+         } catch (Exception e) {
+            fileSyncFailure.compareAndSet(null, e);
+         } finally {
+            syncStreams.add(stream);
+            pendingFileSyncs.countDown();
+         }
+      });
+   }
+
+   /**
+    * Waits for the files being sent by the streams.
+    *
+    * @throws Exception the first failure of a stream
+    */
+   public void awaitFileSync() throws Exception {
+      if (syncStreams != null) {
+         pendingFileSyncs.await();
+         throwFileSyncFailure();
+      }
+   }
+
+   /**
+    * Skips the files not sent yet and waits for the streams to stop sending, so no stream reads a file once the
+    * journals and the paging are allowed to clean up their files again.
+    */
+   public void cancelFileSync() throws InterruptedException {
+      if (syncStreams != null) {
+         fileSyncCancelled = true;
+         pendingFileSyncs.await();
+         fileSyncFailure.set(null);
+      }
+   }
+
+   private void throwFileSyncFailure() throws Exception {
+      final Exception failure = fileSyncFailure.getAndSet(null);
+      if (failure != null) {
+         throw failure;
+      }
    }
 
    /**
@@ -739,6 +834,7 @@ public final class ReplicationManager implements ActiveMQComponent {
 
       int packetsSent = 0;
       final ReusableLatch flushed = new ReusableLatch(1);
+      final CRC32 checksum = new CRC32();
 
       try {
          try (FileInputStream fis = new FileInputStream(file.getJavaFile()); FileChannel channel = fis.getChannel()) {
@@ -747,6 +843,9 @@ public final class ReplicationManager implements ActiveMQComponent {
             // because sendReplicatePacket will encode the packet as a NettyBuffer
             // through ActiveMQBuffer class leaving this buffer free to be reused on the next copy
             while (true) {
+               if (!enabled || fileSyncCancelled) {
+                  return;
+               }
                final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(size, size);
                buffer.clear();
                ByteBuffer byteBuffer = buffer.writerIndex(size).readerIndex(0).nioBuffer();
@@ -763,18 +862,24 @@ public final class ReplicationManager implements ActiveMQComponent {
                if (logger.isDebugEnabled()) {
                   logger.debug("sending {} bytes on file {}", buffer.writerIndex(), file.getFileName());
                }
+               if (toSend > 0) {
+                  checksum.update(buffer.nioBuffer(0, toSend));
+               }
                // sending -1 or 0 bytes will close the file at the backup
                final boolean lastPacket = bytesRead == -1 || bytesRead == 0 || maxBytesToSend == 0;
                final boolean flowControlCheck = (packetsSent % flowControlSize == 0) || lastPacket;
-               if (flowControlCheck) {
-                  flushed.setCount(1);
-                  sendReplicatePacket(new ReplicationSyncFileMessage(content, pageStore, id, toSend, buffer), true, flushed);
-                  awaitFlushOfReplicationStream(flushed);
-               } else {
-                  sendReplicatePacket(new ReplicationSyncFileMessage(content, pageStore, id, toSend, buffer), true);
+               final ReplicationSyncFileMessage packet = new ReplicationSyncFileMessage(content, pageStore, id, toSend, buffer);
+               if (lastPacket && toSend <= 0) {
+                  packet.setChecksum(checksum.getValue());
                }
+               sendSyncFilePacket(packet, flowControlCheck, flushed);
                packetsSent++;
 
+               if (lastPacket && toSend > 0) {
+                  // the backup verifies the checksum when the file is closed
+                  sendSyncFilePacket(new ReplicationSyncFileMessage(content, pageStore, id, 0, null).setChecksum(checksum.getValue()), true, flushed);
+               }
+
                if (lastPacket)
                   break;
             }
@@ -785,6 +890,16 @@ public final class ReplicationManager implements ActiveMQComponent {
       }
    }
 
+   private void sendSyncFilePacket(ReplicationSyncFileMessage packet, boolean flowControlCheck, ReusableLatch flushed) throws Exception {
+      if (flowControlCheck) {
+         flushed.setCount(1);
+         sendReplicatePacket(packet, true, flushed);
+         awaitFlushOfReplicationStream(flushed);
+      } else {
+         sendReplicatePacket(packet, true);
+      }
+   }
+
    private void awaitFlushOfReplicationStream(ReusableLatch flushed) throws Exception {
       if (!flushed.await(this.initialReplicationSyncTimeout, TimeUnit.MILLISECONDS)) {
          throw ActiveMQMessageBundle.BUNDLE.replicationSynchronizationTimeout(initialReplicationSyncTimeout);
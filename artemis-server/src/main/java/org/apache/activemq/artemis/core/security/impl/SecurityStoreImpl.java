@@ -33,6 +33,7 @@ import org.apache.activemq.artemis.core.security.SecurityAuth;
 import org.apache.activemq.artemis.core.security.SecurityStore;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.server.jfr.SecurityCacheMissEvent;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.server.management.NotificationService;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
@@ -48,6 +49,7 @@ import org.apache.activemq.artemis.spi.core.security.jaas.UserPrincipal;
 import org.apache.activemq.artemis.utils.CompositeAddress;
 import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -169,6 +171,7 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
             }
          }
          if (check) {
+            final SecurityCacheMissEvent event = beginCacheMissEvent();
             if (securityManager instanceof ActiveMQSecurityManager5) {
                subject = ((ActiveMQSecurityManager5) securityManager).authenticate(user, password, connection, securityDomain);
                authenticationCache.put(createAuthenticationCacheKey(user, password, connection), new Pair<>(subject != null, subject));
@@ -182,6 +185,9 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
             } else {
                userIsValid = securityManager.validateUser(user, password);
             }
+            if (event != null) {
+               event.record("AUTHENTICATION", user, null);
+            }
          }
 
          // authentication failed, send a notification & throw an exception
@@ -243,6 +249,7 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
             return;
          }
 
+         final SecurityCacheMissEvent event = beginCacheMissEvent();
          final Boolean validated;
          if (securityManager instanceof ActiveMQSecurityManager5) {
             Subject subject = getSubjectForAuthorization(session, ((ActiveMQSecurityManager5) securityManager));
@@ -269,6 +276,10 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
             validated = securityManager.validateUserAndRole(user, session.getPassword(), roles, checkType);
          }
 
+         if (event != null) {
+            event.record(checkType.toString(), user, String.valueOf(fqqn != null ? fqqn : bareAddress));
+         }
+
          if (!validated) {
             if (notificationService != null) {
                TypedProperties props = new TypedProperties();
@@ -387,6 +398,15 @@ public class SecurityStoreImpl implements SecurityStore, HierarchicalRepositoryC
       return cached.getB();
    }
 
+   private static SecurityCacheMissEvent beginCacheMissEvent() {
+      if (!FlightRecorderEvents.isEnabled()) {
+         return null;
+      }
+      final SecurityCacheMissEvent event = new SecurityCacheMissEvent();
+      event.begin();
+      return event;
+   }
+
    // public for testing purposes
    public void invalidateAuthorizationCache() {
       authorizationCache.invalidateAll();
@@ -521,4 +521,19 @@ public interface ActiveMQMessageBundle {
 
    @Message(id = 229243, value = "Embedded web server restart failed")
    ActiveMQException embeddedWebServerRestartFailed(Exception e);
+
+   @Message(id = 229244, value = "Replication synchronization failed, the checksum of {} files did not match")
+   ActiveMQIllegalStateException replicationSynchronizationChecksumMismatch(int files);
+
+   @Message(id = 229245, value = "{} must be a comma separated list of values between 0 and 1 (actual value: {})")
+   IllegalArgumentException invalidPercentiles(String name, String val);
+
+   @Message(id = 229246, value = "Query {} does not exist")
+   IllegalArgumentException queryDoesNotExist(String queryID);
+
+   @Message(id = 229247, value = "Queue {} already has {} queries running")
+   IllegalStateException tooManyQueries(String queue, int maxQueries);
+
+   @Message(id = 229248, value = "The throughput accounting plugin {} is not registered")
+   IllegalStateException throughputAccountingNotRegistered(String pluginClassName);
 }
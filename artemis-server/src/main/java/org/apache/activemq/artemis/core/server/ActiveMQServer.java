@@ -74,6 +74,7 @@ import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.ResourceManager;
 import org.apache.activemq.artemis.core.version.Version;
+import org.apache.activemq.artemis.logs.AsyncAuditLogger;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManagerFactory;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.protocol.SessionCallback;
@@ -389,6 +390,14 @@ public interface ActiveMQServer extends ServiceComponent {
 
    MetricsManager getMetricsManager();
 
+   /**
+    * @return the logger taking the message audit records of this server off its hot paths, {@code null} unless
+    * {@code audit-log-async} is configured and the message audit logging is enabled
+    */
+   default AsyncAuditLogger getAsyncAuditLogger() {
+      return null;
+   }
+
    List<ServerSession> getSessions(String connectionID);
 
    /**
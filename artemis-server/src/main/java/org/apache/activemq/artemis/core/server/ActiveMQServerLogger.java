@@ -39,6 +39,7 @@ import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.BackupReplicationStartFailedMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationSyncFileMessage;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.core.server.routing.targets.Target;
 import org.apache.activemq.artemis.core.server.cluster.Bridge;
@@ -1560,4 +1561,22 @@ public interface ActiveMQServerLogger {
    @LogMessage(id = 224118, value = "The SQL Database is returning a current time too far from this system current time. Adjust clock on the SQL Database server. DatabaseTime={}, CurrentTime={}, allowed variance={}", level = LogMessage.Level.WARN)
    void dbReturnedTimeOffClock(long dbTime, long systemTime, long variance);
 
+   @LogMessage(id = 224119, value = "Checksum mismatch on {} {} synchronized from the live server, expected {} but got {}", level = LogMessage.Level.ERROR)
+   void replicaSyncFileChecksumMismatch(ReplicationSyncFileMessage.FileType fileType, String file, long expected, long actual);
+
+   @LogMessage(id = 224120, value = "The live server at {} missed its replication heartbeats (phi = {}): failing the replication connection", level = LogMessage.Level.WARN)
+   void replicationHeartbeatMissed(String remoteAddress, double phi);
+
+   @LogMessage(id = 224121, value = "Ignoring the invalid metrics percentiles {} of the latency metric {}", level = LogMessage.Level.WARN)
+   void invalidMetricsPercentiles(String percentiles, String metricName);
+
+   @LogMessage(id = 224122, value = "Consumer {}:{} attached to queue '{}' is lagging: average delivery to acknowledgement latency {} ms, in-flight messages growing by {} per check. Throttling it to {} in-flight message(s).", level = LogMessage.Level.WARN)
+   void consumerLagging(String sessionID, long consumerID, String queueName, long latency, double growth, int window);
+
+   @LogMessage(id = 224123, value = "Consumer {}:{} attached to queue '{}' from {} identified as 'slow.' Expected delivery to acknowledgement latency: {} ms; average latency: {} ms.", level = LogMessage.Level.INFO)
+   void slowConsumerLatencyDetected(String sessionID, long consumerID, String queueName, String remoteAddress, long expectedLatency, long latency);
+
+   @LogMessage(id = 224124, value = "flight-recorder-enabled is set but the JDK Flight Recorder classes are not available: the events stay disabled", level = LogMessage.Level.WARN)
+   void flightRecorderUnavailable();
+
 }
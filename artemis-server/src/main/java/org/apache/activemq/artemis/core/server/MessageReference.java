@@ -128,6 +128,17 @@ public interface MessageReference {
 
    boolean isInDelivery();
 
+   /**
+    * @return the {@link System#nanoTime()} this reference was added to its queue or, once delivered, handed over to
+    * its consumer; only tracked by the queues recording latency metrics, {@code 0} otherwise
+    */
+   default long getLatencyTimestamp() {
+      return 0;
+   }
+
+   default void setLatencyTimestamp(long nanoTime) {
+   }
+
    void setAlreadyAcked();
 
    boolean isAlreadyAcked();
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.function.LongConsumer;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
@@ -278,6 +279,13 @@ public interface Queue extends Bindable,CriticalComponent {
 
    void referenceHandled(MessageReference ref);
 
+   /**
+    * Sets the recorders of how long, in nanoseconds, messages wait on this queue before being delivered and stay in
+    * delivery before being acknowledged. A {@code null} recorder stops recording the corresponding latency.
+    */
+   default void setLatencyRecorders(LongConsumer timeInQueue, LongConsumer deliveryToAck) {
+   }
+
    int getScheduledCount();
 
    long getScheduledSize();
@@ -385,6 +393,24 @@ public interface Queue extends Bindable,CriticalComponent {
 
    void addRedistributor(long delay);
 
+   /**
+    * Adds a redistributor even if the queue has consumers, to move up to {@code maxMessages} messages to the nodes
+    * with a lower load. A redistributor already added by the load sets the new limit instead.
+    */
+   default void addLoadRedistributor(long maxMessages) {
+   }
+
+   /**
+    * @return the messages moved to other nodes by a redistributor, they are counted by
+    * {@link #getMessagesAcknowledged()} too
+    */
+   default long getMessagesRedistributed() {
+      return 0;
+   }
+
+   default void incrementMessagesRedistributed() {
+   }
+
    void cancelRedistributor();
 
    boolean hasMatchingConsumer(Message message);
@@ -642,6 +642,8 @@ public class ClusterManager implements ActiveMQComponent {
          clusterController.addClusterConnection(clusterConnection.getName(), tcConfigs, config, connector);
       }
 
+      clusterConnection.setBridgeBatchSize(config.getBatchSize());
+
       if (defaultClusterConnection == null) {
          defaultClusterConnection = clusterConnection;
          clusterController.setDefaultClusterConnectionName(defaultClusterConnection.getName());
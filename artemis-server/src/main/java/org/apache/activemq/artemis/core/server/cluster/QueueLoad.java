@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.cluster;
+
+import java.util.Objects;
+
+/**
+ * The load of a clustered queue on a node, as exchanged between the nodes with
+ * {@link org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType#LOAD_AWARE}.
+ */
+public final class QueueLoad {
+
+   private final long messageCount;
+
+   private final int consumerCount;
+
+   private final double consumerRate;
+
+   public QueueLoad(long messageCount, int consumerCount, double consumerRate) {
+      this.messageCount = messageCount;
+      this.consumerCount = consumerCount;
+      this.consumerRate = consumerRate;
+   }
+
+   public long getMessageCount() {
+      return messageCount;
+   }
+
+   public int getConsumerCount() {
+      return consumerCount;
+   }
+
+   /**
+    * @return the messages acknowledged per second
+    */
+   public double getConsumerRate() {
+      return consumerRate;
+   }
+
+   /**
+    * @return the messages per second the consumers are expected to take, a consumer that has not acknowledged
+    * anything yet is accounted as taking one message per second
+    */
+   public double getEffectiveRate() {
+      return Math.max(consumerRate, consumerCount);
+   }
+
+   /**
+    * @return the seconds the consumers would take to consume the messages of the queue
+    */
+   public double getDrainTime() {
+      if (messageCount == 0) {
+         return 0;
+      }
+      if (consumerCount == 0) {
+         return Double.POSITIVE_INFINITY;
+      }
+      return messageCount / getEffectiveRate();
+   }
+
+   /**
+    * @return the number of messages to move from this queue to the other one for both to have the same drain time
+    */
+   public long getMessagesToMove(QueueLoad other) {
+      if (consumerCount == 0 || other.consumerCount == 0) {
+         return 0;
+      }
+      final double rate = getEffectiveRate();
+      final double otherRate = other.getEffectiveRate();
+      return Math.max(0, (long) ((messageCount * otherRate - other.messageCount * rate) / (rate + otherRate)));
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) {
+         return true;
+      }
+      if (!(o instanceof QueueLoad)) {
+         return false;
+      }
+      QueueLoad other = (QueueLoad) o;
+      return messageCount == other.messageCount && consumerCount == other.consumerCount && Double.compare(consumerRate, other.consumerRate) == 0;
+   }
+
+   @Override
+   public int hashCode() {
+      return Objects.hash(messageCount, consumerCount, consumerRate);
+   }
+
+   @Override
+   public String toString() {
+      return "QueueLoad[messageCount=" + messageCount + ", consumerCount=" + consumerCount + ", consumerRate=" + consumerRate + "]";
+   }
+}
@@ -35,4 +35,11 @@ public interface RemoteQueueBinding extends QueueBinding {
    long getRemoteQueueID();
 
    MessageLoadBalancingType getMessageLoadBalancingType();
+
+   /**
+    * @return the last load reported by the remote node or {@code null} if it has not reported any
+    */
+   QueueLoad getLoad();
+
+   void setLoad(QueueLoad load);
 }
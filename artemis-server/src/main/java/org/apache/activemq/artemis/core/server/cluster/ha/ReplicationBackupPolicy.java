@@ -33,6 +33,8 @@ public class ReplicationBackupPolicy implements HAPolicy<ReplicationBackupActiva
    private final String clusterName;
    private final int maxSavedReplicatedJournalsSize;
    private final long retryReplicationWait;
+   private final long heartbeatPeriod;
+   private final double failureDetectorThreshold;
    private final DistributedPrimitiveManagerConfiguration managerConfiguration;
    private final boolean tryFailback;
 
@@ -43,6 +45,8 @@ public class ReplicationBackupPolicy implements HAPolicy<ReplicationBackupActiva
       this.maxSavedReplicatedJournalsSize = configuration.getMaxSavedReplicatedJournalsSize();
       this.groupName = configuration.getGroupName();
       this.retryReplicationWait = configuration.getRetryReplicationWait();
+      this.heartbeatPeriod = configuration.getHeartbeatPeriod();
+      this.failureDetectorThreshold = configuration.getFailureDetectorThreshold();
       this.managerConfiguration = configuration.getDistributedManagerConfiguration();
       this.tryFailback = true;
       this.livePolicy = livePolicy;
@@ -53,6 +57,8 @@ public class ReplicationBackupPolicy implements HAPolicy<ReplicationBackupActiva
       this.maxSavedReplicatedJournalsSize = configuration.getMaxSavedReplicatedJournalsSize();
       this.groupName = configuration.getGroupName();
       this.retryReplicationWait = configuration.getRetryReplicationWait();
+      this.heartbeatPeriod = configuration.getHeartbeatPeriod();
+      this.failureDetectorThreshold = configuration.getFailureDetectorThreshold();
       this.managerConfiguration = configuration.getDistributedManagerConfiguration();
       this.tryFailback = false;
       livePolicy = ReplicationPrimaryPolicy.failoverPolicy(
@@ -150,6 +156,14 @@ public class ReplicationBackupPolicy implements HAPolicy<ReplicationBackupActiva
       return retryReplicationWait;
    }
 
+   public long getHeartbeatPeriod() {
+      return heartbeatPeriod;
+   }
+
+   public double getFailureDetectorThreshold() {
+      return failureDetectorThreshold;
+   }
+
    @Override
    public boolean useQuorumManager() {
       return false;
@@ -61,9 +61,12 @@ import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.cluster.Bridge;
 import org.apache.activemq.artemis.core.server.impl.QueueImpl;
+import org.apache.activemq.artemis.core.server.jfr.BridgeSendEvent;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.server.management.NotificationService;
 import org.apache.activemq.artemis.core.server.transformer.Transformer;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
 import org.apache.activemq.artemis.spi.core.protocol.EmbedMessageUtil;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
@@ -71,6 +74,7 @@ import org.apache.activemq.artemis.utils.FutureLatch;
 import org.apache.activemq.artemis.utils.ReusableLatch;
 import org.apache.activemq.artemis.utils.UUID;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -138,6 +142,13 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
 
    private boolean deliveringLargeMessage;
 
+   /**
+    * The messages waiting for the next batch to be sent, when the batch size is greater than 1
+    */
+   private List<BatchedMessage> batch = new ArrayList<>();
+
+   private boolean sendingBatch;
+
    private int reconnectAttemptsInUse;
 
    private int retryCount = 0;
@@ -462,6 +473,11 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
    public void sendAcknowledged(final Message message) {
       logger.trace("BridgeImpl::sendAcknowledged received confirmation for message {}", message);
 
+      if (isBatched()) {
+         // batched messages are acknowledged once their transaction is committed
+         return;
+      }
+
       if (active) {
          try {
 
@@ -572,6 +588,11 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
             return HandleStatus.BUSY;
          }
 
+         if (isBatched() && batch.size() >= configuration.getBatchSize()) {
+            logger.trace("Bridge {} is busy with a full batch", configuration.getName());
+            return HandleStatus.BUSY;
+         }
+
          logger.trace("Bridge {} is handling reference {} ", ref);
 
          ref.handled();
@@ -599,7 +620,9 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
             }
 
             final HandleStatus status;
-            if (message.isLargeMessage()) {
+            if (isBatched()) {
+               status = addToBatch(dest, ref, message, ref.getMessage());
+            } else if (message.isLargeMessage()) {
                deliveringLargeMessage = true;
                deliverLargeMessage(dest, ref, (LargeServerMessage) message, ref.getMessage());
                status = HandleStatus.HANDLED;
@@ -711,7 +734,11 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
          @Override
          public void run() {
             try {
+               final BridgeSendEvent event = beginSendEvent();
                producer.send(dest, message.toMessage());
+               if (event != null) {
+                  event.record(configuration.getName(), String.valueOf(dest), 1);
+               }
 
                // as soon as we are done sending the large message
                // we unset the delivery flag and we will call the deliveryAsync on the queue
@@ -731,6 +758,215 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
       });
    }
 
+   private boolean isBatched() {
+      return configuration.getBatchSize() > 1;
+   }
+
+   /**
+    * Called while holding the bridge lock, the batch is sent by the executor once the previous one is done so the
+    * next batch keeps filling up while a batch is on the wire.
+    */
+   private HandleStatus addToBatch(SimpleString dest, MessageReference ref, Message message, Message originalMessage) {
+      batch.add(new BatchedMessage(dest, ref, message, originalMessage));
+
+      if (!sendingBatch) {
+         sendingBatch = true;
+         executor.execute(this::sendBatch);
+      }
+
+      return HandleStatus.HANDLED;
+   }
+
+   /**
+    * Sends the pending messages as a single transaction and, once it is committed on the target, acknowledges their
+    * references as a single transaction too.
+    */
+   private void sendBatch() {
+      final List<BatchedMessage> messages;
+
+      synchronized (this) {
+         messages = batch;
+         batch = new ArrayList<>(configuration.getBatchSize());
+      }
+
+      MessageReference lastRef = null;
+      boolean failed = false;
+      boolean committed = false;
+
+      try {
+         if (active && !messages.isEmpty()) {
+            logger.trace("Bridge {} sending a batch of {} messages", configuration.getName(), messages.size());
+
+            final BridgeSendEvent event = beginSendEvent();
+
+            for (BatchedMessage batchedMessage : messages) {
+               lastRef = batchedMessage.ref;
+
+               if (batchedMessage.message.isLargeMessage()) {
+                  producer.send(batchedMessage.dest, ((LargeServerMessage) batchedMessage.message).toMessage());
+               } else {
+                  producer.send(batchedMessage.dest, batchedMessage.message);
+               }
+            }
+
+            session.commit();
+
+            committed = true;
+
+            if (event != null) {
+               event.record(configuration.getName(), null, messages.size());
+            }
+         }
+      } catch (final ActiveMQException e) {
+         ActiveMQServerLogger.LOGGER.bridgeUnableToSendMessage(lastRef, e);
+
+         failed = true;
+
+         // the references are still delivering, failing the connection cancels them back to the queue
+         connectionFailed(e, false);
+      } catch (Exception e) {
+         ActiveMQServerLogger.LOGGER.bridgeUnableToSendMessage(lastRef, e);
+
+         // the connection is fine: drop what was sent of the batch and return its references to the queue
+         try {
+            session.rollback();
+         } catch (Exception rollbackException) {
+            logger.debug(rollbackException.getMessage(), rollbackException);
+         }
+         cancelBatch(messages);
+      }
+
+      try {
+         if (committed) {
+            acknowledgeBatch(messages);
+         }
+      } catch (Exception e) {
+         ActiveMQServerLogger.LOGGER.bridgeFailedToAck(e);
+      } finally {
+         releaseBatch(messages);
+
+         List<BatchedMessage> cancelled = null;
+
+         synchronized (this) {
+            if (failed) {
+               // the messages batched in the meantime were cancelled along with the failed ones
+               cancelled = batch;
+               batch = new ArrayList<>(configuration.getBatchSize());
+            }
+
+            if (batch.isEmpty()) {
+               sendingBatch = false;
+            } else {
+               executor.execute(this::sendBatch);
+            }
+         }
+
+         if (cancelled != null) {
+            releaseBatch(cancelled);
+         }
+
+         queue.deliverAsync();
+      }
+   }
+
+   private void releaseBatch(List<BatchedMessage> messages) {
+      for (BatchedMessage batchedMessage : messages) {
+         if (!batchedMessage.message.isLargeMessage()) {
+            batchedMessage.originalMessage.usageDown();
+         }
+         pendingAcks.countDown();
+      }
+   }
+
+   /**
+    * Returns the references of a batch which failed to be sent to their queue, unless a connection failure already
+    * cancelled them.
+    */
+   private void cancelBatch(List<BatchedMessage> messages) {
+      final List<MessageReference> cancelled = new ArrayList<>(messages.size());
+
+      synchronized (refs) {
+         for (BatchedMessage batchedMessage : messages) {
+            if (refs.remove(batchedMessage.originalMessage.getMessageID()) != null) {
+               cancelled.add(batchedMessage.ref);
+            }
+         }
+      }
+
+      cancelRefs(cancelled);
+   }
+
+   private void cancelRefs(List<MessageReference> cancelled) {
+      final long timeBase = System.currentTimeMillis();
+
+      // in reverse order, as cancelRefs does, for them to go back to the head of the queue in their original order
+      for (int i = cancelled.size() - 1; i >= 0; i--) {
+         final MessageReference ref = cancelled.get(i);
+         try {
+            ref.getQueue().cancel(ref, timeBase);
+         } catch (Exception e) {
+            ActiveMQServerLogger.LOGGER.errorCancellingRefOnBridge(ref, e);
+         }
+      }
+   }
+
+   private void acknowledgeBatch(List<BatchedMessage> messages) throws Exception {
+      final List<MessageReference> acknowledged = new ArrayList<>(messages.size());
+
+      synchronized (refs) {
+         for (BatchedMessage batchedMessage : messages) {
+            // the reference is gone if the bridge failed and cancelled it in the meantime
+            if (refs.remove(batchedMessage.originalMessage.getMessageID()) != null) {
+               acknowledged.add(batchedMessage.ref);
+            }
+         }
+      }
+
+      if (acknowledged.isEmpty()) {
+         return;
+      }
+
+      final Transaction tx = new TransactionImpl(server.getStorageManager());
+
+      int enlisted = 0;
+
+      try {
+         for (MessageReference ref : acknowledged) {
+            ref.getQueue().acknowledge(tx, ref);
+            enlisted++;
+         }
+
+         tx.commit();
+      } catch (Exception e) {
+         // these references are no longer tracked by the bridge: the rollback returns the ones acknowledged within
+         // the transaction to their queue and the others are cancelled, so none of them is left delivering
+         try {
+            tx.rollback();
+         } catch (Exception rollbackException) {
+            logger.debug(rollbackException.getMessage(), rollbackException);
+         }
+         cancelRefs(acknowledged.subList(enlisted, acknowledged.size()));
+         throw e;
+      }
+
+      for (MessageReference ref : acknowledged) {
+         metrics.incrementMessagesAcknowledged();
+
+         if (server.hasBrokerBridgePlugins()) {
+            server.callBrokerBridgePlugins(plugin -> plugin.afterAcknowledgeBridge(this, ref));
+         }
+      }
+   }
+
+   private static BridgeSendEvent beginSendEvent() {
+      if (!FlightRecorderEvents.isEnabled()) {
+         return null;
+      }
+      final BridgeSendEvent event = new BridgeSendEvent();
+      event.begin();
+      return event;
+   }
+
    /**
     * @param ref
     * @param message
@@ -745,7 +981,11 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
       logger.trace("going to send message: {} from {}", message, queue);
 
       try {
+         final BridgeSendEvent event = beginSendEvent();
          producer.send(dest, message);
+         if (event != null) {
+            event.record(configuration.getName(), String.valueOf(dest), 1);
+         }
       } catch (final ActiveMQException e) {
          ActiveMQServerLogger.LOGGER.bridgeUnableToSendMessage(ref, e);
 
@@ -926,8 +1166,8 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
                   scheduleRetryConnect();
                   return;
                }
-               // Session is pre-acknowledge
-               session = (ClientSessionInternal) csf.createSession(configuration.getUser(), configuration.getPassword(), false, true, true, true, 1);
+               // Session is pre-acknowledge, batches are sent as a transaction
+               session = (ClientSessionInternal) csf.createSession(configuration.getUser(), configuration.getPassword(), false, !isBatched(), true, true, 1);
                session.getProducerCreditManager().setCallback(this);
                sessionConsumer = (ClientSessionInternal) csf.createSession(configuration.getUser(), configuration.getPassword(), false, true, true, true, 1);
             }
@@ -1087,6 +1327,24 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
       }
    }
 
+   private static final class BatchedMessage {
+
+      private final SimpleString dest;
+
+      private final MessageReference ref;
+
+      private final Message message;
+
+      private final Message originalMessage;
+
+      private BatchedMessage(SimpleString dest, MessageReference ref, Message message, Message originalMessage) {
+         this.dest = dest;
+         this.ref = ref;
+         this.message = message;
+         this.originalMessage = originalMessage;
+      }
+   }
+
    /**
     * just set deliveringLargeMessage to false
     */
@@ -1182,6 +1440,11 @@ public class BridgeImpl implements Bridge, SessionFailureListener, SendAcknowled
          try {
             queue.removeConsumer(BridgeImpl.this);
 
+            if (isBatched()) {
+               // the pending batch would only be sent after this runnable
+               sendBatch();
+            }
+
             if (!pendingAcks.await(60, TimeUnit.SECONDS)) {
                ActiveMQServerLogger.LOGGER.timedOutWaitingCompletions(BridgeImpl.this.toString(), pendingAcks.getCount());
             }
@@ -27,8 +27,10 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.DiscoveryGroupConfiguration;
 import org.apache.activemq.artemis.api.core.Pair;
@@ -65,6 +67,7 @@ import org.apache.activemq.artemis.core.server.cluster.ClusterControl;
 import org.apache.activemq.artemis.core.server.cluster.ClusterManager;
 import org.apache.activemq.artemis.core.server.cluster.ClusterManager.IncomingInterceptorLookingForExceptionMessage;
 import org.apache.activemq.artemis.core.server.cluster.MessageFlowRecord;
+import org.apache.activemq.artemis.core.server.cluster.QueueLoad;
 import org.apache.activemq.artemis.core.server.cluster.RemoteQueueBinding;
 import org.apache.activemq.artemis.core.server.group.impl.Proposal;
 import org.apache.activemq.artemis.core.server.group.impl.Response;
@@ -174,6 +177,10 @@ public final class ClusterConnectionImpl implements ClusterConnection, AfterConn
 
    private LiveNotifier liveNotifier = null;
 
+   private QueueLoadMonitor queueLoadMonitor;
+
+   private ScheduledFuture<?> queueLoadFuture;
+
    private final long clusterNotificationInterval;
 
    private final int clusterNotificationAttempts;
@@ -182,6 +189,7 @@ public final class ClusterConnectionImpl implements ClusterConnection, AfterConn
 
    private boolean splitBrainDetection;
 
+   private int bridgeBatchSize = ActiveMQDefaultConfiguration.getDefaultBridgeBatchSize();
 
    /** For tests only */
    public ServerLocatorInternal getServerLocator() {
@@ -454,6 +462,18 @@ public final class ClusterConnectionImpl implements ClusterConnection, AfterConn
          records.clear();
       }
 
+      synchronized (this) {
+         if (queueLoadFuture != null) {
+            queueLoadFuture.cancel(false);
+            queueLoadFuture = null;
+         }
+         if (queueLoadMonitor != null) {
+            final QueueLoadMonitor monitor = queueLoadMonitor;
+            queueLoadMonitor = null;
+            executor.execute(monitor::stop);
+         }
+      }
+
       if (managementService != null) {
          TypedProperties props = new TypedProperties();
          props.putSimpleStringProperty(new SimpleString("name"), name);
@@ -572,6 +592,18 @@ public final class ClusterConnectionImpl implements ClusterConnection, AfterConn
       return splitBrainDetection;
    }
 
+   public int getBridgeBatchSize() {
+      return bridgeBatchSize;
+   }
+
+   /**
+    * @param bridgeBatchSize the number of messages the bridges to the other nodes send and acknowledge as a single
+    *                        transaction, it only applies to the bridges created after it is set
+    */
+   public void setBridgeBatchSize(int bridgeBatchSize) {
+      this.bridgeBatchSize = bridgeBatchSize;
+   }
+
    @Override
    public void onConnection(ClientSessionFactoryInternal sf) {
       TopologyMember localMember = getLocalMember();
@@ -708,6 +740,29 @@ public final class ClusterConnectionImpl implements ClusterConnection, AfterConn
       }
       //we add as a listener after we have sent the cluster start notif as the listener may start sending notifs before
       addClusterTopologyListener(this);
+
+      if (messageLoadBalancingType == MessageLoadBalancingType.LOAD_AWARE && managementService != null) {
+         queueLoadMonitor = new QueueLoadMonitor(postOffice, managementService);
+         queueLoadFuture = scheduledExecutor.scheduleWithFixedDelay(() -> executor.execute(this::updateQueueLoads), QueueLoadMonitor.UPDATE_PERIOD, QueueLoadMonitor.UPDATE_PERIOD, TimeUnit.MILLISECONDS);
+      }
+   }
+
+   private void updateQueueLoads() {
+      final QueueLoadMonitor monitor = queueLoadMonitor;
+
+      if (!started || stopping || monitor == null) {
+         return;
+      }
+
+      final Set<Queue> storeAndForwardQueues = new HashSet<>();
+      for (MessageFlowRecord record : records.values()) {
+         final Bridge bridge = record.getBridge();
+         if (bridge != null && bridge.getQueue() != null) {
+            storeAndForwardQueues.add(bridge.getQueue());
+         }
+      }
+
+      monitor.update(storeAndForwardQueues);
    }
 
    @Override
@@ -895,6 +950,8 @@ public final class ClusterConnectionImpl implements ClusterConnection, AfterConn
 
       ClusterConnectionBridge bridge = new ClusterConnectionBridge(this, manager, targetLocator, serverLocator, initialConnectAttempts, reconnectAttempts, retryInterval, retryIntervalMultiplier, maxRetryInterval, nodeManager.getUUID(), record.getEventUID(), record.getTargetNodeID(), record.getQueueName(), record.getQueue(), executorFactory.getExecutor(), null, null, scheduledExecutor, null, useDuplicateDetection, clusterUser, clusterPassword, server, managementService.getManagementAddress(), managementService.getManagementNotificationAddress(), record, record.getConnector(), storeAndForwardPrefix, server.getStorageManager());
 
+      bridge.getConfiguration().setBatchSize(bridgeBatchSize);
+
       targetLocator.setIdentity("(Cluster-connection-bridge::" + bridge.toString() + "::" + this.toString() + ")");
 
       if (logger.isDebugEnabled()) {
@@ -1145,6 +1202,10 @@ public final class ClusterConnectionImpl implements ClusterConnection, AfterConn
                doSessionCreated(message);
                break;
             }
+            case QUEUE_LOAD: {
+               doQueueLoad(message);
+               break;
+            }
             default: {
                throw ActiveMQMessageBundle.BUNDLE.invalidType(ntype);
             }
@@ -1481,6 +1542,22 @@ public final class ClusterConnectionImpl implements ClusterConnection, AfterConn
          managementService.sendNotification(notification);
       }
 
+      private synchronized void doQueueLoad(final ClientMessage message) {
+         logger.trace("{} Queue load {}", ClusterConnectionImpl.this, message);
+
+         SimpleString clusterName = message.getSimpleStringProperty(ManagementHelper.HDR_CLUSTER_NAME);
+
+         RemoteQueueBinding binding = bindings.get(clusterName);
+
+         // the load of a queue can be received before its binding
+         if (binding == null) {
+            logger.debug("Ignoring the load of the unknown binding {}", clusterName);
+            return;
+         }
+
+         binding.setLoad(new QueueLoad(message.getLongProperty(ManagementHelper.HDR_MESSAGE_COUNT), message.getIntProperty(ManagementHelper.HDR_CONSUMER_COUNT), message.getDoubleProperty(ManagementHelper.HDR_CONSUMER_RATE)));
+      }
+
    }
 
    // for testing only
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.cluster.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
+import org.apache.activemq.artemis.api.core.management.ManagementHelper;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.postoffice.PostOffice;
+import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.cluster.QueueLoad;
+import org.apache.activemq.artemis.core.server.cluster.RemoteQueueBinding;
+import org.apache.activemq.artemis.core.server.management.ManagementService;
+import org.apache.activemq.artemis.core.server.management.Notification;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Publishes the load of the local queues which are also bound on other nodes and moves messages to the node with the
+ * lowest load when the local queue is overloaded, for {@link MessageLoadBalancingType#LOAD_AWARE} cluster connections.
+ * <p>
+ * The load of a queue is the time its consumers would take to consume its messages. A node starts moving messages
+ * when its load is {@link #START_RATIO} times the lowest load and stops when it gets below {@link #STOP_RATIO} times
+ * the lowest load, so that the nodes do not move the same messages back and forth.
+ */
+public class QueueLoadMonitor {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public static final long UPDATE_PERIOD = 1000;
+
+   public static final double START_RATIO = 2;
+
+   public static final double STOP_RATIO = 1.25;
+
+   /**
+    * The queues consumed in less than this time, in seconds, are never overloaded.
+    */
+   public static final double MIN_DRAIN_TIME = 1;
+
+   /**
+    * The relative change of the drain time or of the consumer rate of a queue for its load to be published again.
+    * It is well below the gap between {@link #START_RATIO} and {@link #STOP_RATIO}, so the other nodes do not miss a
+    * change of the overloaded state.
+    */
+   public static final double PUBLISH_THRESHOLD = 0.2;
+
+   /**
+    * A load which did not change enough is published again after this number of updates, for the nodes joining the
+    * cluster.
+    */
+   static final int MAX_SKIPPED_UPDATES = 30;
+
+   private final PostOffice postOffice;
+
+   private final ManagementService managementService;
+
+   private Map<Long, QueueState> states = new HashMap<>();
+
+   public QueueLoadMonitor(PostOffice postOffice, ManagementService managementService) {
+      this.postOffice = postOffice;
+      this.managementService = managementService;
+   }
+
+   /**
+    * @param storeAndForwardQueues the store and forward queues of the cluster connection, to select its remote bindings
+    */
+   public synchronized void update(Set<Queue> storeAndForwardQueues) {
+      final Map<SimpleString, List<RemoteQueueBinding>> remoteBindings = new HashMap<>();
+
+      postOffice.getAllBindings().forEach(binding -> {
+         if (binding instanceof RemoteQueueBinding && binding.isConnected() && storeAndForwardQueues.contains(binding.getBindable())) {
+            remoteBindings.computeIfAbsent(binding.getRoutingName(), routingName -> new ArrayList<>()).add((RemoteQueueBinding) binding);
+         }
+      });
+
+      final long now = System.nanoTime();
+      final Map<Long, QueueState> updatedStates = new HashMap<>();
+
+      remoteBindings.forEach((routingName, bindings) -> {
+         final Binding binding = postOffice.getBinding(routingName);
+
+         if (binding instanceof LocalQueueBinding) {
+            final LocalQueueBinding localBinding = (LocalQueueBinding) binding;
+            final Queue queue = localBinding.getQueue();
+
+            QueueState state = states.remove(queue.getID());
+            if (state == null) {
+               state = new QueueState(queue, now);
+            }
+            updatedStates.put(queue.getID(), state);
+
+            final QueueLoad load = state.sample(now);
+
+            publish(localBinding, state, load);
+
+            balance(state, load, bindings);
+         }
+      });
+
+      // the queues left are no longer bound on other nodes
+      stop();
+
+      states = updatedStates;
+   }
+
+   /**
+    * Cancels the redistributors added because of the load.
+    */
+   public synchronized void stop() {
+      states.values().forEach(QueueState::stopOffloading);
+      states.clear();
+   }
+
+   private void publish(LocalQueueBinding binding, QueueState state, QueueLoad load) {
+      if (!shouldPublish(state.publishedLoad, load) && ++state.skippedUpdates < MAX_SKIPPED_UPDATES) {
+         return;
+      }
+
+      state.publishedLoad = load;
+      state.skippedUpdates = 0;
+
+      final TypedProperties props = new TypedProperties();
+      props.putSimpleStringProperty(ManagementHelper.HDR_ADDRESS, binding.getAddress());
+      props.putSimpleStringProperty(ManagementHelper.HDR_CLUSTER_NAME, binding.getClusterName());
+      props.putSimpleStringProperty(ManagementHelper.HDR_ROUTING_NAME, binding.getRoutingName());
+      props.putIntProperty(ManagementHelper.HDR_DISTANCE, binding.getDistance());
+      props.putIntProperty(ManagementHelper.HDR_CONSUMER_COUNT, load.getConsumerCount());
+      props.putLongProperty(ManagementHelper.HDR_MESSAGE_COUNT, load.getMessageCount());
+      props.putDoubleProperty(ManagementHelper.HDR_CONSUMER_RATE, load.getConsumerRate());
+
+      try {
+         managementService.sendNotification(new Notification(null, CoreNotificationType.QUEUE_LOAD, props));
+      } catch (Exception e) {
+         logger.warn("Unable to publish the load of the queue {}", binding.getRoutingName(), e);
+      }
+   }
+
+   private void balance(QueueState state, QueueLoad load, List<RemoteQueueBinding> bindings) {
+      QueueLoad leastLoad = null;
+
+      for (RemoteQueueBinding binding : bindings) {
+         final QueueLoad remoteLoad = binding.getLoad();
+
+         if (remoteLoad != null && remoteLoad.getConsumerCount() > 0 && (leastLoad == null || remoteLoad.getDrainTime() < leastLoad.getDrainTime())) {
+            leastLoad = remoteLoad;
+         }
+      }
+
+      // without local consumers the regular redistribution applies
+      if (leastLoad == null || load.getConsumerCount() == 0 || !isOverloaded(state.offloading, load.getDrainTime(), leastLoad.getDrainTime())) {
+         state.stopOffloading();
+         return;
+      }
+
+      // moving half of the messages that would even the loads on every update lets the loads converge without overshooting
+      final long maxMessages = load.getMessagesToMove(leastLoad) / 2;
+
+      if (maxMessages > 0) {
+         logger.debug("Moving up to {} messages from the queue {} with {} to a node with {}", maxMessages, state.queue.getName(), load, leastLoad);
+
+         state.offloading = true;
+         state.queue.addLoadRedistributor(maxMessages);
+      } else {
+         state.stopOffloading();
+      }
+   }
+
+   /**
+    * A load is published when the other nodes could take a different decision with it: its consumers came or went,
+    * the queue got empty or not, its drain time crossed {@link #MIN_DRAIN_TIME}, or its drain time or consumer rate
+    * changed by more than {@link #PUBLISH_THRESHOLD}.
+    *
+    * @param published the load last published, null if none
+    * @param load the current load
+    */
+   static boolean shouldPublish(QueueLoad published, QueueLoad load) {
+      if (published == null) {
+         return true;
+      }
+      if (published.getConsumerCount() != load.getConsumerCount() || (published.getMessageCount() == 0) != (load.getMessageCount() == 0)) {
+         return true;
+      }
+      if ((published.getDrainTime() < MIN_DRAIN_TIME) != (load.getDrainTime() < MIN_DRAIN_TIME)) {
+         return true;
+      }
+      return changed(published.getDrainTime(), load.getDrainTime()) || changed(published.getEffectiveRate(), load.getEffectiveRate());
+   }
+
+   private static boolean changed(double published, double current) {
+      if (published == current) {
+         return false;
+      }
+      if (Double.isInfinite(published) || Double.isInfinite(current)) {
+         return true;
+      }
+      return Math.abs(current - published) > PUBLISH_THRESHOLD * Math.max(Math.abs(published), Math.abs(current));
+   }
+
+   /**
+    * @param offloading whether the queue is already moving messages to other nodes
+    * @param drainTime the drain time of the local queue
+    * @param leastDrainTime the lowest drain time of the queue on the other nodes
+    */
+   static boolean isOverloaded(boolean offloading, double drainTime, double leastDrainTime) {
+      if (drainTime < MIN_DRAIN_TIME) {
+         return false;
+      }
+
+      return drainTime > (offloading ? STOP_RATIO : START_RATIO) * leastDrainTime;
+   }
+
+   private static final class QueueState {
+
+      private final Queue queue;
+
+      private long lastAcknowledged;
+
+      private long lastRedistributed;
+
+      private long lastSampleTime;
+
+      private boolean offloading;
+
+      private QueueLoad publishedLoad;
+
+      private int skippedUpdates;
+
+      QueueState(Queue queue, long now) {
+         this.queue = queue;
+         this.lastAcknowledged = queue.getMessagesAcknowledged();
+         this.lastRedistributed = queue.getMessagesRedistributed();
+         this.lastSampleTime = now;
+      }
+
+      QueueLoad sample(long now) {
+         final long acknowledged = queue.getMessagesAcknowledged();
+         final long redistributed = queue.getMessagesRedistributed();
+         final double seconds = (now - lastSampleTime) / 1_000_000_000d;
+
+         // the messages moved to other nodes are acknowledged too, counting them would make an overloaded node look
+         // fast and the other nodes would move the same messages back
+         final long consumed = (acknowledged - lastAcknowledged) - (redistributed - lastRedistributed);
+         final double consumerRate = seconds > 0 ? Math.max(0, consumed) / seconds : 0;
+
+         lastAcknowledged = acknowledged;
+         lastRedistributed = redistributed;
+         lastSampleTime = now;
+
+         return new QueueLoad(queue.getMessageCount(), queue.getConsumerCount(), consumerRate);
+      }
+
+      void stopOffloading() {
+         if (offloading) {
+            offloading = false;
+
+            // a queue without consumers keeps its redistributor
+            if (queue.getConsumerCount() > 0) {
+               queue.cancelRedistributor();
+            }
+         }
+      }
+   }
+}
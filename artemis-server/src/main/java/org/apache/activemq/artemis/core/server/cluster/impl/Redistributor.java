@@ -35,8 +35,13 @@ import org.apache.activemq.artemis.utils.ReusableLatch;
 
 public class Redistributor implements Consumer {
 
+   public static final long UNLIMITED = -1;
+
    private boolean active;
 
+   // the messages left to redistribute, when redistributing because of the load
+   private long remainingMessages = UNLIMITED;
+
    private final StorageManager storageManager;
 
    private final PostOffice postOffice;
@@ -99,6 +104,13 @@ public class Redistributor implements Consumer {
       active = false;
    }
 
+   /**
+    * @param maxMessages the number of messages to redistribute before becoming busy or {@link #UNLIMITED}
+    */
+   public synchronized void setMaxMessages(long maxMessages) {
+      this.remainingMessages = maxMessages;
+   }
+
    @Override
    public synchronized HandleStatus handle(final MessageReference reference) throws Exception {
       if (!active) {
@@ -106,6 +118,8 @@ public class Redistributor implements Consumer {
       } else if (reference.getMessage().getGroupID() != null) {
          //we shouldn't redistribute with message groups return NO_MATCH so other messages can be delivered
          return HandleStatus.NO_MATCH;
+      } else if (remainingMessages == 0) {
+         return HandleStatus.BUSY;
       }
 
       final Transaction tx = new TransactionImpl(storageManager);
@@ -121,6 +135,10 @@ public class Redistributor implements Consumer {
 
       ackRedistribution(reference, tx);
 
+      if (remainingMessages > 0) {
+         remainingMessages--;
+      }
+
       return HandleStatus.HANDLED;
    }
 
@@ -135,6 +153,8 @@ public class Redistributor implements Consumer {
       queue.acknowledge(tx, reference);
 
       tx.commit();
+
+      queue.incrementMessagesRedistributed();
    }
 
    /* (non-Javadoc)
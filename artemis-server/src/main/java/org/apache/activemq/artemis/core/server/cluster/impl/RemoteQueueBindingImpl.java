@@ -31,6 +31,7 @@ import org.apache.activemq.artemis.core.postoffice.BindingType;
 import org.apache.activemq.artemis.core.server.Bindable;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.cluster.QueueLoad;
 import org.apache.activemq.artemis.core.server.cluster.RemoteQueueBinding;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +69,8 @@ public class RemoteQueueBindingImpl implements RemoteQueueBinding {
 
    private boolean connected = true;
 
+   private volatile QueueLoad load;
+
    public RemoteQueueBindingImpl(final long id,
                                  final SimpleString address,
                                  final SimpleString uniqueName,
@@ -247,6 +250,7 @@ public class RemoteQueueBindingImpl implements RemoteQueueBinding {
 
    @Override
    public void reset() {
+      load = null;
       consumerCount = 0;
       filterCounts.clear();
       filters.clear();
@@ -355,4 +359,14 @@ public class RemoteQueueBindingImpl implements RemoteQueueBinding {
    public MessageLoadBalancingType getMessageLoadBalancingType() {
       return messageLoadBalancingType;
    }
+
+   @Override
+   public QueueLoad getLoad() {
+      return load;
+   }
+
+   @Override
+   public void setLoad(QueueLoad load) {
+      this.load = load;
+   }
 }
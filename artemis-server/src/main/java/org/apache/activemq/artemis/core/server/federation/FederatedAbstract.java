@@ -103,7 +103,11 @@ public abstract class FederatedAbstract implements ActiveMQServerBasePlugin {
       return transformer;
    }
 
-   public synchronized void createRemoteConsumer(FederatedConsumerKey key, Transformer transformer, ClientSessionCallback callback) {
+   public void createRemoteConsumer(FederatedConsumerKey key, Transformer transformer, ClientSessionCallback callback) {
+      createRemoteConsumer(key, transformer, 1, callback);
+   }
+
+   public synchronized void createRemoteConsumer(FederatedConsumerKey key, Transformer transformer, int batchSize, ClientSessionCallback callback) {
       if (started) {
          FederatedQueueConsumer remoteQueueConsumer = remoteQueueConsumers.get(key);
          if (remoteQueueConsumer == null) {
@@ -115,7 +119,7 @@ public abstract class FederatedAbstract implements ActiveMQServerBasePlugin {
                   throw new IllegalStateException(t.getMessage(), t.getCause());
                }
             }
-            remoteQueueConsumer = new FederatedQueueConsumerImpl(federation, server, transformer, key, upstream, callback);
+            remoteQueueConsumer = new FederatedQueueConsumerImpl(federation, server, transformer, key, upstream, batchSize, callback);
             remoteQueueConsumer.start();
             remoteQueueConsumers.put(key, remoteQueueConsumer);
 
@@ -28,18 +28,41 @@ import org.apache.activemq.artemis.api.core.client.ClientConsumer;
 import org.apache.activemq.artemis.api.core.client.ClientMessage;
 import org.apache.activemq.artemis.api.core.client.ClientSession;
 import org.apache.activemq.artemis.api.core.client.SessionFailureListener;
+import org.apache.activemq.artemis.core.client.impl.ClientConsumerInternal;
 import org.apache.activemq.artemis.core.client.impl.ClientLargeMessageInternal;
 import org.apache.activemq.artemis.core.client.impl.ClientSessionFactoryInternal;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.LargeServerMessage;
+import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.transformer.Transformer;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
 
 import static org.apache.activemq.artemis.core.client.impl.LargeMessageControllerImpl.LargeData;
 
+/**
+ * Consumes the messages of an upstream queue and routes them locally.
+ * <p>
+ * With a batch size greater than one the messages are routed in a local transaction and acknowledged to the upstream
+ * in a single commit once the batch is full or no more messages are buffered, and the consumer pulls messages only
+ * while the local consumers have credit for them: when the local queue holds a batch of messages not delivered yet
+ * the upstream session is stopped until they are, so the messages wait on the upstream where other consumers can
+ * still take them.
+ */
 public class FederatedQueueConsumerImpl implements FederatedQueueConsumer, SessionFailureListener {
 
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   /**
+    * How often, in milliseconds, a consumer paused for a lack of local demand checks the local queue again.
+    */
+   public static final long DEMAND_CHECK_PERIOD = 100;
+
    private final ActiveMQServer server;
    private final Federation federation;
    private final FederatedConsumerKey key;
@@ -50,12 +73,21 @@ public class FederatedQueueConsumerImpl implements FederatedQueueConsumer, Sessi
    private final int intialConnectDelayMultiplier = 2;
    private final int intialConnectDelayMax = 30;
    private final ClientSessionCallback clientSessionCallback;
+   private final int batchSize;
 
    private ClientSessionFactoryInternal clientSessionFactory;
    private ClientSession clientSession;
    private ClientConsumer clientConsumer;
 
+   private Transaction batchTransaction;
+   private int batchCount;
+
    public FederatedQueueConsumerImpl(Federation federation, ActiveMQServer server, Transformer transformer, FederatedConsumerKey key, FederationUpstream upstream, ClientSessionCallback clientSessionCallback) {
+      this(federation, server, transformer, key, upstream, 1, clientSessionCallback);
+   }
+
+   public FederatedQueueConsumerImpl(Federation federation, ActiveMQServer server, Transformer transformer, FederatedConsumerKey key, FederationUpstream upstream, int batchSize, ClientSessionCallback clientSessionCallback) {
+      this.batchSize = batchSize;
       this.federation = federation;
       this.server = server;
       this.key = key;
@@ -115,7 +147,7 @@ public class FederatedQueueConsumerImpl implements FederatedQueueConsumer, Sessi
          if (clientConsumer == null) {
             synchronized (this) {
                this.clientSessionFactory = (ClientSessionFactoryInternal) upstream.getConnection().clientSessionFactory();
-               this.clientSession = clientSessionFactory.createSession(upstream.getUser(), upstream.getPassword(), false, true, true, clientSessionFactory.getServerLocator().isPreAcknowledge(), clientSessionFactory.getServerLocator().getAckBatchSize());
+               this.clientSession = clientSessionFactory.createSession(upstream.getUser(), upstream.getPassword(), false, true, !isBatched(), clientSessionFactory.getServerLocator().isPreAcknowledge(), clientSessionFactory.getServerLocator().getAckBatchSize());
                this.clientSession.addFailureListener(this);
                this.clientSession.addMetaData(FEDERATION_NAME, federation.getName().toString());
                this.clientSession.addMetaData(FEDERATION_UPSTREAM_NAME, upstream.getName().toString());
@@ -158,6 +190,7 @@ public class FederatedQueueConsumerImpl implements FederatedQueueConsumer, Sessi
    }
 
    private void disconnect() throws ActiveMQException {
+      rollbackBatch();
       if (clientConsumer != null) {
          clientConsumer.close();
       }
@@ -206,10 +239,18 @@ public class FederatedQueueConsumerImpl implements FederatedQueueConsumer, Sessi
 
          message = transformer == null ? message : transformer.transform(message);
          if (message != null) {
-            server.getPostOffice().route(message, true);
+            if (isBatched()) {
+               server.getPostOffice().route(message, getBatchTransaction(), true);
+            } else {
+               server.getPostOffice().route(message, true);
+            }
          }
          clientMessage.acknowledge();
 
+         if (isBatched()) {
+            completeBatch();
+         }
+
          if (server.hasBrokerFederationPlugins()) {
             try {
                server.callBrokerFederationPlugins(plugin -> plugin.afterFederatedQueueConsumerMessageHandled(this, clientMessage));
@@ -221,12 +262,87 @@ public class FederatedQueueConsumerImpl implements FederatedQueueConsumer, Sessi
       } catch (Exception e) {
          ActiveMQServerLogger.LOGGER.federationDispatchError(clientMessage.toString(), e);
          try {
+            rollbackBatch();
             clientSession.rollback();
          } catch (ActiveMQException e1) {
          }
       }
    }
 
+   private boolean isBatched() {
+      return batchSize > 1;
+   }
+
+   private synchronized Transaction getBatchTransaction() {
+      if (batchTransaction == null) {
+         batchTransaction = new TransactionImpl(server.getStorageManager());
+      }
+      return batchTransaction;
+   }
+
+   private void completeBatch() throws Exception {
+      final ClientSession session = clientSession;
+
+      synchronized (this) {
+         if (++batchCount < batchSize && ((ClientConsumerInternal) clientConsumer).getBufferSize() > 0) {
+            return;
+         }
+
+         if (batchTransaction != null) {
+            batchTransaction.commit();
+            batchTransaction = null;
+         }
+         batchCount = 0;
+      }
+
+      // the messages are acknowledged to the upstream once they are routed locally
+      session.commit();
+
+      if (!hasLocalDemand()) {
+         session.stop();
+         scheduleDemandCheck(session);
+      }
+   }
+
+   private synchronized void rollbackBatch() {
+      if (batchTransaction != null) {
+         try {
+            batchTransaction.rollback();
+         } catch (Exception e) {
+            logger.warn("Unable to roll back the federated messages of the queue {}", key.getQueueName(), e);
+         }
+         batchTransaction = null;
+      }
+      batchCount = 0;
+   }
+
+   /**
+    * @return whether the local consumers have credit for a batch of messages, that is the local queue holds less than a
+    * batch of messages they were not delivered yet
+    */
+   private boolean hasLocalDemand() {
+      final Queue queue = server.locateQueue(key.getQueueName());
+      return queue == null || queue.getMessageCount() - queue.getDeliveringCount() < batchSize;
+   }
+
+   private void scheduleDemandCheck(ClientSession session) {
+      scheduledExecutorService.schedule(() -> {
+         // a session replaced on reconnect is started by connect
+         if (session.isClosed()) {
+            return;
+         }
+         if (hasLocalDemand()) {
+            try {
+               session.start();
+            } catch (ActiveMQException e) {
+               logger.warn("Unable to resume federating the queue {}", key.getQueueName(), e);
+            }
+         } else {
+            scheduleDemandCheck(session);
+         }
+      }, DEMAND_CHECK_PERIOD, TimeUnit.MILLISECONDS);
+   }
+
    @Override
    public void connectionFailed(ActiveMQException exception, boolean failedOver) {
       connectionFailed(exception, failedOver, null);
@@ -234,6 +350,7 @@ public class FederatedQueueConsumerImpl implements FederatedQueueConsumer, Sessi
 
    @Override
    public void connectionFailed(ActiveMQException exception, boolean failedOver, String scaleDownTargetNodeID) {
+      rollbackBatch();
       try {
          clientSessionFactory.cleanup();
          clientSessionFactory.close();
@@ -16,8 +16,11 @@
  */
 package org.apache.activemq.artemis.core.server.group;
 
+import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
+import org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType;
 import org.apache.activemq.artemis.core.server.group.impl.GroupBinding;
 import org.apache.activemq.artemis.core.server.group.impl.Proposal;
 import org.apache.activemq.artemis.core.server.group.impl.Response;
@@ -44,6 +47,20 @@ public interface GroupingHandler extends NotificationListener, ActiveMQComponent
 
    Response getProposal(SimpleString fullID, boolean touchTime);
 
+   /**
+    * Chooses the binding of a group without any proposal, for handlers where every node is able to work out the
+    * binding of a group on its own.
+    *
+    * @param fullID            the group id concatenated with the routing name
+    * @param message           the message being routed
+    * @param bindings          the bindings of the routing name
+    * @param loadBalancingType the load balancing type the message is routed with
+    * @return the chosen binding, or null for the group to go through {@link #getProposal} and {@link #propose}
+    */
+   default Binding chooseBinding(SimpleString fullID, Message message, Binding[] bindings, MessageLoadBalancingType loadBalancingType) {
+      return null;
+   }
+
    void awaitBindings() throws Exception;
 
    /**
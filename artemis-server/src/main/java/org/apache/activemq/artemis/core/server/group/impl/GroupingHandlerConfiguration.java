@@ -109,7 +109,7 @@ public final class GroupingHandlerConfiguration implements Serializable {
    }
 
    public enum TYPE {
-      LOCAL("LOCAL"), REMOTE("REMOTE");
+      LOCAL("LOCAL"), REMOTE("REMOTE"), CONSISTENT_HASH("CONSISTENT_HASH");
 
       private String type;
 
@@ -0,0 +1,596 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.group.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
+import org.apache.activemq.artemis.api.core.management.ManagementHelper;
+import org.apache.activemq.artemis.core.persistence.OperationContext;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.postoffice.BindingType;
+import org.apache.activemq.artemis.core.postoffice.impl.BindingsImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType;
+import org.apache.activemq.artemis.core.server.management.ManagementService;
+import org.apache.activemq.artemis.core.server.management.Notification;
+import org.apache.activemq.artemis.utils.ConcurrentUtil;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A grouping handler where every node works out the binding of a group on its own, as the binding whose cluster name
+ * hashes the highest with the group id (rendezvous hashing). As the cluster name of a binding is the same on every
+ * node no proposal is sent around and no node coordinates the others.
+ * <p>
+ * When the bindings change, only the groups hashing to a new binding would move. A group that was already routed to
+ * another binding is kept there with an override, which is stored and sent to the other nodes so they route the
+ * group the same way until it times out or its binding goes away. The overrides are created as soon as a binding is
+ * added, before the other nodes route any message of the group to the new binding.
+ * <p>
+ * Proposals from nodes using a local or remote grouping handler are answered with the binding known for the group,
+ * or accepted and kept as an override.
+ */
+public final class HashGroupingHandler extends GroupHandlingAbstract {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   /**
+    * The groups routed by this node and the overrides.
+    */
+   private final ConcurrentMap<SimpleString, HashedGroupBinding> groups = new ConcurrentHashMap<>();
+
+   /**
+    * Incremented whenever a binding is added or removed, for the groups to be checked against their hashed binding
+    * only once per change.
+    */
+   private final AtomicLong bindingsVersion = new AtomicLong();
+
+   private final SimpleString name;
+
+   private final StorageManager storageManager;
+
+   private final long timeout;
+
+   private final long groupTimeout;
+
+   private final ScheduledExecutorService scheduledExecutor;
+
+   private final long reaperPeriod;
+
+   private boolean started;
+
+   private ScheduledFuture reaperFuture;
+
+   private final Lock bindingsLock = new ReentrantLock();
+
+   private final Condition awaitCondition = bindingsLock.newCondition();
+
+   /**
+    * The cluster names of the bindings added since the server started, until {@link #awaitBindings()} is done.
+    */
+   private Set<SimpleString> addedBindings = new HashSet<>();
+
+   /**
+    * The cluster names of the overrides loaded from the journal whose bindings are still awaited.
+    */
+   private Set<SimpleString> expectedBindings;
+
+   public HashGroupingHandler(final ExecutorFactory executorFactory,
+                              final ScheduledExecutorService scheduledExecutor,
+                              final ManagementService managementService,
+                              final SimpleString name,
+                              final SimpleString address,
+                              final StorageManager storageManager,
+                              final long timeout,
+                              final long groupTimeout,
+                              final long reaperPeriod) {
+      super(executorFactory.getExecutor(), managementService, address);
+      this.scheduledExecutor = scheduledExecutor;
+      this.name = name;
+      this.storageManager = storageManager;
+      this.timeout = timeout;
+      this.groupTimeout = groupTimeout;
+      this.reaperPeriod = reaperPeriod;
+   }
+
+   @Override
+   public SimpleString getName() {
+      return name;
+   }
+
+   @Override
+   public Binding chooseBinding(final SimpleString fullID,
+                                final Message message,
+                                final Binding[] bindings,
+                                final MessageLoadBalancingType loadBalancingType) {
+      final long version = bindingsVersion.get();
+
+      HashedGroupBinding group = groups.get(fullID);
+
+      if (group != null) {
+         Binding binding = locateBinding(group.getClusterName(), bindings);
+         if (binding != null && !BindingsImpl.matchBinding(message, binding, loadBalancingType)) {
+            // e.g. a remote binding while a mirror target routes with OFF, the group stays there for other messages
+            return hashBinding(fullID, message, bindings, loadBalancingType);
+         } else if (binding != null) {
+            group.use();
+            if (group.checkedVersion != version) {
+               group.checkedVersion = version;
+               if (!group.override && binding != hashBinding(fullID, message, bindings, loadBalancingType)) {
+                  // the bindings changed while the group was in use, keeping it where it is
+                  override(group);
+               }
+            }
+            return binding;
+         } else if (!group.override) {
+            groups.remove(fullID, group);
+         } else {
+            // the binding of the override is gone without having been removed, e.g. its node didn't come back
+            // before awaitBindings gave up: the proposal path removes the override before routing the group again
+            return null;
+         }
+      }
+
+      Binding binding = hashBinding(fullID, message, bindings, loadBalancingType);
+
+      if (binding != null) {
+         group = groups.putIfAbsent(fullID, new HashedGroupBinding(0, fullID, binding.getClusterName(), version, false));
+         if (group != null) {
+            Binding existing = locateBinding(group.getClusterName(), bindings);
+            if (existing != null && BindingsImpl.matchBinding(message, existing, loadBalancingType)) {
+               return existing;
+            }
+         }
+      }
+
+      return binding;
+   }
+
+   /**
+    * @return the binding matching the message whose cluster name hashes the highest with the group id, among the
+    * bindings {@link BindingsImpl#matchBinding} allows for the load balancing type
+    */
+   static Binding hashBinding(final SimpleString fullID,
+                              final Message message,
+                              final Binding[] bindings,
+                              final MessageLoadBalancingType loadBalancingType) {
+      final int groupHash = fullID.hashCode();
+
+      Binding chosen = null;
+      long chosenWeight = 0;
+
+      for (Binding binding : bindings) {
+         if (!BindingsImpl.matchBinding(message, binding, loadBalancingType)) {
+            continue;
+         }
+
+         final long weight = weight(groupHash, binding.getClusterName());
+         if (chosen == null || weight > chosenWeight || weight == chosenWeight && binding.getClusterName().compareTo(chosen.getClusterName()) < 0) {
+            chosen = binding;
+            chosenWeight = weight;
+         }
+      }
+
+      return chosen;
+   }
+
+   static long weight(final int groupHash, final SimpleString clusterName) {
+      // SplitMix64 finalizer over both hashes
+      long z = ((long) groupHash << 32 | clusterName.hashCode() & 0xFFFFFFFFL) + 0x9E3779B97F4A7C15L;
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+   }
+
+   private static Binding locateBinding(final SimpleString clusterName, final Binding[] bindings) {
+      for (Binding binding : bindings) {
+         if (binding.getClusterName().equals(clusterName)) {
+            return binding;
+         }
+      }
+      return null;
+   }
+
+   private void override(final HashedGroupBinding group) {
+      if (addOverride(group.getGroupId(), group.getClusterName()) != null) {
+         try {
+            sendProposalResponse(new Response(group.getGroupId(), group.getClusterName()), 0);
+         } catch (Exception e) {
+            ActiveMQServerLogger.LOGGER.errorHandlingMessage(e);
+         }
+      }
+   }
+
+   /**
+    * @return the new override, or null if the group already had one
+    */
+   private HashedGroupBinding addOverride(final SimpleString groupId, final SimpleString clusterName) {
+      final HashedGroupBinding override = new HashedGroupBinding(storageManager.generateID(), groupId, clusterName, bindingsVersion.get(), true);
+
+      final HashedGroupBinding previous = groups.put(groupId, override);
+      if (previous != null && previous.override) {
+         if (previous.getClusterName().equals(clusterName)) {
+            groups.replace(groupId, override, previous);
+            return null;
+         }
+         deleteGroupBinding(previous);
+      }
+
+      OperationContext originalCtx = storageManager.getContext();
+      try {
+         // the waitCompletion cannot be done inside an ordered executor or we would starve when the thread pool is full
+         storageManager.setContext(storageManager.newSingleThreadContext());
+         storageManager.addGrouping(override);
+      } catch (Exception e) {
+         logger.warn("Unable to store the override of group {}", groupId, e);
+      } finally {
+         storageManager.setContext(originalCtx);
+      }
+
+      logger.debug("Group {} overridden to {}", groupId, clusterName);
+
+      return override;
+   }
+
+   private void deleteGroupBinding(final GroupBinding groupBinding) {
+      try {
+         long txID = storageManager.generateID();
+         storageManager.deleteGrouping(txID, groupBinding);
+         storageManager.commitBindings(txID);
+      } catch (Exception e) {
+         ActiveMQServerLogger.LOGGER.unableToDeleteGroupBindings(groupBinding.getGroupId(), e);
+      }
+   }
+
+   @Override
+   public Response propose(final Proposal proposal) throws Exception {
+      // only reached when no binding was chosen, there is no one else to agree with
+      if (proposal.getClusterName() == null) {
+         return getProposal(proposal.getGroupId(), true);
+      }
+      return new Response(proposal.getGroupId(), proposal.getClusterName());
+   }
+
+   @Override
+   public void resendPending() throws Exception {
+   }
+
+   /**
+    * An override sent by another node.
+    */
+   @Override
+   public void proposed(final Response response) throws Exception {
+      addOverride(response.getGroupId(), response.getChosenClusterName());
+   }
+
+   @Override
+   public void sendProposalResponse(final Response response, final int distance) throws Exception {
+      TypedProperties props = new TypedProperties();
+      props.putSimpleStringProperty(ManagementHelper.HDR_PROPOSAL_GROUP_ID, response.getGroupId());
+      props.putSimpleStringProperty(ManagementHelper.HDR_PROPOSAL_VALUE, response.getClusterName());
+      props.putSimpleStringProperty(ManagementHelper.HDR_PROPOSAL_ALT_VALUE, response.getAlternativeClusterName());
+      props.putIntProperty(ManagementHelper.HDR_BINDING_TYPE, BindingType.LOCAL_QUEUE_INDEX);
+      props.putSimpleStringProperty(ManagementHelper.HDR_ADDRESS, address);
+      props.putIntProperty(ManagementHelper.HDR_DISTANCE, distance);
+      Notification notification = new Notification(null, CoreNotificationType.PROPOSAL_RESPONSE, props);
+      managementService.sendNotification(notification);
+   }
+
+   /**
+    * A proposal from a node using a local or remote grouping handler.
+    */
+   @Override
+   public Response receive(final Proposal proposal, final int distance) throws Exception {
+      logger.trace("received proposal {}", proposal);
+
+      final HashedGroupBinding group = groups.get(proposal.getGroupId());
+
+      if (group != null) {
+         group.use();
+         if (proposal.getClusterName() == null || group.getClusterName().equals(proposal.getClusterName())) {
+            return new Response(proposal.getGroupId(), group.getClusterName());
+         }
+         // the group is already routed somewhere else
+         return new Response(proposal.getGroupId(), proposal.getClusterName(), group.getClusterName());
+      }
+
+      if (proposal.getClusterName() == null) {
+         return null;
+      }
+
+      // the other nodes of this kind learn about it from the response
+      addOverride(proposal.getGroupId(), proposal.getClusterName());
+      return new Response(proposal.getGroupId(), proposal.getClusterName());
+   }
+
+   /**
+    * An override loaded from the journal.
+    */
+   @Override
+   public void addGroupBinding(final GroupBinding groupBinding) {
+      groups.put(groupBinding.getGroupId(), new HashedGroupBinding(groupBinding.getId(), groupBinding.getGroupId(), groupBinding.getClusterName(), -1, true));
+   }
+
+   @Override
+   public Response getProposal(final SimpleString fullID, final boolean touchTime) {
+      GroupBinding group = groups.get(fullID);
+
+      if (group != null) {
+         if (touchTime) {
+            group.use();
+         }
+         return new Response(fullID, group.getClusterName());
+      } else {
+         return null;
+      }
+   }
+
+   @Override
+   public void awaitBindings() throws Exception {
+      bindingsLock.lock();
+      try {
+         final Set<SimpleString> expected = new HashSet<>();
+         for (HashedGroupBinding group : groups.values()) {
+            if (group.override) {
+               expected.add(group.getClusterName());
+            }
+         }
+         expected.removeAll(addedBindings);
+
+         if (!expected.isEmpty()) {
+            expectedBindings = expected;
+            logger.debug("Waiting for the bindings of {} group overrides before starting the server. timeout={} milliseconds", expected.size(), timeout);
+            // signaled by onNotification once every binding was added
+            if (!ConcurrentUtil.await(awaitCondition, timeout)) {
+               ActiveMQServerLogger.LOGGER.remoteGroupCoordinatorsNotStarted();
+            }
+         }
+      } finally {
+         addedBindings = null;
+         expectedBindings = null;
+         bindingsLock.unlock();
+      }
+   }
+
+   @Override
+   public void forceRemove(final SimpleString groupid, final SimpleString clusterName) throws Exception {
+      // every node removes its groups when the binding is removed
+      remove(groupid, clusterName);
+   }
+
+   @Override
+   public void remove(final SimpleString groupid, final SimpleString clusterName) throws Exception {
+      HashedGroupBinding group = groups.get(groupid);
+      if (group != null && group.getClusterName().equals(clusterName) && groups.remove(groupid, group)) {
+         if (group.override) {
+            deleteGroupBinding(group);
+         }
+         fireUnproposed(groupid);
+      }
+   }
+
+   @Override
+   public void remove(final SimpleString groupid, final SimpleString clusterName, final int distance) throws Exception {
+      remove(groupid, clusterName);
+   }
+
+   @Override
+   public void onNotification(final Notification notification) {
+      if (!(notification.getType() instanceof CoreNotificationType))
+         return;
+
+      if (notification.getType() == CoreNotificationType.BINDING_ADDED) {
+         bindingsVersion.incrementAndGet();
+         SimpleString clusterName = notification.getProperties().getSimpleStringProperty(ManagementHelper.HDR_CLUSTER_NAME);
+         SimpleString routingName = notification.getProperties().getSimpleStringProperty(ManagementHelper.HDR_ROUTING_NAME);
+         if (clusterName != null) {
+            bindingAdded(clusterName);
+            if (routingName != null) {
+               executor.execute(() -> overrideMovedGroups(clusterName, routingName));
+            }
+         }
+      } else if (notification.getType() == CoreNotificationType.BINDING_REMOVED) {
+         bindingsVersion.incrementAndGet();
+         SimpleString clusterName = notification.getProperties().getSimpleStringProperty(ManagementHelper.HDR_CLUSTER_NAME);
+         if (clusterName != null) {
+            executor.execute(() -> removeGrouping(clusterName));
+         }
+      }
+   }
+
+   private void bindingAdded(final SimpleString clusterName) {
+      bindingsLock.lock();
+      try {
+         if (addedBindings != null) {
+            addedBindings.add(clusterName);
+         }
+         if (expectedBindings != null && expectedBindings.remove(clusterName) && expectedBindings.isEmpty()) {
+            awaitCondition.signal();
+         }
+      } finally {
+         bindingsLock.unlock();
+      }
+   }
+
+   /**
+    * Keeps the groups that would now hash to the added binding where they are, so that the other nodes don't route
+    * them to the added binding before this node used them again.
+    */
+   private void overrideMovedGroups(final SimpleString clusterName, final SimpleString routingName) {
+      // the groups are kept per routing name, as the group id concatenated with it
+      final String suffix = "." + routingName;
+
+      for (HashedGroupBinding group : groups.values()) {
+         if (group.override || group.getClusterName().equals(clusterName) || !group.getGroupId().toString().endsWith(suffix)) {
+            continue;
+         }
+         final int groupHash = group.getGroupId().hashCode();
+         final long addedWeight = weight(groupHash, clusterName);
+         final long currentWeight = weight(groupHash, group.getClusterName());
+         if (addedWeight > currentWeight || addedWeight == currentWeight && clusterName.compareTo(group.getClusterName()) < 0) {
+            override(group);
+         }
+      }
+   }
+
+   private void removeGrouping(final SimpleString clusterName) {
+      long txID = -1;
+
+      for (HashedGroupBinding group : groups.values()) {
+         if (group.getClusterName().equals(clusterName) && groups.remove(group.getGroupId(), group)) {
+            fireUnproposed(group.getGroupId());
+
+            if (group.override) {
+               try {
+                  if (txID < 0) {
+                     txID = storageManager.generateID();
+                  }
+                  storageManager.deleteGrouping(txID, group);
+               } catch (Exception e) {
+                  ActiveMQServerLogger.LOGGER.unableToDeleteGroupBindings(group.getGroupId(), e);
+               }
+            }
+         }
+      }
+
+      if (txID >= 0) {
+         try {
+            storageManager.commitBindings(txID);
+         } catch (Exception e) {
+            ActiveMQServerLogger.LOGGER.unableToDeleteGroupBindings(SimpleString.toSimpleString("TX:" + txID), e);
+         }
+      }
+   }
+
+   @Override
+   public synchronized void start() throws Exception {
+      if (started)
+         return;
+
+      if (reaperPeriod > 0 && groupTimeout > 0) {
+         if (reaperFuture != null) {
+            reaperFuture.cancel(true);
+            reaperFuture = null;
+         }
+
+         reaperFuture = scheduledExecutor.scheduleAtFixedRate(() -> executor.execute(this::reap), reaperPeriod, reaperPeriod, TimeUnit.MILLISECONDS);
+      }
+      started = true;
+   }
+
+   @Override
+   public synchronized void stop() throws Exception {
+      started = false;
+      if (reaperFuture != null) {
+         reaperFuture.cancel(true);
+         reaperFuture = null;
+      }
+   }
+
+   @Override
+   public boolean isStarted() {
+      return started;
+   }
+
+   int getGroupCount() {
+      return groups.size();
+   }
+
+   boolean isOverridden(final SimpleString fullID) {
+      HashedGroupBinding group = groups.get(fullID);
+      return group != null && group.override;
+   }
+
+   void reap() {
+      // The reaper should be finished case the PostOffice is gone
+      if (!isStarted()) {
+         return;
+      }
+
+      long txID = -1;
+
+      int expiredOverrides = 0;
+
+      for (HashedGroupBinding group : groups.values()) {
+         if ((group.getTimeUsed() + groupTimeout) < System.currentTimeMillis() && groups.remove(group.getGroupId(), group)) {
+            fireUnproposed(group.getGroupId());
+
+            if (group.override) {
+               expiredOverrides++;
+               try {
+                  if (txID < 0) {
+                     txID = storageManager.generateID();
+                  }
+                  storageManager.deleteGrouping(txID, group);
+
+                  if (expiredOverrides >= 1000) {
+                     storageManager.commitBindings(txID);
+                     expiredOverrides = 0;
+                     txID = -1;
+                  }
+               } catch (Exception e) {
+                  ActiveMQServerLogger.LOGGER.unableToDeleteGroupBindings(group.getGroupId(), e);
+               }
+            }
+         }
+      }
+
+      if (txID >= 0) {
+         try {
+            storageManager.commitBindings(txID);
+         } catch (Exception e) {
+            ActiveMQServerLogger.LOGGER.unableToDeleteGroupBindings(SimpleString.toSimpleString("TX:" + txID), e);
+         }
+      }
+   }
+
+   private static final class HashedGroupBinding extends GroupBinding {
+
+      /**
+       * The bindings version this group was last checked against its hashed binding.
+       */
+      volatile long checkedVersion;
+
+      /**
+       * Whether this group is an override, stored in the journal.
+       */
+      final boolean override;
+
+      HashedGroupBinding(final long id, final SimpleString groupId, final SimpleString clusterName, final long checkedVersion, final boolean override) {
+         super(id, groupId, clusterName);
+         this.checkedVersion = checkedVersion;
+         this.override = override;
+      }
+   }
+}
@@ -152,6 +152,7 @@ import org.apache.activemq.artemis.core.server.files.FileMoveManager;
 import org.apache.activemq.artemis.core.server.files.FileStoreMonitor;
 import org.apache.activemq.artemis.core.server.group.GroupingHandler;
 import org.apache.activemq.artemis.core.server.group.impl.GroupingHandlerConfiguration;
+import org.apache.activemq.artemis.core.server.group.impl.HashGroupingHandler;
 import org.apache.activemq.artemis.core.server.group.impl.LocalGroupingHandler;
 import org.apache.activemq.artemis.core.server.group.impl.RemoteGroupingHandler;
 import org.apache.activemq.artemis.core.server.impl.jdbc.JdbcNodeManager;
@@ -187,6 +188,7 @@ import org.apache.activemq.artemis.core.settings.impl.ResourceLimitSettings;
 import org.apache.activemq.artemis.core.transaction.ResourceManager;
 import org.apache.activemq.artemis.core.transaction.impl.ResourceManagerImpl;
 import org.apache.activemq.artemis.core.version.Version;
+import org.apache.activemq.artemis.logs.AsyncAuditLogger;
 import org.apache.activemq.artemis.logs.AuditLogger;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManagerFactory;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
@@ -210,6 +212,7 @@ import org.apache.activemq.artemis.utils.critical.CriticalAnalyzerImpl;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzerPolicy;
 import org.apache.activemq.artemis.utils.critical.CriticalComponent;
 import org.apache.activemq.artemis.utils.critical.EmptyCriticalAnalyzer;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -360,6 +363,8 @@ public class ActiveMQServerImpl implements ActiveMQServer {
 
    private CriticalAnalyzer analyzer;
 
+   private volatile AsyncAuditLogger asyncAuditLogger;
+
    // This is a callback to be called right before an activation is created
    private Runnable afterActivationCreated;
 
@@ -621,6 +626,17 @@ public class ActiveMQServerImpl implements ActiveMQServer {
 
       initializeCriticalAnalyzer();
 
+      if (configuration.isFlightRecorderEnabled()) {
+         // JVM wide, a broker not configured with it must not turn it off for the others
+         if (FlightRecorderEvents.isAvailable()) {
+            FlightRecorderEvents.setEnabled(true);
+         } else {
+            ActiveMQServerLogger.LOGGER.flightRecorderUnavailable();
+         }
+      }
+
+      startAsyncAuditLogger();
+
       if (configuration.getJournalRetentionLocation() != null) {
          this.replayManager = new ReplayManager(this);
       } else {
@@ -736,6 +752,7 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       analyzer.clear();
 
       analyzer.setCheckTime(configuration.getCriticalAnalyzerCheckPeriod(), TimeUnit.MILLISECONDS).setTimeout(configuration.getCriticalAnalyzerTimeout(), TimeUnit.MILLISECONDS);
+      analyzer.setBudgetCheckTime(configuration.getCriticalAnalyzerBudgetCheckPeriod(), TimeUnit.MILLISECONDS);
 
       if (configuration.isCriticalAnalyzer()) {
          analyzer.start();
@@ -1342,6 +1359,8 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       stopComponent(resourceManager);
       stopComponent(postOffice);
 
+      stopAsyncAuditLogger();
+
       if (scheduledPool != null && !scheduledPoolSupplied) {
          // we just interrupt all running tasks, these are supposed to be pings and the like.
          scheduledPool.shutdownNow();
@@ -1666,6 +1685,11 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       return metricsManager;
    }
 
+   @Override
+   public AsyncAuditLogger getAsyncAuditLogger() {
+      return asyncAuditLogger;
+   }
+
    @Override
    public Version getVersion() {
       return version;
@@ -2997,6 +3021,25 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       }
    }
 
+   private void startAsyncAuditLogger() throws Exception {
+      if (configuration.isAuditLogAsync() && AuditLogger.isMessageLoggingEnabled()) {
+         asyncAuditLogger = new AsyncAuditLogger(configuration.getAuditLogRingSize(), configuration.getAuditLogOverflowPolicy(), configuration.getAuditLogFileLocation());
+         asyncAuditLogger.start();
+      }
+   }
+
+   private void stopAsyncAuditLogger() {
+      final AsyncAuditLogger asyncAuditLogger = this.asyncAuditLogger;
+      if (asyncAuditLogger != null) {
+         this.asyncAuditLogger = null;
+         try {
+            asyncAuditLogger.stop();
+         } catch (Throwable t) {
+            ActiveMQServerLogger.LOGGER.errorStoppingComponent(asyncAuditLogger.getClass().getName(), t);
+         }
+      }
+   }
+
    private void callDeActiveCallbacks() {
       for (ActivateCallback callback : activateCallbacks) {
          try {
@@ -3183,7 +3226,7 @@ public class ActiveMQServerImpl implements ActiveMQServer {
        * are not required to be included in the OSGi bundle and the Micrometer jars apparently don't support OSGi.
        */
       if (configuration.getMetricsConfiguration() != null && configuration.getMetricsConfiguration().getPlugin() != null) {
-         metricsManager = new MetricsManager(configuration.getName(), configuration.getMetricsConfiguration(), addressSettingsRepository);
+         metricsManager = new MetricsManager(configuration.getName(), configuration.getMetricsConfiguration(), addressSettingsRepository, configuration.getWildcardConfiguration().getAnyWordsString());
       }
 
       postOffice = new PostOfficeImpl(this, storageManager, pagingManager, queueFactory, managementService, configuration.getMessageExpiryScanPeriod(), configuration.getAddressQueueScanPeriod(), configuration.getWildcardConfiguration(), configuration.getIDCacheSize(), configuration.isPersistIDCache(), addressSettingsRepository);
@@ -4193,6 +4236,8 @@ public class ActiveMQServerImpl implements ActiveMQServer {
          GroupingHandler groupingHandler1;
          if (config.getType() == GroupingHandlerConfiguration.TYPE.LOCAL) {
             groupingHandler1 = new LocalGroupingHandler(executorFactory, scheduledPool, managementService, config.getName(), config.getAddress(), getStorageManager(), config.getTimeout(), config.getGroupTimeout(), config.getReaperPeriod());
+         } else if (config.getType() == GroupingHandlerConfiguration.TYPE.CONSISTENT_HASH) {
+            groupingHandler1 = new HashGroupingHandler(executorFactory, scheduledPool, managementService, config.getName(), config.getAddress(), getStorageManager(), config.getTimeout(), config.getGroupTimeout(), config.getReaperPeriod());
          } else {
             groupingHandler1 = new RemoteGroupingHandler(executorFactory, managementService, config.getName(), config.getAddress(), config.getTimeout(), config.getGroupTimeout());
          }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+/**
+ * Grades a consumer by the time between the delivery and the acknowledgement of its messages and by the growth of its
+ * in-flight (delivered but not acknowledged) messages, for the latency based slow consumer detection.
+ * <p>
+ * The acknowledgements only accumulate the latency since the previous sample: every {@link #sample} turns it into an
+ * exponentially weighted moving average, so a single burst doesn't make a consumer lagging. A consumer whose
+ * in-flight messages grow on {@link #GROWTH_SAMPLES} consecutive samples is lagging too, even if it acknowledges the
+ * few messages it gets quickly enough.
+ * <p>
+ * A lagging consumer is throttled to the in-flight messages it would acknowledge within the latency threshold at its
+ * current acknowledgement rate, so the queue hands the rest of the messages to the other consumers. It is graded
+ * {@link Grade#SLOW} once it has been lagging for more than {@link #ESCALATION_SAMPLES} samples and goes back to
+ * {@link Grade#OK} only when its average latency is below half of the threshold and its backlog stops growing.
+ */
+public final class ConsumerLatencyTracker {
+
+   public enum Grade {
+      OK, LAGGING, SLOW
+   }
+
+   // the weight of the last sample in the moving averages
+   static final double ALPHA = 0.3;
+
+   static final int GROWTH_SAMPLES = 3;
+
+   static final int ESCALATION_SAMPLES = 3;
+
+   // accumulated by the acknowledgements between two samples
+   private long latencySum;
+
+   private long acknowledged;
+
+   private long lastSample;
+
+   private int lastInFlight;
+
+   private boolean sampled;
+
+   private double latencyAverage;
+
+   private double growthAverage;
+
+   private int growingSamples;
+
+   private int laggingSamples;
+
+   private Grade grade = Grade.OK;
+
+   // the in-flight messages a throttled consumer is allowed, 0 when it isn't throttled
+   private volatile int window;
+
+   public ConsumerLatencyTracker(final long nanoTime) {
+      this.lastSample = nanoTime;
+   }
+
+   /**
+    * @param latency the nanoseconds between the delivery and the acknowledgement of a message
+    */
+   public synchronized void acknowledged(final long latency) {
+      latencySum += latency;
+      acknowledged++;
+   }
+
+   /**
+    * @param nanoTime          the {@link System#nanoTime()} of this sample
+    * @param threshold         the latency threshold, in nanoseconds
+    * @param inFlight          the messages delivered to the consumer and not acknowledged yet
+    * @param oldestDeliveredAt the {@link System#nanoTime()} of the delivery of the oldest in-flight message,
+    *                          {@code 0} if unknown
+    * @return the grade of the consumer after this sample
+    */
+   public synchronized Grade sample(final long nanoTime, final long threshold, final int inFlight, final long oldestDeliveredAt) {
+      final long elapsed = Math.max(1, nanoTime - lastSample);
+      final double latency;
+      if (acknowledged > 0) {
+         latency = (double) latencySum / acknowledged;
+      } else if (inFlight > 0 && oldestDeliveredAt != 0) {
+         // nothing acknowledged: the latency is at least as long as the oldest message has been waiting
+         latency = nanoTime - oldestDeliveredAt;
+      } else {
+         latency = 0;
+      }
+      final int growth = inFlight - lastInFlight;
+
+      if (sampled) {
+         latencyAverage = ALPHA * latency + (1 - ALPHA) * latencyAverage;
+         growthAverage = ALPHA * growth + (1 - ALPHA) * growthAverage;
+      } else {
+         latencyAverage = latency;
+         growthAverage = growth;
+         sampled = true;
+      }
+      growingSamples = growth > 0 ? growingSamples + 1 : 0;
+
+      if (latencyAverage > threshold || growingSamples >= GROWTH_SAMPLES) {
+         laggingSamples++;
+         grade = laggingSamples > ESCALATION_SAMPLES ? Grade.SLOW : Grade.LAGGING;
+         // Little's law: the in-flight messages acknowledged within the threshold at the current rate
+         window = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (long) ((double) acknowledged * threshold / elapsed)));
+      } else if (latencyAverage < threshold / 2.0 && growth <= 0) {
+         laggingSamples = 0;
+         grade = Grade.OK;
+         window = 0;
+      }
+
+      latencySum = 0;
+      acknowledged = 0;
+      lastInFlight = inFlight;
+      lastSample = nanoTime;
+      return grade;
+   }
+
+   public synchronized Grade getGrade() {
+      return grade;
+   }
+
+   /**
+    * @return the moving average of the delivery to acknowledgement latency, in nanoseconds
+    */
+   public synchronized double getLatencyAverage() {
+      return latencyAverage;
+   }
+
+   /**
+    * @return the moving average of the in-flight messages added between two samples
+    */
+   public synchronized double getGrowthAverage() {
+      return growthAverage;
+   }
+
+   /**
+    * @return the in-flight messages allowed to a throttled consumer, {@code 0} if it isn't throttled
+    */
+   public int getWindow() {
+      return window;
+   }
+
+   /**
+    * Stops throttling the consumer and forgets its history.
+    */
+   public synchronized void reset() {
+      latencySum = 0;
+      acknowledged = 0;
+      sampled = false;
+      latencyAverage = 0;
+      growthAverage = 0;
+      growingSamples = 0;
+      laggingSamples = 0;
+      grade = Grade.OK;
+      window = 0;
+   }
+}
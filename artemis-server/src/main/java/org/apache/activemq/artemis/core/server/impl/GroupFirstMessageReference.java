@@ -203,6 +203,16 @@ public class GroupFirstMessageReference implements MessageReference {
       return messageReference.isInDelivery();
    }
 
+   @Override
+   public long getLatencyTimestamp() {
+      return messageReference.getLatencyTimestamp();
+   }
+
+   @Override
+   public void setLatencyTimestamp(long nanoTime) {
+      messageReference.setLatencyTimestamp(nanoTime);
+   }
+
    @Override
    public void setAlreadyAcked() {
       messageReference.setAlreadyAcked();
@@ -66,6 +66,8 @@ public class MessageReferenceImpl extends LinkedListImpl.Node<MessageReferenceIm
 
    private volatile long scheduledDeliveryTime;
 
+   private long latencyTimestamp;
+
    private final Message message;
 
    private final Queue queue;
@@ -85,7 +87,7 @@ public class MessageReferenceImpl extends LinkedListImpl.Node<MessageReferenceIm
 
    // This value has been computed by using https://github.com/openjdk/jol
    // on HotSpot 64-bit VM COOPS, 8-byte alignment
-   private static final int memoryOffset = 72;
+   private static final int memoryOffset = 80;
 
 
    public MessageReferenceImpl() {
@@ -240,6 +242,16 @@ public class MessageReferenceImpl extends LinkedListImpl.Node<MessageReferenceIm
       return deliveredDirectly;
    }
 
+   @Override
+   public long getLatencyTimestamp() {
+      return latencyTimestamp;
+   }
+
+   @Override
+   public void setLatencyTimestamp(long nanoTime) {
+      this.latencyTimestamp = nanoTime;
+   }
+
    @Override
    public void setAlreadyAcked() {
       alreadyAcked = true;
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+/**
+ * A phi accrual failure detector: rather than a boolean, it gives a suspicion level (phi) of the monitored process
+ * being failed, based on how late its next heartbeat is compared to the distribution of the last heartbeat intervals.
+ * <p>
+ * A phi of 1 means there is a 10% chance for the suspicion to be wrong, 2 means 1%, 3 means 0.1% and so on.
+ * The intervals are assumed to be normally distributed and the standard deviation is never lower than a given
+ * minimum, so that very regular heartbeats don't make the detector too sensitive to a small delay.
+ */
+final class PhiAccrualFailureDetector {
+
+   private final long minStdDeviation;
+
+   private final long[] intervals;
+
+   private int size;
+
+   private int next;
+
+   private double sum;
+
+   private double squaredSum;
+
+   private long lastHeartbeat = -1;
+
+   /**
+    * @param expectedInterval the expected heartbeat interval, in any time unit, used until actual intervals are known
+    * @param minStdDeviation  the minimum standard deviation of the intervals, in the same time unit
+    * @param maxSamples       how many of the last intervals the distribution is computed on
+    */
+   PhiAccrualFailureDetector(long expectedInterval, long minStdDeviation, int maxSamples) {
+      if (expectedInterval <= 0) {
+         throw new IllegalArgumentException("expectedInterval must be > 0");
+      }
+      if (maxSamples < 2) {
+         throw new IllegalArgumentException("maxSamples must be >= 2");
+      }
+      this.minStdDeviation = minStdDeviation;
+      this.intervals = new long[maxSamples];
+      // a first estimate with the expected interval as mean and a quarter of it as standard deviation
+      final long deviation = expectedInterval / 4;
+      addInterval(expectedInterval - deviation);
+      addInterval(expectedInterval + deviation);
+   }
+
+   /**
+    * Records a heartbeat received at the given time.
+    */
+   synchronized void heartbeat(long now) {
+      if (lastHeartbeat >= 0) {
+         addInterval(now - lastHeartbeat);
+      }
+      lastHeartbeat = now;
+   }
+
+   /**
+    * @return the suspicion level at the given time, 0 until the first heartbeat has been received
+    */
+   synchronized double phi(long now) {
+      if (lastHeartbeat < 0) {
+         return 0;
+      }
+      final double mean = sum / size;
+      final double stdDeviation = Math.max(Math.sqrt(Math.max(squaredSum / size - mean * mean, 0)), minStdDeviation);
+      return phi(now - lastHeartbeat, mean, stdDeviation);
+   }
+
+   /**
+    * @return {@code -log10} of the probability of a heartbeat to arrive later than {@code elapsed}, using a logistic
+    * approximation of the normal cumulative distribution function
+    */
+   static double phi(long elapsed, double mean, double stdDeviation) {
+      final double y = (elapsed - mean) / stdDeviation;
+      final double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+      if (elapsed > mean) {
+         return -Math.log10(e / (1.0 + e));
+      } else {
+         return -Math.log10(1.0 - 1.0 / (1.0 + e));
+      }
+   }
+
+   private void addInterval(long interval) {
+      if (size == intervals.length) {
+         final long oldest = intervals[next];
+         sum -= oldest;
+         squaredSum -= (double) oldest * oldest;
+      } else {
+         size++;
+      }
+      intervals[next] = interval;
+      next = (next + 1) % intervals.length;
+      sum += interval;
+      squaredSum += (double) interval * interval;
+   }
+}
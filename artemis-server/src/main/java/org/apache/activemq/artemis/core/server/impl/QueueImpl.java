@@ -42,6 +42,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
 
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -89,6 +90,7 @@ import org.apache.activemq.artemis.core.server.ServerConsumer;
 import org.apache.activemq.artemis.core.server.ServerSession;
 import org.apache.activemq.artemis.core.server.cluster.RemoteQueueBinding;
 import org.apache.activemq.artemis.core.server.cluster.impl.Redistributor;
+import org.apache.activemq.artemis.core.server.jfr.QueueDeliverEvent;
 import org.apache.activemq.artemis.core.server.management.ManagementService;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
@@ -101,6 +103,7 @@ import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract
 import org.apache.activemq.artemis.core.transaction.TransactionPropertyIndexes;
 import org.apache.activemq.artemis.core.transaction.impl.BindingsTransactionImpl;
 import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.apache.activemq.artemis.logs.AsyncAuditLogger;
 import org.apache.activemq.artemis.logs.AuditLogger;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
@@ -110,6 +113,7 @@ import org.apache.activemq.artemis.utils.ReferenceCounter;
 import org.apache.activemq.artemis.utils.ReusableLatch;
 import org.apache.activemq.artemis.utils.SizeAwareMetric;
 import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
+import org.apache.activemq.artemis.utils.actors.ProcessorBase;
 import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet;
 import org.apache.activemq.artemis.utils.collections.NodeStore;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
@@ -118,6 +122,7 @@ import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
 import org.apache.activemq.artemis.utils.critical.CriticalComponentImpl;
 import org.apache.activemq.artemis.utils.critical.EmptyCriticalAnalyzer;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -139,6 +144,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    protected static final int CRITICAL_CONSUMER = 3;
    protected static final int CRITICAL_CHECK_DEPAGE = 4;
 
+   // latency budgets in milliseconds, beyond which the critical analyzer records a stall when checking budgets
+   protected static final long CRITICAL_BUDGET_ADD = 500;
+   protected static final long CRITICAL_BUDGET_DELIVER = 1000;
+
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
    private static final AtomicIntegerFieldUpdater<QueueImpl> dispatchingUpdater = AtomicIntegerFieldUpdater.newUpdater(QueueImpl.class, "dispatching");
    private static final AtomicLongFieldUpdater<QueueImpl> dispatchStartTimeUpdater = AtomicLongFieldUpdater.newUpdater(QueueImpl.class, "dispatchStartTime");
@@ -228,6 +237,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private final AtomicLong messagesAcknowledged = new AtomicLong(0);
 
+   private final AtomicLong messagesRedistributed = new AtomicLong(0);
+
    private final AtomicLong ackAttempts = new AtomicLong(0);
 
    private final AtomicLong messagesExpired = new AtomicLong(0);
@@ -236,6 +247,14 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private final AtomicLong messagesReplaced = new AtomicLong(0);
 
+   // null unless the latency metrics are enabled for this queue
+   private volatile LongConsumer timeInQueueRecorder;
+
+   private volatile LongConsumer deliveryToAckRecorder;
+
+   // whether the consumers are judged by their delivery to acknowledgement latency
+   private volatile boolean consumerLatencyTracking;
+
    private boolean paused;
 
    private long pauseStatusRecord = -1;
@@ -633,6 +652,11 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                     final ActiveMQServer server,
                     final QueueFactory factory) {
       super(server == null ? EmptyCriticalAnalyzer.getInstance() : server.getCriticalAnalyzer(), CRITICAL_PATHS);
+      setBudget(CRITICAL_PATH_ADD_TAIL, CRITICAL_BUDGET_ADD, TimeUnit.MILLISECONDS);
+      setBudget(CRITICAL_PATH_ADD_HEAD, CRITICAL_BUDGET_ADD, TimeUnit.MILLISECONDS);
+      setBudget(CRITICAL_DELIVER, CRITICAL_BUDGET_DELIVER, TimeUnit.MILLISECONDS);
+      setBudget(CRITICAL_CONSUMER, CRITICAL_BUDGET_ADD, TimeUnit.MILLISECONDS);
+      setBudget(CRITICAL_CHECK_DEPAGE, CRITICAL_BUDGET_DELIVER, TimeUnit.MILLISECONDS);
 
       this.id = queueConfiguration.getId();
 
@@ -1216,6 +1240,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             return;
          }
 
+         stampEnqueued(ref);
+
          if (direct && supportsDirectDeliver && !directDeliver && System.currentTimeMillis() - lastDirectDeliveryCheck > CHECK_QUEUE_SIZE_PERIOD) {
             logger.trace("Checking to re-enable direct deliver on queue {}", name);
 
@@ -1330,6 +1356,11 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       addressSettingsRepositoryListener.close();
    }
 
+   @Override
+   public long getPendingTasks() {
+      return executor instanceof ProcessorBase ? ((ProcessorBase<?>) executor).remaining() : -1;
+   }
+
    @Override
    public ArtemisExecutor getExecutor() {
       if (pageSubscription != null && pageSubscription.isPaging()) {
@@ -1513,6 +1544,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       clearRedistributorFuture();
 
       if (redistributor != null) {
+         if (getConsumerCount() == 0 || hasUnMatchedPending) {
+            // it could have been added because of the load, with a limit
+            redistributor.consumer.setMaxMessages(Redistributor.UNLIMITED);
+         }
          // Just prompt delivery
          deliverAsync();
          return;
@@ -1529,6 +1564,23 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   @Override
+   public synchronized void addLoadRedistributor(final long maxMessages) {
+      clearRedistributorFuture();
+
+      if (redistributor == null) {
+         logger.trace("QueueImpl::Adding load redistributor on queue {}", this);
+
+         redistributor = new ConsumerHolder(new Redistributor(this, storageManager, postOffice));
+         redistributor.consumer.start();
+         consumers.add(redistributor);
+      }
+
+      redistributor.consumer.setMaxMessages(maxMessages);
+
+      deliverAsync();
+   }
+
    private void clearRedistributorFuture() {
       ScheduledFuture<?> future = redistributorFuture;
       redistributorFuture = null;
@@ -1908,6 +1960,11 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    private void auditLogAck(Subject subject, String remoteAddress, MessageReference ref, Transaction tx) {
+      final Message message = ref.getMessage();
+      final AsyncAuditLogger asyncAuditLogger = server == null ? null : server.getAsyncAuditLogger();
+      if (asyncAuditLogger != null && asyncAuditLogger.offerAcknowledge(subject, remoteAddress, getName(), message.getMessageID(), message.getAddressSimpleString(), message.isDurable(), tx == null ? -1 : tx.getID())) {
+         return;
+      }
       AuditLogger.coreAcknowledgeMessage(subject, remoteAddress, getName().toString(), ref.getMessage().toString(), tx == null ? null : tx.toString());
    }
 
@@ -2069,6 +2126,16 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       return messagesAcknowledged.get();
    }
 
+   @Override
+   public long getMessagesRedistributed() {
+      return messagesRedistributed.get();
+   }
+
+   @Override
+   public void incrementMessagesRedistributed() {
+      messagesRedistributed.incrementAndGet();
+   }
+
    @Override
    public long getAcknowledgeAttempts() {
       return ackAttempts.get();
@@ -2878,6 +2945,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       queueMemorySize.addSize(ref.getMessageMemoryEstimate());
       pendingMetrics.incrementMetrics(ref);
       refAdded(ref);
+      stampEnqueued(ref);
 
       int priority = getPriority(ref);
 
@@ -2897,6 +2965,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       queueMemorySize.addSize(ref.getMessageMemoryEstimate());
       pendingMetrics.incrementMetrics(ref);
       refAdded(ref);
+      stampEnqueued(ref);
 
       int priority = getPriority(ref);
 
@@ -3086,6 +3155,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                      removeMessageReference(holder, ref);
                   }
                   ref.setInDelivery(true);
+                  stampDelivered(ref);
                   handledconsumer = consumer;
                   handled++;
                   consumers.reset();
@@ -3805,6 +3875,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
                deliveriesInTransit.countUp();
                reference.setInDelivery(true);
+               stampDelivered(reference);
                proceedDeliver(consumer, reference);
                consumers.reset();
                return true;
@@ -3952,6 +4023,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       try {
          if (delivering) {
             queue.decDelivering(ref);
+            if (reason == AckReason.NORMAL) {
+               queue.recordAcknowledged(ref);
+            }
          }
          if (nonDestructive && reason == AckReason.NORMAL) {
             // this is done to tell the difference between actual acks and just a closed consumer in the non-destructive use-case
@@ -4235,7 +4309,17 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             try (ArtemisCloseable metric = measureCritical(CRITICAL_DELIVER)) {
                deliverLock.lock();
                try {
+                  final QueueDeliverEvent event;
+                  if (FlightRecorderEvents.isEnabled()) {
+                     event = new QueueDeliverEvent();
+                     event.begin();
+                  } else {
+                     event = null;
+                  }
                   needCheckDepage = deliver();
+                  if (event != null) {
+                     event.record(name.toString(), messageReferences.size(), getConsumerCount());
+                  }
                } finally {
                   deliverLock.unlock();
                }
@@ -4447,6 +4531,42 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   @Override
+   public void setLatencyRecorders(LongConsumer timeInQueue, LongConsumer deliveryToAck) {
+      timeInQueueRecorder = timeInQueue;
+      deliveryToAckRecorder = deliveryToAck;
+   }
+
+   private void stampEnqueued(MessageReference ref) {
+      if (timeInQueueRecorder != null) {
+         ref.setLatencyTimestamp(System.nanoTime());
+      }
+   }
+
+   private void stampDelivered(MessageReference ref) {
+      final LongConsumer timeInQueue = timeInQueueRecorder;
+      final LongConsumer deliveryToAck = deliveryToAckRecorder;
+      final boolean stampDelivery = deliveryToAck != null || consumerLatencyTracking;
+      if (timeInQueue == null && !stampDelivery) {
+         return;
+      }
+      final long now = System.nanoTime();
+      final long enqueued = ref.getLatencyTimestamp();
+      if (timeInQueue != null && enqueued != 0) {
+         timeInQueue.accept(now - enqueued);
+      }
+      ref.setLatencyTimestamp(stampDelivery ? now : 0);
+   }
+
+   private void recordAcknowledged(MessageReference ref) {
+      final LongConsumer deliveryToAck = deliveryToAckRecorder;
+      final long delivered = ref.getLatencyTimestamp();
+      if (deliveryToAck != null && delivered != 0) {
+         deliveryToAck.accept(System.nanoTime() - delivered);
+         ref.setLatencyTimestamp(0);
+      }
+   }
+
    public void incDelivering(MessageReference ref) {
       deliveringMetrics.incrementMetrics(ref);
    }
@@ -4473,7 +4593,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    private void configureSlowConsumerReaper() {
-      if (addressSettings == null || addressSettings.getSlowConsumerThreshold() == AddressSettings.DEFAULT_SLOW_CONSUMER_THRESHOLD) {
+      if (addressSettings == null || addressSettings.getSlowConsumerThreshold() == AddressSettings.DEFAULT_SLOW_CONSUMER_THRESHOLD && addressSettings.getSlowConsumerLatencyThreshold() == AddressSettings.DEFAULT_SLOW_CONSUMER_LATENCY_THRESHOLD) {
          if (slowConsumerReaperFuture != null) {
             slowConsumerReaperFuture.cancel(false);
             slowConsumerReaperFuture = null;
@@ -4481,10 +4601,11 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
             logger.debug("Cancelled slow-consumer-reaper thread for queue \"{}\"", name);
          }
+         stopConsumerLatencyTracking();
       } else {
          if (slowConsumerReaperRunnable == null) {
             scheduleSlowConsumerReaper(addressSettings);
-         } else if (slowConsumerReaperRunnable.checkPeriod != addressSettings.getSlowConsumerCheckPeriod() || slowConsumerReaperRunnable.thresholdInMsgPerSecond != addressSettings.getSlowConsumerThreshold() || !slowConsumerReaperRunnable.policy.equals(addressSettings.getSlowConsumerPolicy())) {
+         } else if (slowConsumerReaperRunnable.checkPeriod != addressSettings.getSlowConsumerCheckPeriod() || slowConsumerReaperRunnable.thresholdInMsgPerSecond != addressSettings.getSlowConsumerThreshold() || slowConsumerReaperRunnable.latencyThreshold != addressSettings.getSlowConsumerLatencyThreshold() || !slowConsumerReaperRunnable.policy.equals(addressSettings.getSlowConsumerPolicy())) {
             if (slowConsumerReaperFuture != null) {
                slowConsumerReaperFuture.cancel(false);
                slowConsumerReaperFuture = null;
@@ -4495,13 +4616,30 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    void scheduleSlowConsumerReaper(AddressSettings settings) {
-      slowConsumerReaperRunnable = new SlowConsumerReaperRunnable(settings.getSlowConsumerCheckPeriod(), settings.getSlowConsumerThreshold(), settings.getSlowConsumerThresholdMeasurementUnit(), settings.getSlowConsumerPolicy());
+      slowConsumerReaperRunnable = new SlowConsumerReaperRunnable(settings.getSlowConsumerCheckPeriod(), settings.getSlowConsumerThreshold(), settings.getSlowConsumerThresholdMeasurementUnit(), settings.getSlowConsumerLatencyThreshold(), settings.getSlowConsumerPolicy());
+
+      if (slowConsumerReaperRunnable.latencyThreshold == AddressSettings.DEFAULT_SLOW_CONSUMER_LATENCY_THRESHOLD) {
+         stopConsumerLatencyTracking();
+      } else {
+         consumerLatencyTracking = true;
+      }
 
       slowConsumerReaperFuture = scheduledExecutor.scheduleWithFixedDelay(slowConsumerReaperRunnable, settings.getSlowConsumerCheckPeriod(), settings.getSlowConsumerCheckPeriod(), TimeUnit.SECONDS);
 
       if (logger.isDebugEnabled()) {
-         logger.debug("Scheduled slow-consumer-reaper thread for queue \"{}\"; slow-consumer-check-period={}, slow-consumer-threshold={}, slow-consumer-threshold-measurement-unit={}, slow-consumer-policy={}",
-                      name, settings.getSlowConsumerCheckPeriod(), settings.getSlowConsumerThreshold(), settings.getSlowConsumerThresholdMeasurementUnit(), settings.getSlowConsumerPolicy());
+         logger.debug("Scheduled slow-consumer-reaper thread for queue \"{}\"; slow-consumer-check-period={}, slow-consumer-threshold={}, slow-consumer-threshold-measurement-unit={}, slow-consumer-latency-threshold={}, slow-consumer-policy={}",
+                      name, settings.getSlowConsumerCheckPeriod(), settings.getSlowConsumerThreshold(), settings.getSlowConsumerThresholdMeasurementUnit(), settings.getSlowConsumerLatencyThreshold(), settings.getSlowConsumerPolicy());
+      }
+   }
+
+   private void stopConsumerLatencyTracking() {
+      if (consumerLatencyTracking) {
+         consumerLatencyTracking = false;
+         for (ConsumerHolder consumerHolder : consumers) {
+            if (consumerHolder.consumer() instanceof ServerConsumerImpl) {
+               ((ServerConsumerImpl) consumerHolder.consumer()).resetLatency();
+            }
+         }
       }
    }
 
@@ -4579,16 +4717,57 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       private final SlowConsumerPolicy policy;
       private final float thresholdInMsgPerSecond;
+      private final boolean rateChecked;
+      private final long latencyThreshold;
       private final long checkPeriod;
 
-      private SlowConsumerReaperRunnable(long checkPeriod, float slowConsumerThreshold, SlowConsumerThresholdMeasurementUnit unit, SlowConsumerPolicy policy) {
+      private SlowConsumerReaperRunnable(long checkPeriod, float slowConsumerThreshold, SlowConsumerThresholdMeasurementUnit unit, long latencyThreshold, SlowConsumerPolicy policy) {
          this.checkPeriod = checkPeriod;
          this.policy = policy;
          this.thresholdInMsgPerSecond = slowConsumerThreshold / unit.getValue();
+         this.rateChecked = slowConsumerThreshold != AddressSettings.DEFAULT_SLOW_CONSUMER_THRESHOLD;
+         this.latencyThreshold = latencyThreshold;
       }
 
       @Override
       public void run() {
+         if (latencyThreshold != AddressSettings.DEFAULT_SLOW_CONSUMER_LATENCY_THRESHOLD) {
+            checkLatency();
+         }
+         if (rateChecked) {
+            checkRate();
+         }
+      }
+
+      private void checkLatency() {
+         final long threshold = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
+         for (ConsumerHolder consumerHolder : consumers) {
+            Consumer consumer = consumerHolder.consumer();
+            if (consumer instanceof ServerConsumerImpl) {
+               ServerConsumerImpl serverConsumer = (ServerConsumerImpl) consumer;
+               ConsumerLatencyTracker tracker = serverConsumer.getLatencyTracker();
+               ConsumerLatencyTracker.Grade previous = tracker.getGrade();
+               ConsumerLatencyTracker.Grade grade = serverConsumer.sampleLatency(threshold);
+               long latency = TimeUnit.NANOSECONDS.toMillis((long) tracker.getLatencyAverage());
+
+               if (grade == ConsumerLatencyTracker.Grade.LAGGING && previous == ConsumerLatencyTracker.Grade.OK) {
+                  ActiveMQServerLogger.LOGGER.consumerLagging(serverConsumer.getSessionID(), serverConsumer.getID(), getName().toString(), latency, tracker.getGrowthAverage(), tracker.getWindow());
+               } else if (grade == ConsumerLatencyTracker.Grade.SLOW && previous != ConsumerLatencyTracker.Grade.SLOW) {
+                  serverConsumer.fireSlowConsumer();
+
+                  RemotingConnection connection = getConnection(serverConsumer);
+                  if (connection != null) {
+                     ActiveMQServerLogger.LOGGER.slowConsumerLatencyDetected(serverConsumer.getSessionID(), serverConsumer.getID(), getName().toString(), connection.getRemoteAddress(), latencyThreshold, latency);
+                     applyPolicy(serverConsumer, connection);
+                  }
+               } else if (grade == ConsumerLatencyTracker.Grade.OK && previous != ConsumerLatencyTracker.Grade.OK) {
+                  logger.debug("Consumer {} on queue {} isn't lagging anymore, average latency {} ms", serverConsumer, name, latency);
+               }
+            }
+         }
+      }
+
+      private void checkRate() {
          final float queueRate = getRate();
          final long queueMessages = getMessageCount();
 
@@ -4615,53 +4794,62 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                ServerConsumerImpl serverConsumer = (ServerConsumerImpl) consumer;
                float consumerRate = serverConsumer.getRate();
                if (consumerRate < thresholdInMsgPerSecond || (consumerRate == 0 && thresholdInMsgPerSecond == 0)) {
-                  RemotingConnection connection = null;
-                  ActiveMQServer server = ((PostOfficeImpl) postOffice).getServer();
-                  RemotingService remotingService = server.getRemotingService();
-
-                  for (RemotingConnection potentialConnection : remotingService.getConnections()) {
-                     if (potentialConnection.getID().toString().equals(serverConsumer.getConnectionID())) {
-                        connection = potentialConnection;
-                     }
-                  }
+                  RemotingConnection connection = getConnection(serverConsumer);
 
                   serverConsumer.fireSlowConsumer();
 
                   if (connection != null) {
                      ActiveMQServerLogger.LOGGER.slowConsumerDetected(serverConsumer.getSessionID(), serverConsumer.getID(), getName().toString(), connection.getRemoteAddress(),
                                                                       thresholdInMsgPerSecond, consumerRate);
-                     if (policy.equals(SlowConsumerPolicy.KILL)) {
-                        connection.killMessage(server.getNodeID());
-                        remotingService.removeConnection(connection.getID());
-                        connection.fail(ActiveMQMessageBundle.BUNDLE.connectionsClosedByManagement(connection.getRemoteAddress()));
-                     } else if (policy.equals(SlowConsumerPolicy.NOTIFY)) {
-                        TypedProperties props = new TypedProperties();
+                     applyPolicy(serverConsumer, connection);
+                  }
+               }
+            }
+         }
+      }
 
-                        props.putIntProperty(ManagementHelper.HDR_CONSUMER_COUNT, getConsumerCount());
+      private RemotingConnection getConnection(ServerConsumerImpl serverConsumer) {
+         RemotingConnection connection = null;
+         RemotingService remotingService = ((PostOfficeImpl) postOffice).getServer().getRemotingService();
 
-                        props.putSimpleStringProperty(ManagementHelper.HDR_ADDRESS, address);
+         for (RemotingConnection potentialConnection : remotingService.getConnections()) {
+            if (potentialConnection.getID().toString().equals(serverConsumer.getConnectionID())) {
+               connection = potentialConnection;
+            }
+         }
+         return connection;
+      }
 
-                        props.putSimpleStringProperty(ManagementHelper.HDR_REMOTE_ADDRESS, SimpleString.toSimpleString(connection.getRemoteAddress()));
+      private void applyPolicy(ServerConsumerImpl serverConsumer, RemotingConnection connection) {
+         ActiveMQServer server = ((PostOfficeImpl) postOffice).getServer();
+         if (policy.equals(SlowConsumerPolicy.KILL)) {
+            connection.killMessage(server.getNodeID());
+            server.getRemotingService().removeConnection(connection.getID());
+            connection.fail(ActiveMQMessageBundle.BUNDLE.connectionsClosedByManagement(connection.getRemoteAddress()));
+         } else if (policy.equals(SlowConsumerPolicy.NOTIFY)) {
+            TypedProperties props = new TypedProperties();
 
-                        if (connection.getID() != null) {
-                           props.putSimpleStringProperty(ManagementHelper.HDR_CONNECTION_NAME, SimpleString.toSimpleString(connection.getID().toString()));
-                        }
+            props.putIntProperty(ManagementHelper.HDR_CONSUMER_COUNT, getConsumerCount());
 
-                        props.putLongProperty(ManagementHelper.HDR_CONSUMER_NAME, serverConsumer.getID());
+            props.putSimpleStringProperty(ManagementHelper.HDR_ADDRESS, address);
 
-                        props.putSimpleStringProperty(ManagementHelper.HDR_SESSION_NAME, SimpleString.toSimpleString(serverConsumer.getSessionID()));
+            props.putSimpleStringProperty(ManagementHelper.HDR_REMOTE_ADDRESS, SimpleString.toSimpleString(connection.getRemoteAddress()));
 
-                        Notification notification = new Notification(null, CoreNotificationType.CONSUMER_SLOW, props);
+            if (connection.getID() != null) {
+               props.putSimpleStringProperty(ManagementHelper.HDR_CONNECTION_NAME, SimpleString.toSimpleString(connection.getID().toString()));
+            }
 
-                        ManagementService managementService = ((PostOfficeImpl) postOffice).getServer().getManagementService();
-                        try {
-                           managementService.sendNotification(notification);
-                        } catch (Exception e) {
-                           ActiveMQServerLogger.LOGGER.failedToSendSlowConsumerNotification(notification, e);
-                        }
-                     }
-                  }
-               }
+            props.putLongProperty(ManagementHelper.HDR_CONSUMER_NAME, serverConsumer.getID());
+
+            props.putSimpleStringProperty(ManagementHelper.HDR_SESSION_NAME, SimpleString.toSimpleString(serverConsumer.getSessionID()));
+
+            Notification notification = new Notification(null, CoreNotificationType.CONSUMER_SLOW, props);
+
+            ManagementService managementService = server.getManagementService();
+            try {
+               managementService.sendNotification(notification);
+            } catch (Exception e) {
+               ActiveMQServerLogger.LOGGER.failedToSendSlowConsumerNotification(notification, e);
             }
          }
       }
@@ -28,6 +28,7 @@ import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.protocol.core.Channel;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.replication.ReplicationEndpoint;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
@@ -423,9 +424,14 @@ public final class ReplicationBackupActivation extends Activation implements Dis
                   return ReplicationFailure.RegistrationError;
                }
                this.replicationEndpoint = replicationEndpoint;
+               final ReplicationHeartbeat heartbeat = startHeartbeat(liveControl, clusterController, replicationObserver);
                try {
                   return replicationObserver.awaitReplicationFailure();
                } finally {
+                  if (heartbeat != null) {
+                     heartbeat.close();
+                     silentExecution("Error while removing incoming interceptor for replication heartbeats", () -> clusterController.removeIncomingInterceptorForReplication(heartbeat));
+                  }
                   this.replicationEndpoint = null;
                   ActiveMQServerImpl.stopComponent(replicationEndpoint);
                   closeChannelOf(replicationEndpoint);
@@ -442,6 +448,26 @@ public final class ReplicationBackupActivation extends Activation implements Dis
       }
    }
 
+   /**
+    * @return the heartbeat detecting a live failure on the replication connection or {@code null} if disabled
+    */
+   private ReplicationHeartbeat startHeartbeat(final ClusterControl liveControl,
+                                               final ClusterController clusterController,
+                                               final ReplicationObserver replicationObserver) {
+      if (policy.getHeartbeatPeriod() <= 0) {
+         return null;
+      }
+      final ReplicationHeartbeat heartbeat = new ReplicationHeartbeat((CoreRemotingConnection) liveControl.getSessionFactory().getConnection(),
+                                                                      activeMQServer.getScheduledPool(),
+                                                                      policy.getHeartbeatPeriod(),
+                                                                      policy.getFailureDetectorThreshold(),
+                                                                      liveControl.getSessionFactory().getServerLocator().getConnectionTTL(),
+                                                                      replicationObserver::isBackupUpToDate);
+      clusterController.addIncomingInterceptorForReplication(heartbeat);
+      heartbeat.start();
+      return heartbeat;
+   }
+
    private static void silentExecution(String debugErrorMessage, Runnable task) {
       try {
          task.run();
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Interceptor;
+import org.apache.activemq.artemis.core.client.ActiveMQClientMessageBundle;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.ChannelImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.Ping;
+import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pings the live over the replication connection every heartbeat period and fails the connection as soon as the
+ * {@link PhiAccrualFailureDetector} fed with the answers suspects the live, instead of waiting for the connection TTL.
+ * <p>
+ * The failure is then handled by {@link ReplicationObserver} as any other connection failure: the live lock still
+ * decides whether this backup can take over, so a wrong suspicion just makes the backup restart and synchronize again.
+ * <p>
+ * The live isn't pinged until the initial synchronization is done: its answers would be queued behind the
+ * synchronization packets, which can take far longer than the detector tolerates.
+ * <p>
+ * It is an interceptor for the same reason as {@link ReplicationError}: the answers are handled by the channel-0
+ * handler shipped in the core client.
+ */
+final class ReplicationHeartbeat implements Interceptor, AutoCloseable {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private static final int MAX_SAMPLES = 100;
+
+   private final CoreRemotingConnection connection;
+
+   private final ScheduledExecutorService scheduledPool;
+
+   private final long heartbeatPeriod;
+
+   private final double threshold;
+
+   private final long connectionTTL;
+
+   private final PhiAccrualFailureDetector failureDetector;
+
+   private final BooleanSupplier synchronizedWithLive;
+
+   private ScheduledFuture<?> heartbeats;
+
+   // set once the backup is synchronized, the answers are only recorded from then on
+   private volatile boolean monitoring;
+
+   private volatile boolean closed;
+
+   ReplicationHeartbeat(CoreRemotingConnection connection,
+                        ScheduledExecutorService scheduledPool,
+                        long heartbeatPeriod,
+                        double threshold,
+                        long connectionTTL,
+                        BooleanSupplier synchronizedWithLive) {
+      this.connection = connection;
+      this.scheduledPool = scheduledPool;
+      this.heartbeatPeriod = heartbeatPeriod;
+      this.threshold = threshold;
+      this.connectionTTL = connectionTTL;
+      this.synchronizedWithLive = synchronizedWithLive;
+      final long periodNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatPeriod);
+      this.failureDetector = new PhiAccrualFailureDetector(periodNanos, periodNanos / 2, MAX_SAMPLES);
+   }
+
+   synchronized void start() {
+      if (closed || heartbeats != null) {
+         return;
+      }
+      heartbeats = scheduledPool.scheduleAtFixedRate(this::heartbeat, 0, heartbeatPeriod, TimeUnit.MILLISECONDS);
+   }
+
+   @Override
+   public boolean intercept(Packet packet, RemotingConnection connection) throws ActiveMQException {
+      if (monitoring && connection == this.connection && packet.getType() == PacketImpl.PING) {
+         failureDetector.heartbeat(System.nanoTime());
+      }
+      return true;
+   }
+
+   private void heartbeat() {
+      if (closed) {
+         return;
+      }
+      if (!monitoring) {
+         if (!synchronizedWithLive.getAsBoolean()) {
+            return;
+         }
+         logger.debug("Backup synchronized with {}, starting replication heartbeats", connection.getRemoteAddress());
+         monitoring = true;
+      }
+      final double phi = failureDetector.phi(System.nanoTime());
+      if (phi > threshold) {
+         ActiveMQServerLogger.LOGGER.replicationHeartbeatMissed(connection.getRemoteAddress(), phi);
+         close();
+         connection.fail(ActiveMQClientMessageBundle.BUNDLE.connectionTimedOut(connection.getTransportConnection()));
+         return;
+      }
+      logger.trace("Sending replication heartbeat to {}, phi = {}", connection.getRemoteAddress(), phi);
+      connection.getChannel(ChannelImpl.CHANNEL_ID.PING.id, -1).send(new Ping(connectionTTL));
+      connection.flush();
+   }
+
+   @Override
+   public synchronized void close() {
+      closed = true;
+      if (heartbeats != null) {
+         heartbeats.cancel(false);
+         heartbeats = null;
+      }
+   }
+}
@@ -62,7 +62,9 @@ import org.apache.activemq.artemis.core.server.management.ManagementService;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.apache.activemq.artemis.logs.AsyncAuditLogger;
 import org.apache.activemq.artemis.logs.AuditLogger;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.protocol.SessionCallback;
 import org.apache.activemq.artemis.spi.core.remoting.ReadyListener;
 import org.apache.activemq.artemis.utils.FutureLatch;
@@ -155,6 +157,8 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private long acks;
 
+   private final ConsumerLatencyTracker latencyTracker = new ConsumerLatencyTracker(System.nanoTime());
+
    private boolean requiresLegacyPrefix = false;
 
    private boolean anycast = false;
@@ -422,6 +426,14 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
             return HandleStatus.BUSY;
          }
+
+         // a lagging consumer is throttled so the queue hands the messages over to the other consumers
+         final int window = latencyTracker.getWindow();
+         if (window > 0 && deliveringRefs.size() >= window) {
+            logger.trace("{} is lagging and throttled to {} in-flight messages, can't deliver reference {}", this, window, ref);
+
+            return HandleStatus.BUSY;
+         }
          final Message message = ref.getMessage();
 
          if (!message.acceptsConsumer(sequentialID())) {
@@ -483,7 +495,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          Message message = reference.getMessage();
 
          if (AuditLogger.isMessageLoggingEnabled()) {
-            AuditLogger.coreConsumeMessage(session.getRemotingConnection().getSubject(), session.getRemotingConnection().getRemoteAddress(), getQueueName().toString(), reference.toString());
+            final RemotingConnection connection = session.getRemotingConnection();
+            final AsyncAuditLogger asyncAuditLogger = server.getAsyncAuditLogger();
+            if (asyncAuditLogger == null || !asyncAuditLogger.offerConsume(connection.getSubject(), connection.getRemoteAddress(), getQueueName(), message.getMessageID(), message.getAddressSimpleString(), message.isDurable())) {
+               AuditLogger.coreConsumeMessage(connection.getSubject(), connection.getRemoteAddress(), getQueueName().toString(), reference.toString());
+            }
          }
          if (server.hasBrokerMessagePlugins()) {
             server.callBrokerMessagePlugins(plugin -> plugin.beforeDeliver(this, reference));
@@ -909,6 +925,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
                throw ils;
             }
 
+            acknowledgedLatency(ref);
             ref.acknowledge(tx, this);
             ackedRefs.add(ref.getMessageID());
 
@@ -919,6 +936,8 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          if (startedTransaction) {
             tx.commit();
          }
+
+         resumeThrottled();
       } catch (ActiveMQException e) {
          if (startedTransaction) {
             tx.rollback();
@@ -974,6 +993,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
             throw ils;
          }
 
+         acknowledgedLatency(ref);
          ref.acknowledge(tx, this);
 
          acks++;
@@ -981,6 +1001,8 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          if (startedTransaction) {
             tx.commit();
          }
+
+         resumeThrottled();
       } catch (ActiveMQException e) {
          if (startedTransaction) {
             tx.rollback();
@@ -1122,6 +1144,59 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
    }
 
 
+   /**
+    * Samples the delivery to acknowledgement latency and the in-flight messages of this consumer for the latency
+    * based slow consumer detection, throttling it while it is lagging.
+    *
+    * @param threshold the latency threshold, in nanoseconds
+    */
+   public ConsumerLatencyTracker.Grade sampleLatency(final long threshold) {
+      final int inFlight;
+      final long oldestDeliveredAt;
+      synchronized (lock) {
+         inFlight = deliveringRefs.size();
+         final MessageReference oldest = deliveringRefs.peek();
+         oldestDeliveredAt = oldest == null ? 0 : oldest.getLatencyTimestamp();
+      }
+      final int window = latencyTracker.getWindow();
+      final ConsumerLatencyTracker.Grade grade = latencyTracker.sample(System.nanoTime(), threshold, inFlight, oldestDeliveredAt);
+      final int newWindow = latencyTracker.getWindow();
+      if (window > 0 && (newWindow == 0 || newWindow > window || inFlight < newWindow)) {
+         // the consumer can take more messages now
+         promptDelivery();
+      }
+      return grade;
+   }
+
+   public ConsumerLatencyTracker getLatencyTracker() {
+      return latencyTracker;
+   }
+
+   /**
+    * Stops throttling this consumer, e.g. when the latency based slow consumer detection is disabled.
+    */
+   public void resetLatency() {
+      final boolean throttled = latencyTracker.getWindow() > 0;
+      latencyTracker.reset();
+      if (throttled) {
+         promptDelivery();
+      }
+   }
+
+   private void acknowledgedLatency(MessageReference ref) {
+      final long deliveredAt = ref.getLatencyTimestamp();
+      if (deliveredAt != 0) {
+         latencyTracker.acknowledged(System.nanoTime() - deliveredAt);
+      }
+   }
+
+   private void resumeThrottled() {
+      // the queue doesn't retry a throttled consumer by itself as it does when the credits arrive
+      if (latencyTracker.getWindow() > 0) {
+         promptDelivery();
+      }
+   }
+
    @Override
    public void promptDelivery() {
       // largeMessageDeliverer is always set inside a lock
@@ -92,6 +92,7 @@ import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract
 import org.apache.activemq.artemis.core.transaction.TransactionPropertyIndexes;
 import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
 import org.apache.activemq.artemis.json.JsonValue;
+import org.apache.activemq.artemis.logs.AsyncAuditLogger;
 import org.apache.activemq.artemis.logs.AuditLogger;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.spi.core.protocol.SessionCallback;
@@ -1848,6 +1849,10 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
    }
 
    private void auditLogSend(Message message, Transaction tx) {
+      final AsyncAuditLogger asyncAuditLogger = server.getAsyncAuditLogger();
+      if (asyncAuditLogger != null && asyncAuditLogger.offerSend(remotingConnection.getSubject(), remotingConnection.getRemoteAddress(), message.getMessageID(), message.getAddressSimpleString(), message.isDurable(), tx == null ? -1 : tx.getID())) {
+         return;
+      }
       AuditLogger.coreSendMessage(remotingConnection.getSubject(), remotingConnection.getRemoteAddress(), message.toString(), routingContext, tx == null ? null : tx.toString());
    }
 
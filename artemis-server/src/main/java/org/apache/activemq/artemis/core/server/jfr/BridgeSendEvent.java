@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A send of a bridge to its target, of a single message or of a batch of messages.
+ */
+@Name("org.apache.activemq.artemis.BridgeSend")
+@Label("Bridge Send")
+@Category({"Apache ActiveMQ Artemis", "Bridge"})
+@Description("A send of messages of a bridge to its target")
+@Threshold("1 ms")
+public final class BridgeSendEvent extends jdk.jfr.Event {
+
+   @Label("Bridge")
+   public String bridge;
+
+   @Label("Address")
+   @Description("The target address, or null for a batch")
+   public String address;
+
+   @Label("Messages")
+   public int messages;
+
+   public void record(String bridge, String address, int messages) {
+      end();
+      if (shouldCommit()) {
+         this.bridge = bridge;
+         this.address = address;
+         this.messages = messages;
+         commit();
+      }
+   }
+}
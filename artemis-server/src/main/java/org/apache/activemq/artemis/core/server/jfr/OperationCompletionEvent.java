@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The wait of a completion registered on an {@link org.apache.activemq.artemis.core.persistence.OperationContext},
+ * from its registration until the storage and replication operations it depends on are done.
+ */
+@Name("org.apache.activemq.artemis.OperationCompletion")
+@Label("Operation Completion")
+@Category({"Apache ActiveMQ Artemis", "Persistence"})
+@Description("The wait of a completion for the storage and replication operations it depends on")
+@Threshold("1 ms")
+public final class OperationCompletionEvent extends jdk.jfr.Event {
+
+   @Label("Store Only")
+   @Description("Whether the completion waited just for the storage operations")
+   public boolean storeOnly;
+
+   @Label("Failed")
+   public boolean failed;
+
+   public void record(boolean storeOnly, boolean failed) {
+      end();
+      if (shouldCommit()) {
+         this.storeOnly = storeOnly;
+         this.failed = failed;
+         commit();
+      }
+   }
+}
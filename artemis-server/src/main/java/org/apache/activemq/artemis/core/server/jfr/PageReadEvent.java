@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A read of a page file, e.g. by a page cursor depaging its messages.
+ */
+@Name("org.apache.activemq.artemis.PageRead")
+@Label("Page Read")
+@Category({"Apache ActiveMQ Artemis", "Paging"})
+@Description("A read of the messages of a page file")
+@Threshold("1 ms")
+public final class PageReadEvent extends jdk.jfr.Event {
+
+   @Label("Address")
+   public String address;
+
+   @Label("Page")
+   public long page;
+
+   @Label("Messages")
+   public int messages;
+
+   @Label("Size")
+   @DataAmount
+   public long size;
+
+   public void record(String address, long page, int messages, long size) {
+      end();
+      if (shouldCommit()) {
+         this.address = address;
+         this.page = page;
+         this.messages = messages;
+         this.size = size;
+         commit();
+      }
+   }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A delivery loop of a queue, handing its messages over to its consumers.
+ */
+@Name("org.apache.activemq.artemis.QueueDeliver")
+@Label("Queue Deliver")
+@Category({"Apache ActiveMQ Artemis", "Queue"})
+@Description("A delivery loop of a queue, handing its messages over to its consumers")
+@Threshold("1 ms")
+public final class QueueDeliverEvent extends jdk.jfr.Event {
+
+   @Label("Queue")
+   public String queue;
+
+   @Label("Messages")
+   @Description("The number of messages left in memory after the loop")
+   public int messages;
+
+   @Label("Consumers")
+   public int consumers;
+
+   public void record(String queue, int messages, int consumers) {
+      end();
+      if (shouldCommit()) {
+         this.queue = queue;
+         this.messages = messages;
+         this.consumers = consumers;
+         commit();
+      }
+   }
+}
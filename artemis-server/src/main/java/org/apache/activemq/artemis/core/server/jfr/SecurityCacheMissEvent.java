@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * An authentication or authorization missing the security caches, so checked against the security manager.
+ */
+@Name("org.apache.activemq.artemis.SecurityCacheMiss")
+@Label("Security Cache Miss")
+@Category({"Apache ActiveMQ Artemis", "Security"})
+@Description("An authentication or authorization checked against the security manager as missing the cache")
+@Threshold("0 ms")
+public final class SecurityCacheMissEvent extends jdk.jfr.Event {
+
+   @Label("Check")
+   @Description("AUTHENTICATION or the type of the authorization check")
+   public String check;
+
+   @Label("User")
+   public String user;
+
+   @Label("Address")
+   public String address;
+
+   public void record(String check, String user, String address) {
+      end();
+      if (shouldCommit()) {
+         this.check = check;
+         this.user = user;
+         this.address = address;
+         commit();
+      }
+   }
+}
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.server.management;
 
 import javax.management.ObjectName;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.activemq.artemis.api.core.BroadcastGroupConfiguration;
@@ -48,6 +49,7 @@ import org.apache.activemq.artemis.core.server.cluster.Bridge;
 import org.apache.activemq.artemis.core.server.cluster.BroadcastGroup;
 import org.apache.activemq.artemis.core.server.cluster.ClusterConnection;
 import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.core.server.metrics.OpenMetricsExporter;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.ResourceManager;
@@ -58,6 +60,16 @@ public interface ManagementService extends NotificationService, ActiveMQComponen
 
    MessageCounterManager getMessageCounterManager();
 
+   /**
+    * @return the exporter rendering the queue metrics for scrapers, {@code null} before the server is registered
+    */
+   OpenMetricsExporter getOpenMetricsExporter();
+
+   /**
+    * @return the low priority executor running the background management queries
+    */
+   Executor getQueryExecutor();
+
    SimpleString getManagementAddress();
 
    SimpleString getManagementNotificationAddress();
@@ -30,7 +30,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.LongConsumer;
 
 import org.apache.activemq.artemis.api.core.BroadcastEndpointFactory;
 import org.apache.activemq.artemis.api.core.BroadcastGroupConfiguration;
@@ -57,6 +62,7 @@ import org.apache.activemq.artemis.api.core.management.QueueControl;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.management.impl.AcceptorControlImpl;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.management.impl.AddressControlImpl;
@@ -74,8 +80,11 @@ import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounterManager;
 import org.apache.activemq.artemis.core.messagecounter.impl.MessageCounterManagerImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
+import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
+import org.apache.activemq.artemis.core.remoting.impl.netty.FlushSizeRecorder;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptor;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
 import org.apache.activemq.artemis.core.security.Role;
 import org.apache.activemq.artemis.core.security.SecurityStore;
@@ -96,14 +105,18 @@ import org.apache.activemq.artemis.core.server.management.HawtioSecurityControl;
 import org.apache.activemq.artemis.core.server.management.ManagementService;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.server.management.NotificationListener;
+import org.apache.activemq.artemis.core.server.metrics.AcceptorMetricNames;
 import org.apache.activemq.artemis.core.server.metrics.AddressMetricNames;
 import org.apache.activemq.artemis.core.server.metrics.BrokerMetricNames;
 import org.apache.activemq.artemis.core.server.metrics.MetricsManager;
+import org.apache.activemq.artemis.core.server.metrics.OpenMetricsExporter;
 import org.apache.activemq.artemis.core.server.metrics.QueueMetricNames;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
+import org.apache.activemq.artemis.core.settings.HierarchicalRepositoryChangeListener;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.ResourceManager;
 import org.apache.activemq.artemis.spi.core.remoting.Acceptor;
+import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
 import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet;
 import org.apache.activemq.artemis.utils.collections.TypedProperties;
 import org.slf4j.Logger;
@@ -142,12 +155,19 @@ public class ManagementServiceImpl implements ManagementService {
 
    private MessageCounterManager messageCounterManager;
 
+   private OpenMetricsExporter openMetricsExporter;
+
+   private HierarchicalRepositoryChangeListener openMetricsSettingsListener;
+
    private final SimpleString managementNotificationAddress;
 
    private final SimpleString managementAddress;
 
    private boolean started = false;
 
+   // created on the first background query
+   private ExecutorService queryExecutor;
+
    private final boolean messageCounterEnabled;
 
    private boolean notificationsEnabled;
@@ -183,6 +203,25 @@ public class ManagementServiceImpl implements ManagementService {
       return messageCounterManager;
    }
 
+   @Override
+   public OpenMetricsExporter getOpenMetricsExporter() {
+      return openMetricsExporter;
+   }
+
+   @Override
+   public synchronized Executor getQueryExecutor() {
+      if (queryExecutor == null) {
+         final ThreadFactory threadFactory = new ActiveMQThreadFactory("ActiveMQ-management-query", true, ManagementServiceImpl.class.getClassLoader());
+         queryExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            // the queries mustn't slow down the delivery
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+         });
+      }
+      return queryExecutor;
+   }
+
    @Override
    public void setStorageManager(final StorageManager storageManager) {
       this.storageManager = storageManager;
@@ -210,10 +249,16 @@ public class ManagementServiceImpl implements ManagementService {
       this.messagingServer = messagingServer;
       this.pagingManager = pagingManager;
 
-      messageCounterManager = new MessageCounterManagerImpl(scheduledThreadPool, messagingServer.getExecutorFactory().getExecutor());
+      messageCounterManager = new MessageCounterManagerImpl(scheduledThreadPool, messagingServer.getExecutorFactory(), MessageCounterManagerImpl.DEFAULT_SHARDS);
       messageCounterManager.setMaxDayCount(configuration.getMessageCounterMaxDayHistory());
       messageCounterManager.reschedule(configuration.getMessageCounterSamplePeriod());
 
+      openMetricsExporter = new OpenMetricsExporter(configuration.getName(), configuration.getWildcardConfiguration(),
+                                                    queue -> addressSettingsRepository.getMatch(queue.getAddress().toString()).isEnableMetrics());
+      // enable-metrics can be changed for the existing queues too
+      openMetricsSettingsListener = openMetricsExporter::refresh;
+      addressSettingsRepository.registerListener(openMetricsSettingsListener);
+
       messagingServerControl = new ActiveMQServerControlImpl(postOffice, configuration, resourceManager, remotingService, messagingServer, messageCounterManager, storageManager1, broadcaster);
       ObjectName objectName = objectNameBuilder.getActiveMQServerObjectName();
       registerInJMX(objectName, messagingServerControl);
@@ -233,6 +278,12 @@ public class ManagementServiceImpl implements ManagementService {
             builder.register(BrokerMetricNames.ADDRESS_MEMORY_USAGE_PERCENTAGE, this, metrics -> Double.valueOf(messagingServerControl.getAddressMemoryUsagePercentage()), ActiveMQServerControl.ADDRESS_MEMORY_USAGE_PERCENTAGE_DESCRIPTION);
             builder.register(BrokerMetricNames.DISK_STORE_USAGE, this, metrics -> Double.valueOf(messagingServer.getDiskStoreUsage()), ActiveMQServerControl.DISK_STORE_USAGE_DESCRIPTION);
          });
+         SequentialFileFactory journalFileFactory = storageManager.getJournalSequentialFileFactory();
+         if (journalFileFactory != null) {
+            LongConsumer flushLatency = metricsManager.registerBrokerLatency(BrokerMetricNames.JOURNAL_FLUSH_TIME, "time spent writing the journal buffer to the journal file");
+            LongConsumer syncLatency = metricsManager.registerBrokerLatency(BrokerMetricNames.JOURNAL_SYNC_TIME, "time from writing the journal buffer to its records being durable");
+            journalFileFactory.setBufferLatencyRecorders(flushLatency, syncLatency);
+         }
       }
    }
 
@@ -271,10 +322,30 @@ public class ManagementServiceImpl implements ManagementService {
                builder.register(AddressMetricNames.ADDRESS_SIZE, this, metrics -> Double.valueOf(addressControl.getAddressSize()), AddressControl.ADDRESS_SIZE_DESCRIPTION);
                builder.register(AddressMetricNames.PAGES_COUNT, this, metrics -> Double.valueOf(addressControl.getNumberOfPages()), AddressControl.NUMBER_OF_PAGES_DESCRIPTION);
             });
+            registerAddressLatencys(metricsManager, addressInfo.getName());
          }
       }
    }
 
+   private void registerAddressLatencys(MetricsManager metricsManager, SimpleString address) {
+      if (pagingManager == null) {
+         return;
+      }
+      LongConsumer pageWriteLatency = metricsManager.registerAddressLatency(address.toString(), AddressMetricNames.PAGE_WRITE_TIME, "time spent writing a message to a page");
+      LongConsumer pageReadLatency = metricsManager.registerAddressLatency(address.toString(), AddressMetricNames.PAGE_READ_TIME, "time spent reading the messages of a page");
+      if (pageWriteLatency == null && pageReadLatency == null) {
+         return;
+      }
+      try {
+         PagingStore pagingStore = pagingManager.getPageStore(address);
+         if (pagingStore != null) {
+            pagingStore.setLatencyRecorders(pageWriteLatency, pageReadLatency);
+         }
+      } catch (Exception e) {
+         logger.debug("Unable to register the paging latency metrics of {}", address, e);
+      }
+   }
+
    @Override
    public synchronized void unregisterAddress(final SimpleString address) throws Exception {
       ObjectName objectName = objectNameBuilder.getAddressObjectName(address);
@@ -323,9 +394,15 @@ public class ManagementServiceImpl implements ManagementService {
       if (messageCounterManager != null) {
          messageCounterManager.unregisterMessageCounter(name.toString());
       }
+      if (openMetricsExporter != null) {
+         openMetricsExporter.unregister(name);
+      }
    }
 
    private void registerQueueMeters(final Queue queue) {
+      if (openMetricsExporter != null) {
+         openMetricsExporter.register(queue);
+      }
       if (messagingServer != null) { // messagingServer could be null on certain unit tests where metrics are not relevant
          MetricsManager metricsManager = messagingServer.getMetricsManager();
          if (metricsManager != null) {
@@ -351,6 +428,9 @@ public class ManagementServiceImpl implements ManagementService {
                builder.register(QueueMetricNames.MESSAGES_EXPIRED, this, metrics -> Double.valueOf(queue.getMessagesExpired()), QueueControl.MESSAGES_EXPIRED_DESCRIPTION);
                builder.register(QueueMetricNames.CONSUMER_COUNT, this, metrics -> Double.valueOf(queue.getConsumerCount()), QueueControl.CONSUMER_COUNT_DESCRIPTION);
             });
+            LongConsumer timeInQueueLatency = metricsManager.registerQueueLatency(queue.getAddress().toString(), queue.getName().toString(), QueueMetricNames.TIME_IN_QUEUE, "time messages wait on the queue before being delivered");
+            LongConsumer deliveryToAckLatency = metricsManager.registerQueueLatency(queue.getAddress().toString(), queue.getName().toString(), QueueMetricNames.DELIVERY_TO_ACK_TIME, "time messages stay in delivery before being acknowledged");
+            queue.setLatencyRecorders(timeInQueueLatency, deliveryToAckLatency);
          }
       }
    }
@@ -388,6 +468,23 @@ public class ManagementServiceImpl implements ManagementService {
       AcceptorControl control = new AcceptorControlImpl(acceptor, storageManager, configuration);
       registerInJMX(objectName, control);
       registerInRegistry(ResourceNames.ACCEPTOR + configuration.getName(), control);
+      registerAcceptorMeters(acceptor, configuration.getName());
+   }
+
+   private void registerAcceptorMeters(Acceptor acceptor, String name) {
+      if (messagingServer == null || !(acceptor instanceof NettyAcceptor)) {
+         return;
+      }
+      final FlushSizeRecorder.Statistics flushStatistics = ((NettyAcceptor) acceptor).getFlushStatistics();
+      final MetricsManager metricsManager = messagingServer.getMetricsManager();
+      if (flushStatistics != null && metricsManager != null) {
+         metricsManager.registerAcceptorGauge(name, builder -> {
+            builder.register(AcceptorMetricNames.FLUSH_COUNT, this, metrics -> Double.valueOf(flushStatistics.getFlushCount()), "number of flushes performed by the connections of this acceptor");
+            builder.register(AcceptorMetricNames.FLUSHED_BYTES, this, metrics -> Double.valueOf(flushStatistics.getFlushedBytes()), "number of bytes flushed by the connections of this acceptor");
+            builder.register(AcceptorMetricNames.AVERAGE_FLUSH_SIZE, this, metrics -> flushStatistics.getAverageFlushSize(), "average number of bytes per flush performed by the connections of this acceptor");
+            builder.register(AcceptorMetricNames.MAX_FLUSH_SIZE, this, metrics -> Double.valueOf(flushStatistics.getMaxFlushSize()), "maximum number of bytes of a single flush performed by the connections of this acceptor");
+         });
+      }
    }
 
    @Override
@@ -415,6 +512,7 @@ public class ManagementServiceImpl implements ManagementService {
       ObjectName objectName = objectNameBuilder.getAcceptorObjectName(name);
       unregisterFromJMX(objectName);
       unregisterFromRegistry(ResourceNames.ACCEPTOR + name);
+      unregisterMeters(ResourceNames.ACCEPTOR + name);
    }
 
    @Override
@@ -735,10 +833,20 @@ public class ManagementServiceImpl implements ManagementService {
          messageCounterManager.clear();
       }
 
+      if (queryExecutor != null) {
+         queryExecutor.shutdownNow();
+         queryExecutor = null;
+      }
+
       listeners.clear();
 
       registry.clear();
 
+      if (openMetricsSettingsListener != null) {
+         addressSettingsRepository.unRegisterListener(openMetricsSettingsListener);
+         openMetricsSettingsListener = null;
+      }
+
       messagingServer = null;
 
       securityRepository = null;
@@ -749,6 +857,8 @@ public class ManagementServiceImpl implements ManagementService {
 
       messageCounterManager = null;
 
+      openMetricsExporter = null;
+
       postOffice = null;
 
       pagingManager = null;
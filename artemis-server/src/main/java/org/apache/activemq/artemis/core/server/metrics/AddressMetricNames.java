@@ -24,4 +24,7 @@ public class AddressMetricNames {
    public static final String ADDRESS_SIZE = "address.size";
    public static final String PAGES_COUNT = "number.of.pages";
 
+   public static final String PAGE_WRITE_TIME = "page.write.time";
+   public static final String PAGE_READ_TIME = "page.read.time";
+
 }
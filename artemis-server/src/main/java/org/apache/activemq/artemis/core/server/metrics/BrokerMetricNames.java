@@ -24,4 +24,7 @@ public class BrokerMetricNames {
    public static final String ADDRESS_MEMORY_USAGE = "address.memory.usage";
    public static final String ADDRESS_MEMORY_USAGE_PERCENTAGE = "address.memory.usage.percentage";
    public static final String DISK_STORE_USAGE = "disk.store.usage";
+
+   public static final String JOURNAL_FLUSH_TIME = "journal.flush.time";
+   public static final String JOURNAL_SYNC_TIME = "journal.sync.time";
 }
@@ -22,18 +22,26 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.ToDoubleFunction;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.binder.BaseUnits;
 import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
 import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
 import io.netty.buffer.PooledByteBufAllocator;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.MetricsConfiguration;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.slf4j.Logger;
@@ -44,6 +52,12 @@ public class MetricsManager {
 
    private static final Logger log = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // Micrometer computes the percentiles with HdrHistogram, which the broker distribution ships but the Micrometer
+   // dependency excludes: without it the latencies just publish their count, total and max
+   private static final boolean PERCENTILES_SUPPORTED = isClassAvailable("org.HdrHistogram.DoubleRecorder");
+
+   private static final double NANOS_PER_MILLI = 1_000_000d;
+
    private final String brokerName;
 
    private final MeterRegistry meterRegistry;
@@ -52,13 +66,27 @@ public class MetricsManager {
 
    private final HierarchicalRepository<AddressSettings> addressSettingsRepository;
 
+   private final boolean latency;
+
+   // matches every address, the broker latencies use the percentiles of its address settings
+   private final String anyAddress;
+
    public MetricsManager(String brokerName,
                          MetricsConfiguration metricsConfiguration,
                          HierarchicalRepository<AddressSettings> addressSettingsRepository) {
+      this(brokerName, metricsConfiguration, addressSettingsRepository, new WildcardConfiguration().getAnyWordsString());
+   }
+
+   public MetricsManager(String brokerName,
+                         MetricsConfiguration metricsConfiguration,
+                         HierarchicalRepository<AddressSettings> addressSettingsRepository,
+                         String anyAddress) {
       this.brokerName = brokerName;
       meterRegistry = metricsConfiguration.getPlugin().getRegistry();
       Metrics.globalRegistry.add(meterRegistry);
       this.addressSettingsRepository = addressSettingsRepository;
+      this.latency = metricsConfiguration.isLatency();
+      this.anyAddress = anyAddress;
       if (metricsConfiguration.isJvmMemory()) {
          new JvmMemoryMetrics().bindTo(meterRegistry);
       }
@@ -137,6 +165,173 @@ public class MetricsManager {
       registerMeter(newMeters, resource);
    }
 
+   public void registerAcceptorGauge(String acceptor, Consumer<MetricGaugeBuilder> builder) {
+      final MeterRegistry meterRegistry = this.meterRegistry;
+      if (meterRegistry == null) {
+         return;
+      }
+      final List<Gauge.Builder> newMeters = new ArrayList<>();
+      builder.accept((metricName, state, f, description) -> {
+         Gauge.Builder meter = Gauge
+            .builder("artemis." + metricName, state, f)
+            .tag("broker", brokerName)
+            .tag("acceptor", acceptor)
+            .description(description);
+         newMeters.add(meter);
+      });
+      final String resource = ResourceNames.ACCEPTOR + acceptor;
+      registerMeter(newMeters, resource);
+   }
+
+   public void registerProtocolGauge(String protocol, Consumer<MetricGaugeBuilder> builder) {
+      final MeterRegistry meterRegistry = this.meterRegistry;
+      if (meterRegistry == null) {
+         return;
+      }
+      final List<Gauge.Builder> newMeters = new ArrayList<>();
+      builder.accept((metricName, state, f, description) -> {
+         Gauge.Builder meter = Gauge
+            .builder("artemis." + metricName, state, f)
+            .tag("broker", brokerName)
+            .tag("protocol", protocol)
+            .description(description);
+         newMeters.add(meter);
+      });
+      final String resource = "protocol." + protocol;
+      registerMeter(newMeters, resource);
+   }
+
+   /**
+    * Registers a gauge of the broker with a row per set of tags, e.g. for the entries of a top N list changing over
+    * time.
+    *
+    * @return the updater replacing all the rows of the gauge with the given values by their tags, or {@code null} if
+    * the metrics aren't enabled
+    */
+   public Consumer<Map<Map<String, String>, Number>> registerBrokerRows(String metricName, String baseUnit, String description) {
+      final MeterRegistry meterRegistry = this.meterRegistry;
+      if (meterRegistry == null) {
+         return null;
+      }
+      final MultiGauge gauge = MultiGauge
+         .builder("artemis." + metricName)
+         .tag("broker", brokerName)
+         .baseUnit(baseUnit)
+         .description(description)
+         .register(meterRegistry);
+      log.debug("Registered multi gauge: artemis.{}", metricName);
+      return rows -> {
+         final List<MultiGauge.Row<?>> newRows = new ArrayList<>(rows.size());
+         rows.forEach((tags, value) -> {
+            final List<Tag> rowTags = new ArrayList<>(tags.size());
+            tags.forEach((key, tag) -> rowTags.add(Tag.of(key, tag)));
+            newRows.add(MultiGauge.Row.of(Tags.of(rowTags), value));
+         });
+         gauge.register(newRows, true);
+      };
+   }
+
+   /**
+    * Registers the distribution of a latency of a queue, in milliseconds, publishing the percentiles of the address
+    * settings matching its address.
+    * <p>
+    * The latencies are recorded as distribution summaries, as Micrometer timers need the LatencyUtils library the
+    * Micrometer dependency excludes.
+    *
+    * @return the recorder of the latency in nanoseconds, or {@code null} if the latency metrics aren't enabled
+    */
+   public LongConsumer registerQueueLatency(String address, String queue, String metricName, String description) {
+      final MeterRegistry meterRegistry = this.meterRegistry;
+      if (meterRegistry == null || !latency) {
+         return null;
+      }
+      final AddressSettings addressSettings = addressSettingsRepository.getMatch(address);
+      if (!addressSettings.isEnableMetrics()) {
+         return null;
+      }
+      final DistributionSummary.Builder summary = DistributionSummary
+         .builder("artemis." + metricName)
+         .baseUnit(BaseUnits.MILLISECONDS)
+         .tag("broker", brokerName)
+         .tag("address", address)
+         .tag("queue", queue)
+         .description(description);
+      return registerLatency(summary, metricName, addressSettings.getMetricsPercentiles(), ResourceNames.QUEUE + queue);
+   }
+
+   /**
+    * Registers the distribution of a latency of an address, in milliseconds, publishing the percentiles of the address
+    * settings matching it.
+    *
+    * @return the recorder of the latency in nanoseconds, or {@code null} if the latency metrics aren't enabled
+    */
+   public LongConsumer registerAddressLatency(String address, String metricName, String description) {
+      final MeterRegistry meterRegistry = this.meterRegistry;
+      if (meterRegistry == null || !latency) {
+         return null;
+      }
+      final AddressSettings addressSettings = addressSettingsRepository.getMatch(address);
+      if (!addressSettings.isEnableMetrics()) {
+         return null;
+      }
+      final DistributionSummary.Builder summary = DistributionSummary
+         .builder("artemis." + metricName)
+         .baseUnit(BaseUnits.MILLISECONDS)
+         .tag("broker", brokerName)
+         .tag("address", address)
+         .description(description);
+      return registerLatency(summary, metricName, addressSettings.getMetricsPercentiles(), ResourceNames.ADDRESS + address);
+   }
+
+   /**
+    * Registers the distribution of a latency of the broker, in milliseconds, publishing the percentiles of the address
+    * settings matching every address.
+    *
+    * @return the recorder of the latency in nanoseconds, or {@code null} if the latency metrics aren't enabled
+    */
+   public LongConsumer registerBrokerLatency(String metricName, String description) {
+      final MeterRegistry meterRegistry = this.meterRegistry;
+      if (meterRegistry == null || !latency) {
+         return null;
+      }
+      final DistributionSummary.Builder summary = DistributionSummary
+         .builder("artemis." + metricName)
+         .baseUnit(BaseUnits.MILLISECONDS)
+         .tag("broker", brokerName)
+         .description(description);
+      final String percentiles = addressSettingsRepository.getMatch(anyAddress).getMetricsPercentiles();
+      return registerLatency(summary, metricName, percentiles, ResourceNames.BROKER + "." + brokerName);
+   }
+
+   private LongConsumer registerLatency(DistributionSummary.Builder summaryBuilder, String metricName, String percentiles, String resource) {
+      if (PERCENTILES_SUPPORTED) {
+         try {
+            summaryBuilder.publishPercentiles(AddressSettings.parsePercentiles(percentiles));
+         } catch (IllegalArgumentException e) {
+            ActiveMQServerLogger.LOGGER.invalidMetricsPercentiles(percentiles, metricName);
+         }
+      }
+      final DistributionSummary summary = summaryBuilder.register(meterRegistry);
+      // the latencies are appended to the gauges of the resource, registered before them
+      this.meters.compute(resource, (s, meters) -> {
+         final List<Meter> newMeters = meters == null ? new ArrayList<>() : meters;
+         newMeters.add(summary);
+         return newMeters;
+      });
+      log.debug("Registered meter: {}", summary.getId());
+      return nanos -> summary.record(nanos / NANOS_PER_MILLI);
+   }
+
+   private static boolean isClassAvailable(String className) {
+      try {
+         Class.forName(className, false, MetricsManager.class.getClassLoader());
+         return true;
+      } catch (ClassNotFoundException | LinkageError e) {
+         log.debug("{} is not available", className, e);
+         return false;
+      }
+   }
+
    private void registerMeter(List<Gauge.Builder> newMeters, String resource) {
       this.meters.compute(resource, (s, meters) -> {
          //the old meters are ignored on purpose
@@ -0,0 +1,371 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.management.QueueControl;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.settings.impl.Match;
+
+/**
+ * Renders the queue metrics in the Prometheus text and OpenMetrics exposition formats without going through a
+ * {@code MeterRegistry}.
+ * <p>
+ * Every queue gets a slot when it is registered, with its labels already encoded and room for the values of every
+ * metric. A scrape reads the counters the queues keep up to date into their slots, then writes every metric family
+ * from the slots into a buffer reused across scrapes, so scraping doesn't allocate per queue. The result of the
+ * address filter is cached in the slots too, so a scraper repeating the same filter matches every address once.
+ * <p>
+ * The buffer is handed off to the scraper once filled, so a slow scraper doesn't hold up the others, and taken back
+ * for the next scrape once written.
+ * <p>
+ * Every queue is registered, whether its metrics are enabled or not, and skipped by the scrapes while they aren't, so
+ * the queues follow the changes of the {@code enable-metrics} address setting once {@link #refresh()} is called.
+ * <p>
+ * The metrics have the names and labels the metrics plugins give them, e.g. {@code artemis_message_count}.
+ */
+public final class OpenMetricsExporter {
+
+   public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+   public static final String OPENMETRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+   private static final int MAX_CACHED_FILTERS = 64;
+
+   private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+   private static final String[] NAMES = {
+      QueueMetricNames.MESSAGE_COUNT,
+      QueueMetricNames.DURABLE_MESSAGE_COUNT,
+      QueueMetricNames.PERSISTENT_SIZE,
+      QueueMetricNames.DURABLE_PERSISTENT_SIZE,
+      QueueMetricNames.DELIVERING_MESSAGE_COUNT,
+      QueueMetricNames.DELIVERING_DURABLE_MESSAGE_COUNT,
+      QueueMetricNames.DELIVERING_PERSISTENT_SIZE,
+      QueueMetricNames.DELIVERING_DURABLE_PERSISTENT_SIZE,
+      QueueMetricNames.SCHEDULED_MESSAGE_COUNT,
+      QueueMetricNames.SCHEDULED_DURABLE_MESSAGE_COUNT,
+      QueueMetricNames.SCHEDULED_PERSISTENT_SIZE,
+      QueueMetricNames.SCHEDULED_DURABLE_PERSISTENT_SIZE,
+      QueueMetricNames.MESSAGES_ACKNOWLEDGED,
+      QueueMetricNames.MESSAGES_ADDED,
+      QueueMetricNames.MESSAGES_KILLED,
+      QueueMetricNames.MESSAGES_EXPIRED,
+      QueueMetricNames.CONSUMER_COUNT};
+
+   private static final String[] DESCRIPTIONS = {
+      QueueControl.MESSAGE_COUNT_DESCRIPTION,
+      QueueControl.DURABLE_MESSAGE_COUNT_DESCRIPTION,
+      QueueControl.PERSISTENT_SIZE_DESCRIPTION,
+      QueueControl.DURABLE_PERSISTENT_SIZE_DESCRIPTION,
+      QueueControl.DELIVERING_MESSAGE_COUNT_DESCRIPTION,
+      QueueControl.DURABLE_DELIVERING_MESSAGE_COUNT_DESCRIPTION,
+      QueueControl.DELIVERING_SIZE_DESCRIPTION,
+      QueueControl.DURABLE_DELIVERING_SIZE_DESCRIPTION,
+      QueueControl.SCHEDULED_MESSAGE_COUNT_DESCRIPTION,
+      QueueControl.DURABLE_SCHEDULED_MESSAGE_COUNT_DESCRIPTION,
+      QueueControl.SCHEDULED_SIZE_DESCRIPTION,
+      QueueControl.DURABLE_SCHEDULED_SIZE_DESCRIPTION,
+      QueueControl.MESSAGES_ACKNOWLEDGED_DESCRIPTION,
+      QueueControl.MESSAGES_ADDED_DESCRIPTION,
+      QueueControl.MESSAGES_KILLED_DESCRIPTION,
+      QueueControl.MESSAGES_EXPIRED_DESCRIPTION,
+      QueueControl.CONSUMER_COUNT_DESCRIPTION};
+
+   @SuppressWarnings("unchecked")
+   private static final ToLongFunction<Queue>[] READERS = new ToLongFunction[] {
+      (ToLongFunction<Queue>) Queue::getMessageCount,
+      (ToLongFunction<Queue>) Queue::getDurableMessageCount,
+      (ToLongFunction<Queue>) Queue::getPersistentSize,
+      (ToLongFunction<Queue>) Queue::getDurablePersistentSize,
+      (ToLongFunction<Queue>) Queue::getDeliveringCount,
+      (ToLongFunction<Queue>) Queue::getDurableDeliveringCount,
+      (ToLongFunction<Queue>) Queue::getDeliveringSize,
+      (ToLongFunction<Queue>) Queue::getDurableDeliveringSize,
+      (ToLongFunction<Queue>) Queue::getScheduledCount,
+      (ToLongFunction<Queue>) Queue::getDurableScheduledCount,
+      (ToLongFunction<Queue>) Queue::getScheduledSize,
+      (ToLongFunction<Queue>) Queue::getDurableScheduledSize,
+      (ToLongFunction<Queue>) Queue::getMessagesAcknowledged,
+      (ToLongFunction<Queue>) Queue::getMessagesAdded,
+      (ToLongFunction<Queue>) Queue::getMessagesKilled,
+      (ToLongFunction<Queue>) Queue::getMessagesExpired,
+      (ToLongFunction<Queue>) Queue::getConsumerCount};
+
+   // the "# HELP" and "# TYPE" lines followed by the name of the samples of every metric family
+   private static final byte[][] HEADERS = new byte[NAMES.length][];
+
+   private static final byte[][] SAMPLE_NAMES = new byte[NAMES.length][];
+
+   private static final byte[] EOF = "# EOF\n".getBytes(StandardCharsets.UTF_8);
+
+   static {
+      for (int i = 0; i < NAMES.length; i++) {
+         final String name = "artemis_" + NAMES[i].replace('.', '_');
+         HEADERS[i] = ("# HELP " + name + " " + DESCRIPTIONS[i] + "\n# TYPE " + name + " gauge\n").getBytes(StandardCharsets.UTF_8);
+         SAMPLE_NAMES[i] = name.getBytes(StandardCharsets.UTF_8);
+      }
+   }
+
+   private final String brokerName;
+
+   private final WildcardConfiguration wildcardConfiguration;
+
+   private final Predicate<Queue> metricsEnabled;
+
+   private final Map<SimpleString, QueueSlot> slots = new ConcurrentHashMap<>();
+
+   // the buffer of the last scrape, once written
+   private final AtomicReference<byte[]> idleBuffer = new AtomicReference<>();
+
+   // the following fields are guarded by the scrape lock, i.e. this
+
+   private final Map<String, Pattern> filters = new HashMap<>();
+
+   private QueueSlot[] selected = new QueueSlot[16];
+
+   private byte[] buffer;
+
+   private int position;
+
+   private final byte[] digits = new byte[20];
+
+   public OpenMetricsExporter(final String brokerName, final WildcardConfiguration wildcardConfiguration) {
+      this(brokerName, wildcardConfiguration, queue -> true);
+   }
+
+   /**
+    * @param metricsEnabled whether the metrics of a queue are enabled, evaluated when it is registered and refreshed
+    */
+   public OpenMetricsExporter(final String brokerName,
+                              final WildcardConfiguration wildcardConfiguration,
+                              final Predicate<Queue> metricsEnabled) {
+      this.brokerName = brokerName;
+      this.wildcardConfiguration = wildcardConfiguration;
+      this.metricsEnabled = metricsEnabled;
+   }
+
+   public void register(final Queue queue) {
+      final QueueSlot slot = new QueueSlot(queue, labels(queue));
+      slot.enabled = metricsEnabled.test(queue);
+      slots.put(queue.getName(), slot);
+   }
+
+   /**
+    * Evaluates again whether the metrics of every queue are enabled, e.g. after the address settings changed.
+    */
+   public void refresh() {
+      for (QueueSlot slot : slots.values()) {
+         slot.enabled = metricsEnabled.test(slot.queue);
+      }
+   }
+
+   public void unregister(final SimpleString queueName) {
+      slots.remove(queueName);
+   }
+
+   public int getQueueCount() {
+      return slots.size();
+   }
+
+   /**
+    * Writes the metrics of the queues bound to the addresses matching {@code addressFilter}.
+    *
+    * @param addressFilter an address match, as in the address settings, or {@code null} for every queue
+    * @param openMetrics   whether to use the OpenMetrics format rather than the Prometheus text format
+    */
+   public void scrape(final String addressFilter, final boolean openMetrics, final OutputStream out) throws IOException {
+      final byte[] rendered;
+      final int length;
+      synchronized (this) {
+         length = render(addressFilter, openMetrics);
+         rendered = buffer;
+         buffer = null;
+      }
+      try {
+         out.write(rendered, 0, length);
+      } finally {
+         idleBuffer.set(rendered);
+      }
+   }
+
+   /**
+    * @return the number of bytes written to the buffer
+    */
+   private int render(final String addressFilter, final boolean openMetrics) {
+      final Pattern filter = addressFilter == null || addressFilter.isEmpty() ? null : getFilter(addressFilter);
+
+      buffer = idleBuffer.getAndSet(null);
+      if (buffer == null) {
+         buffer = new byte[INITIAL_BUFFER_SIZE];
+      }
+
+      int count = 0;
+      for (QueueSlot slot : slots.values()) {
+         if (!slot.enabled || filter != null && !slot.matches(filter)) {
+            continue;
+         }
+         final Queue queue = slot.queue;
+         final long[] values = slot.values;
+         for (int i = 0; i < READERS.length; i++) {
+            values[i] = READERS[i].applyAsLong(queue);
+         }
+         if (count == selected.length) {
+            selected = Arrays.copyOf(selected, count * 2);
+         }
+         selected[count++] = slot;
+      }
+
+      position = 0;
+      for (int i = 0; i < HEADERS.length; i++) {
+         put(HEADERS[i]);
+         for (int s = 0; s < count; s++) {
+            final QueueSlot slot = selected[s];
+            put(SAMPLE_NAMES[i]);
+            put(slot.labels);
+            putLong(slot.values[i]);
+            put((byte) '\n');
+         }
+      }
+      if (openMetrics) {
+         put(EOF);
+      }
+      // don't keep the slots of the deleted queues reachable until the next scrape
+      Arrays.fill(selected, 0, count, null);
+
+      return position;
+   }
+
+   private Pattern getFilter(final String addressFilter) {
+      Pattern filter = filters.get(addressFilter);
+      if (filter == null) {
+         if (filters.size() >= MAX_CACHED_FILTERS) {
+            filters.clear();
+         }
+         filter = Match.createPattern(addressFilter, wildcardConfiguration, false);
+         filters.put(addressFilter, filter);
+      }
+      return filter;
+   }
+
+   private byte[] labels(final Queue queue) {
+      final StringBuilder labels = new StringBuilder("{broker=\"");
+      escape(labels, brokerName);
+      labels.append("\",address=\"");
+      escape(labels, queue.getAddress().toString());
+      labels.append("\",queue=\"");
+      escape(labels, queue.getName().toString());
+      labels.append("\"} ");
+      return labels.toString().getBytes(StandardCharsets.UTF_8);
+   }
+
+   private static void escape(final StringBuilder builder, final String value) {
+      if (value == null) {
+         return;
+      }
+      for (int i = 0; i < value.length(); i++) {
+         final char c = value.charAt(i);
+         if (c == '\\' || c == '"') {
+            builder.append('\\').append(c);
+         } else if (c == '\n') {
+            builder.append("\\n");
+         } else {
+            builder.append(c);
+         }
+      }
+   }
+
+   private void ensureCapacity(final int length) {
+      if (position + length > buffer.length) {
+         buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+      }
+   }
+
+   private void put(final byte[] bytes) {
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+   }
+
+   private void put(final byte b) {
+      ensureCapacity(1);
+      buffer[position++] = b;
+   }
+
+   private void putLong(final long value) {
+      if (value == Long.MIN_VALUE) {
+         put(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+         return;
+      }
+      long remaining = Math.abs(value);
+      int length = 0;
+      do {
+         digits[length++] = (byte) ('0' + remaining % 10);
+         remaining /= 10;
+      }
+      while (remaining != 0);
+      ensureCapacity(length + 1);
+      if (value < 0) {
+         buffer[position++] = '-';
+      }
+      while (length > 0) {
+         buffer[position++] = digits[--length];
+      }
+   }
+
+   private static final class QueueSlot {
+
+      final Queue queue;
+
+      final byte[] labels;
+
+      final long[] values = new long[READERS.length];
+
+      volatile boolean enabled;
+
+      // the last filter applied and whether the address matched it
+      Pattern filter;
+
+      boolean matched;
+
+      QueueSlot(Queue queue, byte[] labels) {
+         this.queue = queue;
+         this.labels = labels;
+      }
+
+      boolean matches(Pattern filter) {
+         if (this.filter != filter) {
+            matched = filter.matcher(queue.getAddress().toString()).matches();
+            this.filter = filter;
+         }
+         return matched;
+      }
+   }
+}
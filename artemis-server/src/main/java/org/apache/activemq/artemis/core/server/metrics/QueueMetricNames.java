@@ -39,4 +39,7 @@ public class QueueMetricNames {
    public static final String MESSAGES_KILLED = "messages.killed";
    public static final String MESSAGES_EXPIRED = "messages.expired";
    public static final String CONSUMER_COUNT = "consumer.count";
+
+   public static final String TIME_IN_QUEUE = "time.in.queue";
+   public static final String DELIVERY_TO_ACK_TIME = "delivery.to.ack.time";
 }
@@ -0,0 +1,370 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.plugin.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.postoffice.RoutingStatus;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.ServerConsumer;
+import org.apache.activemq.artemis.core.server.ServerSession;
+import org.apache.activemq.artemis.core.server.metrics.MetricsManager;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerPlugin;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.utils.collections.SpaceSavingSketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plugin accounting the bytes and messages sent to and delivered by the broker per user, address and connection, and
+ * per (user, address, connection) tuple, to find quickly who is loading an overloaded broker. It's configured with the
+ * following properties:
+ *
+ * CAPACITY - the number of users, addresses, connections and tuples tracked for each direction and stripe, 1000 by
+ * default
+ * SAMPLING - accounts one message out of this number, scaling its size and count accordingly, 1 by default
+ * STRIPES - the number of sketches each top list is split into, the number of available processors by default
+ * METRICS_TOP - the number of entries of each top list published as metrics, 10 by default
+ * METRICS_PERIOD - how often (in ms) the metrics are updated, 10000 by default
+ *
+ * Each top list is made of {@link SpaceSavingSketch stripes}, each updated by the threads whose id maps to it and
+ * merged on read, so the threads sending and delivering messages don't contend on a single lock. The memory used is
+ * bounded by the capacity times the stripes whatever the number of users, addresses and connections. The connections
+ * are identified by their client ID, or their remote address when they don't have any. The key of a tuple is its user,
+ * address and connection separated by {@code |}, empty when unknown. The user of each session and consumer, and the
+ * key of the tuple it last accounted, are kept while it is open so they aren't looked up or built again for each
+ * message. The top lists can be read with the {@code listTopThroughput} management operation, and are
+ * published as the {@code artemis.top.bytes} and {@code artemis.top.messages} metrics when the metrics are enabled.
+ */
+public class ThroughputAccountingPlugin implements ActiveMQServerPlugin {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public static final String CAPACITY = "CAPACITY";
+   public static final String SAMPLING = "SAMPLING";
+   public static final String STRIPES = "STRIPES";
+   public static final String METRICS_TOP = "METRICS_TOP";
+   public static final String METRICS_PERIOD = "METRICS_PERIOD";
+
+   public enum Dimension {
+      USER, ADDRESS, CONNECTION, TUPLE
+   }
+
+   public enum Direction {
+      IN, OUT
+   }
+
+   private static final Dimension[] DIMENSIONS = Dimension.values();
+
+   private static final Direction[] DIRECTIONS = Direction.values();
+
+   private int capacity = 1000;
+
+   private int sampling = 1;
+
+   private int stripes = Runtime.getRuntime().availableProcessors();
+
+   private int metricsTop = 10;
+
+   private long metricsPeriod = 10000;
+
+   // by direction, then by dimension, then by stripe
+   private volatile SpaceSavingSketch<String>[][][] sketches = newSketches(capacity, stripes);
+
+   private volatile ActiveMQServer server;
+
+   private ScheduledFuture<?> metricsUpdate;
+
+   private Consumer<Map<Map<String, String>, Number>> bytesRows;
+
+   private Consumer<Map<Map<String, String>, Number>> messagesRows;
+
+   private final Map<ServerSession, TupleKeys> sessions = new ConcurrentHashMap<>();
+
+   private final Map<ServerConsumer, TupleKeys> consumers = new ConcurrentHashMap<>();
+
+   @Override
+   public void init(Map<String, String> properties) {
+      capacity = Integer.parseInt(properties.getOrDefault(CAPACITY, Integer.toString(capacity)));
+      sampling = Integer.parseInt(properties.getOrDefault(SAMPLING, Integer.toString(sampling)));
+      stripes = Integer.parseInt(properties.getOrDefault(STRIPES, Integer.toString(stripes)));
+      metricsTop = Integer.parseInt(properties.getOrDefault(METRICS_TOP, Integer.toString(metricsTop)));
+      metricsPeriod = Long.parseLong(properties.getOrDefault(METRICS_PERIOD, Long.toString(metricsPeriod)));
+      if (sampling <= 0) {
+         throw new IllegalArgumentException(SAMPLING + " must be greater than 0");
+      }
+      if (stripes <= 0) {
+         throw new IllegalArgumentException(STRIPES + " must be greater than 0");
+      }
+      sketches = newSketches(capacity, stripes);
+   }
+
+   @SuppressWarnings("unchecked")
+   private static SpaceSavingSketch<String>[][][] newSketches(int capacity, int stripes) {
+      final SpaceSavingSketch<String>[][][] sketches = new SpaceSavingSketch[DIRECTIONS.length][DIMENSIONS.length][stripes];
+      for (SpaceSavingSketch<String>[][] byDimension : sketches) {
+         for (SpaceSavingSketch<String>[] byStripe : byDimension) {
+            for (int i = 0; i < byStripe.length; i++) {
+               byStripe[i] = new SpaceSavingSketch<>(capacity);
+            }
+         }
+      }
+      return sketches;
+   }
+
+   @Override
+   public synchronized void registered(ActiveMQServer server) {
+      this.server = server;
+      stopMetrics();
+      // registered again once the server has started, with its metrics manager and scheduled pool
+      final MetricsManager metricsManager = server.getMetricsManager();
+      final ScheduledExecutorService scheduledPool = server.getScheduledPool();
+      if (metricsManager == null || scheduledPool == null || metricsPeriod <= 0 || metricsTop <= 0) {
+         return;
+      }
+      bytesRows = metricsManager.registerBrokerRows("top.bytes", "bytes", "bytes sent to or delivered by the broker per user, address, connection or tuple, for the top ones");
+      messagesRows = metricsManager.registerBrokerRows("top.messages", "messages", "messages sent to or delivered by the broker per user, address, connection or tuple, for the top ones");
+      try {
+         metricsUpdate = scheduledPool.scheduleWithFixedDelay(this::updateMetrics, metricsPeriod, metricsPeriod, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+         logger.debug(e.getMessage(), e);
+      }
+   }
+
+   @Override
+   public synchronized void unregistered(ActiveMQServer server) {
+      stopMetrics();
+      this.server = null;
+      sessions.clear();
+      consumers.clear();
+   }
+
+   private void stopMetrics() {
+      if (metricsUpdate != null) {
+         metricsUpdate.cancel(false);
+         metricsUpdate = null;
+      }
+      if (bytesRows != null) {
+         bytesRows.accept(new HashMap<>());
+         messagesRows.accept(new HashMap<>());
+         bytesRows = null;
+         messagesRows = null;
+      }
+   }
+
+   private synchronized void updateMetrics() {
+      if (bytesRows == null) {
+         return;
+      }
+      final Map<Map<String, String>, Number> bytes = new HashMap<>();
+      final Map<Map<String, String>, Number> messages = new HashMap<>();
+      for (Direction direction : DIRECTIONS) {
+         for (Dimension dimension : DIMENSIONS) {
+            for (SpaceSavingSketch.Entry<String> entry : top(direction, dimension, metricsTop)) {
+               final Map<String, String> tags = new HashMap<>();
+               tags.put("direction", direction.name().toLowerCase());
+               tags.put("dimension", dimension.name().toLowerCase());
+               tags.put("key", entry.getKey());
+               bytes.put(tags, entry.getWeight());
+               messages.put(tags, entry.getCount());
+            }
+         }
+      }
+      bytesRows.accept(bytes);
+      messagesRows.accept(messages);
+   }
+
+   @Override
+   public void afterCreateSession(ServerSession session) throws ActiveMQException {
+      sessions.put(session, new TupleKeys(session.getUsername()));
+   }
+
+   @Override
+   public void afterCloseSession(ServerSession session, boolean failed) throws ActiveMQException {
+      sessions.remove(session);
+   }
+
+   @Override
+   public void afterCreateConsumer(ServerConsumer consumer) throws ActiveMQException {
+      consumers.put(consumer, new TupleKeys(lookupUser(consumer)));
+   }
+
+   @Override
+   public void afterCloseConsumer(ServerConsumer consumer, boolean failed) throws ActiveMQException {
+      consumers.remove(consumer);
+   }
+
+   @Override
+   public void afterSend(ServerSession session, Transaction tx, Message message, boolean direct, boolean noAutoCreateQueue,
+                         RoutingStatus result) throws ActiveMQException {
+      if (!sample()) {
+         return;
+      }
+      TupleKeys keys = null;
+      String connection = null;
+      if (session != null) {
+         keys = sessions.get(session);
+         if (keys == null) {
+            // created before this plugin was registered
+            keys = new TupleKeys(session.getUsername());
+         }
+         final RemotingConnection remotingConnection = session.getRemotingConnection();
+         if (remotingConnection != null) {
+            connection = remotingConnection.getClientID() != null ? remotingConnection.getClientID() : remotingConnection.getRemoteAddress();
+         }
+      }
+      account(Direction.IN, keys, message.getAddress(), connection, message.getPersistentSize());
+   }
+
+   @Override
+   public void afterDeliver(ServerConsumer consumer, MessageReference reference) throws ActiveMQException {
+      if (!sample()) {
+         return;
+      }
+      TupleKeys keys = consumers.get(consumer);
+      if (keys == null) {
+         // created before this plugin was registered
+         keys = new TupleKeys(lookupUser(consumer));
+      }
+      final String connection = consumer.getConnectionClientID() != null ? consumer.getConnectionClientID() : consumer.getConnectionRemoteAddress();
+      account(Direction.OUT, keys, reference.getMessage().getAddress(), connection, reference.getPersistentSize());
+   }
+
+   private String lookupUser(ServerConsumer consumer) {
+      final ActiveMQServer server = this.server;
+      final ServerSession session = server == null ? null : server.getSessionByID(consumer.getSessionName());
+      return session == null ? null : session.getUsername();
+   }
+
+   private boolean sample() {
+      return sampling == 1 || ThreadLocalRandom.current().nextInt(sampling) == 0;
+   }
+
+   private void account(Direction direction, TupleKeys keys, String address, String connection, long size) {
+      final String user = keys == null ? null : keys.user;
+      final SpaceSavingSketch<String>[][] byDimension = sketches[direction.ordinal()];
+      // the same thread always updates the same stripe
+      final int stripe = (int) (Thread.currentThread().getId() % stripes);
+      final long bytes = size * sampling;
+      if (user != null) {
+         byDimension[Dimension.USER.ordinal()][stripe].add(user, bytes, sampling);
+      }
+      if (address != null) {
+         byDimension[Dimension.ADDRESS.ordinal()][stripe].add(address, bytes, sampling);
+      }
+      if (connection != null) {
+         byDimension[Dimension.CONNECTION.ordinal()][stripe].add(connection, bytes, sampling);
+      }
+      final String tupleKey = keys == null ? tupleKey(null, address, connection) : keys.tupleKey(address, connection);
+      byDimension[Dimension.TUPLE.ordinal()][stripe].add(tupleKey, bytes, sampling);
+   }
+
+   /**
+    * @return the key of a (user, address, connection) tuple in the {@link Dimension#TUPLE} top lists
+    */
+   public static String tupleKey(String user, String address, String connection) {
+      return (user == null ? "" : user) + '|' + (address == null ? "" : address) + '|' + (connection == null ? "" : connection);
+   }
+
+   /**
+    * @return the estimates of at most {@code n} users, addresses, connections or tuples with the most bytes sent to or
+    * delivered by the broker, by descending number of bytes
+    */
+   public List<SpaceSavingSketch.Entry<String>> top(Direction direction, Dimension dimension, int n) {
+      return SpaceSavingSketch.top(Arrays.asList(sketches[direction.ordinal()][dimension.ordinal()]), n);
+   }
+
+   /**
+    * Clears all the top lists, e.g. to account just from now on.
+    */
+   public void reset() {
+      for (SpaceSavingSketch<String>[][] byDimension : sketches) {
+         for (SpaceSavingSketch<String>[] byStripe : byDimension) {
+            for (SpaceSavingSketch<String> sketch : byStripe) {
+               sketch.clear();
+            }
+         }
+      }
+   }
+
+   public int getCapacity() {
+      return capacity;
+   }
+
+   public int getSampling() {
+      return sampling;
+   }
+
+   public int getStripes() {
+      return stripes;
+   }
+
+   /**
+    * The user of a session or consumer, with the key of the last tuple it accounted: a producer or consumer usually
+    * keeps on sending to or receiving from the same address over the same connection.
+    */
+   private static final class TupleKeys {
+
+      private final String user;
+
+      private volatile Tuple last;
+
+      private TupleKeys(String user) {
+         this.user = user;
+      }
+
+      private String tupleKey(String address, String connection) {
+         Tuple tuple = last;
+         if (tuple == null || !Objects.equals(tuple.address, address) || !Objects.equals(tuple.connection, connection)) {
+            tuple = new Tuple(address, connection, ThroughputAccountingPlugin.tupleKey(user, address, connection));
+            last = tuple;
+         }
+         return tuple.key;
+      }
+   }
+
+   private static final class Tuple {
+
+      private final String address;
+
+      private final String connection;
+
+      private final String key;
+
+      private Tuple(String address, String connection, String key) {
+         this.address = address;
+         this.connection = connection;
+         this.key = key;
+      }
+   }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.core.server.routing.policies;
+
+import org.apache.activemq.artemis.core.server.routing.targets.Target;
+import org.apache.activemq.artemis.core.server.routing.targets.TargetProbe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Probes and caches the connection count of the targets, for the policies that select a target by its load.
+ */
+public class ConnectionCountProbe extends TargetProbe {
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private final Map<Target, Integer> connectionCountCache = new ConcurrentHashMap<>();
+
+   private int connectionCountThreshold = 0;
+
+   public ConnectionCountProbe(String name) {
+      super(name);
+   }
+
+   public int getConnectionCountThreshold() {
+      return connectionCountThreshold;
+   }
+
+   public void setConnectionCountThreshold(int connectionCountThreshold) {
+      this.connectionCountThreshold = connectionCountThreshold;
+   }
+
+   /**
+    * @return the last connection count probed for the target or {@code null} if it has not been probed yet
+    */
+   public Integer getConnectionCount(Target target) {
+      return connectionCountCache.get(target);
+   }
+
+   /**
+    * Accounts a connection routed to the target until its connection count is probed again.
+    */
+   public void addConnection(Target target) {
+      connectionCountCache.computeIfPresent(target, (t, connectionCount) -> connectionCount + 1);
+   }
+
+   @Override
+   public boolean check(Target target) {
+      try {
+         Integer connectionCount = target.getAttribute("broker", "ConnectionCount", Integer.class, 3000);
+
+         if (connectionCount < connectionCountThreshold) {
+            logger.debug("Updating the connection count to 0/{} for the target {}", connectionCount, target);
+
+            connectionCount = 0;
+         } else {
+            logger.debug("Updating the connection count to {} for the target {}", connectionCount, target);
+         }
+
+         connectionCountCache.put(target, connectionCount);
+
+         return true;
+      } catch (Exception e) {
+         logger.warn("Error on updating the connectionCount for the target {}", target, e);
+
+         return false;
+      }
+   }
+}
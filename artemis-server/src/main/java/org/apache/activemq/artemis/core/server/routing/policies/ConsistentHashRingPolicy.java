@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.core.server.routing.policies;
+
+import org.apache.activemq.artemis.core.server.routing.targets.Target;
+import org.apache.activemq.artemis.core.server.routing.targets.TargetProbe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consistent hashing policy with virtual nodes and optionally bounded loads.
+ * <p>
+ * Every target is placed on the hash ring many times, so the keys are evenly distributed across the targets and
+ * a removed target spreads its keys across all the others. The ring is cached and only built again when the ready
+ * targets change. When a {@link #LOAD_FACTOR} is set, a target can't get more than that factor of the average
+ * connection count: the key is moved to the next target on the ring instead.
+ */
+public class ConsistentHashRingPolicy extends ConsistentHashPolicy {
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   public static final String NAME = "CONSISTENT_HASH_RING";
+
+   public static final String VIRTUAL_NODES = "VIRTUAL_NODES";
+
+   public static final String LOAD_FACTOR = "LOAD_FACTOR";
+
+   public static final String UPDATE_CONNECTION_COUNT_PROBE_NAME = LeastConnectionsPolicy.UPDATE_CONNECTION_COUNT_PROBE_NAME;
+
+   public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+   public static final double DEFAULT_LOAD_FACTOR = 0;
+
+   private final ConnectionCountProbe connectionCountProbe = new ConnectionCountProbe(UPDATE_CONNECTION_COUNT_PROBE_NAME);
+
+   private int virtualNodes = DEFAULT_VIRTUAL_NODES;
+
+   private double loadFactor = DEFAULT_LOAD_FACTOR;
+
+   private volatile Ring ring;
+
+   public ConsistentHashRingPolicy() {
+      super(NAME);
+   }
+
+   @Override
+   public void init(Map<String, String> properties) {
+      super.init(properties);
+
+      if (properties != null) {
+         if (properties.containsKey(VIRTUAL_NODES)) {
+            virtualNodes = Integer.parseInt(properties.get(VIRTUAL_NODES));
+            if (virtualNodes <= 0) {
+               throw new IllegalArgumentException(VIRTUAL_NODES + " must be greater than 0");
+            }
+         }
+         if (properties.containsKey(LOAD_FACTOR)) {
+            loadFactor = Double.parseDouble(properties.get(LOAD_FACTOR));
+            if (loadFactor != 0 && loadFactor < 1) {
+               throw new IllegalArgumentException(LOAD_FACTOR + " must be 0 or not less than 1");
+            }
+         }
+      }
+   }
+
+   public int getVirtualNodes() {
+      return virtualNodes;
+   }
+
+   public double getLoadFactor() {
+      return loadFactor;
+   }
+
+   @Override
+   public TargetProbe getTargetProbe() {
+      return loadFactor > 0 ? connectionCountProbe : null;
+   }
+
+   @Override
+   public Target selectTarget(List<Target> targets, String key) {
+      if (targets.size() > 1) {
+         Ring ring = this.ring;
+
+         if (ring == null || !ring.isBuiltFrom(targets)) {
+            ring = new Ring(targets, virtualNodes);
+            this.ring = ring;
+
+            if (logger.isDebugEnabled()) {
+               logger.debug("Built a ring with {} virtual nodes for the targets {}", ring.hashes.length, targets);
+            }
+         }
+
+         final int position = ring.positionOf(mix(getHash(key)));
+
+         if (loadFactor > 0) {
+            return selectBoundedTarget(ring, position);
+         }
+
+         return ring.members[ring.owners[position]];
+      } else if (targets.size() > 0) {
+         return targets.get(0);
+      }
+
+      return null;
+   }
+
+   private Target selectBoundedTarget(Ring ring, int position) {
+      final Target[] members = ring.members;
+      final int[] loads = new int[members.length];
+      long totalLoad = 0;
+
+      for (int i = 0; i < members.length; i++) {
+         Integer connectionCount = connectionCountProbe.getConnectionCount(members[i]);
+         loads[i] = connectionCount != null ? connectionCount : 0;
+         totalLoad += loads[i];
+      }
+
+      // each target can take up to loadFactor times the average load, counting the connection being routed
+      final long capacity = (long) Math.ceil(loadFactor * (totalLoad + 1) / members.length);
+      final int[] owners = ring.owners;
+
+      for (int i = 0; i < owners.length; i++) {
+         final int owner = owners[(position + i) % owners.length];
+
+         if (loads[owner] < capacity) {
+            connectionCountProbe.addConnection(members[owner]);
+
+            return members[owner];
+         }
+      }
+
+      // unreachable as the least loaded target is always below the capacity
+      return members[owners[position]];
+   }
+
+   /**
+    * Spreads the bits of the FNV hash, to get evenly placed virtual nodes from similar node ids.
+    */
+   static int mix(int hash) {
+      hash ^= hash >>> 16;
+      hash *= 0x85ebca6b;
+      hash ^= hash >>> 13;
+      hash *= 0xc2b2ae35;
+      hash ^= hash >>> 16;
+      return hash;
+   }
+
+   private final class Ring {
+      final Target[] members;
+
+      // the hashes of the virtual nodes, sorted, and the index of the member owning each of them
+      final int[] hashes;
+
+      final int[] owners;
+
+      Ring(List<Target> targets, int virtualNodes) {
+         members = targets.toArray(new Target[0]);
+
+         final long[] nodes = new long[members.length * virtualNodes];
+
+         for (int i = 0; i < members.length; i++) {
+            final String nodeID = members[i].getNodeID();
+
+            for (int j = 0; j < virtualNodes; j++) {
+               final int hash = mix(getHash(nodeID + "-" + j));
+               nodes[i * virtualNodes + j] = ((long) hash << 32) | i;
+            }
+         }
+
+         // the hash is in the high bits, sorting the nodes sorts them by hash
+         Arrays.sort(nodes);
+
+         hashes = new int[nodes.length];
+         owners = new int[nodes.length];
+
+         for (int i = 0; i < nodes.length; i++) {
+            hashes[i] = (int) (nodes[i] >> 32);
+            owners[i] = (int) nodes[i];
+         }
+      }
+
+      boolean isBuiltFrom(List<Target> targets) {
+         if (targets.size() != members.length) {
+            return false;
+         }
+
+         for (int i = 0; i < members.length; i++) {
+            if (targets.get(i) != members[i]) {
+               return false;
+            }
+         }
+
+         return true;
+      }
+
+      /**
+       * @return the position of the first virtual node following the hash on the ring
+       */
+      int positionOf(int hash) {
+         int position = Arrays.binarySearch(hashes, hash);
+
+         if (position < 0) {
+            position = -position - 1;
+         }
+
+         return position < hashes.length ? position : 0;
+      }
+   }
+}
@@ -28,7 +28,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class LeastConnectionsPolicy extends RoundRobinPolicy {
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -40,36 +39,7 @@ public class LeastConnectionsPolicy extends RoundRobinPolicy {
    public static final String CONNECTION_COUNT_THRESHOLD = "CONNECTION_COUNT_THRESHOLD";
 
 
-   private final Map<Target, Integer> connectionCountCache = new ConcurrentHashMap<>();
-
-
-   private int connectionCountThreshold = 0;
-
-
-   private final TargetProbe targetProbe = new TargetProbe(UPDATE_CONNECTION_COUNT_PROBE_NAME) {
-      @Override
-      public boolean check(Target target) {
-         try {
-            Integer connectionCount = target.getAttribute("broker", "ConnectionCount", Integer.class, 3000);
-
-            if (connectionCount < connectionCountThreshold) {
-               logger.debug("Updating the connection count to 0/{} for the target {}", connectionCount, target);
-
-               connectionCount = 0;
-            } else {
-               logger.debug("Updating the connection count to {} for the target {}", connectionCount, target);
-            }
-
-            connectionCountCache.put(target, connectionCount);
-
-            return true;
-         } catch (Exception e) {
-            logger.warn("Error on updating the connectionCount for the target {}", target, e);
-
-            return false;
-         }
-      }
-   };
+   private final ConnectionCountProbe targetProbe = new ConnectionCountProbe(UPDATE_CONNECTION_COUNT_PROBE_NAME);
 
    @Override
    public TargetProbe getTargetProbe() {
@@ -86,7 +56,7 @@ public class LeastConnectionsPolicy extends RoundRobinPolicy {
 
       if (properties != null) {
          if (properties.containsKey(CONNECTION_COUNT_THRESHOLD)) {
-            connectionCountThreshold = Integer.valueOf(properties.get(CONNECTION_COUNT_THRESHOLD));
+            targetProbe.setConnectionCountThreshold(Integer.valueOf(properties.get(CONNECTION_COUNT_THRESHOLD)));
          }
       }
    }
@@ -97,7 +67,7 @@ public class LeastConnectionsPolicy extends RoundRobinPolicy {
          NavigableMap<Integer, List<Target>> sortedTargets = new TreeMap<>();
 
          for (Target target : targets) {
-            Integer connectionCount = connectionCountCache.get(target);
+            Integer connectionCount = targetProbe.getConnectionCount(target);
 
             if (connectionCount == null) {
                connectionCount = Integer.MAX_VALUE;
@@ -41,6 +41,7 @@ public class PolicyFactoryResolver {
       policyFactories.put(LeastConnectionsPolicy.NAME, () -> new LeastConnectionsPolicy());
       policyFactories.put(RoundRobinPolicy.NAME, () -> new RoundRobinPolicy());
       policyFactories.put(ConsistentHashModuloPolicy.NAME, () -> new ConsistentHashModuloPolicy());
+      policyFactories.put(ConsistentHashRingPolicy.NAME, () -> new ConsistentHashRingPolicy());
 
       loadPolicyFactories();
    }
@@ -116,6 +116,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
    public static final long DEFAULT_SLOW_CONSUMER_CHECK_PERIOD = 5;
 
+   public static final long DEFAULT_SLOW_CONSUMER_LATENCY_THRESHOLD = -1;
+
    public static final int MANAGEMENT_BROWSE_PAGE_SIZE = 200;
 
    public static final SlowConsumerPolicy DEFAULT_SLOW_CONSUMER_POLICY = SlowConsumerPolicy.NOTIFY;
@@ -133,6 +135,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
    public static final boolean DEFAULT_ENABLE_METRICS = true;
 
+   public static final String DEFAULT_METRICS_PERCENTILES = "0.5,0.9,0.99";
+
    public static final int MANAGEMENT_MESSAGE_ATTRIBUTE_SIZE_LIMIT = 256;
 
    public static final SlowConsumerThresholdMeasurementUnit DEFAULT_SLOW_CONSUMER_THRESHOLD_MEASUREMENT_UNIT = SlowConsumerThresholdMeasurementUnit.MESSAGES_PER_SECOND;
@@ -203,6 +207,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
    private Long slowConsumerCheckPeriod = null;
 
+   private Long slowConsumerLatencyThreshold = null;
+
    private SlowConsumerPolicy slowConsumerPolicy = null;
 
    @Deprecated
@@ -275,6 +281,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
 
    private Boolean enableMetrics = null;
 
+   private String metricsPercentiles = null;
+
    private Integer managementMessageAttributeSizeLimit = null;
 
    private Boolean enableIngressTimestamp = null;
@@ -317,6 +325,7 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       this.sendToDLAOnNoRoute = other.sendToDLAOnNoRoute;
       this.slowConsumerThreshold = other.slowConsumerThreshold;
       this.slowConsumerCheckPeriod = other.slowConsumerCheckPeriod;
+      this.slowConsumerLatencyThreshold = other.slowConsumerLatencyThreshold;
       this.slowConsumerPolicy = other.slowConsumerPolicy;
       this.autoCreateJmsQueues = other.autoCreateJmsQueues;
       this.autoDeleteJmsQueues = other.autoDeleteJmsQueues;
@@ -348,6 +357,7 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       this.defaultGroupFirstKey = other.defaultGroupFirstKey;
       this.defaultRingSize = other.defaultRingSize;
       this.enableMetrics = other.enableMetrics;
+      this.metricsPercentiles = other.metricsPercentiles;
       this.managementMessageAttributeSizeLimit = other.managementMessageAttributeSizeLimit;
       this.slowConsumerThresholdMeasurementUnit = other.slowConsumerThresholdMeasurementUnit;
       this.enableIngressTimestamp = other.enableIngressTimestamp;
@@ -853,6 +863,19 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       return this;
    }
 
+   /**
+    * @return the delivery to acknowledgement latency, in milliseconds, above which a consumer is considered lagging
+    * or {@code -1} if the consumers aren't judged by their latency
+    */
+   public long getSlowConsumerLatencyThreshold() {
+      return slowConsumerLatencyThreshold != null ? slowConsumerLatencyThreshold : AddressSettings.DEFAULT_SLOW_CONSUMER_LATENCY_THRESHOLD;
+   }
+
+   public AddressSettings setSlowConsumerLatencyThreshold(final long slowConsumerLatencyThreshold) {
+      this.slowConsumerLatencyThreshold = slowConsumerLatencyThreshold;
+      return this;
+   }
+
    public SlowConsumerPolicy getSlowConsumerPolicy() {
       return slowConsumerPolicy != null ? slowConsumerPolicy : AddressSettings.DEFAULT_SLOW_CONSUMER_POLICY;
    }
@@ -991,6 +1014,38 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       return this;
    }
 
+   /**
+    * @return the comma separated percentiles published by the latency metrics, e.g. {@code 0.5,0.99}
+    */
+   public String getMetricsPercentiles() {
+      return metricsPercentiles != null ? metricsPercentiles : AddressSettings.DEFAULT_METRICS_PERCENTILES;
+   }
+
+   public AddressSettings setMetricsPercentiles(final String metricsPercentiles) {
+      this.metricsPercentiles = metricsPercentiles;
+      return this;
+   }
+
+   /**
+    * Parses a comma separated list of percentiles, each one between 0 and 1.
+    *
+    * @throws IllegalArgumentException if any of the values isn't a valid percentile
+    */
+   public static double[] parsePercentiles(final String percentiles) {
+      if (percentiles == null || percentiles.trim().isEmpty()) {
+         return new double[0];
+      }
+      final String[] values = percentiles.split(",", -1);
+      final double[] parsed = new double[values.length];
+      for (int i = 0; i < values.length; i++) {
+         parsed[i] = Double.parseDouble(values[i].trim());
+         if (!(parsed[i] >= 0 && parsed[i] <= 1)) {
+            throw new IllegalArgumentException("Invalid percentile " + values[i]);
+         }
+      }
+      return parsed;
+   }
+
    public int getManagementMessageAttributeSizeLimit() {
       return managementMessageAttributeSizeLimit != null ? managementMessageAttributeSizeLimit : AddressSettings.MANAGEMENT_MESSAGE_ATTRIBUTE_SIZE_LIMIT;
    }
@@ -1088,6 +1143,9 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       if (slowConsumerCheckPeriod == null) {
          slowConsumerCheckPeriod = merged.slowConsumerCheckPeriod;
       }
+      if (slowConsumerLatencyThreshold == null) {
+         slowConsumerLatencyThreshold = merged.slowConsumerLatencyThreshold;
+      }
       if (slowConsumerPolicy == null) {
          slowConsumerPolicy = merged.slowConsumerPolicy;
       }
@@ -1220,6 +1278,9 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       if (enableMetrics == null) {
          enableMetrics = merged.enableMetrics;
       }
+      if (metricsPercentiles == null) {
+         metricsPercentiles = merged.metricsPercentiles;
+      }
       if (enableIngressTimestamp == null) {
          enableIngressTimestamp = merged.enableIngressTimestamp;
       }
@@ -1472,6 +1533,15 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       if (buffer.readableBytes() > 0) {
          maxReadPageMessages = BufferHelper.readNullableInteger(buffer);
       }
+
+      if (buffer.readableBytes() > 0) {
+         SimpleString percentilesStr = buffer.readNullableSimpleString();
+         metricsPercentiles = percentilesStr != null ? percentilesStr.toString() : null;
+      }
+
+      if (buffer.readableBytes() > 0) {
+         slowConsumerLatencyThreshold = BufferHelper.readNullableLong(buffer);
+      }
    }
 
    @Override
@@ -1542,7 +1612,9 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
          BufferHelper.sizeOfNullableBoolean(enableIngressTimestamp) +
          BufferHelper.sizeOfNullableLong(maxSizeMessages) +
          BufferHelper.sizeOfNullableInteger(maxReadPageMessages) +
-         BufferHelper.sizeOfNullableInteger(maxReadPageBytes);
+         BufferHelper.sizeOfNullableInteger(maxReadPageBytes) +
+         BufferHelper.sizeOfNullableSimpleString(metricsPercentiles) +
+         BufferHelper.sizeOfNullableLong(slowConsumerLatencyThreshold);
    }
 
    @Override
@@ -1682,6 +1754,10 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       BufferHelper.writeNullableInteger(buffer, maxReadPageBytes);
 
       BufferHelper.writeNullableInteger(buffer, maxReadPageMessages);
+
+      buffer.writeNullableSimpleString(SimpleString.toSimpleString(metricsPercentiles));
+
+      BufferHelper.writeNullableLong(buffer, slowConsumerLatencyThreshold);
    }
 
    /* (non-Javadoc)
@@ -1715,6 +1791,7 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       result = prime * result + ((sendToDLAOnNoRoute == null) ? 0 : sendToDLAOnNoRoute.hashCode());
       result = prime * result + ((slowConsumerThreshold == null) ? 0 : slowConsumerThreshold.hashCode());
       result = prime * result + ((slowConsumerCheckPeriod == null) ? 0 : slowConsumerCheckPeriod.hashCode());
+      result = prime * result + ((slowConsumerLatencyThreshold == null) ? 0 : slowConsumerLatencyThreshold.hashCode());
       result = prime * result + ((slowConsumerPolicy == null) ? 0 : slowConsumerPolicy.hashCode());
       result = prime * result + ((autoCreateJmsQueues == null) ? 0 : autoCreateJmsQueues.hashCode());
       result = prime * result + ((autoDeleteJmsQueues == null) ? 0 : autoDeleteJmsQueues.hashCode());
@@ -1754,6 +1831,7 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       result = prime * result + ((expiryQueuePrefix == null) ? 0 : expiryQueuePrefix.hashCode());
       result = prime * result + ((expiryQueueSuffix == null) ? 0 : expiryQueueSuffix.hashCode());
       result = prime * result + ((enableMetrics == null) ? 0 : enableMetrics.hashCode());
+      result = prime * result + ((metricsPercentiles == null) ? 0 : metricsPercentiles.hashCode());
       result = prime * result + ((managementMessageAttributeSizeLimit == null) ? 0 : managementMessageAttributeSizeLimit.hashCode());
       result = prime * result + ((slowConsumerThresholdMeasurementUnit == null) ? 0 : slowConsumerThresholdMeasurementUnit.hashCode());
       result = prime * result + ((enableIngressTimestamp == null) ? 0 : enableIngressTimestamp.hashCode());
@@ -1893,6 +1971,11 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
             return false;
       } else if (!slowConsumerCheckPeriod.equals(other.slowConsumerCheckPeriod))
          return false;
+      if (slowConsumerLatencyThreshold == null) {
+         if (other.slowConsumerLatencyThreshold != null)
+            return false;
+      } else if (!slowConsumerLatencyThreshold.equals(other.slowConsumerLatencyThreshold))
+         return false;
       if (slowConsumerPolicy == null) {
          if (other.slowConsumerPolicy != null)
             return false;
@@ -2124,6 +2207,12 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
       } else if (!enableIngressTimestamp.equals(other.enableIngressTimestamp))
          return false;
 
+      if (metricsPercentiles == null) {
+         if (other.metricsPercentiles != null)
+            return false;
+      } else if (!metricsPercentiles.equals(other.metricsPercentiles))
+         return false;
+
       if (maxSizeMessages == null) {
          if (other.maxSizeMessages != null)
             return false;
@@ -2189,6 +2278,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
          slowConsumerThresholdMeasurementUnit +
          ", slowConsumerCheckPeriod=" +
          slowConsumerCheckPeriod +
+         ", slowConsumerLatencyThreshold=" +
+         slowConsumerLatencyThreshold +
          ", slowConsumerPolicy=" +
          slowConsumerPolicy +
          ", autoCreateJmsQueues=" +
@@ -2265,6 +2356,8 @@ public class AddressSettings implements Mergeable<AddressSettings>, Serializable
          expiryQueueSuffix +
          ", enableMetrics=" +
          enableMetrics +
+         ", metricsPercentiles=" +
+         metricsPercentiles +
          ", enableIngressTime=" +
          enableIngressTimestamp +
          "]";
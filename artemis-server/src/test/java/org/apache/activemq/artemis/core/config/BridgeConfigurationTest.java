@@ -67,6 +67,7 @@ public class BridgeConfigurationTest {
       Assert.assertEquals(12, bridgeConfiguration.getCallTimeout());
       Assert.assertEquals(ComponentConfigurationRoutingType.MULTICAST, bridgeConfiguration.getRoutingType());
       Assert.assertEquals(1, bridgeConfiguration.getConcurrency());
+      Assert.assertEquals(13, bridgeConfiguration.getBatchSize());
    }
 
    @Test
@@ -106,6 +107,7 @@ public class BridgeConfigurationTest {
       Assert.assertEquals("102400", jsonObject.get(BridgeConfiguration.MIN_LARGE_MESSAGE_SIZE).toString());
       Assert.assertEquals("30000", jsonObject.get(BridgeConfiguration.CALL_TIMEOUT).toString());
       Assert.assertEquals("1", jsonObject.get(BridgeConfiguration.CONCURRENCY).toString());
+      Assert.assertEquals("1", jsonObject.get(BridgeConfiguration.BATCH_SIZE).toString());
 
       // also should contain default non-null values of string fields
       Assert.assertEquals("\"ACTIVEMQ.CLUSTER.ADMIN.USER\"", jsonObject.get(BridgeConfiguration.USER).toString());
@@ -192,6 +194,7 @@ public class BridgeConfigurationTest {
       objectBuilder.add(BridgeConfiguration.CALL_TIMEOUT, 12);
       objectBuilder.add(BridgeConfiguration.ROUTING_TYPE, "MULTICAST");
       objectBuilder.add(BridgeConfiguration.CONCURRENCY, 1);
+      objectBuilder.add(BridgeConfiguration.BATCH_SIZE, 13);
 
       return objectBuilder.build();
    }
@@ -717,6 +717,7 @@ public class ConfigurationImplTest extends ActiveMQTestBase {
       insertionOrderedProperties.put("AMQPConnections.target.connectionElements.mirror.queueCreation", "true");
       insertionOrderedProperties.put("AMQPConnections.target.connectionElements.mirror.queueRemoval", "true");
       insertionOrderedProperties.put("AMQPConnections.target.connectionElements.mirror.addressFilter", "foo");
+      insertionOrderedProperties.put("AMQPConnections.target.connectionElements.mirror.ackBatchSize", "100");
 
       configuration.parsePrefixedProperties(insertionOrderedProperties, null);
 
@@ -737,6 +738,7 @@ public class ConfigurationImplTest extends ActiveMQTestBase {
       Assert.assertEquals(true, amqpMirrorBrokerConnectionElement.isQueueCreation());
       Assert.assertEquals(true, amqpMirrorBrokerConnectionElement.isQueueRemoval());
       Assert.assertEquals("foo", amqpMirrorBrokerConnectionElement.getAddressFilter());
+      Assert.assertEquals(100, amqpMirrorBrokerConnectionElement.getAckBatchSize());
    }
 
    @Test
@@ -782,6 +784,7 @@ public class ConfigurationImplTest extends ActiveMQTestBase {
       properties.put("federationConfigurations.f1.upstreamConfigurations.joe.policyRefs", "pq1,pq2");
 
       properties.put("federationConfigurations.f1.queuePolicies.qp1.transformerRef", "simpleTransform");
+      properties.put("federationConfigurations.f1.queuePolicies.qp1.batchSize", "50");
       properties.put("federationConfigurations.f1.queuePolicies.qp2.includes.all-N.queueMatch", "N#");
 
       properties.put("federationConfigurations.f1.addressPolicies.a1.transformerRef", "simpleTransform");
@@ -810,6 +813,7 @@ public class ConfigurationImplTest extends ActiveMQTestBase {
       Assert.assertEquals(3, ((FederationPolicySet)configuration.getFederationConfigurations().get(0).getFederationPolicyMap().get("combined")).getPolicyRefs().size());
 
       Assert.assertEquals("simpleTransform", ((FederationQueuePolicyConfiguration)configuration.getFederationConfigurations().get(0).getFederationPolicyMap().get("qp1")).getTransformerRef());
+      Assert.assertEquals(50, ((FederationQueuePolicyConfiguration)configuration.getFederationConfigurations().get(0).getFederationPolicyMap().get("qp1")).getBatchSize());
 
       Assert.assertEquals("N#", ((FederationQueuePolicyConfiguration.Matcher)((FederationQueuePolicyConfiguration)configuration.getFederationConfigurations().get(0).getFederationPolicyMap().get("qp2")).getIncludes().toArray()[0]).getQueueMatch());
       Assert.assertEquals("b", ((FederationAddressPolicyConfiguration.Matcher)((FederationAddressPolicyConfiguration)configuration.getFederationConfigurations().get(0).getFederationPolicyMap().get("a1")).getExcludes().toArray()[0]).getAddressMatch());
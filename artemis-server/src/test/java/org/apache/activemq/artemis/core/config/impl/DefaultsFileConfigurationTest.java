@@ -48,6 +48,8 @@ public class DefaultsFileConfigurationTest extends ConfigurationImplTest {
 
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultConnectionTtlOverride(), conf.getConnectionTTLOverride());
 
+      Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultClientTopologyUpdateInterval(), conf.getClientTopologyUpdateInterval());
+
       Assert.assertEquals(0, conf.getAcceptorConfigurations().size());
 
       Assert.assertEquals(Collections.emptyMap(), conf.getConnectorConfigurations());
@@ -92,6 +94,8 @@ public class DefaultsFileConfigurationTest extends ConfigurationImplTest {
 
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalMaxAtticFiles(), conf.getJournalMaxAtticFiles());
 
+      Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultReplicationSyncStreams(), conf.getReplicationSyncStreams());
+
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactMinFiles(), conf.getJournalCompactMinFiles());
 
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactPercentage(), conf.getJournalCompactPercentage());
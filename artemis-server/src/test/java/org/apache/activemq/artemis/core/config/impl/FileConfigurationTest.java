@@ -71,6 +71,7 @@ import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.settings.impl.SlowConsumerPolicy;
 import org.apache.activemq.artemis.core.settings.impl.SlowConsumerThresholdMeasurementUnit;
 import org.apache.activemq.artemis.logs.AssertionLoggerHandler;
+import org.apache.activemq.artemis.logs.AuditOverflowPolicy;
 import org.apache.activemq.artemis.utils.RandomUtil;
 import org.apache.activemq.artemis.utils.critical.CriticalAnalyzerPolicy;
 import org.junit.AfterClass;
@@ -123,7 +124,13 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       Assert.assertEquals(true, conf.isMessageCounterEnabled());
       Assert.assertEquals(5, conf.getMessageCounterMaxDayHistory());
       Assert.assertEquals(123456, conf.getMessageCounterSamplePeriod());
+      Assert.assertTrue(conf.isFlightRecorderEnabled());
+      Assert.assertTrue(conf.isAuditLogAsync());
+      Assert.assertEquals(4096, conf.getAuditLogRingSize());
+      Assert.assertEquals(AuditOverflowPolicy.DROP, conf.getAuditLogOverflowPolicy());
+      Assert.assertEquals("audit/audit.bin", conf.getAuditLogFile());
       Assert.assertEquals(12345, conf.getConnectionTTLOverride());
+      Assert.assertEquals(250, conf.getClientTopologyUpdateInterval());
       Assert.assertEquals(98765, conf.getTransactionTimeout());
       Assert.assertEquals(56789, conf.getTransactionTimeoutScanPeriod());
       Assert.assertEquals(10111213, conf.getMessageExpiryScanPeriod());
@@ -150,6 +157,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       Assert.assertEquals(1000, conf.getJournalBufferTimeout_NIO());
       Assert.assertEquals(56546, conf.getJournalMaxIO_NIO());
       Assert.assertEquals(9876, conf.getJournalFileOpenTimeout());
+      Assert.assertEquals(8, conf.getReplicationSyncStreams());
 
       Assert.assertEquals(false, conf.isJournalSyncTransactional());
       Assert.assertEquals(true, conf.isJournalSyncNonTransactional());
@@ -335,6 +343,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
             Assert.assertEquals(444, bc.getProducerWindowSize());
             Assert.assertEquals(1073741824, bc.getConfirmationWindowSize());
             Assert.assertEquals(ComponentConfigurationRoutingType.STRIP, bc.getRoutingType());
+            Assert.assertEquals(100, bc.getBatchSize());
          } else if (bc.getName().equals("bridge2")) {
             Assert.assertEquals("bridge2", bc.getName());
             Assert.assertEquals("queue2", bc.getQueueName());
@@ -345,6 +354,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
             Assert.assertEquals("dg1", bc.getDiscoveryGroupName());
             Assert.assertEquals(568320, bc.getProducerWindowSize());
             Assert.assertEquals(ComponentConfigurationRoutingType.PASS, bc.getRoutingType());
+            Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultBridgeBatchSize(), bc.getBatchSize());
          } else if (bc.getName().equals("bridge3")) {
             Assert.assertEquals("bridge3", bc.getName());
             Assert.assertEquals("org.foo.BridgeTransformer3", bc.getTransformerConfiguration().getClassName());
@@ -388,6 +398,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
             Assert.assertEquals("connector2", ccc.getStaticConnectors().get(1));
             Assert.assertEquals(null, ccc.getDiscoveryGroupName());
             Assert.assertEquals(222, ccc.getProducerWindowSize());
+            Assert.assertEquals(50, ccc.getBatchSize());
          } else {
             Assert.assertEquals("cluster-connection2", ccc.getName());
             Assert.assertEquals("queues2", ccc.getAddress());
@@ -400,6 +411,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
             Assert.assertEquals(Collections.emptyList(), ccc.getStaticConnectors());
             Assert.assertEquals("dg1", ccc.getDiscoveryGroupName());
             Assert.assertEquals(333, ccc.getProducerWindowSize());
+            Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultBridgeBatchSize(), ccc.getBatchSize());
          }
       }
 
@@ -428,6 +440,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertEquals(10, conf.getAddressSettings().get("a1").getSlowConsumerThreshold());
       assertEquals(SlowConsumerThresholdMeasurementUnit.MESSAGES_PER_HOUR, conf.getAddressSettings().get("a1").getSlowConsumerThresholdMeasurementUnit());
       assertEquals(5, conf.getAddressSettings().get("a1").getSlowConsumerCheckPeriod());
+      assertEquals(AddressSettings.DEFAULT_SLOW_CONSUMER_LATENCY_THRESHOLD, conf.getAddressSettings().get("a1").getSlowConsumerLatencyThreshold());
       assertEquals(SlowConsumerPolicy.NOTIFY, conf.getAddressSettings().get("a1").getSlowConsumerPolicy());
       assertEquals(true, conf.getAddressSettings().get("a1").isAutoCreateJmsQueues());
       assertEquals(true, conf.getAddressSettings().get("a1").isAutoDeleteJmsQueues());
@@ -442,6 +455,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertEquals(3, conf.getAddressSettings().get("a1").getDefaultRingSize());
       assertEquals(0, conf.getAddressSettings().get("a1").getRetroactiveMessageCount());
       assertTrue(conf.getAddressSettings().get("a1").isEnableMetrics());
+      assertEquals(AddressSettings.DEFAULT_METRICS_PERCENTILES, conf.getAddressSettings().get("a1").getMetricsPercentiles());
       assertTrue(conf.getAddressSettings().get("a1").isEnableIngressTimestamp());
 
       assertEquals("a2.1", conf.getAddressSettings().get("a2").getDeadLetterAddress().toString());
@@ -464,6 +478,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertEquals(20, conf.getAddressSettings().get("a2").getSlowConsumerThreshold());
       assertEquals(SlowConsumerThresholdMeasurementUnit.MESSAGES_PER_DAY, conf.getAddressSettings().get("a2").getSlowConsumerThresholdMeasurementUnit());
       assertEquals(15, conf.getAddressSettings().get("a2").getSlowConsumerCheckPeriod());
+      assertEquals(2500, conf.getAddressSettings().get("a2").getSlowConsumerLatencyThreshold());
       assertEquals(SlowConsumerPolicy.KILL, conf.getAddressSettings().get("a2").getSlowConsumerPolicy());
       assertEquals(false, conf.getAddressSettings().get("a2").isAutoCreateJmsQueues());
       assertEquals(false, conf.getAddressSettings().get("a2").isAutoDeleteJmsQueues());
@@ -479,6 +494,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertEquals(-1, conf.getAddressSettings().get("a2").getDefaultRingSize());
       assertEquals(10, conf.getAddressSettings().get("a2").getRetroactiveMessageCount());
       assertFalse(conf.getAddressSettings().get("a2").isEnableMetrics());
+      assertEquals("0.5,0.999", conf.getAddressSettings().get("a2").getMetricsPercentiles());
       assertFalse(conf.getAddressSettings().get("a2").isEnableIngressTimestamp());
 
       assertTrue(conf.getResourceLimitSettings().containsKey("myUser"));
@@ -531,6 +547,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertEquals(123, conf.getDiskScanPeriod());
 
       assertEquals(333, conf.getCriticalAnalyzerCheckPeriod());
+      assertEquals(444, conf.getCriticalAnalyzerBudgetCheckPeriod());
       assertEquals(777, conf.getCriticalAnalyzerTimeout());
       assertEquals(false, conf.isCriticalAnalyzer());
       assertEquals(CriticalAnalyzerPolicy.HALT, conf.getCriticalAnalyzerPolicy());
@@ -555,6 +572,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertTrue(metricsConfiguration.isJvmGc());
       assertTrue(metricsConfiguration.isJvmThread());
       assertTrue(metricsConfiguration.isNettyPool());
+      assertTrue(metricsConfiguration.isLatency());
    }
 
    private void verifyAddresses() {
@@ -863,6 +881,7 @@ public class FileConfigurationTest extends ConfigurationImplTest {
       assertTrue(metricsConfiguration.isJvmGc());
       assertTrue(metricsConfiguration.isJvmThread());
       assertTrue(metricsConfiguration.isNettyPool());
+      assertFalse(metricsConfiguration.isLatency());
 
       ActiveMQMetricsPlugin metricPlugin = metricsConfiguration.getPlugin();
       assertTrue(metricPlugin instanceof FakeMetricPlugin);
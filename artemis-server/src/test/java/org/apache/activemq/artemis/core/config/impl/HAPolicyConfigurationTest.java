@@ -362,6 +362,8 @@ public class HAPolicyConfigurationTest extends ActiveMQTestBase {
          assertTrue(policy.isWaitForActivation());
          assertFalse(policy.useQuorumManager());
          assertEquals(12345, policy.getRetryReplicationWait());
+         assertEquals(200, policy.getHeartbeatPeriod());
+         assertEquals(6.5, policy.getFailureDetectorThreshold(), 0);
          // check scale-down properties
          assertFalse(policy.canScaleDown());
          assertNull(policy.getScaleDownClustername());
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.management.impl.view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.JsonUtil;
+import org.apache.activemq.artemis.core.management.impl.view.predicate.ActiveMQFilterPredicate;
+import org.apache.activemq.artemis.json.JsonObject;
+import org.apache.activemq.artemis.json.JsonObjectBuilder;
+import org.apache.activemq.artemis.utils.JsonLoader;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ActiveMQAbstractViewTest {
+
+   private static final class Item {
+
+      final long id;
+
+      final String name;
+
+      Item(long id, String name) {
+         this.id = id;
+         this.name = name;
+      }
+   }
+
+   private static final class ItemView extends ActiveMQAbstractView<Item> {
+
+      ItemView() {
+         this.predicate = new ActiveMQFilterPredicate<Item>() {
+            @Override
+            public boolean test(Item item) {
+               return matches(item.name);
+            }
+         };
+      }
+
+      @Override
+      Object getField(Item item, String fieldName) {
+         return "name".equals(fieldName) ? item.name : item.id;
+      }
+
+      @Override
+      public Class getClassT() {
+         return Item.class;
+      }
+
+      @Override
+      public JsonObjectBuilder toJson(Item item) {
+         return JsonLoader.createObjectBuilder().add("id", item.id).add("name", item.name);
+      }
+
+      @Override
+      public String getDefaultOrderColumn() {
+         return "id";
+      }
+   }
+
+   private static List<Item> items(int count) {
+      List<Item> items = new ArrayList<>();
+      // not in order and with duplicated names
+      for (int i = count - 1; i >= 0; i--) {
+         items.add(new Item(i, "item-" + (i % 10)));
+      }
+      return items;
+   }
+
+   private static ItemView view(List<Item> items, String options) {
+      ItemView view = new ItemView();
+      view.setCollection(items);
+      view.setOptions(options);
+      return view;
+   }
+
+   private static List<Long> ids(List<Item> items) {
+      List<Long> ids = new ArrayList<>();
+      for (Item item : items) {
+         ids.add(item.id);
+      }
+      return ids;
+   }
+
+   private static String options(String sortColumn, String sortOrder, String cursor) {
+      JsonObjectBuilder options = JsonLoader.createObjectBuilder()
+         .add("field", "")
+         .add("operation", "")
+         .add("value", "")
+         .add("sortColumn", sortColumn)
+         .add("sortOrder", sortOrder);
+      if (cursor != null) {
+         options.add("cursor", cursor);
+      }
+      return options.build().toString();
+   }
+
+   @Test
+   public void testPagedResult() {
+      List<Item> items = items(100);
+
+      Assert.assertEquals(Arrays.asList(0L, 1L, 2L), ids(view(items, options("id", "asc", null)).getPagedResult(1, 3)));
+      Assert.assertEquals(Arrays.asList(96L, 95L, 94L), ids(view(items, options("id", "desc", null)).getPagedResult(2, 3)));
+      Assert.assertEquals(Arrays.asList(99L), ids(view(items, options("id", "asc", null)).getPagedResult(34, 3)));
+      Assert.assertTrue(view(items, options("id", "asc", null)).getPagedResult(35, 3).isEmpty());
+
+      // ties of the sort column are ordered by the unique column
+      Assert.assertEquals(Arrays.asList(0L, 10L, 20L), ids(view(items, options("name", "asc", null)).getPagedResult(1, 3)));
+   }
+
+   @Test
+   public void testFilteredCount() {
+      String options = JsonLoader.createObjectBuilder()
+         .add("field", "name")
+         .add("operation", "EQUALS")
+         .add("value", "item-3")
+         .build().toString();
+      JsonObject result = JsonUtil.readJsonObject(view(items(100), options).getResultsAsJson(1, 4));
+
+      Assert.assertEquals(10, result.getInt("count"));
+      Assert.assertEquals(4, result.getJsonArray("data").size());
+      Assert.assertEquals(3, result.getJsonArray("data").getJsonObject(0).getInt("id"));
+   }
+
+   @Test
+   public void testCursor() {
+      List<Item> items = items(95);
+      for (String sortColumn : new String[]{"id", "name"}) {
+         for (String sortOrder : new String[]{"asc", "desc"}) {
+            List<Long> expected = ids(view(items, options(sortColumn, sortOrder, null)).getPagedResult(1, items.size()));
+            List<Long> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+               JsonObject result = JsonUtil.readJsonObject(view(items, options(sortColumn, sortOrder, cursor)).getResultsAsJson(1, 10));
+               Assert.assertEquals(items.size(), result.getInt("count"));
+               result.getJsonArray("data").forEach(item -> paged.add(item.asJsonObject().getJsonNumber("id").longValue()));
+               cursor = result.containsKey("cursor") ? result.getString("cursor") : null;
+            }
+            while (cursor != null);
+
+            Assert.assertEquals(sortColumn + " " + sortOrder, expected, paged);
+         }
+      }
+   }
+}
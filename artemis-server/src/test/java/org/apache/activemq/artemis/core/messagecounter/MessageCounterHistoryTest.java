@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.messagecounter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.List;
+
+import org.apache.activemq.artemis.core.messagecounter.MessageCounter.DayCounter;
+import org.apache.activemq.artemis.core.messagecounter.MessageCounterHistory.Metric;
+import org.apache.activemq.artemis.core.messagecounter.MessageCounterHistory.Rollup;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MessageCounterHistoryTest {
+
+   private static long time(int day, int hour, int minute) {
+      return LocalDateTime.of(2022, 10, day, hour, minute).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+   }
+
+   @Test
+   public void testHoursBeforeFirstSampleAreNotMonitored() {
+      MessageCounterHistory history = new MessageCounterHistory(10);
+
+      history.record(time(3, 10, 5), 0, 0);
+      history.record(time(3, 10, 30), 5, 2);
+      history.record(time(3, 12, 0), 3, 1);
+
+      List<DayCounter> days = history.getDayCounters(time(3, 12, 30));
+      Assert.assertEquals(1, days.size());
+      Assert.assertEquals(3, days.get(0).getDate().get(Calendar.DAY_OF_MONTH));
+
+      long[] counters = days.get(0).getCounters();
+      Assert.assertEquals(-1, counters[9]);
+      Assert.assertEquals(5, counters[10]);
+      Assert.assertEquals(0, counters[11]);
+      Assert.assertEquals(3, counters[12]);
+      Assert.assertEquals(-1, counters[13]);
+   }
+
+   @Test
+   public void testDaysAreLimited() {
+      MessageCounterHistory history = new MessageCounterHistory(2);
+
+      history.record(time(3, 10, 0), 1, 0);
+      history.record(time(4, 10, 0), 2, 0);
+      history.record(time(5, 10, 0), 4, 0);
+
+      List<DayCounter> days = history.getDayCounters(time(5, 11, 0));
+      Assert.assertEquals(2, days.size());
+      Assert.assertEquals(4, days.get(0).getDate().get(Calendar.DAY_OF_MONTH));
+      Assert.assertEquals(0, days.get(0).getCounters()[0]);
+      Assert.assertEquals(2, days.get(0).getCounters()[10]);
+      Assert.assertEquals(4, days.get(1).getCounters()[10]);
+      Assert.assertEquals(0, days.get(1).getCounters()[11]);
+
+      Assert.assertArrayEquals(new long[]{2, 4}, history.getValues(Metric.ADDED, Rollup.DAY, time(5, 11, 0)));
+   }
+
+   @Test
+   public void testUnlimitedHistoryGrows() {
+      MessageCounterHistory history = new MessageCounterHistory(-1);
+
+      for (int day = 1; day <= 20; day++) {
+         history.record(time(day, 8, 0), day, 0);
+      }
+
+      List<DayCounter> days = history.getDayCounters(time(20, 9, 0));
+      Assert.assertEquals(20, days.size());
+      for (int day = 1; day <= 20; day++) {
+         Assert.assertEquals(day, days.get(day - 1).getCounters()[8]);
+      }
+      Assert.assertEquals(20, history.getValues(Metric.ADDED, Rollup.DAY, time(20, 9, 0)).length);
+   }
+
+   @Test
+   public void testMinuteRollup() {
+      MessageCounterHistory history = new MessageCounterHistory(10);
+
+      history.record(time(3, 10, 0), 1, 1);
+      history.record(time(3, 10, 0) + 30_000, 2, 0);
+      history.record(time(3, 10, 2), 4, 3);
+
+      long[] added = history.getValues(Metric.ADDED, Rollup.MINUTE, time(3, 10, 3));
+      long[] acknowledged = history.getValues(Metric.ACKNOWLEDGED, Rollup.MINUTE, time(3, 10, 3));
+      Assert.assertEquals(60, added.length);
+      Assert.assertEquals(-1, added[55]);
+      Assert.assertEquals(3, added[56]);
+      Assert.assertEquals(0, added[57]);
+      Assert.assertEquals(4, added[58]);
+      Assert.assertEquals(0, added[59]);
+      Assert.assertEquals(1, acknowledged[56]);
+      Assert.assertEquals(3, acknowledged[58]);
+      Assert.assertEquals(LocalDateTime.of(2022, 10, 3, 9, 4), history.getStart(Rollup.MINUTE, time(3, 10, 3)));
+
+      // an hour later every minute has been overwritten
+      added = history.getValues(Metric.ADDED, Rollup.MINUTE, time(3, 11, 3));
+      for (long value : added) {
+         Assert.assertEquals(0, value);
+      }
+      // the hours still count them
+      Assert.assertEquals(7, history.getDayCounters(time(3, 11, 3)).get(0).getCounters()[10]);
+   }
+
+   @Test
+   public void testClear() {
+      MessageCounterHistory history = new MessageCounterHistory(10);
+
+      history.record(time(3, 10, 0), 1, 1);
+      history.clear();
+      history.record(time(3, 12, 0), 2, 0);
+
+      long[] counters = history.getDayCounters(time(3, 12, 0)).get(0).getCounters();
+      Assert.assertEquals(-1, counters[10]);
+      Assert.assertEquals(2, counters[12]);
+   }
+
+   @Test
+   public void testDisabled() {
+      MessageCounterHistory history = new MessageCounterHistory(0);
+
+      history.record(time(3, 10, 0), 1, 1);
+
+      Assert.assertFalse(history.isEnabled());
+      Assert.assertTrue(history.getDayCounters(time(3, 10, 0)).isEmpty());
+      Assert.assertEquals(0, history.getValues(Metric.ADDED, Rollup.HOUR, time(3, 10, 0)).length);
+   }
+}
@@ -15,6 +15,7 @@
  */
 package org.apache.activemq.artemis.core.persistence.impl.journal;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -49,12 +50,15 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.mockito.InOrder;
 
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -170,6 +174,40 @@ public class JournalStorageManagerTest extends ActiveMQTestBase {
       stoppedReplication.get();
    }
 
+   @Test(timeout = 20_000)
+   public void testFileSyncCancelledBeforeCleanupOnFailure() throws Exception {
+      if (journalType == JournalType.ASYNCIO) {
+         assumeTrue("AIO is not supported on this platform", AIOSequentialFileFactory.isSupported());
+      }
+      final Configuration configuration = createDefaultInVMConfig().setJournalType(journalType);
+      final ExecutorFactory executorFactory = new OrderedExecutorFactory(executor);
+      final ExecutorFactory ioExecutorFactory = new OrderedExecutorFactory(ioExecutor);
+      final JournalStorageManager manager = new JournalStorageManager(configuration, null, executorFactory, null, ioExecutorFactory);
+      manager.start();
+      try {
+         manager.loadBindingJournal(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+         final PostOffice postOffice = mock(PostOffice.class);
+         final JournalLoader journalLoader = mock(JournalLoader.class);
+         manager.loadMessageJournal(postOffice, null, null, null, null, null, null, journalLoader);
+         final ReplicationManager replicationManager = mock(ReplicationManager.class);
+         final PagingManager pagingManager = mock(PagingManager.class);
+         when(pagingManager.getStoreNames()).thenReturn(new SimpleString[0]);
+         // a stream failed to send its file while the others may still be sending theirs
+         doThrow(new IOException("broken file")).when(replicationManager).awaitFileSync();
+         try {
+            manager.startReplication(replicationManager, pagingManager, UUID.randomUUID().toString(), false, 0);
+            Assert.fail("the failure of the stream should be thrown");
+         } catch (IOException e) {
+            Assert.assertEquals("broken file", e.getMessage());
+         }
+         final InOrder inOrder = inOrder(replicationManager, pagingManager);
+         inOrder.verify(replicationManager).cancelFileSync();
+         inOrder.verify(pagingManager).resumeCleanup();
+      } finally {
+         manager.stop();
+      }
+   }
+
    @Test
    public void testAddBytesToLargeMessageNotLeakingByteBuffer() throws Exception {
       if (journalType == JournalType.ASYNCIO) {
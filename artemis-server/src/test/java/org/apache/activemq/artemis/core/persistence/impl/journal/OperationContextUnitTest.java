@@ -16,22 +16,38 @@
  */
 package org.apache.activemq.artemis.core.persistence.impl.journal;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
 import org.apache.activemq.artemis.core.io.IOCallback;
+import org.apache.activemq.artemis.core.server.jfr.OperationCompletionEvent;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
 import org.apache.activemq.artemis.utils.ActiveMQThreadFactory;
+import org.apache.activemq.artemis.utils.ThreadLeakCheckRule;
 import org.apache.activemq.artemis.utils.Wait;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.junit.Assert;
 import org.junit.Test;
 
 public class OperationContextUnitTest extends ActiveMQTestBase {
 
+   private static Recording newRecording() {
+      // the JDK Flight Recorder threads stay alive once a recording has been started
+      ThreadLeakCheckRule.addKownThread("JFR ");
+      return new Recording();
+   }
+
    @Test
    public void testCompleteTaskAfterPaging() throws Exception {
       ExecutorService executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
@@ -422,4 +438,79 @@ public class OperationContextUnitTest extends ActiveMQTestBase {
       Assert.assertEquals(0, operations.get());
    }
 
+   @Test
+   public void testCompletionRecordedByFlightRecorder() throws Exception {
+      ExecutorService executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      FlightRecorderEvents.setEnabled(true);
+      Assert.assertTrue(FlightRecorderEvents.isEnabled());
+      try (Recording recording = newRecording()) {
+         recording.enable(OperationCompletionEvent.class).withThreshold(Duration.ZERO);
+         recording.start();
+
+         OperationContextImpl impl = new OperationContextImpl(executor);
+         final CountDownLatch latch = new CountDownLatch(1);
+
+         impl.storeLineUp();
+         impl.executeOnCompletion(new IOCallback() {
+
+            @Override
+            public void onError(int errorCode, String errorMessage) {
+            }
+
+            @Override
+            public void done() {
+               latch.countDown();
+            }
+         }, true);
+         impl.done();
+
+         assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+         recording.stop();
+         Path file = new File(temporaryFolder.getRoot(), "completion.jfr").toPath();
+         recording.dump(file);
+
+         List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+         Assert.assertEquals(1, events.size());
+         Assert.assertTrue(events.get(0).getBoolean("storeOnly"));
+         Assert.assertFalse(events.get(0).getBoolean("failed"));
+      } finally {
+         FlightRecorderEvents.setEnabled(false);
+         executor.shutdown();
+      }
+   }
+
+   @Test
+   public void testCompletionNotRecordedWhenDisabled() throws Exception {
+      ExecutorService executor = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      try (Recording recording = newRecording()) {
+         recording.enable(OperationCompletionEvent.class).withThreshold(Duration.ZERO);
+         recording.start();
+
+         OperationContextImpl impl = new OperationContextImpl(executor);
+         final CountDownLatch latch = new CountDownLatch(1);
+
+         impl.executeOnCompletion(new IOCallback() {
+
+            @Override
+            public void onError(int errorCode, String errorMessage) {
+            }
+
+            @Override
+            public void done() {
+               latch.countDown();
+            }
+         });
+
+         assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+         recording.stop();
+         Path file = new File(temporaryFolder.getRoot(), "completion.jfr").toPath();
+         recording.dump(file);
+
+         Assert.assertTrue(RecordingFile.readAllEvents(file).isEmpty());
+      } finally {
+         executor.shutdown();
+      }
+   }
 }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.client.ClusterTopologyListener;
+import org.apache.activemq.artemis.api.core.client.TopologyMember;
+import org.apache.activemq.artemis.core.client.impl.TopologyMemberImpl;
+import org.apache.activemq.artemis.utils.Wait;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CoalescingTopologyListenerTest {
+
+   private ScheduledExecutorService scheduledPool;
+
+   private final List<String> updates = new ArrayList<>();
+
+   private final ClusterTopologyListener recorder = new ClusterTopologyListener() {
+      @Override
+      public synchronized void nodeUP(TopologyMember member, boolean last) {
+         updates.add("up:" + member.getNodeId() + ":" + member.getUniqueEventID() + (last ? ":last" : ""));
+      }
+
+      @Override
+      public synchronized void nodeDown(long eventUID, String nodeID) {
+         updates.add("down:" + nodeID + ":" + eventUID);
+      }
+   };
+
+   @Before
+   public void setUp() {
+      scheduledPool = Executors.newSingleThreadScheduledExecutor();
+   }
+
+   @After
+   public void tearDown() {
+      scheduledPool.shutdownNow();
+   }
+
+   private static TopologyMember member(String nodeID, long eventUID) {
+      TopologyMemberImpl member = new TopologyMemberImpl(nodeID, null, null, null, null);
+      member.setUniqueEventID(eventUID);
+      return member;
+   }
+
+   @Test
+   public void testOnlyLatestChangeOfNodeIsSent() {
+      CoalescingTopologyListener listener = new CoalescingTopologyListener(recorder, scheduledPool, TimeUnit.HOURS.toMillis(1));
+
+      listener.nodeUP(member("a", 1), false);
+      listener.nodeUP(member("b", 2), false);
+      listener.nodeDown(3, "a");
+      listener.nodeUP(member("a", 4), false);
+      listener.nodeDown(5, "b");
+      Assert.assertTrue(updates.isEmpty());
+
+      listener.flush();
+      Assert.assertEquals(Arrays.asList("up:a:4", "down:b:5"), updates);
+
+      // nothing left to send
+      listener.flush();
+      Assert.assertEquals(2, updates.size());
+   }
+
+   @Test
+   public void testInitialTopologyIsNotDelayed() {
+      CoalescingTopologyListener listener = new CoalescingTopologyListener(recorder, scheduledPool, TimeUnit.HOURS.toMillis(1));
+
+      listener.nodeUP(member("a", 1), false);
+      listener.nodeUP(member("b", 2), false);
+      listener.nodeUP(member("c", 3), true);
+
+      Assert.assertEquals(3, updates.size());
+      Assert.assertEquals("up:c:3:last", updates.get(2));
+   }
+
+   @Test
+   public void testScheduledFlush() throws Exception {
+      CoalescingTopologyListener listener = new CoalescingTopologyListener(recorder, scheduledPool, 50);
+
+      listener.nodeUP(member("a", 1), false);
+      listener.nodeUP(member("a", 2), false);
+
+      Wait.assertEquals(1, () -> {
+         synchronized (recorder) {
+            return updates.size();
+         }
+      });
+      synchronized (recorder) {
+         Assert.assertEquals("up:a:2", updates.get(0));
+      }
+   }
+
+   @Test
+   public void testNothingSentOnceClosed() {
+      CoalescingTopologyListener listener = new CoalescingTopologyListener(recorder, scheduledPool, TimeUnit.HOURS.toMillis(1));
+
+      listener.nodeUP(member("a", 1), false);
+      listener.close();
+      listener.flush();
+      listener.nodeUP(member("b", 2), true);
+
+      Assert.assertTrue(updates.isEmpty());
+   }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlushSizeRecorderTest {
+
+   private static void releaseOutbound(EmbeddedChannel channel, int expectedBytes) {
+      int bytes = 0;
+      ByteBuf buffer;
+      while ((buffer = channel.readOutbound()) != null) {
+         bytes += buffer.readableBytes();
+         buffer.release();
+      }
+      Assert.assertEquals(expectedBytes, bytes);
+   }
+
+   @Test
+   public void testRecordFlushSizes() {
+      FlushSizeRecorder.Statistics statistics = new FlushSizeRecorder.Statistics();
+      EmbeddedChannel channel = new EmbeddedChannel(new FlushSizeRecorder(statistics));
+
+      for (int i = 0; i < 3; i++) {
+         channel.write(Unpooled.wrappedBuffer(new byte[10]));
+      }
+      channel.flush();
+      channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[10]));
+      // nothing written: it must not be recorded
+      channel.flush();
+
+      Assert.assertEquals(2, statistics.getFlushCount());
+      Assert.assertEquals(40, statistics.getFlushedBytes());
+      Assert.assertEquals(30, statistics.getMaxFlushSize());
+      Assert.assertEquals(20, statistics.getAverageFlushSize(), 0);
+      releaseOutbound(channel, 40);
+      channel.finishAndReleaseAll();
+   }
+
+   @Test
+   public void testFlushesAreCoalescedWhileReading() {
+      FlushSizeRecorder.Statistics statistics = new FlushSizeRecorder.Statistics();
+      EmbeddedChannel channel = new EmbeddedChannel(new FlushSizeRecorder(statistics), new FlushConsolidationHandler(256, true), new ChannelInboundHandlerAdapter() {
+         @Override
+         public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ReferenceCountUtil.release(msg);
+            for (int i = 0; i < 3; i++) {
+               ctx.writeAndFlush(Unpooled.wrappedBuffer(new byte[10]));
+            }
+         }
+      });
+
+      channel.writeInbound(Unpooled.wrappedBuffer(new byte[1]));
+
+      Assert.assertEquals(1, statistics.getFlushCount());
+      Assert.assertEquals(30, statistics.getFlushedBytes());
+      releaseOutbound(channel, 30);
+      channel.finishAndReleaseAll();
+   }
+}
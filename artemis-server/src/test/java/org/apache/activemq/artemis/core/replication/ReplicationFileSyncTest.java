@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.replication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.protocol.core.Channel;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationSyncFileMessage;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.Wait;
+import org.apache.activemq.artemis.utils.actors.OrderedExecutorFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ReplicationFileSyncTest extends ActiveMQTestBase {
+
+   private ExecutorService executor;
+
+   private ReplicationManager replicationManager;
+
+   // the sync file packets as the backup decodes them, in the order they were sent
+   private final List<ReplicationSyncFileMessage> received = new ArrayList<>();
+
+   @Before
+   public void createReplicationManager() throws Exception {
+      executor = Executors.newCachedThreadPool();
+
+      CoreRemotingConnection remotingConnection = Mockito.mock(CoreRemotingConnection.class);
+      Channel channel = Mockito.mock(Channel.class);
+      Mockito.when(remotingConnection.getChannel(Mockito.anyLong(), Mockito.anyInt())).thenReturn(channel);
+      Mockito.when(remotingConnection.getTransportConnection()).thenReturn(Mockito.mock(Connection.class));
+      Mockito.when(remotingConnection.blockUntilWritable(Mockito.anyLong())).thenReturn(true);
+      Mockito.when(channel.getConnection()).thenReturn(remotingConnection);
+      Mockito.when(channel.send(Mockito.any(Packet.class), Mockito.anyBoolean())).thenAnswer(invocation -> {
+         Packet packet = invocation.getArgument(0);
+         if (packet instanceof ReplicationSyncFileMessage) {
+            ActiveMQBuffer buffer = ActiveMQBuffers.dynamicBuffer(1024);
+            ((ReplicationSyncFileMessage) packet).encodeRest(buffer);
+            ReplicationSyncFileMessage decoded = new ReplicationSyncFileMessage();
+            decoded.decodeRest(buffer);
+            synchronized (received) {
+               received.add(decoded);
+            }
+         }
+         return true;
+      });
+
+      // without a server the default number of sync streams is used
+      replicationManager = new ReplicationManager(null, remotingConnection, -1, 30_000, new OrderedExecutorFactory(executor));
+      replicationManager.start();
+   }
+
+   @After
+   public void stopReplicationManager() throws Exception {
+      replicationManager.stop();
+      executor.shutdownNow();
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+   }
+
+   @Test
+   public void testFilesAreSyncedByParallelStreams() throws Exception {
+      final int files = 6;
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger maxRunning = new AtomicInteger();
+      final AtomicInteger synced = new AtomicInteger();
+      final CountDownLatch release = new CountDownLatch(1);
+
+      CountDownLatch submitted = new CountDownLatch(1);
+      Thread submitter = new Thread(() -> {
+         try {
+            for (int i = 0; i < files; i++) {
+               replicationManager.syncFile(() -> {
+                  maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                  try {
+                     Assert.assertTrue(release.await(10, TimeUnit.SECONDS));
+                  } finally {
+                     running.decrementAndGet();
+                  }
+                  synced.incrementAndGet();
+               });
+            }
+         } catch (Exception e) {
+            throw new RuntimeException(e);
+         }
+         submitted.countDown();
+      });
+      submitter.start();
+
+      // the default number of streams sends files at the same time, the next file waits for an idle stream
+      Wait.assertEquals(4, running::get);
+      Assert.assertFalse(submitted.await(100, TimeUnit.MILLISECONDS));
+
+      release.countDown();
+      Assert.assertTrue(submitted.await(10, TimeUnit.SECONDS));
+      submitter.join();
+
+      replicationManager.awaitFileSync();
+      Assert.assertEquals(files, synced.get());
+      Assert.assertEquals(4, maxRunning.get());
+   }
+
+   @Test
+   public void testAwaitFileSyncThrowsStreamFailure() throws Exception {
+      replicationManager.syncFile(() -> {
+         throw new IOException("broken file");
+      });
+
+      try {
+         replicationManager.awaitFileSync();
+         Assert.fail("the failure of the stream should be thrown");
+      } catch (IOException e) {
+         Assert.assertEquals("broken file", e.getMessage());
+      }
+
+      // reported once
+      replicationManager.awaitFileSync();
+   }
+
+   @Test
+   public void testCancelFileSyncWaitsForStreams() throws Exception {
+      final CountDownLatch release = new CountDownLatch(1);
+      final AtomicInteger synced = new AtomicInteger();
+
+      for (int i = 0; i < 2; i++) {
+         replicationManager.syncFile(() -> {
+            Assert.assertTrue(release.await(10, TimeUnit.SECONDS));
+            synced.incrementAndGet();
+         });
+      }
+      replicationManager.syncFile(() -> {
+         throw new IOException("broken file");
+      });
+
+      CountDownLatch cancelled = new CountDownLatch(1);
+      Thread canceller = new Thread(() -> {
+         try {
+            replicationManager.cancelFileSync();
+         } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+         }
+         cancelled.countDown();
+      });
+      canceller.start();
+
+      // the files being sent are still read by their streams
+      Assert.assertFalse(cancelled.await(100, TimeUnit.MILLISECONDS));
+
+      release.countDown();
+      Assert.assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+      canceller.join();
+      Assert.assertEquals(2, synced.get());
+
+      // files are no longer sent and the failure was dropped with them
+      replicationManager.syncFile(synced::incrementAndGet);
+      replicationManager.awaitFileSync();
+      Assert.assertEquals(2, synced.get());
+   }
+
+   @Test
+   public void testSyncedFilesMatchTheirChecksums() throws Exception {
+      Map<Long, byte[]> contents = syncLargeMessageFiles(6);
+
+      ReplicationEndpoint endpoint = new ReplicationEndpoint(null, false, null);
+      Map<Long, ByteArrayOutputStream> copies = new HashMap<>();
+      for (ReplicationSyncFileMessage packet : received) {
+         endpoint.verifySyncChecksum(packet);
+         if (packet.getData() != null) {
+            copies.computeIfAbsent(packet.getId(), id -> new ByteArrayOutputStream()).write(packet.getData());
+         } else {
+            Assert.assertTrue(packet.getChecksum() >= 0);
+         }
+      }
+
+      Assert.assertEquals(0, endpoint.getSyncChecksumMismatches());
+      for (Map.Entry<Long, byte[]> content : contents.entrySet()) {
+         Assert.assertArrayEquals(content.getValue(), copies.get(content.getKey()).toByteArray());
+      }
+   }
+
+   @Test
+   public void testChecksumMismatch() throws Exception {
+      syncLargeMessageFiles(2);
+
+      ReplicationEndpoint endpoint = new ReplicationEndpoint(null, false, null);
+      boolean corrupted = false;
+      for (ReplicationSyncFileMessage packet : received) {
+         if (!corrupted && packet.getData() != null) {
+            // a byte changed on the way to the backup
+            packet.getData()[0]++;
+            corrupted = true;
+         }
+         endpoint.verifySyncChecksum(packet);
+      }
+
+      Assert.assertEquals(1, endpoint.getSyncChecksumMismatches());
+   }
+
+   @Test
+   public void testNoChecksumFromOlderLive() throws Exception {
+      syncLargeMessageFiles(1);
+
+      ReplicationEndpoint endpoint = new ReplicationEndpoint(null, false, null);
+      for (ReplicationSyncFileMessage packet : received) {
+         if (packet.getData() != null) {
+            packet.getData()[0]++;
+         } else {
+            // an older live doesn't send the checksum, nothing can be verified
+            packet.setChecksum(-1);
+         }
+         endpoint.verifySyncChecksum(packet);
+      }
+
+      Assert.assertEquals(0, endpoint.getSyncChecksumMismatches());
+   }
+
+   /**
+    * @return the content of the synced files by their id
+    */
+   private Map<Long, byte[]> syncLargeMessageFiles(int files) throws Exception {
+      SequentialFileFactory factory = new NIOSequentialFileFactory(getTestDirfile(), 1);
+      Random random = new Random(files);
+      Map<Long, byte[]> contents = new HashMap<>();
+
+      for (long id = 1; id <= files; id++) {
+         // a few packets per file, the last one partially filled
+         byte[] content = new byte[100 * 1024 + random.nextInt(1024)];
+         random.nextBytes(content);
+         contents.put(id, content);
+
+         SequentialFile file = factory.createSequentialFile(id + ".msg");
+         file.open();
+         file.writeDirect(ByteBuffer.wrap(content), true);
+         file.close();
+
+         replicationManager.syncLargeMessageFile(file, content.length, id);
+      }
+
+      replicationManager.awaitFileSync();
+      // the last packet of a file is handed to the channel right after its sender was released
+      Wait.assertEquals((long) files, () -> {
+         synchronized (received) {
+            return received.stream().filter(packet -> packet.getData() == null).count();
+         }
+      });
+      return contents;
+   }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.cluster.impl;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
+import org.apache.activemq.artemis.core.postoffice.PostOffice;
+import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.cluster.QueueLoad;
+import org.apache.activemq.artemis.core.server.cluster.RemoteQueueBinding;
+import org.apache.activemq.artemis.core.server.management.ManagementService;
+import org.apache.activemq.artemis.core.server.management.Notification;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QueueLoadMonitorTest {
+
+   @Test
+   public void testDrainTime() {
+      Assert.assertEquals(0, new QueueLoad(0, 0, 0).getDrainTime(), 0);
+      Assert.assertEquals(Double.POSITIVE_INFINITY, new QueueLoad(10, 0, 0).getDrainTime(), 0);
+      Assert.assertEquals(10, new QueueLoad(100, 2, 10).getDrainTime(), 0);
+
+      // a consumer which has not acknowledged anything yet is accounted as taking one message per second
+      Assert.assertEquals(50, new QueueLoad(100, 2, 0).getDrainTime(), 0);
+   }
+
+   @Test
+   public void testMessagesToMove() {
+      QueueLoad slow = new QueueLoad(1000, 1, 10);
+      QueueLoad fast = new QueueLoad(0, 1, 40);
+
+      // 800 messages on the slow node and 200 on the fast one are consumed in 80 and 5 seconds respectively
+      Assert.assertEquals(800, slow.getMessagesToMove(fast));
+      Assert.assertEquals(0, fast.getMessagesToMove(slow));
+
+      Assert.assertEquals(0, slow.getMessagesToMove(new QueueLoad(0, 0, 0)));
+      Assert.assertEquals(0, new QueueLoad(1000, 0, 0).getMessagesToMove(fast));
+   }
+
+   @Test
+   public void testOverloadedHysteresis() {
+      // starts moving messages above the start ratio
+      Assert.assertFalse(QueueLoadMonitor.isOverloaded(false, 15, 10));
+      Assert.assertTrue(QueueLoadMonitor.isOverloaded(false, 25, 10));
+
+      // and keeps moving them until the stop ratio
+      Assert.assertTrue(QueueLoadMonitor.isOverloaded(true, 15, 10));
+      Assert.assertFalse(QueueLoadMonitor.isOverloaded(true, 12, 10));
+   }
+
+   @Test
+   public void testShortDrainTimeIsNotOverloaded() {
+      Assert.assertFalse(QueueLoadMonitor.isOverloaded(false, QueueLoadMonitor.MIN_DRAIN_TIME / 2, 0));
+      Assert.assertTrue(QueueLoadMonitor.isOverloaded(false, QueueLoadMonitor.MIN_DRAIN_TIME * 2, 0));
+   }
+
+   @Test
+   public void testShouldPublish() {
+      QueueLoad published = new QueueLoad(1000, 2, 100);
+
+      Assert.assertTrue(QueueLoadMonitor.shouldPublish(null, published));
+      Assert.assertFalse(QueueLoadMonitor.shouldPublish(published, published));
+
+      // small changes of the message count or of the rate are not published
+      Assert.assertFalse(QueueLoadMonitor.shouldPublish(published, new QueueLoad(1100, 2, 100)));
+      Assert.assertFalse(QueueLoadMonitor.shouldPublish(published, new QueueLoad(1000, 2, 90)));
+
+      Assert.assertTrue(QueueLoadMonitor.shouldPublish(published, new QueueLoad(1500, 2, 100)));
+      Assert.assertTrue(QueueLoadMonitor.shouldPublish(published, new QueueLoad(1000, 2, 50)));
+      Assert.assertTrue(QueueLoadMonitor.shouldPublish(published, new QueueLoad(1000, 3, 100)));
+      Assert.assertTrue(QueueLoadMonitor.shouldPublish(published, new QueueLoad(0, 2, 100)));
+      Assert.assertTrue(QueueLoadMonitor.shouldPublish(published, new QueueLoad(1000, 0, 0)));
+
+      // crossing the minimum drain time is published even for a small change
+      Assert.assertTrue(QueueLoadMonitor.shouldPublish(new QueueLoad(105, 1, 100), new QueueLoad(95, 1, 100)));
+   }
+
+   @Test
+   public void testPublishesOnlyChangedLoads() throws Exception {
+      Queue queue = mock(Queue.class);
+      when(queue.getID()).thenReturn(1L);
+      when(queue.getName()).thenReturn(SimpleString.toSimpleString("queue"));
+      when(queue.getConsumerCount()).thenReturn(1);
+      when(queue.getMessageCount()).thenReturn(100L);
+
+      LocalQueueBinding localBinding = mock(LocalQueueBinding.class);
+      when(localBinding.getQueue()).thenReturn(queue);
+      when(localBinding.getAddress()).thenReturn(SimpleString.toSimpleString("address"));
+      when(localBinding.getRoutingName()).thenReturn(SimpleString.toSimpleString("queue"));
+      when(localBinding.getClusterName()).thenReturn(SimpleString.toSimpleString("queue-node"));
+
+      Queue storeAndForward = mock(Queue.class);
+      RemoteQueueBinding remoteBinding = mock(RemoteQueueBinding.class);
+      when(remoteBinding.isConnected()).thenReturn(true);
+      when(remoteBinding.getBindable()).thenReturn(storeAndForward);
+      when(remoteBinding.getRoutingName()).thenReturn(SimpleString.toSimpleString("queue"));
+
+      PostOffice postOffice = mock(PostOffice.class);
+      when(postOffice.getAllBindings()).thenAnswer(invocation -> Stream.of(localBinding, remoteBinding));
+      when(postOffice.getBinding(SimpleString.toSimpleString("queue"))).thenReturn(localBinding);
+
+      ManagementService managementService = mock(ManagementService.class);
+      QueueLoadMonitor monitor = new QueueLoadMonitor(postOffice, managementService);
+      Set<Queue> storeAndForwardQueues = Collections.singleton(storeAndForward);
+
+      monitor.update(storeAndForwardQueues);
+      verify(managementService, times(1)).sendNotification(any());
+
+      // nothing consumed and about the same number of messages: nothing to publish
+      when(queue.getMessageCount()).thenReturn(110L);
+      monitor.update(storeAndForwardQueues);
+      monitor.update(storeAndForwardQueues);
+      verify(managementService, times(1)).sendNotification(any());
+
+      when(queue.getMessageCount()).thenReturn(200L);
+      monitor.update(storeAndForwardQueues);
+      verify(managementService, times(2)).sendNotification(any());
+
+      when(queue.getConsumerCount()).thenReturn(2);
+      monitor.update(storeAndForwardQueues);
+      verify(managementService, times(3)).sendNotification(any());
+
+      // an unchanged load is published again now and then
+      for (int i = 0; i < QueueLoadMonitor.MAX_SKIPPED_UPDATES; i++) {
+         monitor.update(storeAndForwardQueues);
+      }
+      ArgumentCaptor<Notification> notifications = ArgumentCaptor.forClass(Notification.class);
+      verify(managementService, times(4)).sendNotification(notifications.capture());
+      Assert.assertEquals(CoreNotificationType.QUEUE_LOAD, notifications.getValue().getType());
+
+      // a queue no longer bound on other nodes is not published
+      when(remoteBinding.isConnected()).thenReturn(false);
+      for (int i = 0; i < QueueLoadMonitor.MAX_SKIPPED_UPDATES; i++) {
+         monitor.update(storeAndForwardQueues);
+      }
+      verify(managementService, times(4)).sendNotification(any());
+   }
+}
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.server.group.impl;
 import javax.management.ObjectName;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -53,6 +54,7 @@ import org.apache.activemq.artemis.core.server.impl.AddressInfo;
 import org.apache.activemq.artemis.core.server.management.ArtemisMBeanServerGuard;
 import org.apache.activemq.artemis.core.server.management.ManagementService;
 import org.apache.activemq.artemis.core.server.management.Notification;
+import org.apache.activemq.artemis.core.server.metrics.OpenMetricsExporter;
 import org.apache.activemq.artemis.core.server.management.NotificationListener;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
@@ -186,6 +188,16 @@ public class ClusteredResetMockTest extends ActiveMQTestBase {
          return null;
       }
 
+      @Override
+      public OpenMetricsExporter getOpenMetricsExporter() {
+         return null;
+      }
+
+      @Override
+      public Executor getQueryExecutor() {
+         return null;
+      }
+
       @Override
       public SimpleString getManagementAddress() {
          return null;
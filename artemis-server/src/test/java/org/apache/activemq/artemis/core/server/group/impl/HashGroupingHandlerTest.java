@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.group.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
+import org.apache.activemq.artemis.api.core.management.ManagementHelper;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.postoffice.impl.LocalQueueBinding;
+import org.apache.activemq.artemis.core.server.cluster.RemoteQueueBinding;
+import org.apache.activemq.artemis.core.server.management.ManagementService;
+import org.apache.activemq.artemis.core.server.management.Notification;
+import org.apache.activemq.artemis.utils.actors.ArtemisExecutor;
+import org.apache.activemq.artemis.utils.collections.TypedProperties;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType.OFF;
+import static org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType.OFF_WITH_REDISTRIBUTION;
+import static org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType.ON_DEMAND;
+
+public class HashGroupingHandlerTest {
+
+   private static final int GROUPS = 1000;
+
+   private final ManagementService managementService = Mockito.mock(ManagementService.class);
+
+   private HashGroupingHandler createHandler(long groupTimeout) throws Exception {
+      HashGroupingHandler handler = new HashGroupingHandler(() -> ArtemisExecutor.delegate(Runnable::run), null, managementService, SimpleString.toSimpleString("handler"), SimpleString.toSimpleString("address"), new NullStorageManager(), 5000, groupTimeout, 0);
+      handler.start();
+      return handler;
+   }
+
+   private static Binding binding(String clusterName) {
+      return binding(Binding.class, clusterName);
+   }
+
+   private static <T extends Binding> T binding(Class<T> type, String clusterName) {
+      T binding = Mockito.mock(type);
+      Mockito.when(binding.getClusterName()).thenReturn(SimpleString.toSimpleString(clusterName));
+      return binding;
+   }
+
+   private static SimpleString group(int i) {
+      return SimpleString.toSimpleString("group" + i + ".queue");
+   }
+
+   private static Notification bindingNotification(CoreNotificationType type, Binding binding) {
+      TypedProperties props = new TypedProperties();
+      props.putSimpleStringProperty(ManagementHelper.HDR_CLUSTER_NAME, binding.getClusterName());
+      props.putSimpleStringProperty(ManagementHelper.HDR_ROUTING_NAME, SimpleString.toSimpleString("queue"));
+      return new Notification(null, type, props);
+   }
+
+   @Test
+   public void testSameBindingOnEveryNode() throws Exception {
+      Binding a = binding("queue-a");
+      Binding b = binding("queue-b");
+      Binding c = binding("queue-c");
+
+      HashGroupingHandler node1 = createHandler(-1);
+      HashGroupingHandler node2 = createHandler(-1);
+
+      Map<Binding, Integer> counts = new HashMap<>();
+
+      for (int i = 0; i < GROUPS; i++) {
+         Binding chosen = node1.chooseBinding(group(i), null, new Binding[] {a, b, c}, ON_DEMAND);
+         Assert.assertSame(chosen, node2.chooseBinding(group(i), null, new Binding[] {c, a, b}, ON_DEMAND));
+         counts.merge(chosen, 1, Integer::sum);
+      }
+
+      for (Binding binding : new Binding[] {a, b, c}) {
+         Assert.assertTrue(binding.getClusterName() + " got " + counts.get(binding), counts.getOrDefault(binding, 0) > GROUPS / 5);
+      }
+   }
+
+   @Test
+   public void testOnlyGroupsOfAddedBindingMove() {
+      Binding[] before = new Binding[] {binding("queue-a"), binding("queue-b"), binding("queue-c")};
+      Binding d = binding("queue-d");
+      Binding[] after = new Binding[] {before[0], before[1], before[2], d};
+
+      int moved = 0;
+      for (int i = 0; i < GROUPS; i++) {
+         Binding previous = HashGroupingHandler.hashBinding(group(i), null, before, ON_DEMAND);
+         Binding current = HashGroupingHandler.hashBinding(group(i), null, after, ON_DEMAND);
+         if (previous != current) {
+            Assert.assertSame(d, current);
+            moved++;
+         }
+      }
+
+      Assert.assertTrue("moved " + moved, moved > 0 && moved < GROUPS / 2);
+   }
+
+   @Test
+   public void testActiveGroupIsOverridden() throws Exception {
+      Binding[] before = new Binding[] {binding("queue-a"), binding("queue-b")};
+      Binding c = binding("queue-c");
+      Binding[] after = new Binding[] {before[0], before[1], c};
+
+      HashGroupingHandler handler = createHandler(-1);
+
+      Binding[] chosen = new Binding[GROUPS];
+      for (int i = 0; i < GROUPS; i++) {
+         chosen[i] = handler.chooseBinding(group(i), null, before, ON_DEMAND);
+      }
+
+      handler.onNotification(bindingNotification(CoreNotificationType.BINDING_ADDED, c));
+
+      int overridden = 0;
+      for (int i = 0; i < GROUPS; i++) {
+         // overridden as soon as the binding was added, before the group is used again
+         Assert.assertEquals(HashGroupingHandler.hashBinding(group(i), null, after, ON_DEMAND) == c, handler.isOverridden(group(i)));
+         Assert.assertSame(chosen[i], handler.chooseBinding(group(i), null, after, ON_DEMAND));
+         if (handler.isOverridden(group(i))) {
+            Assert.assertSame(c, HashGroupingHandler.hashBinding(group(i), null, after, ON_DEMAND));
+            overridden++;
+         }
+      }
+
+      Assert.assertTrue(overridden > 0);
+      Mockito.verify(managementService, Mockito.times(overridden)).sendNotification(Mockito.any());
+
+      // a new group goes to its hashed binding
+      SimpleString newGroup = SimpleString.toSimpleString("new-group.queue");
+      Assert.assertSame(HashGroupingHandler.hashBinding(newGroup, null, after, ON_DEMAND), handler.chooseBinding(newGroup, null, after, ON_DEMAND));
+   }
+
+   @Test
+   public void testOverrideFromAnotherNode() throws Exception {
+      Binding a = binding("queue-a");
+      Binding b = binding("queue-b");
+      Binding[] bindings = new Binding[] {a, b};
+
+      HashGroupingHandler handler = createHandler(-1);
+
+      SimpleString group = group(0);
+      Binding other = HashGroupingHandler.hashBinding(group, null, bindings, ON_DEMAND) == a ? b : a;
+
+      handler.proposed(new Response(group, other.getClusterName()));
+      Assert.assertTrue(handler.isOverridden(group));
+      Assert.assertSame(other, handler.chooseBinding(group, null, bindings, ON_DEMAND));
+   }
+
+   @Test
+   public void testGroupsRemovedWithBinding() throws Exception {
+      Binding a = binding("queue-a");
+      Binding b = binding("queue-b");
+      Binding[] bindings = new Binding[] {a, b};
+
+      HashGroupingHandler handler = createHandler(-1);
+
+      SimpleString group = group(0);
+      Binding other = HashGroupingHandler.hashBinding(group, null, bindings, ON_DEMAND) == a ? b : a;
+      handler.proposed(new Response(group, other.getClusterName()));
+      handler.chooseBinding(group(1), null, bindings, ON_DEMAND);
+
+      handler.onNotification(bindingNotification(CoreNotificationType.BINDING_REMOVED, other));
+
+      Assert.assertFalse(handler.isOverridden(group));
+      Binding remaining = other == a ? b : a;
+      Assert.assertSame(remaining, handler.chooseBinding(group, null, new Binding[] {remaining}, ON_DEMAND));
+   }
+
+   @Test
+   public void testReaper() throws Exception {
+      HashGroupingHandler handler = createHandler(1);
+
+      Binding[] bindings = new Binding[] {binding("queue-a")};
+      handler.chooseBinding(group(0), null, bindings, ON_DEMAND);
+      handler.proposed(new Response(group(1), bindings[0].getClusterName()));
+      Assert.assertEquals(2, handler.getGroupCount());
+
+      Thread.sleep(10);
+      handler.reap();
+
+      Assert.assertEquals(0, handler.getGroupCount());
+   }
+
+   @Test
+   public void testOverrideWithMissingBindingGoesThroughProposal() throws Exception {
+      Binding a = binding("queue-a");
+      Binding b = binding("queue-b");
+
+      HashGroupingHandler handler = createHandler(-1);
+
+      SimpleString group = group(0);
+      handler.proposed(new Response(group, b.getClusterName()));
+
+      // the binding router removes the override through forceRemove before routing the group again
+      Assert.assertNull(handler.chooseBinding(group, null, new Binding[] {a}, ON_DEMAND));
+      Assert.assertEquals(b.getClusterName(), handler.getProposal(group, false).getClusterName());
+
+      handler.forceRemove(group, b.getClusterName());
+      Assert.assertSame(a, handler.chooseBinding(group, null, new Binding[] {a}, ON_DEMAND));
+   }
+
+   @Test
+   public void testAwaitBindingsOfStoredOverrides() throws Exception {
+      Binding a = binding("queue-a");
+      Binding b = binding("queue-b");
+
+      HashGroupingHandler handler = createHandler(-1);
+      handler.addGroupBinding(new GroupBinding(1, group(0), a.getClusterName()));
+      handler.addGroupBinding(new GroupBinding(2, group(1), b.getClusterName()));
+
+      // added before the server waits for the bindings
+      handler.onNotification(bindingNotification(CoreNotificationType.BINDING_ADDED, a));
+
+      CountDownLatch done = new CountDownLatch(1);
+      Thread waiting = new Thread(() -> {
+         try {
+            handler.awaitBindings();
+         } catch (Exception e) {
+            throw new RuntimeException(e);
+         }
+         done.countDown();
+      });
+      waiting.start();
+
+      Assert.assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+
+      handler.onNotification(bindingNotification(CoreNotificationType.BINDING_ADDED, b));
+      Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+      waiting.join();
+
+      Assert.assertSame(b, handler.chooseBinding(group(1), null, new Binding[] {a, b}, ON_DEMAND));
+   }
+
+   @Test
+   public void testReceiveProposalFromAnotherHandler() throws Exception {
+      Binding a = binding("queue-a");
+      Binding b = binding("queue-b");
+      Binding[] bindings = new Binding[] {a, b};
+
+      HashGroupingHandler handler = createHandler(-1);
+
+      // an unknown group is accepted and kept where it was proposed
+      SimpleString group = group(0);
+      Binding other = HashGroupingHandler.hashBinding(group, null, bindings, ON_DEMAND) == a ? b : a;
+      Response response = handler.receive(new Proposal(group, other.getClusterName()), 0);
+      Assert.assertTrue(response.isAccepted());
+      Assert.assertTrue(handler.isOverridden(group));
+      Assert.assertSame(other, handler.chooseBinding(group, null, bindings, ON_DEMAND));
+
+      // a known group keeps its binding
+      SimpleString known = group(1);
+      Binding chosen = handler.chooseBinding(known, null, bindings, ON_DEMAND);
+      Binding proposed = chosen == a ? b : a;
+      response = handler.receive(new Proposal(known, proposed.getClusterName()), 0);
+      Assert.assertFalse(response.isAccepted());
+      Assert.assertEquals(chosen.getClusterName(), response.getChosenClusterName());
+
+      Assert.assertNull(handler.receive(new Proposal(group(2), null), 0));
+   }
+
+   @Test
+   public void testRemoteBindingNotChosenWithLoadBalancingOff() throws Exception {
+      Binding local = binding(LocalQueueBinding.class, "queue-local");
+      Binding remote = binding(RemoteQueueBinding.class, "queue-remote");
+      Binding[] bindings = new Binding[] {local, remote};
+
+      Message message = Mockito.mock(Message.class);
+      Mockito.when(message.getRoutingType()).thenReturn(RoutingType.ANYCAST);
+
+      HashGroupingHandler handler = createHandler(-1);
+
+      for (int i = 0; i < GROUPS; i++) {
+         Assert.assertSame(local, HashGroupingHandler.hashBinding(group(i), message, bindings, OFF));
+         Assert.assertSame(local, HashGroupingHandler.hashBinding(group(i), message, bindings, OFF_WITH_REDISTRIBUTION));
+         Assert.assertSame(local, handler.chooseBinding(group(i), message, bindings, OFF));
+      }
+
+      // a group already on the remote binding, e.g. from a client routing with ON_DEMAND
+      SimpleString group = group(GROUPS);
+      handler.proposed(new Response(group, remote.getClusterName()));
+      Assert.assertSame(remote, handler.chooseBinding(group, message, bindings, ON_DEMAND));
+      Assert.assertSame(local, handler.chooseBinding(group, message, bindings, OFF));
+      Assert.assertSame(remote, handler.chooseBinding(group, message, bindings, ON_DEMAND));
+
+      Assert.assertNull(handler.chooseBinding(group(GROUPS + 1), message, new Binding[] {remote}, OFF));
+   }
+}
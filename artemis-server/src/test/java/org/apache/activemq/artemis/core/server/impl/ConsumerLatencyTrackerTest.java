@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.server.impl.ConsumerLatencyTracker.Grade;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConsumerLatencyTrackerTest {
+
+   private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+   private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+   private static void acknowledge(ConsumerLatencyTracker tracker, int messages, long latencyMillis) {
+      for (int i = 0; i < messages; i++) {
+         tracker.acknowledged(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+      }
+   }
+
+   @Test
+   public void testBurstIsSmoothed() {
+      ConsumerLatencyTracker tracker = new ConsumerLatencyTracker(0);
+
+      acknowledge(tracker, 10, 10);
+      Assert.assertEquals(Grade.OK, tracker.sample(SECOND, THRESHOLD, 0, 0));
+
+      acknowledge(tracker, 10, 300);
+      Assert.assertEquals(Grade.OK, tracker.sample(2 * SECOND, THRESHOLD, 0, 0));
+      Assert.assertEquals(0, tracker.getWindow());
+   }
+
+   @Test
+   public void testLaggingConsumerIsThrottled() {
+      ConsumerLatencyTracker tracker = new ConsumerLatencyTracker(0);
+
+      acknowledge(tracker, 100, 500);
+      Assert.assertEquals(Grade.LAGGING, tracker.sample(SECOND, THRESHOLD, 50, 0));
+      Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(500), tracker.getLatencyAverage(), 1);
+      // 100 messages per second are acknowledged within 100 milliseconds with 10 of them in flight
+      Assert.assertEquals(10, tracker.getWindow());
+   }
+
+   @Test
+   public void testLaggingEscalatesToSlow() {
+      ConsumerLatencyTracker tracker = new ConsumerLatencyTracker(0);
+
+      for (int i = 1; i <= ConsumerLatencyTracker.ESCALATION_SAMPLES; i++) {
+         acknowledge(tracker, 10, 500);
+         Assert.assertEquals(Grade.LAGGING, tracker.sample(i * SECOND, THRESHOLD, 10, 0));
+      }
+      acknowledge(tracker, 10, 500);
+      Assert.assertEquals(Grade.SLOW, tracker.sample(10 * SECOND, THRESHOLD, 10, 0));
+      Assert.assertEquals(Grade.SLOW, tracker.getGrade());
+   }
+
+   @Test
+   public void testGrowingBacklog() {
+      ConsumerLatencyTracker tracker = new ConsumerLatencyTracker(0);
+
+      for (int i = 1; i < ConsumerLatencyTracker.GROWTH_SAMPLES; i++) {
+         Assert.assertEquals(Grade.OK, tracker.sample(i * SECOND, THRESHOLD, i * 10, 0));
+      }
+      Assert.assertEquals(Grade.LAGGING, tracker.sample(10 * SECOND, THRESHOLD, 100, 0));
+      Assert.assertTrue(tracker.getGrowthAverage() > 0);
+      // nothing was acknowledged
+      Assert.assertEquals(1, tracker.getWindow());
+   }
+
+   @Test
+   public void testOldestInFlightWithoutAcknowledgements() {
+      ConsumerLatencyTracker tracker = new ConsumerLatencyTracker(0);
+
+      Assert.assertEquals(Grade.LAGGING, tracker.sample(3 * SECOND, THRESHOLD, 5, SECOND));
+      Assert.assertEquals(2 * SECOND, tracker.getLatencyAverage(), 1);
+   }
+
+   @Test
+   public void testRecovery() {
+      ConsumerLatencyTracker tracker = new ConsumerLatencyTracker(0);
+
+      acknowledge(tracker, 10, 120);
+      Assert.assertEquals(Grade.LAGGING, tracker.sample(SECOND, THRESHOLD, 10, 0));
+
+      // the average is below the threshold but not below half of it yet
+      long now = SECOND;
+      acknowledge(tracker, 10, 30);
+      Assert.assertEquals(Grade.LAGGING, tracker.sample(now += SECOND, THRESHOLD, 10, 0));
+      Assert.assertTrue(tracker.getLatencyAverage() < THRESHOLD);
+
+      int samples = 0;
+      Grade grade;
+      do {
+         acknowledge(tracker, 10, 10);
+         grade = tracker.sample(now += SECOND, THRESHOLD, 5, 0);
+         samples++;
+      }
+      while (grade != Grade.OK && samples < 10);
+      Assert.assertEquals(Grade.OK, grade);
+      Assert.assertEquals(0, tracker.getWindow());
+   }
+
+   @Test
+   public void testReset() {
+      ConsumerLatencyTracker tracker = new ConsumerLatencyTracker(0);
+
+      acknowledge(tracker, 10, 500);
+      tracker.sample(SECOND, THRESHOLD, 10, 0);
+      Assert.assertTrue(tracker.getWindow() > 0);
+
+      tracker.reset();
+      Assert.assertEquals(Grade.OK, tracker.getGrade());
+      Assert.assertEquals(0, tracker.getWindow());
+   }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PhiAccrualFailureDetectorTest {
+
+   @Test
+   public void testNoSuspicionBeforeFirstHeartbeat() {
+      PhiAccrualFailureDetector detector = new PhiAccrualFailureDetector(100, 50, 10);
+      Assert.assertEquals(0, detector.phi(1_000_000), 0);
+   }
+
+   @Test
+   public void testPhiGrowsWithDelay() {
+      PhiAccrualFailureDetector detector = new PhiAccrualFailureDetector(100, 10, 10);
+      long now = 0;
+      for (int i = 0; i < 20; i++) {
+         detector.heartbeat(now);
+         now += 100;
+      }
+      now -= 100;
+
+      double previous = 0;
+      for (long elapsed = 50; elapsed <= 150; elapsed += 25) {
+         final double phi = detector.phi(now + elapsed);
+         Assert.assertTrue("phi " + phi + " after " + elapsed, phi > previous);
+         previous = phi;
+      }
+
+      // on time heartbeats aren't suspected
+      Assert.assertTrue(detector.phi(now + 100) < 1);
+      // three times the interval is way off a regular distribution
+      Assert.assertTrue(detector.phi(now + 300) > 8);
+   }
+
+   @Test
+   public void testAdaptsToJitter() {
+      PhiAccrualFailureDetector regular = new PhiAccrualFailureDetector(100, 10, 10);
+      PhiAccrualFailureDetector jittery = new PhiAccrualFailureDetector(100, 10, 10);
+      long regularNow = 0;
+      long jitteryNow = 0;
+      for (int i = 0; i < 20; i++) {
+         regular.heartbeat(regularNow);
+         jittery.heartbeat(jitteryNow);
+         regularNow += 100;
+         jitteryNow += i % 2 == 0 ? 50 : 150;
+      }
+      regularNow -= 100;
+      jitteryNow -= 150;
+
+      Assert.assertTrue(jittery.phi(jitteryNow + 200) < regular.phi(regularNow + 200));
+   }
+
+   @Test
+   public void testMinStdDeviation() {
+      PhiAccrualFailureDetector strict = new PhiAccrualFailureDetector(100, 1, 10);
+      PhiAccrualFailureDetector lenient = new PhiAccrualFailureDetector(100, 50, 10);
+      long now = 0;
+      for (int i = 0; i < 20; i++) {
+         strict.heartbeat(now);
+         lenient.heartbeat(now);
+         now += 100;
+      }
+      now -= 100;
+
+      Assert.assertTrue(lenient.phi(now + 150) < strict.phi(now + 150));
+   }
+
+   @Test
+   public void testPhi() {
+      Assert.assertEquals(-Math.log10(0.5), PhiAccrualFailureDetector.phi(100, 100, 10), 0.001);
+      Assert.assertTrue(PhiAccrualFailureDetector.phi(50, 100, 10) < 0.001);
+      Assert.assertTrue(Double.isInfinite(PhiAccrualFailureDetector.phi(100_000, 100, 10)));
+   }
+}
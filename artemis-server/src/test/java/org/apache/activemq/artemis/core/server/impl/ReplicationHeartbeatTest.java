@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.protocol.core.Channel;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.Ping;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
+import org.apache.activemq.artemis.utils.Wait;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ReplicationHeartbeatTest {
+
+   private static final long PERIOD = 50;
+
+   private ScheduledExecutorService scheduledPool;
+
+   private CoreRemotingConnection connection;
+
+   private ReplicationHeartbeat heartbeat;
+
+   private final AtomicInteger pings = new AtomicInteger();
+
+   private final CountDownLatch failed = new CountDownLatch(1);
+
+   // how long the live takes to answer, -1 if it doesn't answer at all
+   private volatile long replyDelay;
+
+   private volatile boolean synchronizedWithLive;
+
+   @Before
+   public void setUp() {
+      scheduledPool = Executors.newScheduledThreadPool(2);
+      connection = Mockito.mock(CoreRemotingConnection.class);
+      Channel channel = Mockito.mock(Channel.class);
+      Mockito.when(connection.getChannel(Mockito.anyLong(), Mockito.anyInt())).thenReturn(channel);
+      Mockito.when(connection.getRemoteAddress()).thenReturn("live");
+      Mockito.when(connection.getTransportConnection()).thenReturn(Mockito.mock(Connection.class));
+      Mockito.doAnswer(invocation -> {
+         failed.countDown();
+         return null;
+      }).when(connection).fail(Mockito.any(ActiveMQException.class));
+      Mockito.when(channel.send(Mockito.any(Packet.class))).thenAnswer(invocation -> {
+         pings.incrementAndGet();
+         final long delay = replyDelay;
+         if (delay >= 0) {
+            scheduledPool.schedule(() -> {
+               heartbeat.intercept(new Ping(PERIOD), connection);
+               return null;
+            }, delay, TimeUnit.MILLISECONDS);
+         }
+         return true;
+      });
+
+      heartbeat = new ReplicationHeartbeat(connection, scheduledPool, PERIOD, 8.0, 60_000, () -> synchronizedWithLive);
+   }
+
+   @After
+   public void tearDown() throws Exception {
+      heartbeat.close();
+      scheduledPool.shutdownNow();
+      Assert.assertTrue(scheduledPool.awaitTermination(10, TimeUnit.SECONDS));
+   }
+
+   @Test
+   public void testNoHeartbeatsDuringSynchronization() throws Exception {
+      // the answers are stuck behind the synchronization packets
+      replyDelay = -1;
+      heartbeat.start();
+
+      Assert.assertFalse(failed.await(PERIOD * 20, TimeUnit.MILLISECONDS));
+      Assert.assertEquals(0, pings.get());
+   }
+
+   @Test
+   public void testDelayedAnswersAfterSynchronization() throws Exception {
+      // answers slower than the heartbeat period but steady don't make the live suspected
+      replyDelay = PERIOD * 3;
+      heartbeat.start();
+      Thread.sleep(PERIOD * 5);
+      synchronizedWithLive = true;
+
+      Wait.assertTrue(() -> pings.get() > 0, 5_000, 10);
+      Assert.assertFalse(failed.await(PERIOD * 30, TimeUnit.MILLISECONDS));
+   }
+
+   @Test
+   public void testLiveSuspectedOnceSynchronized() throws Exception {
+      replyDelay = PERIOD;
+      heartbeat.start();
+      synchronizedWithLive = true;
+
+      // let the detector learn the intervals of the answers
+      Wait.assertTrue(() -> pings.get() > 10, 5_000, 10);
+      Assert.assertEquals(1, failed.getCount());
+
+      replyDelay = -1;
+      Assert.assertTrue(failed.await(5, TimeUnit.SECONDS));
+      Mockito.verify(connection).fail(Mockito.any(ActiveMQException.class));
+   }
+}
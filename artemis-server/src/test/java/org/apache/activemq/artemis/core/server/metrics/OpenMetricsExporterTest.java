@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class OpenMetricsExporterTest {
+
+   private static Queue queue(String address, String name, long messageCount) {
+      Queue queue = Mockito.mock(Queue.class);
+      Mockito.when(queue.getAddress()).thenReturn(SimpleString.toSimpleString(address));
+      Mockito.when(queue.getName()).thenReturn(SimpleString.toSimpleString(name));
+      Mockito.when(queue.getMessageCount()).thenReturn(messageCount);
+      return queue;
+   }
+
+   private static String scrape(OpenMetricsExporter exporter, String filter, boolean openMetrics) throws Exception {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      exporter.scrape(filter, openMetrics, out);
+      return out.toString(StandardCharsets.UTF_8);
+   }
+
+   @Test
+   public void testPrometheusFormat() throws Exception {
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration());
+      exporter.register(queue("orders", "orders", 42));
+      exporter.register(queue("payments", "payments", -7));
+
+      String text = scrape(exporter, null, false);
+
+      Assert.assertTrue(text, text.startsWith("# HELP artemis_message_count "));
+      Assert.assertTrue(text, text.contains("# TYPE artemis_message_count gauge\n"));
+      Assert.assertTrue(text, text.contains("artemis_message_count{broker=\"broker\",address=\"orders\",queue=\"orders\"} 42\n"));
+      Assert.assertTrue(text, text.contains("artemis_message_count{broker=\"broker\",address=\"payments\",queue=\"payments\"} -7\n"));
+      Assert.assertTrue(text, text.contains("artemis_delivering_persistent_size{broker=\"broker\",address=\"orders\",queue=\"orders\"} 0\n"));
+      Assert.assertTrue(text, text.contains("# TYPE artemis_consumer_count gauge\n"));
+      Assert.assertFalse(text, text.contains("# EOF"));
+   }
+
+   @Test
+   public void testOpenMetricsFormat() throws Exception {
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration());
+      exporter.register(queue("orders", "orders", Long.MAX_VALUE));
+
+      String text = scrape(exporter, null, true);
+
+      Assert.assertTrue(text, text.contains("artemis_message_count{broker=\"broker\",address=\"orders\",queue=\"orders\"} " + Long.MAX_VALUE + "\n"));
+      Assert.assertTrue(text, text.endsWith("# EOF\n"));
+   }
+
+   @Test
+   public void testAddressFilter() throws Exception {
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration());
+      exporter.register(queue("orders.eu", "q1", 1));
+      exporter.register(queue("orders.us.east", "q2", 2));
+      exporter.register(queue("payments", "q3", 3));
+
+      String text = scrape(exporter, "orders.#", false);
+      Assert.assertTrue(text, text.contains("queue=\"q1\"} 1\n"));
+      Assert.assertTrue(text, text.contains("queue=\"q2\"} 2\n"));
+      Assert.assertFalse(text, text.contains("queue=\"q3\""));
+
+      text = scrape(exporter, "orders.*", false);
+      Assert.assertTrue(text, text.contains("queue=\"q1\"} 1\n"));
+      Assert.assertFalse(text, text.contains("queue=\"q2\""));
+
+      text = scrape(exporter, "", false);
+      Assert.assertTrue(text, text.contains("queue=\"q3\"} 3\n"));
+   }
+
+   @Test
+   public void testValuesAreReadOnEveryScrape() throws Exception {
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration());
+      Queue queue = queue("orders", "orders", 1);
+      exporter.register(queue);
+
+      Assert.assertTrue(scrape(exporter, null, false).contains("queue=\"orders\"} 1\n"));
+      Mockito.when(queue.getMessageCount()).thenReturn(1234567890L);
+      Assert.assertTrue(scrape(exporter, null, false).contains("queue=\"orders\"} 1234567890\n"));
+   }
+
+   @Test
+   public void testUnregister() throws Exception {
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration());
+      exporter.register(queue("orders", "orders", 1));
+      exporter.unregister(SimpleString.toSimpleString("orders"));
+
+      Assert.assertEquals(0, exporter.getQueueCount());
+      Assert.assertFalse(scrape(exporter, null, false).contains("queue=\"orders\""));
+   }
+
+   @Test
+   public void testLabelsAreEscaped() throws Exception {
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration());
+      exporter.register(queue("a\"b", "c\\d\ne", 1));
+
+      String text = scrape(exporter, null, false);
+      Assert.assertTrue(text, text.contains("{broker=\"broker\",address=\"a\\\"b\",queue=\"c\\\\d\\ne\"} 1\n"));
+   }
+
+   @Test
+   public void testMetricsEnabledRefreshed() throws Exception {
+      Set<String> disabled = new HashSet<>();
+      disabled.add("payments");
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration(), queue -> !disabled.contains(queue.getAddress().toString()));
+      exporter.register(queue("orders", "orders", 1));
+      exporter.register(queue("payments", "payments", 2));
+
+      String text = scrape(exporter, null, false);
+      Assert.assertTrue(text, text.contains("queue=\"orders\"} 1\n"));
+      Assert.assertFalse(text, text.contains("queue=\"payments\""));
+
+      // the address settings changed
+      disabled.clear();
+      disabled.add("orders");
+      exporter.refresh();
+
+      text = scrape(exporter, null, false);
+      Assert.assertFalse(text, text.contains("queue=\"orders\""));
+      Assert.assertTrue(text, text.contains("queue=\"payments\"} 2\n"));
+   }
+
+   @Test
+   public void testSlowScraperDoesNotBlockOthers() throws Exception {
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration());
+      exporter.register(queue("orders", "orders", 1));
+
+      CountDownLatch writing = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      ByteArrayOutputStream slowOut = new ByteArrayOutputStream();
+      Thread slowScraper = new Thread(() -> {
+         try {
+            exporter.scrape(null, false, new OutputStream() {
+               @Override
+               public void write(int b) {
+                  slowOut.write(b);
+               }
+
+               @Override
+               public void write(byte[] b, int off, int len) throws IOException {
+                  writing.countDown();
+                  try {
+                     Assert.assertTrue(release.await(10, TimeUnit.SECONDS));
+                  } catch (InterruptedException e) {
+                     throw new IOException(e);
+                  }
+                  slowOut.write(b, off, len);
+               }
+            });
+         } catch (IOException e) {
+            throw new RuntimeException(e);
+         }
+      });
+      slowScraper.start();
+      Assert.assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+      // the slow scraper is still writing its buffer
+      Assert.assertTrue(scrape(exporter, null, false).contains("queue=\"orders\"} 1\n"));
+
+      release.countDown();
+      slowScraper.join(10_000);
+      Assert.assertTrue(slowOut.toString(StandardCharsets.UTF_8).contains("queue=\"orders\"} 1\n"));
+   }
+
+   @Test
+   public void testBufferGrows() throws Exception {
+      OpenMetricsExporter exporter = new OpenMetricsExporter("broker", new WildcardConfiguration());
+      for (int i = 0; i < 1000; i++) {
+         exporter.register(queue("address" + i, "queue" + i, i));
+      }
+
+      String text = scrape(exporter, null, false);
+      for (int i = 0; i < 1000; i++) {
+         Assert.assertTrue(text.contains("artemis_message_count{broker=\"broker\",address=\"address" + i + "\",queue=\"queue" + i + "\"} " + i + "\n"));
+      }
+   }
+}
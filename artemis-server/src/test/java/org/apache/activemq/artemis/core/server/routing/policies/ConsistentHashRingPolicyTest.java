@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.activemq.artemis.core.server.routing.policies;
+
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.server.routing.targets.MockTarget;
+import org.apache.activemq.artemis.core.server.routing.targets.Target;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ConsistentHashRingPolicyTest extends PolicyTestBase {
+
+   private static final int KEYS = 100000;
+
+   @Override
+   protected AbstractPolicy createPolicy() {
+      return new ConsistentHashRingPolicy();
+   }
+
+   private List<Target> createTargets(int count) {
+      List<Target> targets = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         targets.add(new MockTarget(new TransportConfiguration(), "node-" + i).setConnected(true).setReady(true));
+      }
+      return targets;
+   }
+
+   private Map<Target, Integer> distribute(Policy policy, List<Target> targets) {
+      Map<Target, Integer> keysPerTarget = new HashMap<>();
+      for (int i = 0; i < KEYS; i++) {
+         keysPerTarget.merge(policy.selectTarget(targets, "client-" + i), 1, Integer::sum);
+      }
+      return keysPerTarget;
+   }
+
+   @Test
+   public void testPolicyWithMultipleTargets() {
+      AbstractPolicy policy = createPolicy();
+      List<Target> targets = createTargets(MULTIPLE_TARGETS);
+
+      Target selectedTarget = policy.selectTarget(targets, "test");
+      Assert.assertSame(selectedTarget, policy.selectTarget(targets, "test"));
+      Assert.assertSame(selectedTarget, policy.selectTarget(new ArrayList<>(targets), "test"));
+
+      targets.remove(selectedTarget);
+      Assert.assertNotSame(selectedTarget, policy.selectTarget(targets, "test"));
+   }
+
+   @Test
+   public void testKeysAreEvenlyDistributed() {
+      List<Target> targets = createTargets(MULTIPLE_TARGETS);
+
+      Map<Target, Integer> ringDistribution = distribute(createPolicy(), targets);
+      Map<Target, Integer> singlePointDistribution = distribute(new ConsistentHashPolicy(), targets);
+
+      Assert.assertEquals(MULTIPLE_TARGETS, ringDistribution.size());
+
+      final int average = KEYS / MULTIPLE_TARGETS;
+      final int ringMax = Collections.max(ringDistribution.values());
+      final int ringMin = Collections.min(ringDistribution.values());
+
+      Assert.assertTrue("max keys per target " + ringMax, ringMax < average * 1.3);
+      Assert.assertTrue("min keys per target " + ringMin, ringMin > average * 0.7);
+      Assert.assertTrue(ringMax < Collections.max(singlePointDistribution.values()));
+   }
+
+   @Test
+   public void testRemovedTargetKeysAreSpreadAcrossTheOthers() {
+      AbstractPolicy policy = createPolicy();
+      List<Target> targets = createTargets(MULTIPLE_TARGETS);
+
+      Map<String, Target> selections = new HashMap<>();
+      for (int i = 0; i < KEYS; i++) {
+         String key = "client-" + i;
+         selections.put(key, policy.selectTarget(targets, key));
+      }
+
+      Target removedTarget = targets.remove(0);
+
+      Map<Target, Integer> movedKeys = new HashMap<>();
+      selections.forEach((key, previousTarget) -> {
+         Target target = policy.selectTarget(targets, key);
+         if (previousTarget == removedTarget) {
+            movedKeys.merge(target, 1, Integer::sum);
+         } else {
+            // only the keys of the removed target are moved
+            Assert.assertSame(previousTarget, target);
+         }
+      });
+
+      Assert.assertEquals(MULTIPLE_TARGETS - 1, movedKeys.size());
+   }
+
+   @Test
+   public void testBoundedLoads() {
+      final double loadFactor = 1.25;
+      AbstractPolicy policy = createPolicy();
+      policy.init(Collections.singletonMap(ConsistentHashRingPolicy.LOAD_FACTOR, String.valueOf(loadFactor)));
+      Assert.assertNotNull(policy.getTargetProbe());
+
+      List<Target> targets = createTargets(MULTIPLE_TARGETS);
+      targets.forEach(target -> {
+         ((MockTarget) target).setAttributeValue("broker", "ConnectionCount", 0);
+         policy.getTargetProbe().check(target);
+      });
+
+      // the same key would always select the same target without bounded loads,
+      // with bounded loads it fills the following targets on the ring up to their capacity
+      Map<Target, Integer> connections = new HashMap<>();
+      for (int i = 0; i < KEYS; i++) {
+         connections.merge(policy.selectTarget(targets, "test"), 1, Integer::sum);
+      }
+
+      Assert.assertTrue(connections.size() >= Math.ceil(MULTIPLE_TARGETS / loadFactor));
+      Assert.assertTrue(Collections.max(connections.values()) <= Math.ceil(loadFactor * KEYS / MULTIPLE_TARGETS));
+
+      // a probe resets the connection counts
+      targets.forEach(target -> policy.getTargetProbe().check(target));
+      Target selectedTarget = policy.selectTarget(targets, "test");
+      Assert.assertSame(selectedTarget, createPolicy().selectTarget(targets, "test"));
+   }
+
+   @Test
+   public void testUnboundedLoadsDoNotProbe() {
+      Assert.assertNull(createPolicy().getTargetProbe());
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testInvalidLoadFactor() {
+      createPolicy().init(Collections.singletonMap(ConsistentHashRingPolicy.LOAD_FACTOR, "0.5"));
+   }
+}
@@ -52,6 +52,7 @@ public class AddressSettingsTest extends ActiveMQTestBase {
       Assert.assertEquals(AddressSettings.DEFAULT_AUTO_DELETE_ADDRESSES, addressSettings.isAutoDeleteAddresses());
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultPurgeOnNoConsumers(), addressSettings.isDefaultPurgeOnNoConsumers());
       Assert.assertEquals(ActiveMQDefaultConfiguration.getDefaultMaxQueueConsumers(), addressSettings.getDefaultMaxConsumers());
+      Assert.assertEquals(AddressSettings.DEFAULT_METRICS_PERCENTILES, addressSettings.getMetricsPercentiles());
    }
 
    @Test
@@ -74,6 +75,8 @@ public class AddressSettingsTest extends ActiveMQTestBase {
       addressSettingsToMerge.setExpiryDelay(999L);
       addressSettingsToMerge.setMinExpiryDelay(888L);
       addressSettingsToMerge.setMaxExpiryDelay(777L);
+      addressSettingsToMerge.setMetricsPercentiles("0.999");
+      addressSettingsToMerge.setSlowConsumerLatencyThreshold(2000);
 
       addressSettings.merge(addressSettingsToMerge);
       Assert.assertEquals(addressSettings.getDeadLetterAddress(), DLQ);
@@ -90,6 +93,23 @@ public class AddressSettingsTest extends ActiveMQTestBase {
       Assert.assertEquals(Long.valueOf(999), addressSettings.getExpiryDelay());
       Assert.assertEquals(Long.valueOf(888), addressSettings.getMinExpiryDelay());
       Assert.assertEquals(Long.valueOf(777), addressSettings.getMaxExpiryDelay());
+      Assert.assertEquals("0.999", addressSettings.getMetricsPercentiles());
+      Assert.assertEquals(2000, addressSettings.getSlowConsumerLatencyThreshold());
+   }
+
+   @Test
+   public void testParsePercentiles() {
+      Assert.assertArrayEquals(new double[]{0.5, 0.9, 0.99}, AddressSettings.parsePercentiles(AddressSettings.DEFAULT_METRICS_PERCENTILES), 0);
+      Assert.assertArrayEquals(new double[]{0, 1}, AddressSettings.parsePercentiles(" 0 , 1 "), 0);
+      Assert.assertEquals(0, AddressSettings.parsePercentiles("").length);
+
+      for (String invalid : new String[]{"1.5", "-0.1", "0.5,", "fifty"}) {
+         try {
+            AddressSettings.parsePercentiles(invalid);
+            Assert.fail(invalid + " isn't a valid list of percentiles");
+         } catch (IllegalArgumentException expected) {
+         }
+      }
    }
 
    @Test
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.management.ManagementService;
+import org.apache.activemq.artemis.core.server.metrics.OpenMetricsExporter;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+/**
+ * Serves the queue metrics to Prometheus compatible scrapers, in the OpenMetrics format when the scraper accepts it
+ * and in the Prometheus text format otherwise. The {@code address} parameter limits the queues to the addresses
+ * matching it, e.g. {@code /metrics?address=orders.#}.
+ */
+public class MetricsHandler extends AbstractHandler {
+
+   private static final String OPENMETRICS_MEDIA_TYPE = "application/openmetrics-text";
+
+   private final Supplier<ActiveMQServer> server;
+
+   public MetricsHandler(Supplier<ActiveMQServer> server) {
+      this.server = server;
+   }
+
+   @Override
+   public void handle(String target,
+                      Request baseRequest,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+      baseRequest.setHandled(true);
+
+      if (!HttpMethod.GET.is(request.getMethod())) {
+         response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+         return;
+      }
+
+      final OpenMetricsExporter exporter = getExporter();
+      if (exporter == null) {
+         response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+         return;
+      }
+
+      final String accept = request.getHeader("Accept");
+      final boolean openMetrics = accept != null && accept.contains(OPENMETRICS_MEDIA_TYPE);
+
+      response.setStatus(HttpServletResponse.SC_OK);
+      response.setContentType(openMetrics ? OpenMetricsExporter.OPENMETRICS_CONTENT_TYPE : OpenMetricsExporter.PROMETHEUS_CONTENT_TYPE);
+      exporter.scrape(request.getParameter("address"), openMetrics, response.getOutputStream());
+   }
+
+   private OpenMetricsExporter getExporter() {
+      final ActiveMQServer activeMQServer = server.get();
+      if (activeMQServer == null) {
+         return null;
+      }
+      final ManagementService managementService = activeMQServer.getManagementService();
+      return managementService == null ? null : managementService.getOpenMetricsExporter();
+   }
+}
@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 import org.apache.activemq.artemis.ActiveMQWebLogger;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.components.ExternalComponent;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.dto.AppDTO;
 import org.apache.activemq.artemis.dto.BindingDTO;
 import org.apache.activemq.artemis.dto.ComponentDTO;
@@ -75,6 +76,7 @@ public class WebServerComponent implements ExternalComponent, WebServerComponent
    private Path temporaryWarDir;
    private String artemisInstance;
    private String artemisHome;
+   private volatile ActiveMQServer activeMQServer;
 
    @Override
    public void configure(ComponentDTO config, String artemisInstance, String artemisHome) throws Exception {
@@ -88,6 +90,11 @@ public class WebServerComponent implements ExternalComponent, WebServerComponent
       }
    }
 
+   @Override
+   public void setServer(ActiveMQServer server) {
+      this.activeMQServer = server;
+   }
+
    @Override
    public synchronized void start() throws Exception {
       if (isStarted()) {
@@ -173,6 +180,15 @@ public class WebServerComponent implements ExternalComponent, WebServerComponent
          handlers.addHandler(getLogHandler());
       }
 
+      if (this.webServerConfig.metricsPath != null) {
+         ContextHandler metricsContext = new ContextHandler();
+         metricsContext.setContextPath(this.webServerConfig.metricsPath);
+         metricsContext.setAllowNullPathInfo(true);
+         metricsContext.setHandler(new MetricsHandler(() -> activeMQServer));
+         metricsContext.setVirtualHosts(virtualHosts);
+         handlers.addHandler(metricsContext);
+      }
+
       if (this.webServerConfig.webContentEnabled != null &&
          this.webServerConfig.webContentEnabled) {
          handlers.addHandler(homeContext);
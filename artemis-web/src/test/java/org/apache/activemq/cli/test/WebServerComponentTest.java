@@ -60,11 +60,16 @@ import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.CharsetUtil;
 import org.apache.activemq.artemis.api.core.Pair;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.cli.factory.xml.XmlBrokerFactoryHandler;
 import org.apache.activemq.artemis.component.WebServerComponent;
 import org.apache.activemq.artemis.component.WebServerComponentTestAccessor;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
 import org.apache.activemq.artemis.core.remoting.impl.ssl.SSLSupport;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
 import org.apache.activemq.artemis.dto.AppDTO;
 import org.apache.activemq.artemis.dto.BindingDTO;
 import org.apache.activemq.artemis.dto.BrokerDTO;
@@ -157,6 +162,73 @@ public class WebServerComponentTest extends Assert {
       Assert.assertFalse(webServerComponent.isStarted());
    }
 
+   @Test
+   public void testScrapeMetrics() throws Exception {
+      ConfigurationImpl configuration = new ConfigurationImpl();
+      configuration.setBrokerInstance(new File("./target/metrics-broker"));
+      configuration.setName("broker").setPersistenceEnabled(false).setSecurityEnabled(false).setJMXManagementEnabled(false).addAcceptorConfiguration("invm", "vm://0");
+      ActiveMQServer server = ActiveMQServers.newActiveMQServer(configuration);
+      testedComponents.add(server);
+      server.start();
+      server.createQueue(new QueueConfiguration("orders").setRoutingType(RoutingType.ANYCAST));
+      server.createQueue(new QueueConfiguration("payments").setRoutingType(RoutingType.ANYCAST));
+
+      BindingDTO bindingDTO = new BindingDTO();
+      bindingDTO.uri = "http://localhost:0";
+      WebServerDTO webServerDTO = new WebServerDTO();
+      webServerDTO.setBindings(Collections.singletonList(bindingDTO));
+      webServerDTO.path = "webapps";
+      webServerDTO.metricsPath = "/metrics";
+      WebServerComponent webServerComponent = new WebServerComponent();
+      webServerComponent.configure(webServerDTO, "./src/test/resources/", "./src/test/resources/");
+      webServerComponent.start();
+      try {
+         final int port = webServerComponent.getPort();
+
+         // the broker isn't known yet
+         assertEquals(503, scrape(port, "/metrics", null).status);
+
+         webServerComponent.setServer(server);
+
+         ClientHandler prometheus = scrape(port, "/metrics", null);
+         assertEquals(200, prometheus.status);
+         assertTrue(prometheus.contentType, prometheus.contentType.startsWith("text/plain"));
+         String text = prometheus.body.toString();
+         assertTrue(text, text.contains("# TYPE artemis_message_count gauge\n"));
+         assertTrue(text, text.contains("artemis_message_count{broker=\"broker\",address=\"orders\",queue=\"orders\"} 0\n"));
+         assertTrue(text, text.contains("artemis_message_count{broker=\"broker\",address=\"payments\",queue=\"payments\"} 0\n"));
+         assertFalse(text, text.contains("# EOF"));
+
+         ClientHandler openMetrics = scrape(port, "/metrics?address=orders", "application/openmetrics-text; version=1.0.0,text/plain;q=0.5");
+         assertEquals(200, openMetrics.status);
+         assertTrue(openMetrics.contentType, openMetrics.contentType.startsWith("application/openmetrics-text"));
+         text = openMetrics.body.toString();
+         assertTrue(text, text.contains("artemis_message_count{broker=\"broker\",address=\"orders\",queue=\"orders\"} 0\n"));
+         assertFalse(text, text.contains("payments"));
+         assertTrue(text, text.endsWith("# EOF\n"));
+      } finally {
+         webServerComponent.stop(true);
+      }
+   }
+
+   private ClientHandler scrape(int port, String path, String accept) throws Exception {
+      CountDownLatch latch = new CountDownLatch(1);
+      final ClientHandler clientHandler = new ClientHandler(latch);
+      Channel ch = getChannel(port, clientHandler);
+
+      HttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path);
+      request.headers().set(HttpHeaderNames.HOST, "localhost");
+      if (accept != null) {
+         request.headers().set(HttpHeaderNames.ACCEPT, accept);
+      }
+
+      ch.writeAndFlush(request);
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      ch.close();
+      ch.eventLoop().shutdownNow();
+      return clientHandler;
+   }
+
    @Test
    public void testComponentStopBehavior() throws Exception {
       BindingDTO bindingDTO = new BindingDTO();
@@ -577,6 +649,8 @@ public class WebServerComponentTest extends Assert {
       private CountDownLatch latch;
       private StringBuilder body = new StringBuilder();
       private String serverHeader;
+      private int status;
+      private String contentType;
 
       ClientHandler(CountDownLatch latch) {
          this.latch = latch;
@@ -587,6 +661,8 @@ public class WebServerComponentTest extends Assert {
          if (msg instanceof HttpResponse) {
             HttpResponse response = (HttpResponse) msg;
             serverHeader = response.headers().get("Server");
+            status = response.status().code();
+            contentType = response.headers().get(HttpHeaderNames.CONTENT_TYPE);
          } else if (msg instanceof HttpContent) {
             HttpContent content = (HttpContent) msg;
             body.append(content.content().toString(CharsetUtil.UTF_8));
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.amqp.connect;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.Vertx;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.core.config.amqpBrokerConnectivity.AMQPBrokerConnectConfiguration;
+import org.apache.activemq.artemis.core.config.amqpBrokerConnectivity.AMQPMirrorBrokerConnectionElement;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.protocol.amqp.broker.ProtonProtocolManagerFactory;
+import org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource;
+import org.apache.activemq.artemis.protocol.amqp.connect.mirror.MirrorAckCounters;
+import org.apache.activemq.artemis.tests.integration.amqp.AmqpClientTestSupport;
+import org.apache.activemq.artemis.tests.util.CFUtil;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.apache.qpid.proton.amqp.Symbol;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Mirrors acknowledgements with an ack-batch-size, to a broker which accepts batches and to a target which does not
+ * know about them.
+ */
+public class AMQPMirrorAckBatchTest extends AmqpClientTestSupport {
+
+   protected static final int AMQP_PORT_2 = 5673;
+
+   private static final int ACK_BATCH_SIZE = 10;
+
+   private static final int NUMBER_OF_MESSAGES = 100;
+
+   private ActiveMQServer server_2;
+
+   private Vertx vertx;
+
+   private MockServer mockServer;
+
+   @After
+   public void stopPeers() throws Exception {
+      if (server_2 != null) {
+         server_2.stop();
+      }
+      if (mockServer != null) {
+         mockServer.close();
+      }
+      if (vertx != null) {
+         CountDownLatch latch = new CountDownLatch(1);
+         vertx.close((x) -> latch.countDown());
+         Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      }
+   }
+
+   @Override
+   protected ActiveMQServer createServer() throws Exception {
+      return createServer(AMQP_PORT, false);
+   }
+
+   @Override
+   protected String getConfiguredProtocols() {
+      return "AMQP,CORE";
+   }
+
+   private static MirrorAckCounters getMirrorAckCounters(ActiveMQServer server) {
+      return ((ProtonProtocolManagerFactory) server.getRemotingService().getProtocolFactoryMap().get("AMQP")).getMirrorAckCounters();
+   }
+
+   private void addMirror(String uri) {
+      AMQPBrokerConnectConfiguration amqpConnection = new AMQPBrokerConnectConfiguration("test", uri).setRetryInterval(100).setReconnectAttempts(-1);
+      amqpConnection.addElement(new AMQPMirrorBrokerConnectionElement().setAckBatchSize(ACK_BATCH_SIZE));
+      server.getConfiguration().addAMQPConnection(amqpConnection);
+   }
+
+   private void sendAndConsume() throws Exception {
+      ConnectionFactory factory = CFUtil.createConnectionFactory("CORE", "tcp://localhost:" + AMQP_PORT);
+      try (Connection connection = factory.createConnection()) {
+         Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+         javax.jms.Queue queue = session.createQueue(getQueueName());
+         MessageProducer producer = session.createProducer(queue);
+         for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+            producer.send(session.createTextMessage("message " + i));
+         }
+         session.commit();
+
+         connection.start();
+         MessageConsumer consumer = session.createConsumer(queue);
+         for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+            Assert.assertNotNull(consumer.receive(5000));
+         }
+         // the acknowledgements of a transaction are mirrored together
+         session.commit();
+      }
+   }
+
+   @Test
+   public void testAckBatchesToTargetBroker() throws Exception {
+      server_2 = createServer(AMQP_PORT_2, false);
+      server_2.start();
+
+      addMirror("tcp://localhost:" + AMQP_PORT_2);
+      server.start();
+
+      server.createQueue(new QueueConfiguration(getQueueName()).setRoutingType(RoutingType.ANYCAST));
+      Wait.assertTrue(() -> server_2.locateQueue(getQueueName()) != null);
+
+      sendAndConsume();
+
+      Queue queueOnTarget = server_2.locateQueue(getQueueName());
+      Wait.assertEquals(0L, queueOnTarget::getMessageCount);
+      Wait.assertEquals(0, queueOnTarget::getDeliveringCount);
+      Wait.assertEquals((long) NUMBER_OF_MESSAGES, queueOnTarget::getMessagesAcknowledged);
+
+      // the target offered the capability: every acknowledgement went in a batch of consecutive message ids
+      MirrorAckCounters counters = getMirrorAckCounters(server);
+      Wait.assertEquals((long) NUMBER_OF_MESSAGES, counters::getBatchedAcks);
+      Assert.assertTrue("batches: " + counters.getBatches(), counters.getBatches() >= NUMBER_OF_MESSAGES / ACK_BATCH_SIZE);
+      Assert.assertTrue("batches: " + counters.getBatches(), counters.getBatches() < NUMBER_OF_MESSAGES);
+   }
+
+   @Test
+   public void testAckOneByOneToTargetWithoutBatches() throws Exception {
+      vertx = Vertx.vertx();
+
+      AtomicInteger postAcks = new AtomicInteger(0);
+      AtomicInteger postAckBatches = new AtomicInteger(0);
+
+      // a target from before batches, it only offers the mirror capability
+      mockServer = new MockServer(vertx, serverConnection -> {
+         serverConnection.openHandler(x -> serverConnection.open());
+         serverConnection.closeHandler(x -> serverConnection.close());
+         serverConnection.sessionOpenHandler(s -> s.open());
+         serverConnection.senderOpenHandler(x -> x.open());
+         serverConnection.receiverOpenHandler(receiver -> {
+            HashMap<Symbol, Object> brokerIDProperties = new HashMap<>();
+            brokerIDProperties.put(AMQPMirrorControllerSource.BROKER_ID, "old-target");
+            receiver.setProperties(brokerIDProperties);
+            receiver.setOfferedCapabilities(new Symbol[]{AMQPMirrorControllerSource.MIRROR_CAPABILITY});
+            receiver.setTarget(receiver.getRemoteTarget());
+            receiver.handler((delivery, message) -> {
+               Object eventType = message.getMessageAnnotations() == null ? null : message.getMessageAnnotations().getValue().get(AMQPMirrorControllerSource.EVENT_TYPE);
+               if (AMQPMirrorControllerSource.POST_ACK.equals(eventType)) {
+                  postAcks.incrementAndGet();
+               } else if (AMQPMirrorControllerSource.POST_ACK_BATCH.equals(eventType)) {
+                  postAckBatches.incrementAndGet();
+               }
+            });
+            receiver.open();
+         });
+      });
+
+      addMirror("tcp://localhost:" + mockServer.actualPort());
+      server.start();
+
+      server.createQueue(new QueueConfiguration(getQueueName()).setRoutingType(RoutingType.ANYCAST));
+
+      sendAndConsume();
+
+      Wait.assertEquals(NUMBER_OF_MESSAGES, postAcks::get);
+      Assert.assertEquals(0, postAckBatches.get());
+      Assert.assertEquals(0, getMirrorAckCounters(server).getBatches());
+   }
+}
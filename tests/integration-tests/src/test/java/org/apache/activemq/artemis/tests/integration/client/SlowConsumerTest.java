@@ -39,6 +39,7 @@ import org.apache.activemq.artemis.api.core.management.CoreNotificationType;
 import org.apache.activemq.artemis.api.core.management.ManagementHelper;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.impl.ServerConsumerImpl;
 import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.settings.impl.SlowConsumerPolicy;
@@ -243,6 +244,85 @@ public class SlowConsumerTest extends ActiveMQTestBase {
       assertTrue(notifLatch.await(15, TimeUnit.SECONDS));
    }
 
+   @Test
+   public void testLaggingConsumerKilledByLatency() throws Exception {
+      AddressSettings addressSettings = new AddressSettings();
+      addressSettings.setSlowConsumerCheckPeriod(1);
+      addressSettings.setSlowConsumerLatencyThreshold(100);
+      addressSettings.setSlowConsumerPolicy(SlowConsumerPolicy.KILL);
+
+      server.getAddressSettingsRepository().removeMatch(QUEUE.toString());
+      server.getAddressSettingsRepository().addMatch(QUEUE.toString(), addressSettings);
+
+      ClientSessionFactory sf = createSessionFactory(locator);
+
+      ClientSession session = addClientSession(sf.createSession(false, true, true, false));
+
+      ClientProducer producer = addClientProducer(session.createProducer(QUEUE));
+
+      for (int i = 0; i < 25; i++) {
+         producer.send(createTextMessage(session, "m" + i));
+      }
+
+      ClientConsumer consumer = addClientConsumer(session.createConsumer(QUEUE));
+      session.start();
+
+      // never acknowledged
+      assertNotNull(consumer.receive(5000));
+
+      Queue queue = server.locateQueue(QUEUE);
+      Wait.assertEquals(0, queue::getConsumerCount, 15000);
+   }
+
+   @Test
+   public void testLaggingConsumerThrottled() throws Exception {
+      AddressSettings addressSettings = new AddressSettings();
+      addressSettings.setSlowConsumerCheckPeriod(1);
+      addressSettings.setSlowConsumerLatencyThreshold(100);
+      addressSettings.setSlowConsumerPolicy(SlowConsumerPolicy.NOTIFY);
+
+      server.getAddressSettingsRepository().removeMatch(QUEUE.toString());
+      server.getAddressSettingsRepository().addMatch(QUEUE.toString(), addressSettings);
+
+      locator.setAckBatchSize(0);
+      ClientSessionFactory sf = createSessionFactory(locator);
+
+      ClientSession laggingSession = addClientSession(sf.createSession(false, true, true, false));
+      ClientProducer producer = addClientProducer(laggingSession.createProducer(QUEUE));
+
+      for (int i = 0; i < 10; i++) {
+         producer.send(createTextMessage(laggingSession, "m" + i));
+      }
+
+      ClientConsumer laggingConsumer = addClientConsumer(laggingSession.createConsumer(QUEUE));
+      laggingSession.start();
+
+      // never acknowledged
+      assertNotNull(laggingConsumer.receive(5000));
+
+      Queue queue = server.locateQueue(QUEUE);
+      ServerConsumerImpl serverConsumer = (ServerConsumerImpl) queue.getConsumers().iterator().next();
+      Wait.assertTrue(() -> serverConsumer.getLatencyTracker().getWindow() > 0, 5000);
+
+      ClientSession session = addClientSession(sf.createSession(false, true, true, false));
+      ClientConsumer consumer = addClientConsumer(session.createConsumer(QUEUE));
+      session.start();
+
+      final int numMessages = 20;
+      for (int i = 0; i < numMessages; i++) {
+         producer.send(createTextMessage(laggingSession, "n" + i));
+      }
+
+      // the lagging consumer doesn't get any more messages
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         assertTrue(message.getBodyBuffer().readString().startsWith("n"));
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+   }
+
    @Test
    public void testSlowConsumerSpared() throws Exception {
       ClientSessionFactory sf = createSessionFactory(locator);
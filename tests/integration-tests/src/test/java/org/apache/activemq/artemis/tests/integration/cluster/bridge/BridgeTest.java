@@ -35,6 +35,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.ActiveMQNotConnectedException;
 import org.apache.activemq.artemis.api.core.Interceptor;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
@@ -953,6 +954,141 @@ public class BridgeTest extends ActiveMQTestBase {
 
    }
 
+   @Test
+   public void testBatchedBridge() throws Exception {
+      internalTestBatchedBridge(false);
+   }
+
+   @Test
+   public void testBatchedBridgeTargetFailure() throws Exception {
+      internalTestBatchedBridge(true);
+   }
+
+   private void internalTestBatchedBridge(final boolean failTarget) throws Exception {
+      Map<String, Object> server0Params = new HashMap<>();
+      server0 = createClusteredServerWithParams(isNetty(), 0, true, server0Params);
+
+      Map<String, Object> server1Params = new HashMap<>();
+      addTargetParameters(server1Params);
+      server1 = createClusteredServerWithParams(isNetty(), 1, true, server1Params);
+
+      final String testAddress = "testAddress";
+      final String queueName0 = "queue0";
+      final String forwardAddress = "forwardAddress";
+      final String queueName1 = "forwardQueue";
+
+      Map<String, TransportConfiguration> connectors = new HashMap<>();
+      TransportConfiguration server0tc = new TransportConfiguration(getConnector(), server0Params);
+      TransportConfiguration server1tc = new TransportConfiguration(getConnector(), server1Params);
+      connectors.put(server1tc.getName(), server1tc);
+
+      server0.getConfiguration().setConnectorConfigurations(connectors);
+
+      ArrayList<String> staticConnectors = new ArrayList<>();
+      staticConnectors.add(server1tc.getName());
+      BridgeConfiguration bridgeConfiguration = new BridgeConfiguration().setName("bridge1").setQueueName(queueName0).setForwardingAddress(forwardAddress).setRetryInterval(100).setReconnectAttemptsOnSameNode(-1).setReconnectAttempts(-1).setBatchSize(10).setStaticConnectors(staticConnectors);
+
+      List<BridgeConfiguration> bridgeConfigs = new ArrayList<>();
+      bridgeConfigs.add(bridgeConfiguration);
+      server0.getConfiguration().setBridgeConfigurations(bridgeConfigs);
+
+      List<QueueConfiguration> queueConfigs0 = new ArrayList<>();
+      queueConfigs0.add(new QueueConfiguration(queueName0).setAddress(testAddress));
+      server0.getConfiguration().setQueueConfigs(queueConfigs0);
+
+      List<QueueConfiguration> queueConfigs1 = new ArrayList<>();
+      queueConfigs1.add(new QueueConfiguration(queueName1).setAddress(forwardAddress));
+      server1.getConfiguration().setQueueConfigs(queueConfigs1);
+
+      server1.start();
+
+      final AtomicInteger sends = new AtomicInteger(0);
+
+      if (failTarget) {
+         // drops the connection of the bridge in the middle of a batch, before that batch is committed
+         server1.getRemotingService().addIncomingInterceptor((Interceptor) (packet, connection) -> {
+            if (packet instanceof SessionSendMessage && sends.incrementAndGet() == 15) {
+               new Thread(() -> connection.fail(new ActiveMQNotConnectedException())).start();
+               return false;
+            }
+            return true;
+         });
+      }
+
+      server0.start();
+
+      locator = addServerLocator(ActiveMQClient.createServerLocatorWithoutHA(server0tc, server1tc));
+      ClientSessionFactory sf0 = addSessionFactory(locator.createSessionFactory(server0tc));
+
+      ClientSessionFactory sf1 = addSessionFactory(locator.createSessionFactory(server1tc));
+
+      ClientSession session0 = sf0.createSession(false, true, true);
+
+      ClientSession session1 = sf1.createSession(false, true, true);
+
+      ClientProducer producer0 = session0.createProducer(new SimpleString(testAddress));
+
+      final int numMessages = 200;
+
+      final SimpleString propKey = new SimpleString("testkey");
+
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = session0.createMessage(true);
+
+         message.putIntProperty(propKey, i);
+
+         message.getBodyBuffer().writeBytes(new byte[512]);
+
+         producer0.send(message);
+      }
+
+      ClientConsumer consumer1 = session1.createConsumer(queueName1);
+
+      session1.start();
+
+      boolean[] received = new boolean[numMessages];
+
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage message = consumer1.receive(5000);
+
+         Assert.assertNotNull(message);
+
+         int key = message.getIntProperty(propKey);
+
+         // references of a failed batch go back to the queue, so they may be forwarded out of order but only once
+         Assert.assertFalse("message " + key + " was forwarded twice", received[key]);
+
+         received[key] = true;
+
+         message.acknowledge();
+      }
+
+      Assert.assertNull(consumer1.receiveImmediate());
+
+      if (failTarget) {
+         Assert.assertTrue(sends.get() > numMessages);
+      }
+
+      Queue queue0 = server0.locateQueue(queueName0);
+      Wait.assertEquals(0L, queue0::getMessageCount);
+      Wait.assertEquals(0, queue0::getDeliveringCount);
+
+      BridgeMetrics bridgeMetrics = server0.getClusterManager().getBridges().get("bridge1").getMetrics();
+      Wait.assertEquals((long) numMessages, bridgeMetrics::getMessagesAcknowledged);
+
+      session0.close();
+
+      session1.close();
+
+      sf0.close();
+
+      sf1.close();
+
+      closeFields();
+
+      assertEquals(0, loadQueues(server0).size());
+   }
+
    private void closeFields() throws Exception {
       locator.close();
       server0.stop();
@@ -41,6 +41,7 @@ import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Bindable;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType;
+import org.apache.activemq.artemis.core.server.cluster.impl.QueueLoadMonitor;
 import org.apache.activemq.artemis.core.server.cluster.impl.Redistributor;
 import org.apache.activemq.artemis.core.server.group.impl.GroupingHandlerConfiguration;
 import org.apache.activemq.artemis.core.server.impl.QueueImpl;
@@ -1395,6 +1396,55 @@ public class MessageRedistributionTest extends ClusterTestBase {
       session1.close();
    }
 
+   @Test
+   public void testLoadAwareRedistributionToLessLoadedNode() throws Exception {
+      setupClusterConnection("cluster0", "queues", MessageLoadBalancingType.LOAD_AWARE, 1, isNetty(), 0, 1);
+      setupClusterConnection("cluster1", "queues", MessageLoadBalancingType.LOAD_AWARE, 1, isNetty(), 1, 0);
+
+      startServers(0, 1);
+
+      setupSessionFactory(0, isNetty());
+      setupSessionFactory(1, isNetty());
+
+      createQueue(0, "queues.testaddress", "queue0", null, false);
+      createQueue(1, "queues.testaddress", "queue0", null, false);
+
+      // the consumers never receive, node 0 gets every message and keeps them
+      addConsumer(0, 0, "queue0", null);
+
+      waitForBindings(0, "queues.testaddress", 1, 1, true);
+      waitForBindings(1, "queues.testaddress", 1, 1, false);
+
+      final int numMessages = 1000;
+
+      send(0, "queues.testaddress", numMessages, false, null);
+
+      Queue queue0 = servers[0].locateQueue(SimpleString.toSimpleString("queue0"));
+      Queue queue1 = servers[1].locateQueue(SimpleString.toSimpleString("queue0"));
+
+      Wait.assertEquals((long) numMessages, queue0::getMessageCount);
+      Assert.assertEquals(0, queue1.getMessageCount());
+
+      addConsumer(1, 1, "queue0", null);
+
+      waitForBindings(0, "queues.testaddress", 1, 1, false);
+
+      // node 1 has a consumer and no message, node 0 moves messages to it
+      Wait.assertTrue(() -> queue1.getMessageCount() > 0);
+
+      // each redistributor is limited to half the messages that would even the loads and the moved messages don't
+      // make node 0 look faster, so the loads settle instead of every message moving to node 1 or back
+      Wait.assertTrue(() -> {
+         final long moved = queue1.getMessageCount();
+         Thread.sleep(3 * QueueLoadMonitor.UPDATE_PERIOD);
+         return queue1.getMessageCount() == moved;
+      }, 30000, 100);
+
+      Wait.assertEquals((long) numMessages, () -> queue0.getMessageCount() + queue1.getMessageCount());
+      Assert.assertTrue(queue0.getMessageCount() > numMessages / 4);
+      Assert.assertTrue(queue1.getMessageCount() > numMessages / 4);
+   }
+
    protected void setupCluster(final MessageLoadBalancingType messageLoadBalancingType) throws Exception {
       setupCluster("queues", messageLoadBalancingType);
    }
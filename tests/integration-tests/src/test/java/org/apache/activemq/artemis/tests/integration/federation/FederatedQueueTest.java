@@ -196,6 +196,48 @@ public class FederatedQueueTest extends FederatedTestBase {
       verifyTransformer(queueName);
    }
 
+   @Test
+   public void testFederatedQueueBatchedUpstream() throws Exception {
+      String queueName = getName();
+      int batchSize = 10;
+      int messages = 200;
+
+      FederationConfiguration federationConfiguration = FederatedTestUtil.createQueueUpstreamFederationConfiguration("server1", queueName);
+      FederationQueuePolicyConfiguration policy = (FederationQueuePolicyConfiguration) federationConfiguration.getFederationPolicyMap().get("QueuePolicy" + queueName);
+      policy.setBatchSize(batchSize);
+      getServer(0).getConfiguration().getFederationConfigurations().add(federationConfiguration);
+      getServer(0).getFederationManager().deploy();
+
+      ConnectionFactory cf1 = getCF(1);
+      // the local consumer takes a message only when it receives it, so the local queue holds the others
+      ConnectionFactory cf0 = new ActiveMQConnectionFactory("vm://0?consumerWindowSize=0");
+      try (Connection connection1 = cf1.createConnection(); Connection connection0 = cf0.createConnection()) {
+         Session session1 = connection1.createSession();
+         MessageProducer producer = session1.createProducer(session1.createQueue(queueName));
+         for (int i = 0; i < messages; i++) {
+            producer.send(session1.createTextMessage("hello" + i));
+         }
+
+         connection0.start();
+         Session session0 = connection0.createSession();
+         MessageConsumer consumer0 = session0.createConsumer(session0.createQueue(queueName));
+
+         // without local demand the messages are left on the upstream, once none is in flight any more
+         org.apache.activemq.artemis.core.server.Queue localQueue = getServer(0).locateQueue(queueName);
+         org.apache.activemq.artemis.core.server.Queue upstreamQueue = getServer(1).locateQueue(queueName);
+         Wait.assertTrue(() -> localQueue.getMessageCount() >= batchSize && localQueue.getMessageCount() + upstreamQueue.getMessageCount() == messages);
+         assertTrue(localQueue.getMessageCount() < 2 * batchSize);
+
+         for (int i = 0; i < messages; i++) {
+            TextMessage message = (TextMessage) consumer0.receive(5000);
+            assertNotNull(message);
+            assertEquals("hello" + i, message.getText());
+         }
+
+         Wait.assertEquals(0L, () -> getServer(1).locateQueue(queueName).getMessageCount());
+      }
+   }
+
    private void testFederatedQueueRemoteConsume(final String queueName) throws Exception {
 
       ConnectionFactory cf1 = getCF(1);
@@ -107,6 +107,7 @@ import org.apache.activemq.artemis.utils.RandomUtil;
 import org.apache.activemq.artemis.utils.RetryMethod;
 import org.apache.activemq.artemis.utils.RetryRule;
 import org.apache.activemq.artemis.utils.UUIDGenerator;
+import org.apache.activemq.artemis.utils.jfr.FlightRecorderEvents;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -941,6 +942,33 @@ public class ActiveMQServerControlTest extends ManagementTestBase {
       Assert.assertFalse(ActiveMQServerControlTest.contains(address.toString(), serverControl.getAddressNames()));
    }
 
+   @Test
+   public void testEnableFlightRecorder() throws Exception {
+      ActiveMQServerControl serverControl = createManagementControl();
+
+      Assert.assertFalse(serverControl.isFlightRecorderEnabled());
+
+      serverControl.enableFlightRecorder();
+      Assert.assertTrue(serverControl.isFlightRecorderEnabled());
+      Assert.assertTrue(FlightRecorderEvents.isEnabled());
+      // JVM wide, not a setting of this server
+      Assert.assertFalse(server.getConfiguration().isFlightRecorderEnabled());
+
+      serverControl.disableFlightRecorder();
+      Assert.assertFalse(serverControl.isFlightRecorderEnabled());
+      Assert.assertFalse(FlightRecorderEvents.isEnabled());
+   }
+
+   @Test
+   public void testListCriticalStalls() throws Exception {
+      ActiveMQServerControl serverControl = createManagementControl();
+
+      Assert.assertEquals(0, JsonUtil.readJsonArray(serverControl.listCriticalStalls()).size());
+
+      serverControl.resetCriticalStalls();
+      Assert.assertTrue(server.getCriticalAnalyzer().getStalls().isEmpty());
+   }
+
    @Test
    public void testMessageCounterMaxDayCount() throws Exception {
       ActiveMQServerControl serverControl = createManagementControl();
@@ -321,6 +321,36 @@ public class ActiveMQServerControlUsingCoreTest extends ActiveMQServerControlTes
             proxy.invokeOperation("disableMessageCounters");
          }
 
+         @Override
+         public String listTopThroughput(String direction, String dimension, int count) throws Exception {
+            return (String) proxy.invokeOperation("listTopThroughput", direction, dimension, count);
+         }
+
+         @Override
+         public void resetThroughputAccounting() throws Exception {
+            proxy.invokeOperation("resetThroughputAccounting");
+         }
+
+         @Override
+         public String listCriticalStalls() throws Exception {
+            return (String) proxy.invokeOperation("listCriticalStalls");
+         }
+
+         @Override
+         public void resetCriticalStalls() throws Exception {
+            proxy.invokeOperation("resetCriticalStalls");
+         }
+
+         @Override
+         public void enableFlightRecorder() throws Exception {
+            proxy.invokeOperation("enableFlightRecorder");
+         }
+
+         @Override
+         public void disableFlightRecorder() throws Exception {
+            proxy.invokeOperation("disableFlightRecorder");
+         }
+
          @Override
          public void enableMessageCounters() throws Exception {
             proxy.invokeOperation("enableMessageCounters");
@@ -659,6 +689,11 @@ public class ActiveMQServerControlUsingCoreTest extends ActiveMQServerControlTes
             return (Boolean) proxy.retrieveAttributeValue("messageCounterEnabled");
          }
 
+         @Override
+         public boolean isFlightRecorderEnabled() {
+            return (Boolean) proxy.retrieveAttributeValue("flightRecorderEnabled");
+         }
+
          @Override
          public boolean isPersistDeliveryCountBeforeDelivery() {
             return (Boolean) proxy.retrieveAttributeValue("persistDeliveryCountBeforeDelivery");
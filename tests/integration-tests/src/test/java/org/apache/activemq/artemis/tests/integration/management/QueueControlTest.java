@@ -78,6 +78,7 @@ import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.ActiveMQServers;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.impl.XidImpl;
 import org.apache.activemq.artemis.tests.integration.jms.server.management.JMSUtil;
@@ -3117,6 +3118,57 @@ public class QueueControlTest extends ManagementTestBase {
       session.deleteQueue(queue);
    }
 
+   @Test
+   public void testListMessageCounterRollup() throws Exception {
+      SimpleString address = RandomUtil.randomSimpleString();
+      SimpleString queue = RandomUtil.randomSimpleString();
+
+      session.createQueue(new QueueConfiguration(queue).setAddress(address).setDurable(durable));
+      QueueControl queueControl = createManagementControl(address, queue);
+
+      ActiveMQServerControl serverControl = ManagementControlHelper.createActiveMQServerControl(mbeanServer);
+      serverControl.enableMessageCounters();
+      serverControl.setMessageCounterSamplePeriod(99999);
+
+      ClientProducer producer = session.createProducer(address);
+      producer.send(session.createMessage(durable));
+      producer.send(session.createMessage(durable));
+      Wait.assertTrue(() -> server.locateQueue(queue).getMessageCount() == 2);
+      consumeMessages(1, session, queue);
+      Wait.assertEquals(1L, () -> server.locateQueue(queue).getMessagesAcknowledged());
+
+      ((MessageCounterManagerImpl)server.getManagementService().getMessageCounterManager()).getMessageCounter(queue.toString()).onTimer();
+
+      JsonObject rollup = JsonUtil.readJsonObject(queueControl.listMessageCounterRollup("minute"));
+      Assert.assertEquals("MINUTE", rollup.getString("rollup"));
+      Assert.assertEquals(60000, rollup.getJsonNumber("period").longValue());
+      Assert.assertNotNull(rollup.getString("start"));
+      JsonArray added = rollup.getJsonArray("added");
+      JsonArray acknowledged = rollup.getJsonArray("acknowledged");
+      Assert.assertEquals(60, added.size());
+      Assert.assertEquals(2, sumRollup(added));
+      Assert.assertEquals(1, sumRollup(acknowledged));
+
+      rollup = JsonUtil.readJsonObject(queueControl.listMessageCounterRollup("DAY"));
+      Assert.assertEquals(2, sumRollup(rollup.getJsonArray("added")));
+
+      try {
+         queueControl.listMessageCounterRollup("week");
+         Assert.fail();
+      } catch (Exception expected) {
+      }
+
+      session.deleteQueue(queue);
+   }
+
+   private static long sumRollup(JsonArray values) {
+      long sum = 0;
+      for (int i = 0; i < values.size(); i++) {
+         sum += Math.max(0, values.getJsonNumber(i).longValue());
+      }
+      return sum;
+   }
+
    @Test
    public void testListMessageCounterHistoryAsHTML() throws Exception {
       long counterPeriod = 1000;
@@ -3738,6 +3790,55 @@ public class QueueControlTest extends ManagementTestBase {
       session.deleteQueue(queue);
    }
 
+   @Test
+   public void testAsyncQueriesOnPagedQueue() throws Exception {
+      SimpleString address = RandomUtil.randomSimpleString();
+      SimpleString queue = RandomUtil.randomSimpleString();
+
+      AddressSettings addressSettings = new AddressSettings().setManagementBrowsePageSize(5).setAddressFullMessagePolicy(AddressFullMessagePolicy.PAGE).setMaxSizeBytes(10 * 1024).setPageSizeBytes(5 * 1024);
+      server.getAddressSettingsRepository().addMatch(address.toString(), addressSettings);
+
+      session.createQueue(new QueueConfiguration(queue).setAddress(address).setDurable(durable));
+
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < 300; i++) {
+         ClientMessage message = session.createMessage(durable);
+         message.putIntProperty("group", i % 3);
+         message.getBodyBuffer().writeBytes(new byte[200]);
+         producer.send(message);
+      }
+      producer.close();
+
+      Assert.assertTrue(server.locateQueue(queue).getPageSubscription().isPaging());
+
+      QueueControl queueControl = createManagementControl(address, queue);
+
+      // unlike countMessages, all the messages are counted
+      String countID = queueControl.countMessagesAsync("", "group");
+      Wait.assertEquals("DONE", () -> JsonUtil.readJsonObject(queueControl.getQueryResult(countID)).getString("state"));
+      JsonObject count = JsonUtil.readJsonObject(queueControl.getQueryResult(countID));
+      assertEquals(300, count.getJsonNumber("scanned").longValue());
+      for (String group : new String[]{"0", "1", "2"}) {
+         assertEquals(100, count.getJsonObject("result").getInt(group));
+      }
+
+      String browseID = queueControl.browseAsync(3, 10, "group = 1");
+      Wait.assertEquals("DONE", () -> JsonUtil.readJsonObject(queueControl.getQueryResult(browseID)).getString("state"));
+      JsonArray messages = JsonUtil.readJsonObject(queueControl.getQueryResult(browseID)).getJsonArray("result");
+      assertEquals(10, messages.size());
+      assertEquals(1, messages.getJsonObject(0).getInt("group"));
+
+      // finished queries can't be cancelled but are discarded
+      assertFalse(queueControl.cancelQuery(browseID));
+      try {
+         queueControl.getQueryResult(browseID);
+         fail("the query should have been discarded");
+      } catch (Exception expected) {
+      }
+
+      session.deleteQueue(queue);
+   }
+
    @Test
    public void testBrowseWithNullPropertyValue() throws Exception {
       SimpleString address = RandomUtil.randomSimpleString();
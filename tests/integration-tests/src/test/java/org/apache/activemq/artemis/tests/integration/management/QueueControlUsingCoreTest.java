@@ -407,6 +407,11 @@ public class QueueControlUsingCoreTest extends QueueControlTest {
             return (String) proxy.invokeOperation("listMessageCounterHistory");
          }
 
+         @Override
+         public String listMessageCounterRollup(String rollup) throws Exception {
+            return (String) proxy.invokeOperation("listMessageCounterRollup", rollup);
+         }
+
          /**
           * Returns the first message on the queue as JSON
           */
@@ -627,6 +632,26 @@ public class QueueControlUsingCoreTest extends QueueControlTest {
             return compositeDatas;
          }
 
+         @Override
+         public String countMessagesAsync(String filter, String groupByProperty) throws Exception {
+            return (String) proxy.invokeOperation(String.class, "countMessagesAsync", filter, groupByProperty);
+         }
+
+         @Override
+         public String browseAsync(int page, int pageSize, String filter) throws Exception {
+            return (String) proxy.invokeOperation(String.class, "browseAsync", page, pageSize, filter);
+         }
+
+         @Override
+         public String getQueryResult(String queryID) throws Exception {
+            return (String) proxy.invokeOperation(String.class, "getQueryResult", queryID);
+         }
+
+         @Override
+         public boolean cancelQuery(String queryID) throws Exception {
+            return (Boolean) proxy.invokeOperation("cancelQuery", queryID);
+         }
+
          @Override
          public CompositeData[] browse(String filter) throws Exception {
             Map map = (Map) proxy.invokeOperation("browse", filter);
@@ -29,6 +29,8 @@ import java.util.function.ToIntFunction;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.paging.cursor.PageIterator;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
 import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
 import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
@@ -157,6 +159,84 @@ public class PageAckScanTest extends ActiveMQTestBase {
       }
    }
 
+   @Test
+   public void testScanWithPosition() throws Exception {
+      ConnectionFactory factory = CFUtil.createConnectionFactory("CORE", "tcp://localhost:61616");
+
+      Queue queue = server.locateQueue(ADDRESS);
+      queue.getPagingStore().startPaging();
+
+      try (Connection connection = factory.createConnection()) {
+         Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+         MessageProducer producer = session.createProducer(session.createQueue(ADDRESS));
+         for (int i = 0; i < 20; i++) {
+            TextMessage message = session.createTextMessage("hello " + i);
+            message.setIntProperty("i", i);
+            producer.send(message);
+         }
+         session.commit();
+      }
+
+      PageSubscription subscription = queue.getPageSubscription();
+
+      PagePosition[] positions = new PagePosition[20];
+      PageIterator iterator = subscription.iterator(true);
+      try {
+         while (iterator.hasNext()) {
+            PagedReference reference = iterator.next();
+            positions[reference.getMessage().getIntProperty("i")] = reference.getPagedMessage().newPositionObject();
+         }
+      } finally {
+         iterator.close();
+      }
+
+      AtomicInteger errors = new AtomicInteger(0);
+      ReusableLatch latch = new ReusableLatch(3);
+      Runnable done = latch::countDown;
+      Runnable notFound = () -> {
+         errors.incrementAndGet();
+         done.run();
+      };
+
+      CountingCompareI atPosition = new CountingCompareI(15);
+      CountingCompareI atWrongPosition = new CountingCompareI(11);
+      subscription.scanAck(positions[15], () -> false, atPosition, done, notFound);
+      subscription.scanAck(positions[3], () -> false, atWrongPosition, done, notFound);
+      subscription.scanAck(positions[7], () -> false, new CompareI(99), done, notFound);
+      Assert.assertTrue(latch.await(1, TimeUnit.MINUTES));
+      Assert.assertEquals(1, errors.get());
+
+      // the message at the right position is acked without a scan, the others are scanned
+      Assert.assertEquals(1, atPosition.calls.get());
+      Assert.assertTrue(atWrongPosition.calls.get() > 1);
+
+      try (Connection connection = factory.createConnection()) {
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+         connection.start();
+         MessageConsumer consumer = session.createConsumer(session.createQueue(ADDRESS));
+         for (int i = 0; i < 18; i++) {
+            TextMessage message = (TextMessage) consumer.receive(5000);
+            Assert.assertNotNull(message);
+            Assert.assertTrue(message.getIntProperty("i") != 11 && message.getIntProperty("i") != 15);
+         }
+         Assert.assertNull(consumer.receiveNoWait());
+      }
+   }
+
+   class CountingCompareI extends CompareI {
+      final AtomicInteger calls = new AtomicInteger(0);
+
+      CountingCompareI(int i) {
+         super(i);
+      }
+
+      @Override
+      public int applyAsInt(PagedReference ref) {
+         calls.incrementAndGet();
+         return super.applyAsInt(ref);
+      }
+   }
+
    class CompareI implements ToIntFunction<PagedReference> {
       final int i;
       CompareI(int i) {
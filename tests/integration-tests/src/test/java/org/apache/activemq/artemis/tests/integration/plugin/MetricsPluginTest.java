@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 
 import io.micrometer.core.instrument.Measurement;
 import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -270,6 +271,37 @@ public class MetricsPluginTest extends ActiveMQTestBase {
       checkMetric(getMetrics(), "artemis.message.count", "queue", queueName, Double.valueOf(messageCount * 2));
    }
 
+   @Test
+   public void testLatencyMetrics() throws Exception {
+      final String queueName = "simpleQueue";
+      final String addressName = "simpleAddress";
+      final int messageCount = 10;
+
+      server.stop();
+      server.getConfiguration().setMetricsConfiguration(new MetricsConfiguration().setLatency(true).setPlugin(new SimpleMetricsPlugin().init(null)));
+      server.start();
+      sf = createSessionFactory(locator);
+      session = addClientSession(sf.createSession(false, true, true));
+      session.start();
+
+      session.createQueue(new QueueConfiguration(queueName).setAddress(addressName).setRoutingType(RoutingType.ANYCAST));
+      ClientProducer producer = session.createProducer(addressName);
+      ClientConsumer consumer = session.createConsumer(queueName);
+      for (int i = 0; i < messageCount; i++) {
+         producer.send(session.createMessage(false));
+      }
+      for (int i = 0; i < messageCount; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         message.acknowledge();
+      }
+      session.commit();
+
+      MeterRegistry registry = server.getMetricsManager().getMeterRegistry();
+      Wait.assertEquals((long) messageCount, () -> registry.find("artemis.time.in.queue").tag("queue", queueName).summary().count(), 2000, 100);
+      Wait.assertEquals((long) messageCount, () -> registry.find("artemis.delivery.to.ack.time").tag("queue", queueName).summary().count(), 2000, 100);
+   }
+
    public Map<Meter.Id, Double> getMetrics() {
       return getMetrics(server);
    }
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.plugin;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.activemq.artemis.api.core.JsonUtil;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.MetricsConfiguration;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.metrics.plugins.SimpleMetricsPlugin;
+import org.apache.activemq.artemis.core.server.plugin.impl.ThroughputAccountingPlugin;
+import org.apache.activemq.artemis.core.server.plugin.impl.ThroughputAccountingPlugin.Dimension;
+import org.apache.activemq.artemis.core.server.plugin.impl.ThroughputAccountingPlugin.Direction;
+import org.apache.activemq.artemis.json.JsonArray;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.apache.activemq.artemis.utils.collections.SpaceSavingSketch;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThroughputAccountingPluginTest extends ActiveMQTestBase {
+
+   private static final int MESSAGE_SIZE = 1024;
+
+   private ActiveMQServer server;
+
+   private final ThroughputAccountingPlugin plugin = new ThroughputAccountingPlugin();
+
+   @Override
+   @Before
+   public void setUp() throws Exception {
+      super.setUp();
+      Map<String, String> properties = new HashMap<>();
+      properties.put(ThroughputAccountingPlugin.CAPACITY, "2");
+      properties.put(ThroughputAccountingPlugin.METRICS_PERIOD, "100");
+      // a single stripe, whatever the threads handling the sends, to check the evictions
+      properties.put(ThroughputAccountingPlugin.STRIPES, "1");
+      plugin.init(properties);
+      server = createServer(false, createDefaultInVMConfig());
+      server.getConfiguration().setMetricsConfiguration(new MetricsConfiguration().setPlugin(new SimpleMetricsPlugin().init(null)));
+      server.registerBrokerPlugin(plugin);
+      server.start();
+   }
+
+   private void send(ClientSession session, String address, int count) throws Exception {
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < count; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.getBodyBuffer().writeBytes(new byte[MESSAGE_SIZE]);
+         producer.send(message);
+      }
+      producer.close();
+   }
+
+   @Test
+   public void testTopAddresses() throws Exception {
+      ServerLocator locator = createInVMNonHALocator().setAckBatchSize(0).setBlockOnAcknowledge(true);
+      ClientSessionFactory sf = createSessionFactory(locator);
+      ClientSession session = addClientSession(sf.createSession(false, true, true));
+      for (String address : new String[]{"light", "heavy", "medium"}) {
+         session.createQueue(new QueueConfiguration(address).setRoutingType(RoutingType.ANYCAST));
+      }
+
+      send(session, "light", 1);
+      send(session, "heavy", 30);
+      send(session, "medium", 10);
+
+      // the capacity of 2 only keeps the heaviest addresses
+      List<SpaceSavingSketch.Entry<String>> top = plugin.top(Direction.IN, Dimension.ADDRESS, 10);
+      Assert.assertEquals(2, top.size());
+      Assert.assertEquals("heavy", top.get(0).getKey());
+      Assert.assertEquals(30, top.get(0).getCount());
+      Assert.assertTrue(top.get(0).getWeight() > 30 * MESSAGE_SIZE);
+      Assert.assertEquals("medium", top.get(1).getKey());
+
+      // the same session sent to each address, each with its own tuple
+      top = plugin.top(Direction.IN, Dimension.TUPLE, 10);
+      Assert.assertEquals(2, top.size());
+      Assert.assertTrue(top.get(0).getKey(), top.get(0).getKey().startsWith("|heavy|"));
+      Assert.assertTrue(top.get(1).getKey(), top.get(1).getKey().startsWith("|medium|"));
+
+      session.start();
+      ClientConsumer consumer = session.createConsumer("heavy");
+      for (int i = 0; i < 30; i++) {
+         ClientMessage message = consumer.receive(5000);
+         Assert.assertNotNull(message);
+         message.acknowledge();
+      }
+
+      top = plugin.top(Direction.OUT, Dimension.ADDRESS, 10);
+      Assert.assertEquals(1, top.size());
+      Assert.assertEquals("heavy", top.get(0).getKey());
+      Assert.assertEquals(30, top.get(0).getCount());
+
+      Assert.assertEquals(1, plugin.top(Direction.IN, Dimension.CONNECTION, 10).size());
+
+      // the tuples of the anonymous user
+      top = plugin.top(Direction.OUT, Dimension.TUPLE, 10);
+      Assert.assertEquals(1, top.size());
+      Assert.assertTrue(top.get(0).getKey(), top.get(0).getKey().startsWith("|heavy|"));
+      Assert.assertEquals(30, top.get(0).getCount());
+
+      MeterRegistry registry = server.getMetricsManager().getMeterRegistry();
+      Wait.assertEquals(30.0, () -> {
+         Gauge gauge = registry.find("artemis.top.messages").tag("direction", "out").tag("dimension", "address").tag("key", "heavy").gauge();
+         return gauge == null ? 0.0 : gauge.value();
+      });
+
+      JsonArray json = JsonUtil.readJsonArray(server.getActiveMQServerControl().listTopThroughput("out", "address", 1));
+      Assert.assertEquals(1, json.size());
+      Assert.assertEquals("heavy", json.getJsonObject(0).getString("key"));
+      Assert.assertEquals(30, json.getJsonObject(0).getJsonNumber("messages").longValue());
+
+      plugin.reset();
+      Assert.assertTrue(plugin.top(Direction.IN, Dimension.ADDRESS, 10).isEmpty());
+   }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.replication;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.Interceptor;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
+import org.apache.activemq.artemis.core.config.ha.DistributedPrimitiveManagerConfiguration;
+import org.apache.activemq.artemis.core.config.ha.ReplicationBackupPolicyConfiguration;
+import org.apache.activemq.artemis.core.config.ha.ReplicationPrimaryPolicyConfiguration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.replication.ReplicationManager;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.apache.activemq.artemis.quorum.file.FileBasedPrimitiveManager;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares how long a backup takes to notice a live that stopped answering on the replication connection, with
+ * heartbeats and with the connection TTL alone.
+ */
+public class PluggableQuorumReplicationHeartbeatTest extends ActiveMQTestBase {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private static final long CONNECTION_TTL = 3000;
+
+   private static final long CLIENT_FAILURE_CHECK_PERIOD = 500;
+
+   private static final long HEARTBEAT_PERIOD = 100;
+
+   private DistributedPrimitiveManagerConfiguration managerConfiguration;
+
+   @Before
+   public void init() throws Exception {
+      managerConfiguration = new DistributedPrimitiveManagerConfiguration(FileBasedPrimitiveManager.class.getName(), Collections.singletonMap("locks-folder", temporaryFolder.newFolder("manager").toString()));
+   }
+
+   @Test
+   public void testHeartbeatsDetectUnresponsiveLiveBeforeConnectionTTL() throws Exception {
+      final long ttlDetection = detectUnresponsiveLive("ttl", -1);
+      final long heartbeatDetection = detectUnresponsiveLive("heartbeat", HEARTBEAT_PERIOD);
+
+      logger.info("unresponsive live detected after {} ms with the connection TTL and after {} ms with heartbeats", ttlDetection, heartbeatDetection);
+
+      Assert.assertTrue("detected after " + ttlDetection + " ms with the connection TTL", ttlDetection >= CONNECTION_TTL - CLIENT_FAILURE_CHECK_PERIOD);
+      Assert.assertTrue("detected after " + heartbeatDetection + " ms with heartbeats", heartbeatDetection < CONNECTION_TTL - CLIENT_FAILURE_CHECK_PERIOD);
+      Assert.assertTrue(heartbeatDetection < ttlDetection);
+   }
+
+   /**
+    * @return the milliseconds between the live no longer answering pings and the backup failing the replication
+    * connection
+    */
+   private long detectUnresponsiveLive(String name, long heartbeatPeriod) throws Exception {
+      final ActiveMQServer liveServer = addServer(ActiveMQServers.newActiveMQServer(createLiveConfiguration(name)));
+      liveServer.start();
+      Wait.assertTrue(liveServer::isActive);
+
+      final AtomicBoolean unresponsive = new AtomicBoolean();
+      final AtomicInteger pings = new AtomicInteger();
+      // the live keeps its connections open but doesn't answer the pings of the backup anymore
+      liveServer.getRemotingService().addIncomingInterceptor((Interceptor) (packet, connection) -> {
+         if (packet.getType() != PacketImpl.PING) {
+            return true;
+         }
+         pings.incrementAndGet();
+         return !unresponsive.get();
+      });
+
+      final ActiveMQServer backupServer = addServer(ActiveMQServers.newActiveMQServer(createBackupConfiguration(name, heartbeatPeriod)));
+      backupServer.start();
+
+      Wait.assertTrue(liveServer::isReplicaSync, 30_000);
+      final ReplicationManager replicationManager = liveServer.getReplicationManager();
+      Assert.assertNotNull(replicationManager);
+
+      // the heartbeats start once the backup knows it is synchronized, give the detector a few answers
+      final int synchronizedPings = pings.get();
+      Wait.assertTrue(() -> pings.get() >= synchronizedPings + 5, 10_000, 10);
+
+      unresponsive.set(true);
+      final long unresponsiveSince = System.nanoTime();
+
+      // the backup fails the replication connection, the live stops replicating to it
+      Wait.assertFalse(replicationManager::isStarted, 30_000, 10);
+      final long detection = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - unresponsiveSince);
+
+      backupServer.stop();
+      liveServer.stop();
+
+      return detection;
+   }
+
+   private Configuration createLiveConfiguration(String name) throws Exception {
+      Configuration conf = new ConfigurationImpl();
+      conf.setName("localhost::live");
+      conf.setBrokerInstance(temporaryFolder.newFolder("live-" + name));
+
+      conf.addAcceptorConfiguration("live", "tcp://localhost:61616");
+      conf.addConnectorConfiguration("backup", "tcp://localhost:61617");
+      conf.addConnectorConfiguration("live", "tcp://localhost:61616");
+
+      conf.setClusterUser("mycluster");
+      conf.setClusterPassword("mypassword");
+
+      ReplicationPrimaryPolicyConfiguration haPolicy = ReplicationPrimaryPolicyConfiguration.withDefault();
+      haPolicy.setDistributedManagerConfiguration(managerConfiguration);
+      conf.setHAPolicyConfiguration(haPolicy);
+
+      ClusterConnectionConfiguration ccconf = new ClusterConnectionConfiguration();
+      ccconf.setStaticConnectors(new ArrayList<>()).getStaticConnectors().add("backup");
+      ccconf.setName("cluster");
+      ccconf.setConnectorName("live");
+      conf.addClusterConfiguration(ccconf);
+
+      conf.setSecurityEnabled(false).setJMXManagementEnabled(false).setJournalType(JournalType.MAPPED).setJournalFileSize(1024 * 512);
+
+      return conf;
+   }
+
+   private Configuration createBackupConfiguration(String name, long heartbeatPeriod) throws Exception {
+      Configuration conf = new ConfigurationImpl();
+      conf.setName("localhost::backup");
+      conf.setBrokerInstance(temporaryFolder.newFolder("backup-" + name));
+
+      ReplicationBackupPolicyConfiguration haPolicy = ReplicationBackupPolicyConfiguration.withDefault();
+      haPolicy.setDistributedManagerConfiguration(managerConfiguration);
+      haPolicy.setClusterName("cluster");
+      haPolicy.setHeartbeatPeriod(heartbeatPeriod);
+      conf.setHAPolicyConfiguration(haPolicy);
+
+      conf.addAcceptorConfiguration("backup", "tcp://localhost:61617");
+      conf.addConnectorConfiguration("live", "tcp://localhost:61616");
+      conf.addConnectorConfiguration("backup", "tcp://localhost:61617");
+
+      conf.setClusterUser("mycluster");
+      conf.setClusterPassword("mypassword");
+
+      // the replication connection is created with the settings of the cluster connection
+      ClusterConnectionConfiguration ccconf = new ClusterConnectionConfiguration();
+      ccconf.setStaticConnectors(new ArrayList<>()).getStaticConnectors().add("live");
+      ccconf.setName("cluster");
+      ccconf.setConnectorName("backup");
+      ccconf.setConnectionTTL(CONNECTION_TTL);
+      ccconf.setClientFailureCheckPeriod(CLIENT_FAILURE_CHECK_PERIOD);
+      conf.addClusterConfiguration(ccconf);
+
+      conf.setSecurityEnabled(false).setJMXManagementEnabled(false).setJournalType(JournalType.MAPPED).setJournalFileSize(1024 * 512);
+
+      return conf;
+   }
+}
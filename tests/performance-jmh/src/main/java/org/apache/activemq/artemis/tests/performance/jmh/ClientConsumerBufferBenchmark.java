@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.SpscChunkedQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the hand off of messages from the remoting thread to the delivery thread of a client consumer, using the
+ * priority buffer guarded by the consumer lock or the single producer single consumer buffer.
+ * <p>
+ * Both cases take the same locks as ClientConsumerImpl: the priority buffer is only touched while holding the
+ * consumer lock, while the fast buffer is offered to without any lock and polled while holding its own monitor,
+ * after checking the volatile flag switching the consumer to the priority buffer.
+ */
+@State(Scope.Group)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class ClientConsumerBufferBenchmark {
+
+   private static final int NUM_PRIORITIES = 10;
+
+   private static final int DEFAULT_PRIORITY = 4;
+
+   // similar to the messages a default consumer window allows in flight
+   private static final int MAX_PENDING = 1024;
+
+   private static final Object MESSAGE = new Object();
+
+   @Param({"PRIORITY", "SPSC"})
+   private String type;
+
+   private Buffer buffer;
+
+   private interface Buffer {
+
+      boolean offer(Object message);
+
+      Object poll();
+   }
+
+   @Setup
+   public void init() {
+      switch (type) {
+         case "PRIORITY":
+            buffer = new Buffer() {
+               private final PriorityLinkedListImpl<Object> list = new PriorityLinkedListImpl<>(NUM_PRIORITIES);
+
+               @Override
+               public synchronized boolean offer(Object message) {
+                  if (list.size() >= MAX_PENDING) {
+                     return false;
+                  }
+                  list.addTail(message, DEFAULT_PRIORITY);
+                  return true;
+               }
+
+               @Override
+               public synchronized Object poll() {
+                  return list.poll();
+               }
+            };
+            break;
+         case "SPSC":
+            buffer = new Buffer() {
+               private final SpscChunkedQueue<Object> queue = new SpscChunkedQueue<>(256);
+
+               private volatile boolean priorityBuffer;
+
+               private volatile Object handler = MESSAGE;
+
+               @Override
+               public boolean offer(Object message) {
+                  if (priorityBuffer || handler == null || queue.size() >= MAX_PENDING) {
+                     return false;
+                  }
+                  queue.offer(message);
+                  return true;
+               }
+
+               @Override
+               public Object poll() {
+                  if (!priorityBuffer) {
+                     synchronized (queue) {
+                        if (!priorityBuffer) {
+                           return queue.poll();
+                        }
+                     }
+                  }
+                  return null;
+               }
+            };
+            break;
+         default:
+            throw new AssertionError("unsupported case");
+      }
+   }
+
+   @Benchmark
+   @Group("handoff")
+   @GroupThreads(1)
+   public boolean handleMessage() {
+      return buffer.offer(MESSAGE);
+   }
+
+   @Benchmark
+   @Group("handoff")
+   @GroupThreads(1)
+   public Object callOnMessage() {
+      return buffer.poll();
+   }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.server.routing.policies.ConsistentHashPolicy;
+import org.apache.activemq.artemis.core.server.routing.policies.ConsistentHashRingPolicy;
+import org.apache.activemq.artemis.core.server.routing.policies.Policy;
+import org.apache.activemq.artemis.core.server.routing.targets.AbstractTarget;
+import org.apache.activemq.artemis.core.server.routing.targets.Target;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class ConsistentHashPolicyBenchmark {
+
+   private static final int KEYS = 1024;
+
+   @Param({"CONSISTENT_HASH", "CONSISTENT_HASH_RING", "CONSISTENT_HASH_RING_BOUNDED"})
+   private String policyName;
+
+   @Param({"3", "16"})
+   private int targetCount;
+
+   private Policy policy;
+
+   private List<Target> targets;
+
+   private String[] keys;
+
+   private int nextKey;
+
+   @Setup
+   public void init() throws Exception {
+      switch (policyName) {
+         case "CONSISTENT_HASH":
+            policy = new ConsistentHashPolicy();
+            break;
+         case "CONSISTENT_HASH_RING":
+            policy = new ConsistentHashRingPolicy();
+            break;
+         case "CONSISTENT_HASH_RING_BOUNDED":
+            policy = new ConsistentHashRingPolicy();
+            policy.init(Collections.singletonMap(ConsistentHashRingPolicy.LOAD_FACTOR, "1.25"));
+            break;
+         default:
+            throw new AssertionError("unsupported case");
+      }
+      targets = new ArrayList<>(targetCount);
+      for (int i = 0; i < targetCount; i++) {
+         targets.add(new BenchmarkTarget("node-" + i));
+      }
+      if (policy.getTargetProbe() != null) {
+         for (Target target : targets) {
+            policy.getTargetProbe().check(target);
+         }
+      }
+      keys = new String[KEYS];
+      for (int i = 0; i < KEYS; i++) {
+         keys[i] = "client-" + i;
+      }
+   }
+
+   @Benchmark
+   public Target selectTarget() {
+      final String key = keys[nextKey++ & (KEYS - 1)];
+      // the pool returns a new list of the ready targets on every connection
+      return policy.selectTarget(new ArrayList<>(targets), key);
+   }
+
+   private static final class BenchmarkTarget extends AbstractTarget {
+
+      BenchmarkTarget(String nodeID) {
+         super(new TransportConfiguration(), nodeID);
+      }
+
+      @Override
+      public boolean isLocal() {
+         return false;
+      }
+
+      @Override
+      public boolean isConnected() {
+         return true;
+      }
+
+      @Override
+      public void connect() {
+      }
+
+      @Override
+      public void disconnect() {
+      }
+
+      @Override
+      public boolean checkReadiness() {
+         return true;
+      }
+
+      @Override
+      public <T> T getAttribute(String resourceName, String attributeName, Class<T> attributeClass, int timeout) {
+         return attributeClass.cast(0);
+      }
+
+      @Override
+      public <T> T invokeOperation(String resourceName, String operationName, Object[] operationParams, Class<T> operationClass, int timeout) {
+         return null;
+      }
+   }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.protocol.stomp.ActiveMQStompException;
+import org.apache.activemq.artemis.core.protocol.stomp.Stomp;
+import org.apache.activemq.artemis.core.protocol.stomp.StompDecoder;
+import org.apache.activemq.artemis.core.protocol.stomp.StompFrame;
+import org.apache.activemq.artemis.core.protocol.stomp.VersionedStompFrameHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class StompDecoderBenchmark {
+
+   @Param({"64", "1024"})
+   private int bodySize;
+
+   @Param({"true", "false"})
+   private boolean contentLength;
+
+   private StompDecoder decoder;
+
+   private ActiveMQBuffer frame;
+
+   @Setup
+   public void init() {
+      decoder = new StompDecoder(new DecodeOnlyHandler());
+      decoder.init();
+      StringBuilder json = new StringBuilder(bodySize);
+      json.append("{\"id\":");
+      while (json.length() < bodySize - 1) {
+         json.append('1');
+      }
+      json.append('}');
+      final byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+      StringBuilder head = new StringBuilder();
+      head.append(Stomp.Commands.SEND).append('\n');
+      head.append(Stomp.Headers.Send.DESTINATION).append(":/queue/orders.incoming\n");
+      head.append(Stomp.Headers.CONTENT_TYPE).append(":application/json\n");
+      head.append(Stomp.Headers.Send.PERSISTENT).append(":true\n");
+      head.append(Stomp.Headers.Send.CORRELATION_ID).append(":c2a1c0de-8b0c-4d4e-a0f2-4f7e5d21b0aa\n");
+      head.append(Stomp.Headers.RECEIPT_REQUESTED).append(":r-1\n");
+      if (contentLength) {
+         head.append(Stomp.Headers.CONTENT_LENGTH).append(':').append(body.length).append('\n');
+      }
+      head.append('\n');
+      final byte[] headBytes = head.toString().getBytes(StandardCharsets.UTF_8);
+      frame = ActiveMQBuffers.fixedBuffer(headBytes.length + body.length + 2);
+      frame.writeBytes(headBytes);
+      frame.writeBytes(body);
+      frame.writeByte((byte) 0);
+      frame.writeByte((byte) '\n');
+   }
+
+   @Benchmark
+   public StompFrame decode() throws ActiveMQStompException {
+      frame.readerIndex(0);
+      return decoder.decode(frame);
+   }
+
+   private static final class DecodeOnlyHandler extends VersionedStompFrameHandler {
+
+      DecodeOnlyHandler() {
+         super(null, null, null);
+      }
+
+      @Override
+      public StompFrame onConnect(StompFrame frame) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onDisconnect(StompFrame frame) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onAck(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onUnsubscribe(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onStomp(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame onNack(StompFrame request) {
+         return null;
+      }
+
+      @Override
+      public StompFrame createStompFrame(String command) {
+         return new StompFrame(command);
+      }
+   }
+}